@@ -0,0 +1,8 @@
+-- Curve points are versioned by asOfDate: the points of a curve sharing an asOfDate are one version of the
+-- curve, and the latest version is the current curve. On an existing database, date the points stored
+-- without one from their creation, and add the index the "as of" reads seek on.
+UPDATE curvepoint SET asOfDate = COALESCE(creationDate, CURRENT_TIMESTAMP) WHERE asOfDate IS NULL;
+CREATE INDEX idx_curvepoint_curve_id_as_of_date_term ON curvepoint (CurveId, asOfDate, term);
+DROP INDEX idx_curvepoint_curve_id_term ON curvepoint;
+-- A curve deleted from a date has a version there made of a single tombstone row; existing rows are points.
+ALTER TABLE curvepoint ADD COLUMN deleted BIT NOT NULL DEFAULT FALSE;
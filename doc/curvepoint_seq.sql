@@ -0,0 +1,6 @@
+-- Curve point ids are allocated by Hibernate from the curvepoint_seq table in blocks of 50 (pooled optimizer),
+-- which lets the points of a replaced curve be inserted as JDBC batches. On an existing database, seed the
+-- table at least one block above the highest id before starting the application.
+CREATE TABLE IF NOT EXISTS curvepoint_seq (next_val BIGINT);
+DELETE FROM curvepoint_seq;
+INSERT INTO curvepoint_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM curvepoint;
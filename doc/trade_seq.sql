@@ -0,0 +1,6 @@
+-- Trade ids are allocated by Hibernate from the trade_seq table in blocks of 50 (pooled optimizer),
+-- which lets inserts be sent as JDBC batches. On an existing database, seed the table at least one
+-- block above the highest id before starting the application.
+CREATE TABLE IF NOT EXISTS trade_seq (next_val BIGINT);
+DELETE FROM trade_seq;
+INSERT INTO trade_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM trade;
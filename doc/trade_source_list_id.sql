@@ -0,0 +1,8 @@
+-- Trade source list ids are kept unique by the trade_source_list_id table, which is neither partitioned nor
+-- archived. On an existing database, fill it with the source list ids of the trades, and of the archived
+-- trades if the trade_archive table exists, before starting the application.
+CREATE TABLE IF NOT EXISTS trade_source_list_id (source_list_id VARCHAR(255) NOT NULL PRIMARY KEY);
+INSERT IGNORE INTO trade_source_list_id (source_list_id)
+    SELECT source_list_id FROM trade WHERE source_list_id IS NOT NULL;
+INSERT IGNORE INTO trade_source_list_id (source_list_id)
+    SELECT source_list_id FROM trade_archive WHERE source_list_id IS NOT NULL;
@@ -2,11 +2,15 @@ package com.poseidoncapitalsolutions.trading;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class TradingApplication {
     public static void main(String[] args) {
             SpringApplication.run(TradingApplication.class, args);
         
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+
+/**
+ * Price bar settings, bound from the "trading.bars" properties.
+ *
+ * @param m1History number of one-minute bars kept in memory per security
+ * @param m5History number of five-minute bars kept in memory per security
+ * @param h1History number of one-hour bars kept in memory per security
+ * @param flushIntervalMs delay in milliseconds between two writes of the closed bars to the price_bar table
+ * @param futureToleranceMs how far in milliseconds after the current time a trade may be dated and still be
+ *                          added to the bars; trades dated later are ignored
+ */
+@ConfigurationProperties(prefix = "trading.bars")
+public record BarProperties(
+    @DefaultValue("600") int m1History,
+    @DefaultValue("576") int m5History,
+    @DefaultValue("720") int h1History,
+    @DefaultValue("10000") long flushIntervalMs,
+    @DefaultValue("60000") long futureToleranceMs
+) {
+
+    public int history(BarResolution resolution) {
+        return switch (resolution) {
+            case M1 -> m1History;
+            case M5 -> m5History;
+            case H1 -> h1History;
+        };
+    }
+}
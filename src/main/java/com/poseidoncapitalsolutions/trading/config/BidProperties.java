@@ -0,0 +1,49 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bid settings, bound from the "trading.bid" properties.
+ *
+ * @param pageSize default number of bids per search page
+ * @param maxPageSize upper bound for a page size requested by the client
+ * @param accountCacheSize number of accounts whose bid ids are kept in memory
+ * @param transitionChunkSize number of bids updated per transaction by a status transition
+ * @param closedStatuses statuses taking a bid out of the order books
+ * @param expiredStatus status set on the bids swept by the expiry
+ * @param expiryAgeMs age of the bid list date past which an open bid expires
+ */
+@ConfigurationProperties(prefix = "trading.bid")
+public record BidProperties(
+    @DefaultValue("50") int pageSize,
+    @DefaultValue("500") int maxPageSize,
+    @DefaultValue("10000") int accountCacheSize,
+    @DefaultValue("1000") int transitionChunkSize,
+    @DefaultValue({"CANCELLED", "EXPIRED"}) List<String> closedStatuses,
+    @DefaultValue("EXPIRED") String expiredStatus,
+    @DefaultValue("86400000") long expiryAgeMs
+) {
+
+    /**
+     * Resolves the page size to use for a request.
+     *
+     * @param requested the requested size, may be null
+     * @return the default size if none requested, otherwise the requested size clamped to [1, maxPageSize]
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return pageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    /**
+     * Tells whether a status takes a bid out of the order books.
+     */
+    public boolean isClosed(String status) {
+        return status != null && closedStatuses.contains(status);
+    }
+}
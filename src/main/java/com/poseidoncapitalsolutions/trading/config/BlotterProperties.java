@@ -0,0 +1,21 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Live trade blotter settings, bound from the "trading.blotter" properties.
+ *
+ * @param bufferSize maximum number of updates waiting to be sent to one client; a client falling further behind is disconnected
+ * @param senderThreads number of threads sending updates to the clients, unused in virtual thread mode
+ * @param heartbeatIntervalMs delay in milliseconds between two heartbeats, which keep idle connections open and detect closed ones
+ * @param timeoutMs time in milliseconds after which a stream is closed and the client reconnects
+ */
+@ConfigurationProperties(prefix = "trading.blotter")
+public record BlotterProperties(
+    @DefaultValue("1024") int bufferSize,
+    @DefaultValue("4") int senderThreads,
+    @DefaultValue("15000") long heartbeatIntervalMs,
+    @DefaultValue("1800000") long timeoutMs
+) {
+}
@@ -0,0 +1,47 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import java.util.concurrent.Semaphore;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder running at most a fixed number of hashes at a time.
+ * BCrypt is CPU bound: with virtual threads, a burst of logins would otherwise take every carrier thread
+ * and stall the requests waiting on I/O, so the limit must be below the number of carriers to leave them one.
+ * Callers beyond the limit wait on a semaphore, which releases the carrier of a virtual thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentHashes);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        permits.acquireUninterruptibly();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        permits.acquireUninterruptibly();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,40 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+
+/**
+ * Curve bootstrap settings, bound from the "trading.curve.bootstrap" properties.
+ *
+ * @param enabled whether discount factors and forward rates are derived from the curves
+ * @param file file holding the derived curves, mapped again on restart
+ * @param backfillDays number of days up to today the curves are derived for
+ * @param tenors tenors in years the curves are derived at, increasing
+ * @param method interpolation of the curve points at the tenors
+ * @param parallelism number of threads bootstrapping curves, 0 for one per processor
+ * @param refreshIntervalMs delay in milliseconds between two checks for curve writes or a new day to derive
+ */
+@ConfigurationProperties(prefix = "trading.curve.bootstrap")
+public record CurveBootstrapProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("./curves/bootstrap.bin") Path file,
+    @DefaultValue("1826") int backfillDays,
+    @DefaultValue({"0.25", "0.5", "1", "2", "3", "5", "7", "10", "15", "20", "30"}) List<Double> tenors,
+    @DefaultValue("LINEAR") CurveInterpolation method,
+    @DefaultValue("0") int parallelism,
+    @DefaultValue("60000") long refreshIntervalMs
+) {
+
+    public int resolveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public double[] tenorArray() {
+        return tenors.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
@@ -0,0 +1,32 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Curve settings, bound from the "trading.curve" properties.
+ *
+ * @param historyCacheSize number of past curve versions kept in memory once read
+ * @param chartWidth default number of points of a chart series
+ * @param maxChartWidth upper bound for the number of points of a chart series requested by the client
+ */
+@ConfigurationProperties(prefix = "trading.curve")
+public record CurveProperties(
+    @DefaultValue("256") int historyCacheSize,
+    @DefaultValue("800") int chartWidth,
+    @DefaultValue("4000") int maxChartWidth
+) {
+
+    /**
+     * Resolves the number of points of a chart series to return.
+     *
+     * @param requested the requested width in pixels, may be null
+     * @return the default width if none requested, otherwise the requested width clamped to [3, maxChartWidth]
+     */
+    public int resolveChartWidth(Integer requested) {
+        if (requested == null) {
+            return chartWidth;
+        }
+        return Math.max(3, Math.min(requested, maxChartWidth));
+    }
+}
@@ -0,0 +1,19 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Duplicate submission check settings, bound from the "trading.idempotency" properties.
+ *
+ * @param expectedKeys number of source list ids each Bloom filter is sized for
+ * @param falsePositiveRate Bloom filter false positive rate once it holds expectedKeys ids
+ * @param recentKeys number of recently used source list ids cached per kind of entity
+ */
+@ConfigurationProperties(prefix = "trading.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("1000000") long expectedKeys,
+    @DefaultValue("0.01") double falsePositiveRate,
+    @DefaultValue("10000") int recentKeys
+) {
+}
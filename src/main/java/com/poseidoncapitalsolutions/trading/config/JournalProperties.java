@@ -0,0 +1,24 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Trade journal settings, bound from the "trading.journal" properties.
+ *
+ * @param enabled whether committed trade writes are appended to the journal
+ * @param directory directory holding the journal segment files
+ * @param segmentSize size of each segment file
+ * @param fsyncIntervalMs delay in milliseconds between two flushes of the journal to disk
+ */
+@ConfigurationProperties(prefix = "trading.journal")
+public record JournalProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("./journal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("100") long fsyncIntervalMs
+) {
+}
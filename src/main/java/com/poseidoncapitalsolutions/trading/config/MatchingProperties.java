@@ -0,0 +1,28 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bid matching engine settings, bound from the "trading.matching" properties.
+ *
+ * @param enabled whether crossing bids are matched and their fills booked as trades
+ * @param shards number of sequencer threads the securities are spread over, 0 for one per processor
+ * @param batchSize maximum number of fills booked per transaction
+ * @param retryBackoffMs delay in milliseconds before booking fills again after a first failure, doubled after
+ *                       every further failure
+ * @param maxRetryBackoffMs longest delay in milliseconds between two attempts to book fills
+ */
+@ConfigurationProperties(prefix = "trading.matching")
+public record MatchingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0") int shards,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("100") long retryBackoffMs,
+    @DefaultValue("30000") long maxRetryBackoffMs
+) {
+
+    public int resolveShards() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+}
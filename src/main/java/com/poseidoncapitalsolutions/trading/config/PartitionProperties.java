@@ -0,0 +1,22 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Trade table partitioning settings, bound from the "trading.partition" properties.
+ *
+ * @param enabled whether the trade table is partitioned by month of trade date (MySQL only)
+ * @param monthsAhead number of months after the current one that always have a partition
+ * @param archiveAfterMonths age in months after which a monthly partition is moved to the archive table,
+ *                           0 to never archive
+ * @param maintenanceCron when partitions are created and archived
+ */
+@ConfigurationProperties(prefix = "trading.partition")
+public record PartitionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("3") int monthsAhead,
+    @DefaultValue("24") int archiveAfterMonths,
+    @DefaultValue("0 30 1 * * *") String maintenanceCron
+) {
+}
@@ -26,6 +26,7 @@ import lombok.extern.slf4j.Slf4j;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final SecurityProperties securityProperties;
 
     /**
      * Configures the security filter chain, defining authorization rules,
@@ -84,12 +85,14 @@ public class SecurityConfig {
     }
 
     /**
-     * Creates a PasswordEncoder bean using BCrypt.
+     * Creates a PasswordEncoder bean using BCrypt, hashing on at most "trading.security.max-concurrent-hashes"
+     * threads at a time, by default one less than the carrier threads of virtual threads.
      *
-     * @return A BCryptPasswordEncoder instance.
+     * @return A BCryptPasswordEncoder instance wrapped in a BoundedPasswordEncoder.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                securityProperties.resolveMaxConcurrentHashes());
     }
 }
@@ -0,0 +1,30 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Security settings, bound from the "trading.security" properties.
+ *
+ * @param maxConcurrentHashes number of password hashes computed at a time, 0 for one less than the number of
+ *                            carrier threads of virtual threads
+ */
+@ConfigurationProperties(prefix = "trading.security")
+public record SecurityProperties(
+    @DefaultValue("0") int maxConcurrentHashes
+) {
+
+    /**
+     * Keeps a carrier thread free of hashing for the requests waiting on I/O, unless there is only one.
+     * Virtual threads run on one carrier per processor, unless "jdk.virtualThreadScheduler.parallelism" says
+     * otherwise.
+     */
+    public int resolveMaxConcurrentHashes() {
+        if (maxConcurrentHashes > 0) {
+            return maxConcurrentHashes;
+        }
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        return Math.max(1, carriers - 1);
+    }
+}
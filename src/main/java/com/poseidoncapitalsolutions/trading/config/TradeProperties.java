@@ -0,0 +1,34 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Trade settings, bound from the "trading.trade" properties.
+ *
+ * @param pageSize default number of trades per blotter page
+ * @param maxPageSize upper bound for a page size requested by the client
+ * @param importBatchSize number of trades persisted per transaction by the bulk import
+ * @param columnBatchSize number of trades read per query when loading trade columns for analytics
+ */
+@ConfigurationProperties(prefix = "trading.trade")
+public record TradeProperties(
+    @DefaultValue("50") int pageSize,
+    @DefaultValue("500") int maxPageSize,
+    @DefaultValue("500") int importBatchSize,
+    @DefaultValue("10000") int columnBatchSize
+) {
+
+    /**
+     * Resolves the page size to use for a request.
+     *
+     * @param requested the requested size, may be null
+     * @return the default size if none requested, otherwise the requested size clamped to [1, maxPageSize]
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return pageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
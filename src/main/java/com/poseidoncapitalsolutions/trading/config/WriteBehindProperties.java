@@ -0,0 +1,23 @@
+package com.poseidoncapitalsolutions.trading.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write-behind trade booking settings, bound from the "trading.write-behind" properties.
+ *
+ * @param enabled whether new trades are buffered and committed in batches instead of one by one
+ * @param capacity maximum number of trades waiting in the buffer
+ * @param batchSize maximum number of trades committed per transaction
+ * @param maxLatencyMs longest time in milliseconds a trade waits for its batch to fill before it is committed
+ * @param offerTimeoutMs time in milliseconds a submission waits for room in a full buffer before it is rejected
+ */
+@ConfigurationProperties(prefix = "trading.write-behind")
+public record WriteBehindProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") int capacity,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("20") long maxLatencyMs,
+    @DefaultValue("100") long offerTimeoutMs
+) {
+}
@@ -1,5 +1,9 @@
 package com.poseidoncapitalsolutions.trading.controller;
 
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -7,11 +11,21 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.poseidoncapitalsolutions.trading.dto.BidAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.dto.BidSort;
 import com.poseidoncapitalsolutions.trading.dto.BidUpdateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidPageDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidTransitionDTO;
 import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.service.BidLookupService;
 import com.poseidoncapitalsolutions.trading.service.BidService;
+import com.poseidoncapitalsolutions.trading.service.BidStatusService;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -27,6 +41,8 @@ import lombok.extern.slf4j.Slf4j;
 public class BidController {
 
     private final BidService bidService;
+    private final BidLookupService bidLookupService;
+    private final BidStatusService bidStatusService;
 
     /**
      * Displays the list of bids.
@@ -38,13 +54,70 @@ public class BidController {
         return "bid/list";
     }
 
+    /**
+     * Returns one page of the bids matching the search criteria as JSON.
+     */
+    @GetMapping("/bid/api/bids")
+    @ResponseBody
+    public BidPageDTO search(BidFilter filter,
+                             @RequestParam(name = "page", defaultValue = "0") int page,
+                             @RequestParam(name = "size", required = false) Integer size,
+                             @RequestParam(name = "sort", defaultValue = "ID") BidSort sort,
+                             @RequestParam(name = "direction", defaultValue = "ASC") Sort.Direction direction) {
+        log.debug("GET - /bid/api/bids filter={} page={} size={} sort={} {}", filter, page, size, sort, direction);
+        return bidLookupService.findBids(filter, page, size, sort, direction);
+    }
+
+    /**
+     * Returns the bids of several accounts as JSON, by account then id.
+     */
+    @GetMapping("/bid/api/bids/accounts")
+    @ResponseBody
+    public List<BidRowDTO> searchByAccounts(@RequestParam("account") List<String> accounts) {
+        log.debug("GET - /bid/api/bids/accounts accounts={}", accounts);
+        return bidLookupService.findBidsOfAccounts(accounts);
+    }
+
+    /**
+     * Returns the ids of the bids of an account as JSON, in id order.
+     */
+    @GetMapping("/bid/api/accounts/{account}/bid-ids")
+    @ResponseBody
+    public List<Integer> bidIdsOfAccount(@PathVariable("account") String account) {
+        log.debug("GET - /bid/api/accounts/{}/bid-ids", account);
+        return bidLookupService.getBidIdsOfAccount(account);
+    }
+
+    /**
+     * Sets a status on the bids with the given ids, or else on every bid matching the search criteria.
+     * The target status is not named "status" so that it does not bind to the status criterion.
+     */
+    @PostMapping("/bid/api/status/{target}")
+    @ResponseBody
+    public BidTransitionDTO transition(@PathVariable("target") String status,
+                                       @RequestParam(name = "id", required = false) List<Integer> ids,
+                                       BidFilter filter) {
+        log.info("POST - /bid/api/status/{} ids={} filter={}", status, ids, filter);
+
+        if (status.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The status must not be blank");
+        }
+        if (ids != null && !ids.isEmpty()) {
+            return bidStatusService.transition(ids, status);
+        }
+        if (BidFilter.ALL.equals(filter)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give bid ids or at least one search criterion");
+        }
+        return bidStatusService.transition(filter, status);
+    }
+
     /**
      * Shows the form to add a new bid.
      */
     @GetMapping("/bid/add")
     public String addBidForm(Model model) {
         log.debug("GET - /bid/add");
-        model.addAttribute("bidDTO", new BidAddDTO(null, null, null));
+        model.addAttribute("bidDTO", new BidAddDTO(null, null, null, null, null, null, null, null));
         return "bid/add";
     }
 
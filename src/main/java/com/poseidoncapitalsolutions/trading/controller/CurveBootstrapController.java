@@ -0,0 +1,59 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.CurveBootstrapService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the discount factors and forward rates bootstrapped from the curves as JSON.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "trading.curve.bootstrap", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class CurveBootstrapController {
+
+    private final CurveBootstrapService curveBootstrapService;
+
+    /**
+     * Returns the discount factors and forward rates of a curve on a day, today by default (UTC),
+     * 404 if the day is outside the backfill window or the curve had no point then.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}/bootstrap")
+    public CurveBootstrapDTO rates(@PathVariable("curveId") int curveId,
+                                   @RequestParam(name = "date", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now(ZoneOffset.UTC);
+        log.debug("GET - /curvePoint/api/curves/{}/bootstrap date={}", curveId, day);
+        CurveBootstrapDTO rates = curveBootstrapService.getRates(curveId, day);
+        if (rates == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No bootstrap of curve " + curveId + " on " + day);
+        }
+        return rates;
+    }
+
+    /**
+     * Bootstraps every curve again.
+     */
+    @PostMapping("/curvePoint/api/bootstrap")
+    public CurveBootstrapStatsDTO rebuild() {
+        log.info("POST - /curvePoint/api/bootstrap");
+        return curveBootstrapService.rebuild();
+    }
+}
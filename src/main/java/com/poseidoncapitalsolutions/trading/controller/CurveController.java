@@ -0,0 +1,177 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.poseidoncapitalsolutions.trading.config.CurveProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.dto.CurveReplaceResult;
+import com.poseidoncapitalsolutions.trading.dto.CurveSnapshotDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveChartDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveValuesDTO;
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+import com.poseidoncapitalsolutions.trading.service.CurvePointService;
+import com.poseidoncapitalsolutions.trading.service.CurveService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the curves built from the curve points, and their interpolated values, as JSON,
+ * latest or as of a date, and writing whole curve versions.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class CurveController {
+
+    private final CurveService curveService;
+    private final CurvePointService curvePointService;
+    private final CurveProperties curveProperties;
+
+    /**
+     * Returns the ids of the curves.
+     */
+    @GetMapping("/curvePoint/api/curves")
+    public List<Integer> curveIds() {
+        log.debug("GET - /curvePoint/api/curves");
+        return curveService.getCurveIds();
+    }
+
+    /**
+     * Returns the points of a curve, latest or as of a date, 404 if it has none.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}")
+    public CurveDTO curve(@PathVariable("curveId") int curveId,
+                          @RequestParam(name = "asOf", required = false)
+                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        log.debug("GET - /curvePoint/api/curves/{} asOf={}", curveId, asOf);
+        return CurveDTO.of(getCurve(curveId, asOf));
+    }
+
+    /**
+     * Returns the dates of the versions of a curve, latest first, 404 if it has none.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}/versions")
+    public List<Timestamp> versions(@PathVariable("curveId") int curveId) {
+        log.debug("GET - /curvePoint/api/curves/{}/versions", curveId);
+        List<Timestamp> versions = curveService.getVersions(curveId);
+        if (versions.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No point on curve " + curveId);
+        }
+        return versions;
+    }
+
+    /**
+     * Returns the values of a curve, latest or as of a date, interpolated at the given terms, 404 if it has
+     * no point.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}/values")
+    public CurveValuesDTO values(@PathVariable("curveId") int curveId,
+                                 @RequestParam("term") double[] terms,
+                                 @RequestParam(name = "method", defaultValue = "LINEAR") CurveInterpolation method,
+                                 @RequestParam(name = "asOf", required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        log.debug("GET - /curvePoint/api/curves/{}/values terms={} method={} asOf={}", curveId, terms.length,
+                method, asOf);
+        double[] values = new double[terms.length];
+        getCurve(curveId, asOf).interpolate(terms, method, values);
+        return new CurveValuesDTO(curveId, method, terms, values);
+    }
+
+    /**
+     * Returns the points of a curve, latest or as of a date, downsampled to the chart width in pixels,
+     * 404 if it has none.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}/chart")
+    public CurveChartDTO chart(@PathVariable("curveId") int curveId,
+                               @RequestParam(name = "width", required = false) Integer width,
+                               @RequestParam(name = "asOf", required = false)
+                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        log.debug("GET - /curvePoint/api/curves/{}/chart width={} asOf={}", curveId, width, asOf);
+        CurveChartDTO chart = curveService.getCurveChart(curveId, asOf == null ? null : Timestamp.from(asOf),
+                curveProperties.resolveChartWidth(width));
+        if (chart == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No point on curve " + curveId);
+        }
+        return chart;
+    }
+
+    /**
+     * Returns the value at a term of the versions of a curve dated between two dates, by default from the
+     * first version to now, downsampled to the chart width in pixels, 404 if there is no such version.
+     */
+    @GetMapping("/curvePoint/api/curves/{curveId}/history")
+    public CurveChartDTO history(@PathVariable("curveId") int curveId,
+                                 @RequestParam("term") double term,
+                                 @RequestParam(name = "method", defaultValue = "LINEAR") CurveInterpolation method,
+                                 @RequestParam(name = "from", required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                 @RequestParam(name = "to", required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                 @RequestParam(name = "width", required = false) Integer width) {
+        log.debug("GET - /curvePoint/api/curves/{}/history term={} method={} from={} to={} width={}", curveId,
+                term, method, from, to, width);
+        CurveChartDTO chart = curveService.getTermHistory(curveId, term, method,
+                from == null ? new Timestamp(0) : Timestamp.from(from),
+                Timestamp.from(to == null ? Instant.now() : to), curveProperties.resolveChartWidth(width));
+        if (chart == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No version of curve " + curveId + " in range");
+        }
+        return chart;
+    }
+
+    /**
+     * Writes the version of a curve as of the snapshot date, or now, from the complete term structure in
+     * a JSON body.
+     */
+    @PutMapping(path = "/curvePoint/api/curves/{curveId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CurveReplaceResult replace(@PathVariable("curveId") int curveId, @RequestBody CurveSnapshotDTO snapshot) {
+        log.info("PUT - /curvePoint/api/curves/{} : {} points", curveId, snapshot.points().size());
+        return curvePointService.replaceCurve(curveId, snapshot);
+    }
+
+    /**
+     * Writes the version of a curve as of the given date, or now, from the complete term structure in a CSV
+     * body with "term" and "value" columns.
+     */
+    @PutMapping(path = "/curvePoint/api/curves/{curveId}", consumes = "text/csv")
+    public CurveReplaceResult replaceCsv(@PathVariable("curveId") int curveId,
+                                         @RequestParam(name = "asOfDate", required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOfDate,
+                                         @RequestBody String csv) throws IOException {
+        log.info("PUT - /curvePoint/api/curves/{} : CSV of {} chars", curveId, csv.length());
+        CurveSnapshotDTO snapshot;
+        try {
+            snapshot = CurveSnapshotDTO.fromCsv(asOfDate == null ? null : Timestamp.from(asOfDate),
+                    new StringReader(csv));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return curvePointService.replaceCurve(curveId, snapshot);
+    }
+
+    private Curve getCurve(int curveId, Instant asOf) {
+        Curve curve = asOf == null ? curveService.getCurve(curveId)
+                : curveService.getCurveAsOf(curveId, Timestamp.from(asOf));
+        if (curve == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No point on curve " + curveId);
+        }
+        return curve;
+    }
+}
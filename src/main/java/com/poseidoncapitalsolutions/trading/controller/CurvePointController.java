@@ -13,6 +13,7 @@ import com.poseidoncapitalsolutions.trading.dto.CurvePointAddDTO;
 import com.poseidoncapitalsolutions.trading.dto.CurvePointUpdateDTO;
 import com.poseidoncapitalsolutions.trading.model.CurvePoint;
 import com.poseidoncapitalsolutions.trading.service.CurvePointService;
+import com.poseidoncapitalsolutions.trading.service.CurveService;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -28,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CurvePointController {
 
     private final CurvePointService curvePointService;
+    private final CurveService curveService;
 
     /**
      * Displays the list of curve points.
@@ -39,6 +41,16 @@ public class CurvePointController {
         return "curvePoint/list";
     }
 
+    /**
+     * Displays the charts of a curve over its terms and of a term over time, drawn from downsampled series.
+     */
+    @GetMapping("/curvePoint/chart")
+    public String chart(Model model) {
+        log.debug("GET - /curvePoint/chart");
+        model.addAttribute("curveIds", curveService.getCurveIds());
+        return "curvePoint/chart";
+    }
+
     /**
      * Shows the form to add a new curve point.
      */
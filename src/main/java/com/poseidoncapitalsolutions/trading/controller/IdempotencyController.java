@@ -0,0 +1,32 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.display.IdempotencyStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.IdempotencyService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the counters of the duplicate trade and bid submission checks as JSON.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class IdempotencyController {
+
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Reports the Bloom filter false positive rate and the number of database probes, for trades and bids.
+     */
+    @GetMapping("/trade/api/idempotency")
+    public List<IdempotencyStatsDTO> stats() {
+        log.debug("GET - /trade/api/idempotency");
+        return idempotencyService.getStats();
+    }
+}
@@ -0,0 +1,32 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.display.MatchingStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.MatchingService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the counters and latencies of the bid matching engine as JSON.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "trading.matching", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class MatchingController {
+
+    private final MatchingService matchingService;
+
+    /**
+     * Reports the fills booked and the p50/p99/p99.9 matching latencies.
+     */
+    @GetMapping("/bid/api/matching")
+    public MatchingStatsDTO stats() {
+        log.debug("GET - /bid/api/matching");
+        return matchingService.getStats();
+    }
+}
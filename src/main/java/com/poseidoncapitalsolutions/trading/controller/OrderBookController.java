@@ -0,0 +1,84 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.poseidoncapitalsolutions.trading.dto.display.BboChangesDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BboDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.OrderBookDTO;
+import com.poseidoncapitalsolutions.trading.service.OrderBookService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller showing the depth of the order books built from the bids.
+ */
+@Controller
+@AllArgsConstructor
+@Slf4j
+public class OrderBookController {
+
+    private static final int MAX_LEVELS = 100;
+
+    private final OrderBookService orderBookService;
+
+    /**
+     * Displays the depth of the book of a security, or of the first security with a book.
+     */
+    @GetMapping("/bid/book")
+    public String book(@RequestParam(name = "security", required = false) String security,
+                       @RequestParam(name = "levels", defaultValue = "10") int levels,
+                       Model model) {
+        log.debug("GET - /bid/book security={} levels={}", security, levels);
+        List<String> securities = orderBookService.getSecurities();
+        if ((security == null || security.isBlank()) && !securities.isEmpty()) {
+            security = securities.getFirst();
+        }
+        model.addAttribute("securities", securities);
+        model.addAttribute("levels", Math.clamp(levels, 1, MAX_LEVELS));
+        if (security != null && !security.isBlank()) {
+            model.addAttribute("book", orderBookService.getDepth(security, Math.clamp(levels, 1, MAX_LEVELS)));
+        }
+        return "bid/book";
+    }
+
+    /**
+     * Returns the depth of the book of a security as JSON.
+     */
+    @GetMapping("/bid/api/book/{security}")
+    @ResponseBody
+    public OrderBookDTO depth(@PathVariable("security") String security,
+                              @RequestParam(name = "levels", defaultValue = "10") int levels) {
+        log.debug("GET - /bid/api/book/{} levels={}", security, levels);
+        return orderBookService.getDepth(security, Math.clamp(levels, 1, MAX_LEVELS));
+    }
+
+    /**
+     * Returns the best bid and offer of a security as JSON, 404 if no bid ever quoted it.
+     */
+    @GetMapping("/bid/api/bbo/{security}")
+    @ResponseBody
+    public ResponseEntity<BboDTO> bbo(@PathVariable("security") String security) {
+        log.debug("GET - /bid/api/bbo/{}", security);
+        BboDTO bbo = orderBookService.getBbo(security);
+        return bbo == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(bbo);
+    }
+
+    /**
+     * Returns the best bids and offers changed since a version as JSON, all of them without a version.
+     */
+    @GetMapping("/bid/api/bbo")
+    @ResponseBody
+    public BboChangesDTO bboChanges(@RequestParam(name = "since", defaultValue = "0") long since) {
+        log.debug("GET - /bid/api/bbo since={}", since);
+        return orderBookService.getBboChangedSince(since);
+    }
+}
@@ -0,0 +1,50 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.List;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.poseidoncapitalsolutions.trading.dto.PnlGrouping;
+import com.poseidoncapitalsolutions.trading.dto.display.PnlDTO;
+import com.poseidoncapitalsolutions.trading.service.PnlService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller handling P&amp;L requests.
+ */
+@Controller
+@AllArgsConstructor
+@Slf4j
+public class PnlController {
+
+    private final PnlService pnlService;
+
+    /**
+     * Displays P&amp;L per trader or book.
+     */
+    @GetMapping("/trade/pnl")
+    public String pnl(@RequestParam(name = "groupBy", defaultValue = "TRADER") PnlGrouping groupBy, Model model) {
+        log.debug("GET - /trade/pnl groupBy={}", groupBy);
+
+        model.addAttribute("groupBy", groupBy);
+        model.addAttribute("pnls", pnlService.getPnl(groupBy));
+
+        return "trade/pnl";
+    }
+
+    /**
+     * Returns P&amp;L per trader or book as JSON.
+     */
+    @GetMapping("/trade/api/pnl")
+    @ResponseBody
+    public List<PnlDTO> pnlData(@RequestParam(name = "groupBy", defaultValue = "TRADER") PnlGrouping groupBy) {
+        log.debug("GET - /trade/api/pnl groupBy={}", groupBy);
+        return pnlService.getPnl(groupBy);
+    }
+}
@@ -0,0 +1,57 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.PositionReconciliationDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PositionDTO;
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+import com.poseidoncapitalsolutions.trading.service.PositionService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the net positions as JSON.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class PositionController {
+
+    private final PositionService positionService;
+
+    /**
+     * Lists all positions, optionally for one account.
+     */
+    @GetMapping("/trade/api/positions")
+    public List<PositionDTO> positions(@RequestParam(name = "account", required = false) String account) {
+        log.debug("GET - /trade/api/positions account={}", account);
+        return positionService.getPositions(account);
+    }
+
+    /**
+     * Returns the position of one security in one book of an account.
+     */
+    @GetMapping("/trade/api/position")
+    public PositionDTO position(@RequestParam(name = "account", required = false) String account,
+                                @RequestParam(name = "book", required = false) String book,
+                                @RequestParam(name = "security", required = false) String security) {
+        log.debug("GET - /trade/api/position account={} book={} security={}", account, book, security);
+        PositionKey key = new PositionKey(account, book, security);
+        return PositionDTO.of(key, positionService.getPosition(key));
+    }
+
+    /**
+     * Runs a reconciliation of the in-memory positions against the database.
+     */
+    @PostMapping("/trade/api/positions/reconcile")
+    public PositionReconciliationDTO reconcile() {
+        log.info("POST - /trade/api/positions/reconcile");
+        return positionService.reconcile();
+    }
+}
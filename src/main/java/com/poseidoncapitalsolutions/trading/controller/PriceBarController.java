@@ -0,0 +1,40 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+import com.poseidoncapitalsolutions.trading.service.PriceBarService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the OHLC bars of the securities as JSON.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class PriceBarController {
+
+    private final PriceBarService priceBarService;
+
+    /**
+     * Returns the bars of a security starting from one instant included to another excluded, oldest first.
+     */
+    @GetMapping("/trade/api/bars")
+    public List<PriceBarDTO> bars(
+            @RequestParam("security") String security,
+            @RequestParam(name = "resolution", defaultValue = "M1") BarResolution resolution,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        log.debug("GET - /trade/api/bars security={} resolution={} from={} to={}", security, resolution, from, to);
+        return priceBarService.getBars(security, resolution, from.toEpochMilli(), to.toEpochMilli());
+    }
+}
@@ -0,0 +1,65 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeAggregateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeSnapshotStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.TradeSnapshotService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing analytics queries over the in-memory trade snapshot as JSON.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class TradeAnalyticsController {
+
+    private final TradeSnapshotService tradeSnapshotService;
+
+    /**
+     * Sums quantities and notionals of the trades matching the filter, per value of a dimension.
+     */
+    @GetMapping("/trade/api/analytics/aggregate")
+    public List<TradeAggregateDTO> aggregate(TradeFilter filter,
+                                             @RequestParam(name = "groupBy", defaultValue = "ACCOUNT") TradeDimension groupBy) {
+        log.debug("GET - /trade/api/analytics/aggregate filter={} groupBy={}", filter, groupBy);
+        return tradeSnapshotService.aggregate(filter, groupBy);
+    }
+
+    /**
+     * Counts the trades matching the filter.
+     */
+    @GetMapping("/trade/api/analytics/count")
+    public int count(TradeFilter filter) {
+        log.debug("GET - /trade/api/analytics/count filter={}", filter);
+        return tradeSnapshotService.count(filter);
+    }
+
+    /**
+     * Reports the memory footprint of the snapshot.
+     */
+    @GetMapping("/trade/api/analytics/memory")
+    public TradeSnapshotStatsDTO memory() {
+        log.debug("GET - /trade/api/analytics/memory");
+        return tradeSnapshotService.getStats();
+    }
+
+    /**
+     * Reloads the snapshot from the database.
+     */
+    @PostMapping("/trade/api/analytics/rebuild")
+    public TradeSnapshotStatsDTO rebuild() {
+        log.info("POST - /trade/api/analytics/rebuild");
+        return tradeSnapshotService.rebuild();
+    }
+}
@@ -0,0 +1,42 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.service.TradePartitionService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the archived trades as JSON.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "trading.partition", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class TradeArchiveController {
+
+    private final TradePartitionService tradePartitionService;
+    private final TradeProperties tradeProperties;
+
+    /**
+     * Returns the archived trades traded from one day included to another excluded, newest first.
+     */
+    @GetMapping("/trade/api/archive")
+    public List<TradeListItemDTO> archivedTrades(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "size", required = false) Integer size) {
+        log.debug("GET - /trade/api/archive from={} to={} size={}", from, to, size);
+        return tradePartitionService.findArchivedTrades(from, to, tradeProperties.resolvePageSize(size));
+    }
+}
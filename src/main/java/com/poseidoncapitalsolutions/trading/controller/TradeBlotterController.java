@@ -0,0 +1,42 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.poseidoncapitalsolutions.trading.dto.display.BlotterStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.TradeBlotterService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller streaming the changes of the trade list to the live blotter.
+ */
+@RestController
+@AllArgsConstructor
+@Slf4j
+public class TradeBlotterController {
+
+    private final TradeBlotterService tradeBlotterService;
+
+    /**
+     * Streams the inserted, updated and deleted trade list rows as Server-Sent Events named "trades",
+     * each holding the JSON array of the changes since the previous event.
+     */
+    @GetMapping(path = "/trade/api/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        log.debug("GET - /trade/api/stream");
+        return tradeBlotterService.subscribe();
+    }
+
+    /**
+     * Reports the connected clients and the changes sent to them.
+     */
+    @GetMapping("/trade/api/blotter")
+    public BlotterStatsDTO stats() {
+        log.debug("GET - /trade/api/blotter");
+        return tradeBlotterService.getStats();
+    }
+}
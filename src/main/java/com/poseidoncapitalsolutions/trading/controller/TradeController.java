@@ -1,5 +1,7 @@
 package com.poseidoncapitalsolutions.trading.controller;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -8,11 +10,19 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
 import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
 import com.poseidoncapitalsolutions.trading.dto.TradeUpdateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradePageDTO;
 import com.poseidoncapitalsolutions.trading.model.Trade;
 import com.poseidoncapitalsolutions.trading.service.TradeService;
+import com.poseidoncapitalsolutions.trading.service.TradeWriteBehindService;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -28,19 +38,66 @@ import lombok.extern.slf4j.Slf4j;
 public class TradeController {
 
     private final TradeService tradeService;
+    private final TradeProperties tradeProperties;
+    private final ObjectProvider<TradeWriteBehindService> tradeWriteBehindService;
 
     /**
-     * Displays the list of trades.
+     * Displays one page of the trades matching the search form, starting after the given cursor.
      */
     @RequestMapping("/trade/list")
-    public String home(Model model) {
-        log.debug("GET - /trade/list");
+    public String home(@ModelAttribute("filter") TradeFilter filter, BindingResult filterResult,
+                       @RequestParam(name = "after", required = false) String after,
+                       @RequestParam(name = "size", required = false) Integer size,
+                       Model model) {
+        log.debug("GET - /trade/list filter={} after={} size={}", filter, after, size);
+
+        if (filterResult.hasErrors()) {
+            log.warn("Invalid trade search: {}", filterResult.getAllErrors());
+            model.addAttribute("error", "Invalid search criteria, showing all trades");
+            filter = TradeFilter.ALL;
+            model.addAttribute("filter", filter);
+        }
+        TradeCursor cursor = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                cursor = TradeCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                log.warn(e.getMessage());
+                model.addAttribute("error", "Invalid page cursor, showing the first page");
+            }
+        }
+        int pageSize = tradeProperties.resolvePageSize(size);
+        TradePageDTO page = tradeService.getTradePage(filter, cursor, pageSize);
 
-        model.addAttribute("trades", tradeService.getAllTrades());
+        model.addAttribute("trades", page.trades());
+        model.addAttribute("nextCursor", page.hasNext() ? page.next().encode() : null);
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("liveInserts", cursor == null && TradeFilter.ALL.equals(filter));
 
         return "trade/list";
     }
 
+    /**
+     * Returns one page of the trades matching the search criteria as JSON.
+     */
+    @GetMapping("/trade/api/trades")
+    @ResponseBody
+    public TradePageDTO search(TradeFilter filter,
+                               @RequestParam(name = "after", required = false) String after,
+                               @RequestParam(name = "size", required = false) Integer size) {
+        log.debug("GET - /trade/api/trades filter={} after={} size={}", filter, after, size);
+
+        TradeCursor cursor = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                cursor = TradeCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+        return tradeService.getTradePage(filter, cursor, tradeProperties.resolvePageSize(size));
+    }
+
     /**
      * Shows the form to add a new trade.
      */
@@ -48,13 +105,13 @@ public class TradeController {
     public String addTrade(Model model) {
         log.debug("GET - /trade/add");
 
-        model.addAttribute("tradeDTO", new TradeAddDTO(null, null, null));
+        model.addAttribute("tradeDTO", new TradeAddDTO(null, null, null, null));
 
         return "trade/add";
     }
 
     /**
-     * Validates and creates a new trade.
+     * Validates and creates a new trade, or buffers it when write-behind booking is enabled.
      */
     @PostMapping("/trade/validate")
     public String validate(@Valid @ModelAttribute("tradeDTO")TradeAddDTO tradeDTO, BindingResult result, Model model) {
@@ -66,6 +123,13 @@ public class TradeController {
             return "trade/add";
         }
 
+        TradeWriteBehindService writeBehind = tradeWriteBehindService.getIfAvailable();
+        if (writeBehind != null) {
+            long accepted = writeBehind.submit(tradeDTO);
+            log.info("Trade accepted for booking as #{}", accepted);
+            return "redirect:/trade/list";
+        }
+
         Trade newTrade = tradeService.createTrade(tradeDTO);
 
         log.info("Trade successfully created with ID[{}]", newTrade.getId());
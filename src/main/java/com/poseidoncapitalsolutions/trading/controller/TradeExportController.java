@@ -0,0 +1,57 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.service.TradeExportService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller streaming trade exports.
+ */
+@Controller
+@AllArgsConstructor
+@Slf4j
+public class TradeExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TradeExportService tradeExportService;
+
+    /**
+     * Streams all trades as CSV or NDJSON, optionally gzipped, straight to the response.
+     */
+    @GetMapping("/trade/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", defaultValue = "NDJSON") TradeFileFormat format,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        log.info("GET - /trade/export format={} gzip={}", format, gzip);
+
+        String filename = "trades." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                tradeExportService.export(format, gzipOut);
+                gzipOut.finish();
+            } else {
+                tradeExportService.export(format, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
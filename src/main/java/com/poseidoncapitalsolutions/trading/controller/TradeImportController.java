@@ -0,0 +1,51 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportResult;
+import com.poseidoncapitalsolutions.trading.service.TradeImportService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller handling bulk trade imports.
+ */
+@Controller
+@AllArgsConstructor
+@Slf4j
+public class TradeImportController {
+
+    private final TradeImportService tradeImportService;
+
+    /**
+     * Imports an uploaded CSV or NDJSON file of trades. The format defaults to the file extension.
+     */
+    @PostMapping("/trade/import")
+    @ResponseBody
+    public TradeImportResult importTrades(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(name = "format", required = false) TradeFileFormat format)
+            throws IOException {
+        log.info("POST - /trade/import : {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        TradeFileFormat fileFormat = format != null ? format : formatOf(file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            return tradeImportService.importTrades(fileFormat, in);
+        }
+    }
+
+    private static TradeFileFormat formatOf(String filename) {
+        if (filename != null && filename.toLowerCase().endsWith("." + TradeFileFormat.CSV.getExtension())) {
+            return TradeFileFormat.CSV;
+        }
+        return TradeFileFormat.NDJSON;
+    }
+}
@@ -0,0 +1,32 @@
+package com.poseidoncapitalsolutions.trading.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.poseidoncapitalsolutions.trading.dto.display.WriteBehindStatsDTO;
+import com.poseidoncapitalsolutions.trading.service.TradeWriteBehindService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller exposing the counters of the write-behind trade buffer as JSON.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "trading.write-behind", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class TradeWriteBehindController {
+
+    private final TradeWriteBehindService tradeWriteBehindService;
+
+    /**
+     * Reports the queue depth and the commit sizes of the buffer.
+     */
+    @GetMapping("/trade/api/write-behind")
+    public WriteBehindStatsDTO stats() {
+        log.debug("GET - /trade/api/write-behind");
+        return tradeWriteBehindService.getStats();
+    }
+}
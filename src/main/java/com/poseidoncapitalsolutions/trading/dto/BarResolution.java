@@ -0,0 +1,20 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Width of the time buckets of OHLC bars.
+ */
+public enum BarResolution {
+    M1(60_000L),
+    M5(300_000L),
+    H1(3_600_000L);
+
+    private final long millis;
+
+    BarResolution(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+}
@@ -11,7 +11,28 @@ public record BidAddDTO(
     String type,
 
     @Positive
-    Double bidQuantity
+    Double bidQuantity,
+
+    String sourceListId,
+
+    String security,
+
+    @Positive
+    Double bid,
+
+    @Positive
+    Double askQuantity,
+
+    @Positive
+    Double ask
 ) {
 
+    /**
+     * Blank source list ids are stored as null, so that they are not taken for idempotency keys.
+     * Blank securities are stored as null, keeping the bid out of the order books.
+     */
+    public BidAddDTO {
+        sourceListId = sourceListId == null || sourceListId.isBlank() ? null : sourceListId.strip();
+        security = security == null || security.isBlank() ? null : security.strip();
+    }
 }
@@ -0,0 +1,27 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Criteria selecting bids. Null criteria match every bid; blank values are read as null.
+ */
+public record BidFilter(
+    String account,
+    String book,
+    String trader,
+    String status,
+    String security
+) {
+
+    public static final BidFilter ALL = new BidFilter(null, null, null, null, null);
+
+    public BidFilter {
+        account = blankToNull(account);
+        book = blankToNull(book);
+        trader = blankToNull(trader);
+        status = blankToNull(status);
+        security = blankToNull(security);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,16 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Columns of a bid needed to place it in the order book of its security and to book its fills.
+ */
+public record BidQuoteDTO(
+    int id,
+    String account,
+    String book,
+    String security,
+    Double bid,
+    Double bidQuantity,
+    Double ask,
+    Double askQuantity
+) {
+}
@@ -0,0 +1,26 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Bid attributes a bid search can be sorted by. Ties are always broken by id.
+ */
+public enum BidSort {
+    ID("id"),
+    ACCOUNT("account"),
+    BOOK("book"),
+    TRADER("trader"),
+    STATUS("status"),
+    SECURITY("security"),
+    BID_LIST_DATE("bidListDate"),
+    BID("bid"),
+    ASK("ask");
+
+    private final String attribute;
+
+    BidSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+}
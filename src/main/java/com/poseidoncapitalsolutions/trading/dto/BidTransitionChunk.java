@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.util.List;
+
+/**
+ * One chunk of a bulk bid status transition.
+ *
+ * @param selected number of bids selected as matching the specification
+ * @param lastSelectedId id of the last bid selected, where the next chunk starts, 0 if none was
+ * @param updated quotes of the bids updated, those still matching the specification when updated, in id order
+ */
+public record BidTransitionChunk(
+    int selected,
+    int lastSelectedId,
+    List<BidQuoteDTO> updated
+) {
+}
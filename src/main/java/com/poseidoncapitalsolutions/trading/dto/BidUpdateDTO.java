@@ -15,7 +15,18 @@ public record BidUpdateDTO(
     String type,
 
     @Positive
-    double bidQuantity
+    double bidQuantity,
+
+    String security,
+
+    @Positive
+    Double bid,
+
+    @Positive
+    Double askQuantity,
+
+    @Positive
+    Double ask
 ) {
 
 }
@@ -0,0 +1,13 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Method interpolating the value of a curve between two of its points.
+ */
+public enum CurveInterpolation {
+    /** Straight line between the two points. */
+    LINEAR,
+    /** Straight line between the logarithms of the values; defined only for positive values. */
+    LOG_LINEAR,
+    /** Natural cubic spline through every point of the curve. */
+    CUBIC_SPLINE
+}
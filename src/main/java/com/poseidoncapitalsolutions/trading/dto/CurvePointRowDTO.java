@@ -0,0 +1,23 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * Point of a version of a curve, read without loading the entity.
+ *
+ * @param asOfDate date of the version of the curve the point belongs to
+ * @param deleted whether the row is the tombstone of a curve deleted from asOfDate rather than a point
+ */
+public record CurvePointRowDTO(
+    int id,
+    int curveId,
+    Timestamp asOfDate,
+    double term,
+    double value,
+    boolean deleted
+) {
+
+    public CurvePointRowDTO(int id, int curveId, Timestamp asOfDate, double term, double value) {
+        this(id, curveId, asOfDate, term, value, false);
+    }
+}
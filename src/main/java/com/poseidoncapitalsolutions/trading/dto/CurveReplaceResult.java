@@ -0,0 +1,14 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Changes applied to the stored points of a curve to replace it.
+ */
+public record CurveReplaceResult(
+    int curveId,
+    int inserted,
+    int updated,
+    int deleted,
+    int unchanged,
+    long elapsedMillis
+) {
+}
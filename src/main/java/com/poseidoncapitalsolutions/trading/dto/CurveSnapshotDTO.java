@@ -0,0 +1,76 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Complete term structure of a curve, replacing every point stored for it.
+ *
+ * @param asOfDate date the curve is valid as of, now if null
+ * @param points the points of the curve, each at a distinct term
+ * @throws IllegalArgumentException if a point has no term or value, or two points the same term
+ */
+public record CurveSnapshotDTO(
+    Timestamp asOfDate,
+    List<Point> points
+) {
+
+    public CurveSnapshotDTO {
+        points = points == null ? List.of() : List.copyOf(points);
+        Set<Double> terms = new HashSet<>();
+        for (Point point : points) {
+            if (point.term() == null || point.value() == null || !Double.isFinite(point.term())
+                    || !Double.isFinite(point.value())) {
+                throw new IllegalArgumentException("Every point needs a finite term and value: " + point);
+            }
+            if (!terms.add(point.term())) {
+                throw new IllegalArgumentException("Several points at term " + point.term());
+            }
+        }
+    }
+
+    public record Point(Double term, Double value) {
+    }
+
+    /**
+     * Reads the points of a CSV with a header row naming a "term" and a "value" column.
+     *
+     * @throws IllegalArgumentException if the header lacks a column or a field is not a number
+     */
+    public static CurveSnapshotDTO fromCsv(Timestamp asOfDate, Reader csv) throws IOException {
+        BufferedReader reader = new BufferedReader(csv);
+        String header = reader.readLine();
+        if (header == null) {
+            return new CurveSnapshotDTO(asOfDate, List.of());
+        }
+        List<String> columns = Arrays.stream(header.split(",", -1)).map(String::trim).toList();
+        int termColumn = columns.indexOf("term");
+        int valueColumn = columns.indexOf("value");
+        if (termColumn < 0 || valueColumn < 0) {
+            throw new IllegalArgumentException("The CSV header must name a term and a value column: " + header);
+        }
+        List<Point> points = new ArrayList<>();
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            try {
+                points.add(new Point(Double.valueOf(fields[termColumn].trim()), Double.valueOf(fields[valueColumn].trim())));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid point at line " + lineNumber + ": " + line, e);
+            }
+        }
+        return new CurveSnapshotDTO(asOfDate, points);
+    }
+}
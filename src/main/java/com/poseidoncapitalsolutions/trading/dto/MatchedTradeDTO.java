@@ -0,0 +1,14 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Columns of a trade booked by the matching engine, needed to restore what its bids filled.
+ *
+ * @param sourceListId "bid-&lt;buy bid id&gt;-&lt;sell bid id&gt;-&lt;fill sequence&gt;-B" for the buying side, "-S" for the selling side
+ */
+public record MatchedTradeDTO(
+    String sourceListId,
+    String security,
+    Double buyQuantity,
+    Double sellQuantity
+) {
+}
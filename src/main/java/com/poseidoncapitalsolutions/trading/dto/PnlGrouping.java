@@ -0,0 +1,19 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Dimension P&L is broken down by.
+ */
+public enum PnlGrouping {
+    TRADER(TradeDimension.TRADER),
+    BOOK(TradeDimension.BOOK);
+
+    private final TradeDimension dimension;
+
+    PnlGrouping(TradeDimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public TradeDimension dimension() {
+        return dimension;
+    }
+}
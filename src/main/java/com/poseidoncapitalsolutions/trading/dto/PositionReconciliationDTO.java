@@ -0,0 +1,22 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+
+/**
+ * Outcome of comparing the in-memory positions with a full recomputation from the database, which then
+ * replaced them.
+ *
+ * @param checked number of positions compared
+ * @param mismatches positions that differ, are missing from memory, or only exist in memory
+ */
+public record PositionReconciliationDTO(
+    int checked,
+    List<PositionKey> mismatches
+) {
+
+    public boolean isConsistent() {
+        return mismatches.isEmpty();
+    }
+}
@@ -0,0 +1,30 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import com.poseidoncapitalsolutions.trading.engine.Position;
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+
+/**
+ * Position totals aggregated by the database.
+ */
+public record PositionTotalsDTO(
+    String account,
+    String book,
+    String security,
+    Double buyQuantity,
+    Double buyNotional,
+    Double sellQuantity,
+    Double sellNotional
+) {
+
+    public PositionKey key() {
+        return new PositionKey(account, book, security);
+    }
+
+    public Position position() {
+        return new Position(valueOf(buyQuantity), valueOf(buyNotional), valueOf(sellQuantity), valueOf(sellNotional));
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -3,7 +3,14 @@ package com.poseidoncapitalsolutions.trading.dto;
 public record TradeAddDTO(
     String account,
 	String type,
-	Double buyQuantity
+	Double buyQuantity,
+    String sourceListId
 ) {
 
+    /**
+     * Blank source list ids are stored as null, so that they are not taken for idempotency keys.
+     */
+    public TradeAddDTO {
+        sourceListId = sourceListId == null || sourceListId.isBlank() ? null : sourceListId.strip();
+    }
 }
@@ -0,0 +1,23 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * Columns of a trade held by the in-memory trade snapshot.
+ */
+public record TradeColumnsRowDTO(
+    int id,
+    String account,
+    String book,
+    String security,
+    String trader,
+    String status,
+    String side,
+    Double buyQuantity,
+    Double buyPrice,
+    Double sellQuantity,
+    Double sellPrice,
+    Timestamp tradeDate
+) {
+
+}
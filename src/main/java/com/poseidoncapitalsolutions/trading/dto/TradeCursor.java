@@ -0,0 +1,47 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+
+/**
+ * Position of the last trade of a blotter page, ordered by (tradeDate, id) descending.
+ * Encoded as "{tradeDate}_{id}", or "{id}" alone for trades without a trade date, also in JSON.
+ */
+public record TradeCursor(
+    Timestamp tradeDate,
+    int id
+) {
+
+    private static final char SEPARATOR = '_';
+
+    public static TradeCursor of(TradeListItemDTO trade) {
+        return new TradeCursor(trade.tradeDate(), trade.id());
+    }
+
+    /**
+     * Parses an encoded cursor.
+     *
+     * @param value the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static TradeCursor decode(String value) {
+        int separator = value.lastIndexOf(SEPARATOR);
+        try {
+            int id = Integer.parseInt(value.substring(separator + 1));
+            Timestamp tradeDate = separator < 0 ? null : Timestamp.from(Instant.parse(value.substring(0, separator)));
+            return new TradeCursor(tradeDate, id);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid trade cursor: " + value, e);
+        }
+    }
+
+    @JsonValue
+    public String encode() {
+        return tradeDate == null ? Integer.toString(id) : tradeDate.toInstant().toString() + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,13 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+/**
+ * Dictionary-encoded trade column that analytics queries can filter on and group by.
+ */
+public enum TradeDimension {
+    ACCOUNT,
+    BOOK,
+    SECURITY,
+    TRADER,
+    STATUS,
+    SIDE
+}
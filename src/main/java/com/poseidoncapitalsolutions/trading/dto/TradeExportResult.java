@@ -0,0 +1,11 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+public record TradeExportResult(
+    long rows,
+    long elapsedMillis
+) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? rows * 1000 : rows * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * File formats supported by the trade export and import.
+ */
+@Getter
+@AllArgsConstructor
+public enum TradeFileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+}
@@ -0,0 +1,52 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Criteria selecting trades. Null criteria match every trade; blank values are read as null.
+ *
+ * @param from first trade date included
+ * @param to last trade date included
+ */
+public record TradeFilter(
+    String account,
+    String book,
+    String security,
+    String trader,
+    String status,
+    String side,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+) {
+
+    public static final TradeFilter ALL = new TradeFilter(null, null, null, null, null, null, null, null);
+
+    public TradeFilter {
+        account = blankToNull(account);
+        book = blankToNull(book);
+        security = blankToNull(security);
+        trader = blankToNull(trader);
+        status = blankToNull(status);
+        side = blankToNull(side);
+    }
+
+    /**
+     * Returns the value this filter requires for a dimension, null if any value matches.
+     */
+    public String valueOf(TradeDimension dimension) {
+        return switch (dimension) {
+            case ACCOUNT -> account;
+            case BOOK -> book;
+            case SECURITY -> security;
+            case TRADER -> trader;
+            case STATUS -> status;
+            case SIDE -> side;
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.sql.Timestamp;
+
+public record TradeImportDTO(
+    String account,
+    String type,
+    Double buyQuantity,
+    Double sellQuantity,
+    Double buyPrice,
+    Double sellPrice,
+    Timestamp tradeDate,
+    String security,
+    String status,
+    String trader,
+    String benchmark,
+    String book,
+    String dealName,
+    String dealType,
+    String sourceListId,
+    String side
+) {
+
+}
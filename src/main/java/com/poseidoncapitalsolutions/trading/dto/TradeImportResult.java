@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.util.List;
+
+public record TradeImportResult(
+    long imported,
+    long rejected,
+    List<String> errors,
+    long elapsedMillis
+) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? imported * 1000 : imported * 1000 / elapsedMillis;
+    }
+}
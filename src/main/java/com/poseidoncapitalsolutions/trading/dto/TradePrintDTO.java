@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto;
+
+import java.sql.Timestamp;
+
+/**
+ * Columns of a trade needed to rebuild the price bars its buy and sell prints fall in.
+ */
+public record TradePrintDTO(
+    Timestamp tradeDate,
+    Double buyPrice,
+    Double buyQuantity,
+    Double sellPrice,
+    Double sellQuantity
+) {
+}
@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.util.List;
+
+/**
+ * Best bids and offers changed since a version.
+ *
+ * @param version version to ask the next changes since; every change up to it is included
+ * @param changes current snapshot of each security whose BBO changed, by security
+ */
+public record BboChangesDTO(
+    long version,
+    List<BboDTO> changes
+) {
+}
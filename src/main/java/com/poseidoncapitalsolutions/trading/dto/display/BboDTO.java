@@ -0,0 +1,20 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Best bid and offer of one security at a point in time.
+ *
+ * @param bid highest buy price, null if no bid quotes one
+ * @param bidQuantity total quantity at the highest buy price
+ * @param ask lowest sell price, null if no bid quotes one
+ * @param askQuantity total quantity at the lowest sell price
+ * @param version value of the global BBO version when this snapshot was published
+ */
+public record BboDTO(
+    String security,
+    Double bid,
+    double bidQuantity,
+    Double ask,
+    double askQuantity,
+    long version
+) {
+}
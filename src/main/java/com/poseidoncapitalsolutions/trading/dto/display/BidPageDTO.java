@@ -0,0 +1,18 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.util.List;
+
+/**
+ * One page of a bid search.
+ *
+ * @param page number of the page, from 0
+ * @param totalElements number of bids matching the search
+ */
+public record BidPageDTO(
+    List<BidRowDTO> bids,
+    int page,
+    int size,
+    long totalElements,
+    int totalPages
+) {
+}
@@ -0,0 +1,22 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.sql.Timestamp;
+
+/**
+ * Columns of a bid returned by the bid searches.
+ */
+public record BidRowDTO(
+    int id,
+    String account,
+    String type,
+    String book,
+    String trader,
+    String status,
+    String security,
+    Double bidQuantity,
+    Double bid,
+    Double askQuantity,
+    Double ask,
+    Timestamp bidListDate
+) {
+}
@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Outcome of a bulk bid status transition.
+ *
+ * @param status the status set
+ * @param updated number of bids updated
+ * @param chunks number of transactions committed
+ */
+public record BidTransitionDTO(
+    String status,
+    int updated,
+    int chunks
+) {
+}
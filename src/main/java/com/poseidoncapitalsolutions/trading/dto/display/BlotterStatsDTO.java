@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Counters of the live trade blotter.
+ *
+ * @param subscribers clients currently connected
+ * @param published trade list changes published since startup
+ * @param sent changes sent to clients, counting once per client
+ * @param droppedSubscribers clients disconnected because they fell too far behind
+ */
+public record BlotterStatsDTO(
+    int subscribers,
+    long published,
+    long sent,
+    long droppedSubscribers
+) {
+}
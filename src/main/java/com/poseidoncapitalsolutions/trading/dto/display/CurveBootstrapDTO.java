@@ -0,0 +1,16 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.time.LocalDate;
+
+/**
+ * Discount factors and forward rates of a curve on a day, at each tenor. The forward rate at a tenor applies
+ * from the previous tenor, or from 0, to it, in percent continuously compounded.
+ */
+public record CurveBootstrapDTO(
+    int curveId,
+    LocalDate date,
+    double[] tenors,
+    double[] discountFactors,
+    double[] forwardRates
+) {
+}
@@ -0,0 +1,20 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.time.LocalDate;
+
+/**
+ * Extent and cost of a curve bootstrap.
+ *
+ * @param versions number of curve versions read
+ * @param bytes size of the bootstrap file
+ */
+public record CurveBootstrapStatsDTO(
+    LocalDate firstDay,
+    int days,
+    int curves,
+    int tenors,
+    long versions,
+    long bytes,
+    long elapsedMillis
+) {
+}
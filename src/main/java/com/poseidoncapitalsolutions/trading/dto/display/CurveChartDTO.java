@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Series of a curve chart, downsampled: terms and values of a curve, or dates in epoch milliseconds and values
+ * at a term over the versions of a curve.
+ *
+ * @param sourcePoints number of points the series was downsampled from
+ */
+public record CurveChartDTO(
+    int curveId,
+    long sourcePoints,
+    double[] x,
+    double[] y
+) {
+}
@@ -0,0 +1,26 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.sql.Timestamp;
+
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+
+/**
+ * Points of a version of a curve, by increasing term.
+ */
+public record CurveDTO(
+    int curveId,
+    Timestamp asOfDate,
+    double[] terms,
+    double[] values
+) {
+
+    public static CurveDTO of(Curve curve) {
+        double[] terms = new double[curve.size()];
+        double[] values = new double[curve.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = curve.term(i);
+            values[i] = curve.value(i);
+        }
+        return new CurveDTO(curve.curveId(), curve.asOfDate(), terms, values);
+    }
+}
@@ -0,0 +1,14 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+
+/**
+ * Values of a curve interpolated at the requested terms, in request order.
+ */
+public record CurveValuesDTO(
+    int curveId,
+    CurveInterpolation method,
+    double[] terms,
+    double[] values
+) {
+}
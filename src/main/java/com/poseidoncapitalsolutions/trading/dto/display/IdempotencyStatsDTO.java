@@ -0,0 +1,27 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Counters of the duplicate submission check of one kind of entity.
+ *
+ * @param scope the kind of entity, "trade" or "bid"
+ * @param keys number of keys in the Bloom filter
+ * @param checks number of keys checked
+ * @param bloomMisses checks answered by the Bloom filter alone, without a database probe
+ * @param recentHits duplicates found in the cache of recent keys
+ * @param probes checks that needed a database probe
+ * @param falsePositives probes that found no duplicate
+ * @param falsePositiveRate observed share of false positives among the keys not found in the Bloom filter or the cache
+ * @param expectedFalsePositiveRate false positive rate expected from the Bloom filter size and key count
+ */
+public record IdempotencyStatsDTO(
+    String scope,
+    long keys,
+    long checks,
+    long bloomMisses,
+    long recentHits,
+    long probes,
+    long falsePositives,
+    double falsePositiveRate,
+    double expectedFalsePositiveRate
+) {
+}
@@ -0,0 +1,30 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Counters of the bid matching engine.
+ *
+ * @param shards number of sequencer threads
+ * @param commands bid submissions and cancellations processed since startup
+ * @param fills fills matched since startup
+ * @param tradesBooked trades created from the fills
+ * @param failedFills failed attempts to book fills, counted per fill; failed fills are booked again until
+ *                    they succeed
+ * @param restingSides bid and ask sides resting in the books
+ * @param p50Nanos median time from the commit of a bid write to the end of its matching
+ * @param p99Nanos 99th percentile of that time
+ * @param p999Nanos 99.9th percentile of that time
+ * @param maxNanos longest of that time
+ */
+public record MatchingStatsDTO(
+    int shards,
+    long commands,
+    long fills,
+    long tradesBooked,
+    long failedFills,
+    int restingSides,
+    long p50Nanos,
+    long p99Nanos,
+    long p999Nanos,
+    long maxNanos
+) {
+}
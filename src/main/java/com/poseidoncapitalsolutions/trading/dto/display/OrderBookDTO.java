@@ -0,0 +1,18 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.util.List;
+
+/**
+ * Depth of the order book of one security.
+ *
+ * @param bids buy levels, highest price first
+ * @param asks sell levels, lowest price first
+ * @param orders number of bids resting in the book
+ */
+public record OrderBookDTO(
+    String security,
+    List<PriceLevelDTO> bids,
+    List<PriceLevelDTO> asks,
+    int orders
+) {
+}
@@ -0,0 +1,14 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+public record PnlDTO(
+    String partition,
+    double boughtQuantity,
+    double soldQuantity,
+    double realizedPnl,
+    double unrealizedPnl
+) {
+
+    public double totalPnl() {
+        return realizedPnl + unrealizedPnl;
+    }
+}
@@ -0,0 +1,21 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import com.poseidoncapitalsolutions.trading.engine.Position;
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+
+public record PositionDTO(
+    String account,
+    String book,
+    String security,
+    double netQuantity,
+    double buyQuantity,
+    double averageBuyPrice,
+    double sellQuantity,
+    double averageSellPrice
+) {
+
+    public static PositionDTO of(PositionKey key, Position position) {
+        return new PositionDTO(key.account(), key.book(), key.security(), position.netQuantity(),
+                position.buyQuantity(), position.averageBuyPrice(), position.sellQuantity(), position.averageSellPrice());
+    }
+}
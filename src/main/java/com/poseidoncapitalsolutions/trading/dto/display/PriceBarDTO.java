@@ -0,0 +1,36 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.sql.Timestamp;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+
+/**
+ * OHLC bar of the trades of one security over one time bucket.
+ *
+ * @param start start of the bucket, included; the bucket ends at start plus the resolution, excluded
+ * @param open price of the earliest trade of the bucket
+ * @param close price of the latest trade of the bucket
+ * @param volume total traded quantity
+ * @param notional total of price times quantity
+ * @param vwap volume-weighted average price, notional divided by volume
+ */
+public record PriceBarDTO(
+    String security,
+    BarResolution resolution,
+    Timestamp start,
+    double open,
+    double high,
+    double low,
+    double close,
+    double volume,
+    double notional,
+    double vwap,
+    int tradeCount
+) {
+
+    public static PriceBarDTO of(String security, BarResolution resolution, long start, double open, double high,
+                                 double low, double close, double volume, double notional, int tradeCount) {
+        return new PriceBarDTO(security, resolution, new Timestamp(start), open, high, low, close, volume, notional,
+                volume == 0 ? 0 : notional / volume, tradeCount);
+    }
+}
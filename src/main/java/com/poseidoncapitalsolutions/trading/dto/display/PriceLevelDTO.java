@@ -0,0 +1,14 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Price level of one side of an order book.
+ *
+ * @param quantity total quantity of the orders at this price
+ * @param orders number of orders at this price
+ */
+public record PriceLevelDTO(
+    double price,
+    double quantity,
+    int orders
+) {
+}
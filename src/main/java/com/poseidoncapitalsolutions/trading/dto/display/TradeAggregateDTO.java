@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+public record TradeAggregateDTO(
+    String key,
+    int tradeCount,
+    double buyQuantity,
+    double buyNotional,
+    double sellQuantity,
+    double sellNotional
+) {
+
+    public double netQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+}
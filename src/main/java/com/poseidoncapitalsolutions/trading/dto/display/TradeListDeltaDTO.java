@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+
+/**
+ * Change of one row of the trade list, pushed to the live blotter.
+ *
+ * @param sequence number of the change, increasing from 1 in commit order
+ * @param type the kind of change
+ * @param trade the row after the change, or before it for a deletion
+ */
+public record TradeListDeltaDTO(
+    long sequence,
+    TradeEventType type,
+    TradeListItemDTO trade
+) {
+}
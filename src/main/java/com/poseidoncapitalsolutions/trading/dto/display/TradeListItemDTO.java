@@ -1,10 +1,13 @@
 package com.poseidoncapitalsolutions.trading.dto.display;
 
+import java.sql.Timestamp;
+
 public record TradeListItemDTO(
     int id,
     String account,
 	String type,
-	Double buyQuantity
+	Double buyQuantity,
+	Timestamp tradeDate
 ) {
 
 }
@@ -0,0 +1,15 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+
+public record TradePageDTO(
+    List<TradeListItemDTO> trades,
+    TradeCursor next
+) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+import java.util.List;
+
+/**
+ * Outcome of a trade partition maintenance run.
+ *
+ * @param createdPartitions partitions added to the trade table
+ * @param archivedPartitions partitions moved to the archive table
+ * @param archivedTrades number of trades moved to the archive table
+ */
+public record TradePartitionReportDTO(
+    List<String> createdPartitions,
+    List<String> archivedPartitions,
+    long archivedTrades
+) {
+}
@@ -0,0 +1,27 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Memory footprint of the in-memory trade snapshot.
+ *
+ * @param rows rows held, including rows of deleted or superseded trades
+ * @param liveRows rows of current trades
+ * @param columnBytes bytes allocated by the column arrays and tombstones
+ * @param dictionaryEntries distinct values held by the dictionaries of all dimensions
+ * @param dictionaryBytes estimated bytes held by the dictionaries
+ * @param bytesPerTrade bytes held per current trade
+ */
+public record TradeSnapshotStatsDTO(
+    int rows,
+    int liveRows,
+    long columnBytes,
+    int dictionaryEntries,
+    long dictionaryBytes,
+    double bytesPerTrade
+) {
+
+    public static TradeSnapshotStatsDTO of(int rows, int liveRows, long columnBytes, int dictionaryEntries,
+                                           long dictionaryBytes) {
+        double bytesPerTrade = liveRows == 0 ? 0 : (double) (columnBytes + dictionaryBytes) / liveRows;
+        return new TradeSnapshotStatsDTO(rows, liveRows, columnBytes, dictionaryEntries, dictionaryBytes, bytesPerTrade);
+    }
+}
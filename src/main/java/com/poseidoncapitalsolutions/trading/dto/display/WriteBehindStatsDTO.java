@@ -0,0 +1,29 @@
+package com.poseidoncapitalsolutions.trading.dto.display;
+
+/**
+ * Counters of the write-behind trade buffer.
+ *
+ * @param queueDepth trades waiting in the buffer
+ * @param capacity maximum number of trades the buffer holds
+ * @param accepted trades accepted since startup
+ * @param rejected trades rejected because the buffer was full
+ * @param committed trades committed
+ * @param failed trades that could not be committed
+ * @param batches transactions committed
+ * @param lastBatchSize number of trades of the last transaction
+ * @param maxBatchSize largest number of trades committed in one transaction
+ * @param averageBatchSize average number of trades per transaction
+ */
+public record WriteBehindStatsDTO(
+    int queueDepth,
+    int capacity,
+    long accepted,
+    long rejected,
+    long committed,
+    long failed,
+    long batches,
+    int lastBatchSize,
+    int maxBatchSize,
+    double averageBatchSize
+) {
+}
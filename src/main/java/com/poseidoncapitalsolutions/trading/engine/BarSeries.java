@@ -0,0 +1,194 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+
+/**
+ * OHLC bars of one security at one resolution, over a fixed number of the most recent buckets.
+ *
+ * <p>Buckets live in a ring of primitive arrays indexed by bucket number modulo the capacity, so adding a
+ * trade or reading a range never allocates nor searches. A trade for a bucket newer than the one in its slot
+ * reuses the slot; a trade older than the history is ignored. A bucket can be cleared to add its trades
+ * again; left without trades, it is drained as an empty bar, for the stored one to be deleted. Buckets changed
+ * since they were last drained are flagged dirty. Not thread-safe.
+ */
+public final class BarSeries {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final String security;
+    private final BarResolution resolution;
+    private final long width;
+    private final int capacity;
+
+    private final long[] starts;
+    private final long[] openTimes;
+    private final long[] closeTimes;
+    private final double[] opens;
+    private final double[] highs;
+    private final double[] lows;
+    private final double[] closes;
+    private final double[] volumes;
+    private final double[] notionals;
+    private final int[] counts;
+    private final boolean[] dirty;
+    private long newestStart = EMPTY;
+
+    public BarSeries(String security, BarResolution resolution, int capacity) {
+        this.security = security;
+        this.resolution = resolution;
+        this.width = resolution.millis();
+        this.capacity = capacity;
+        this.starts = new long[capacity];
+        Arrays.fill(starts, EMPTY);
+        this.openTimes = new long[capacity];
+        this.closeTimes = new long[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+        this.notionals = new double[capacity];
+        this.counts = new int[capacity];
+        this.dirty = new boolean[capacity];
+    }
+
+    /**
+     * Adds a trade to the bucket containing its time.
+     *
+     * @return false if the trade is older than the history and was ignored
+     */
+    public boolean add(long time, double price, double quantity) {
+        long start = Math.floorDiv(time, width) * width;
+        int slot = slot(start);
+        if (starts[slot] != start) {
+            if (starts[slot] != EMPTY && starts[slot] > start || newestStart != EMPTY && start <= newestStart - capacity * width) {
+                return false;
+            }
+            reset(slot, start);
+        }
+        if (counts[slot] == 0 || time < openTimes[slot]) {
+            opens[slot] = price;
+            openTimes[slot] = time;
+        }
+        if (counts[slot] == 0 || time >= closeTimes[slot]) {
+            closes[slot] = price;
+            closeTimes[slot] = time;
+        }
+        highs[slot] = counts[slot] == 0 ? price : Math.max(highs[slot], price);
+        lows[slot] = counts[slot] == 0 ? price : Math.min(lows[slot], price);
+        volumes[slot] += quantity;
+        notionals[slot] += price * quantity;
+        counts[slot]++;
+        dirty[slot] = true;
+        return true;
+    }
+
+    /**
+     * Empties the bucket starting at the given time, creating it if needed, and flags it dirty.
+     *
+     * @return false if the bucket is older than the history and was left alone
+     */
+    public boolean clear(long start) {
+        int slot = slot(start);
+        if (starts[slot] != EMPTY && starts[slot] > start || newestStart != EMPTY && start <= newestStart - capacity * width) {
+            return false;
+        }
+        reset(slot, start);
+        dirty[slot] = true;
+        return true;
+    }
+
+    /**
+     * Restores a bar read back from storage, unless its slot holds a newer bucket.
+     */
+    public void load(PriceBarDTO bar) {
+        long start = bar.start().getTime();
+        int slot = slot(start);
+        if (starts[slot] != EMPTY && starts[slot] >= start) {
+            return;
+        }
+        reset(slot, start);
+        opens[slot] = bar.open();
+        highs[slot] = bar.high();
+        lows[slot] = bar.low();
+        closes[slot] = bar.close();
+        volumes[slot] = bar.volume();
+        notionals[slot] = bar.notional();
+        counts[slot] = bar.tradeCount();
+        openTimes[slot] = start;
+        closeTimes[slot] = start;
+        dirty[slot] = false;
+    }
+
+    /**
+     * Adds the bars of the buckets starting in [from, to) to a list, oldest first.
+     */
+    public void range(long from, long to, List<PriceBarDTO> bars) {
+        if (newestStart == EMPTY) {
+            return;
+        }
+        long first = Math.max(Math.floorDiv(from, width) * width, oldestStart());
+        if (first < from) {
+            first += width;
+        }
+        for (long start = first; start < to && start <= newestStart; start += width) {
+            int slot = slot(start);
+            if (starts[slot] == start && counts[slot] > 0) {
+                bars.add(bar(slot));
+            }
+        }
+    }
+
+    /**
+     * Adds the dirty bars of the buckets ended at the given time to a list, and flags them clean.
+     * Buckets cleared and left without trades are added as bars with a trade count of 0.
+     */
+    public void drainClosed(long now, List<PriceBarDTO> bars) {
+        for (int slot = 0; slot < capacity; slot++) {
+            if (dirty[slot] && starts[slot] + width <= now) {
+                bars.add(bar(slot));
+                dirty[slot] = false;
+            }
+        }
+    }
+
+    /**
+     * Flags a bar dirty again, after storing it failed.
+     */
+    public void markDirty(long start) {
+        int slot = slot(start);
+        if (starts[slot] == start) {
+            dirty[slot] = true;
+        }
+    }
+
+    /**
+     * Start of the oldest bucket the history can hold, given the newest bucket; Long.MAX_VALUE while empty.
+     */
+    public long oldestStart() {
+        return newestStart == EMPTY ? Long.MAX_VALUE : newestStart - (capacity - 1) * width;
+    }
+
+    private int slot(long start) {
+        return (int) Math.floorMod(Math.floorDiv(start, width), (long) capacity);
+    }
+
+    private void reset(int slot, long start) {
+        starts[slot] = start;
+        counts[slot] = 0;
+        volumes[slot] = 0;
+        notionals[slot] = 0;
+        if (newestStart == EMPTY || start > newestStart) {
+            newestStart = start;
+        }
+    }
+
+    private PriceBarDTO bar(int slot) {
+        return PriceBarDTO.of(security, resolution, starts[slot], opens[slot], highs[slot], lows[slot], closes[slot],
+                volumes[slot], notionals[slot], counts[slot]);
+    }
+}
@@ -0,0 +1,209 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+
+/**
+ * Immutable snapshot of a curve: its terms in increasing order and the value at each term, with what the
+ * interpolations need precomputed, so that reading a value is a binary search and a few multiplications,
+ * without allocating.
+ *
+ * <p>Outside its terms a curve is extrapolated flat. A curve without points is NaN everywhere, and the
+ * log-linear interpolation is NaN between two points that are not both positive.
+ */
+public final class Curve {
+
+    private final int curveId;
+    private final Timestamp asOfDate;
+    private final double[] terms;
+    private final double[] values;
+    private final double[] logValues;
+    private final double[] secondDerivatives;
+
+    private Curve(int curveId, Timestamp asOfDate, double[] terms, double[] values) {
+        this.curveId = curveId;
+        this.asOfDate = asOfDate;
+        this.terms = terms;
+        this.values = values;
+        this.logValues = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            logValues[i] = values[i] > 0 ? Math.log(values[i]) : Double.NaN;
+        }
+        this.secondDerivatives = naturalSplineSecondDerivatives(terms, values);
+    }
+
+    /**
+     * Builds a curve from the first points of arrays sorted by term. Of several points at the same term,
+     * the last one is kept. The arrays are not retained.
+     *
+     * @param count number of points to read from the arrays
+     * @throws IllegalArgumentException if the terms are not sorted
+     */
+    public static Curve of(int curveId, double[] terms, double[] values, int count) {
+        return of(curveId, null, terms, values, count);
+    }
+
+    /**
+     * Builds the version of a curve as of a date from the first points of arrays sorted by term.
+     *
+     * @see #of(int, double[], double[], int)
+     */
+    public static Curve of(int curveId, Timestamp asOfDate, double[] terms, double[] values, int count) {
+        double[] distinctTerms = new double[count];
+        double[] distinctValues = new double[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size > 0 && terms[i] == distinctTerms[size - 1]) {
+                distinctValues[size - 1] = values[i];
+                continue;
+            }
+            if (size > 0 && !(terms[i] > distinctTerms[size - 1])) {
+                throw new IllegalArgumentException("Terms of curve " + curveId + " are not sorted at " + terms[i]);
+            }
+            distinctTerms[size] = terms[i];
+            distinctValues[size] = values[i];
+            size++;
+        }
+        return new Curve(curveId, asOfDate == null ? null : new Timestamp(asOfDate.getTime()),
+                Arrays.copyOf(distinctTerms, size), Arrays.copyOf(distinctValues, size));
+    }
+
+    public int curveId() {
+        return curveId;
+    }
+
+    /**
+     * Returns the date of the curve version, null if unknown.
+     */
+    public Timestamp asOfDate() {
+        return asOfDate == null ? null : new Timestamp(asOfDate.getTime());
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double term(int index) {
+        return terms[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the value of the curve at a term.
+     */
+    public double interpolate(double term, CurveInterpolation method) {
+        int n = terms.length;
+        if (n == 0 || Double.isNaN(term)) {
+            return Double.NaN;
+        }
+        if (term <= terms[0]) {
+            return pointValue(0, method);
+        }
+        if (term >= terms[n - 1]) {
+            return pointValue(n - 1, method);
+        }
+        int found = Arrays.binarySearch(terms, term);
+        if (found >= 0) {
+            return pointValue(found, method);
+        }
+        int i = -found - 2;
+        double h = terms[i + 1] - terms[i];
+        double b = (term - terms[i]) / h;
+        double a = 1 - b;
+        return switch (method) {
+            case LINEAR -> a * values[i] + b * values[i + 1];
+            case LOG_LINEAR -> Math.exp(a * logValues[i] + b * logValues[i + 1]);
+            case CUBIC_SPLINE -> a * values[i] + b * values[i + 1]
+                    + ((a * a * a - a) * secondDerivatives[i] + (b * b * b - b) * secondDerivatives[i + 1]) * h * h / 6;
+        };
+    }
+
+    /**
+     * Writes the values of the curve at several terms into an array.
+     *
+     * @param results array of at least as many elements as terms
+     */
+    public void interpolate(double[] terms, CurveInterpolation method, double[] results) {
+        for (int i = 0; i < terms.length; i++) {
+            results[i] = interpolate(terms[i], method);
+        }
+    }
+
+    private double pointValue(int index, CurveInterpolation method) {
+        return method == CurveInterpolation.LOG_LINEAR && !(values[index] > 0) ? Double.NaN : values[index];
+    }
+
+    /**
+     * Solves the tridiagonal system giving the second derivatives of the natural cubic spline through the
+     * points, zero at both ends.
+     */
+    private static double[] naturalSplineSecondDerivatives(double[] x, double[] y) {
+        int n = x.length;
+        double[] m = new double[n];
+        if (n < 3) {
+            return m;
+        }
+        double[] u = new double[n - 1];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * m[i - 1] + 2;
+            m[i] = (sig - 1) / p;
+            double slopes = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6 * slopes / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        m[n - 1] = 0;
+        for (int i = n - 2; i >= 0; i--) {
+            m[i] = m[i] * m[i + 1] + u[i];
+        }
+        return m;
+    }
+
+    /**
+     * Accumulates the points of a curve version, read by term.
+     */
+    public static final class Builder {
+
+        private final int curveId;
+        private final Timestamp asOfDate;
+        private double[] terms = new double[16];
+        private double[] values = new double[16];
+        private int size;
+
+        public Builder(int curveId, Timestamp asOfDate) {
+            this.curveId = curveId;
+            this.asOfDate = asOfDate;
+        }
+
+        public Builder add(double term, double value) {
+            if (size == terms.length) {
+                terms = Arrays.copyOf(terms, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            terms[size] = term;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public int curveId() {
+            return curveId;
+        }
+
+        public Timestamp asOfDate() {
+            return asOfDate;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Curve build() {
+            return Curve.of(curveId, asOfDate, terms, values, size);
+        }
+    }
+}
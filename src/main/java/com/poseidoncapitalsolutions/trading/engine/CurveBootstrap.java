@@ -0,0 +1,457 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+
+/**
+ * Discount factors and forward rates derived from every curve on every day of a window, at fixed tenors,
+ * stored in a file read through a read-only memory mapping.
+ *
+ * <p>A curve point is read as a continuously compounded zero rate in percent at a term in years. On each day,
+ * the curve version in force at the end of the day (UTC) is interpolated at the tenors, giving the discount
+ * factor {@code exp(-r t)} at each tenor and the forward rate from the previous tenor, or from 0, to it.
+ *
+ * <p>File layout, little-endian:
+ * <pre>
+ *  0  int    magic
+ *  4  int    tenor count T
+ *  8  int    curve count C
+ * 12  int    day count D
+ * 16  long   first day, epoch day
+ * 24  long   build time, epoch milliseconds
+ * 32  int    CurveInterpolation ordinal
+ * 36  int    0
+ * 40  double tenors[T], then int curve ids[C] in increasing order, then padding to 8 bytes
+ *     then for each curve, for each day: double discount factors[T], double forward rates[T],
+ *     NaN on the days before the first version of the curve, or while a version without points is in force,
+ *     or on every day for a curve whose versions were not given
+ * </pre>
+ *
+ * <p>Curves are bootstrapped independently on a ForkJoinPool, each as soon as its versions are read, so only
+ * the curves in flight are held in memory. Each worker reuses its own scratch buffers, and as a curve version
+ * usually stays in force for many days, its record is computed once and copied to each day.
+ */
+public final class CurveBootstrap {
+
+    private static final int MAGIC = 0x43425331;
+    private static final int HEADER_BYTES = 40;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final double PERCENT = 0.01;
+    private static final CurveInterpolation[] METHODS = CurveInterpolation.values();
+
+    private final ByteBuffer buffer;
+    private final double[] tenors;
+    private final int[] curveIds;
+    private final int days;
+    private final long firstEpochDay;
+    private final long builtAt;
+    private final CurveInterpolation method;
+    private final int dataOffset;
+
+    private CurveBootstrap(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a curve bootstrap file");
+        }
+        int tenorCount = buffer.getInt(4);
+        int curveCount = buffer.getInt(8);
+        this.days = buffer.getInt(12);
+        this.firstEpochDay = buffer.getLong(16);
+        this.builtAt = buffer.getLong(24);
+        int methodOrdinal = buffer.getInt(32);
+        if (tenorCount <= 0 || curveCount < 0 || days <= 0 || methodOrdinal < 0 || methodOrdinal >= METHODS.length) {
+            throw new IOException("Corrupt curve bootstrap header");
+        }
+        this.method = METHODS[methodOrdinal];
+        this.dataOffset = dataOffset(tenorCount, curveCount);
+        if (buffer.limit() != fileSize(tenorCount, curveCount, days)) {
+            throw new IOException("Curve bootstrap file of " + buffer.limit() + " bytes, truncated or corrupt");
+        }
+        this.tenors = new double[tenorCount];
+        for (int i = 0; i < tenorCount; i++) {
+            tenors[i] = buffer.getDouble(HEADER_BYTES + i * Double.BYTES);
+        }
+        this.curveIds = new int[curveCount];
+        int idsOffset = HEADER_BYTES + tenorCount * Double.BYTES;
+        for (int i = 0; i < curveCount; i++) {
+            curveIds[i] = buffer.getInt(idsOffset + i * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #build}.
+     *
+     * @throws IOException if the file cannot be read or is not a complete bootstrap file
+     */
+    public static CurveBootstrap open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Curve bootstrap file too large: " + channel.size());
+            }
+            return new CurveBootstrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * Starts the bootstrap of curves over a window of days into a file. The versions of each curve are then
+     * given one curve at a time to {@link Writer#add}, and {@link Writer#finish} replaces the file atomically
+     * once every curve is written, and maps it.
+     *
+     * @param tenors the tenors in years, positive and increasing
+     * @param curveIds the curves of the bootstrap, in increasing order
+     * @param pool the pool the curves are bootstrapped on
+     */
+    public static Writer writer(Path file, LocalDate firstDay, int days, double[] tenors, CurveInterpolation method,
+                                int[] curveIds, ForkJoinPool pool) throws IOException {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Bootstrap window must have at least one day: " + days);
+        }
+        if (tenors.length == 0 || !(tenors[0] > 0)) {
+            throw new IllegalArgumentException("Bootstrap tenors must be positive: " + Arrays.toString(tenors));
+        }
+        for (int i = 1; i < tenors.length; i++) {
+            if (!(tenors[i] > tenors[i - 1])) {
+                throw new IllegalArgumentException("Bootstrap tenors must increase: " + Arrays.toString(tenors));
+            }
+        }
+        for (int i = 1; i < curveIds.length; i++) {
+            if (curveIds[i] <= curveIds[i - 1]) {
+                throw new IllegalArgumentException("Bootstrap curve ids must increase at " + curveIds[i]);
+            }
+        }
+        long size = fileSize(tenors.length, curveIds.length, days);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bootstrap of " + curveIds.length + " curves over " + days
+                    + " days at " + tenors.length + " tenors exceeds 2GB");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer output = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            output.order(ByteOrder.LITTLE_ENDIAN);
+            output.putInt(4, tenors.length)
+                    .putInt(8, curveIds.length)
+                    .putInt(12, days)
+                    .putLong(16, firstDay.toEpochDay())
+                    .putLong(24, System.currentTimeMillis())
+                    .putInt(32, method.ordinal());
+            for (int i = 0; i < tenors.length; i++) {
+                output.putDouble(HEADER_BYTES + i * Double.BYTES, tenors[i]);
+            }
+            int idsOffset = HEADER_BYTES + tenors.length * Double.BYTES;
+            for (int i = 0; i < curveIds.length; i++) {
+                output.putInt(idsOffset + i * Integer.BYTES, curveIds[i]);
+            }
+            Build build = new Build(output, dataOffset(tenors.length, curveIds.length), firstDay.toEpochDay(),
+                    days, tenors, method, curveIds.clone());
+            return new Writer(file, temporary, build, pool);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Tells whether this bootstrap covers the given window with the given settings.
+     */
+    public boolean matches(LocalDate firstDay, int days, double[] tenors, CurveInterpolation method) {
+        return firstEpochDay == firstDay.toEpochDay() && this.days == days && this.method == method
+                && Arrays.equals(this.tenors, tenors);
+    }
+
+    /**
+     * Reads the discount factors and forward rates of a curve on a day.
+     *
+     * @param discountFactors array of at least as many elements as tenors
+     * @param forwardRates array of at least as many elements as tenors
+     * @return false if the day is outside the window, or the curve had no version in force then
+     */
+    public boolean read(int curveId, LocalDate day, double[] discountFactors, double[] forwardRates) {
+        int curve = Arrays.binarySearch(curveIds, curveId);
+        long dayIndex = day.toEpochDay() - firstEpochDay;
+        if (curve < 0 || dayIndex < 0 || dayIndex >= days) {
+            return false;
+        }
+        int position = recordOffset(dataOffset, tenors.length, days, curve, (int) dayIndex);
+        if (Double.isNaN(buffer.getDouble(position))) {
+            return false;
+        }
+        for (int i = 0; i < tenors.length; i++) {
+            discountFactors[i] = buffer.getDouble(position + i * Double.BYTES);
+            forwardRates[i] = buffer.getDouble(position + (tenors.length + i) * Double.BYTES);
+        }
+        return true;
+    }
+
+    public double[] tenors() {
+        return tenors.clone();
+    }
+
+    public int[] curveIds() {
+        return curveIds.clone();
+    }
+
+    public LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public CurveInterpolation method() {
+        return method;
+    }
+
+    /**
+     * Build time, epoch milliseconds.
+     */
+    public long builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * Size of the file in bytes.
+     */
+    public long bytes() {
+        return buffer.limit();
+    }
+
+    private static int dataOffset(int tenorCount, int curveCount) {
+        int end = HEADER_BYTES + tenorCount * Double.BYTES + curveCount * Integer.BYTES;
+        return (end + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+    }
+
+    private static long fileSize(int tenorCount, int curveCount, int days) {
+        return dataOffset(tenorCount, curveCount) + (long) curveCount * days * recordBytes(tenorCount);
+    }
+
+    private static int recordBytes(int tenorCount) {
+        return 2 * tenorCount * Double.BYTES;
+    }
+
+    private static int recordOffset(int dataOffset, int tenorCount, int days, int curve, int day) {
+        return Math.toIntExact(dataOffset + ((long) curve * days + day) * recordBytes(tenorCount));
+    }
+
+    /**
+     * What the workers share: the mapped output, which they write at disjoint offsets, and the settings.
+     */
+    private record Build(MappedByteBuffer output, int dataOffset, long firstEpochDay, int days, double[] tenors,
+                         CurveInterpolation method, int[] curveIds) {
+    }
+
+    /**
+     * Bootstrap being written. Each curve given is bootstrapped by a task of its own on the pool while the
+     * caller reads the next one, and at most two curves per worker are held at once: adding a curve waits
+     * while that many are queued or running.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temporary;
+        private final Build build;
+        private final ForkJoinPool pool;
+        private final Semaphore inFlight;
+        private final BitSet added;
+        private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        private long versions;
+        private boolean finished;
+
+        private Writer(Path file, Path temporary, Build build, ForkJoinPool pool) {
+            this.file = file;
+            this.temporary = temporary;
+            this.build = build;
+            this.pool = pool;
+            this.inFlight = new Semaphore(2 * pool.getParallelism());
+            this.added = new BitSet(build.curveIds.length);
+        }
+
+        /**
+         * Bootstraps a curve on the pool, waiting first if too many curves are in flight.
+         *
+         * @param versions the versions of the curve by increasing asOfDate, including the one in force at the
+         *                 start of the window; a version without points has no rates
+         * @throws IllegalArgumentException if the curve is not one of the bootstrap or was already added
+         */
+        public void add(int curveId, List<Curve> versions) throws InterruptedIOException {
+            int curve = Arrays.binarySearch(build.curveIds, curveId);
+            if (curve < 0 || added.get(curve)) {
+                throw new IllegalArgumentException("Curve " + curveId + " is not in the bootstrap or already added");
+            }
+            added.set(curve);
+            this.versions += versions.size();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while bootstrapping curve " + curveId);
+            }
+            tasks.add(pool.submit(new CurveTask(build, curve, versions, inFlight)));
+        }
+
+        /**
+         * Number of versions added so far.
+         */
+        public long versions() {
+            return versions;
+        }
+
+        /**
+         * Waits for every curve added, leaves no rates for those never added, then replaces the file and maps it.
+         */
+        public CurveBootstrap finish() throws IOException {
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            Scratch empty = new Scratch(build.tenors.length);
+            empty.clear();
+            for (int curve = added.nextClearBit(0); curve < build.curveIds.length;
+                 curve = added.nextClearBit(curve + 1)) {
+                for (int day = 0; day < build.days; day++) {
+                    build.output.put(recordOffset(build.dataOffset, build.tenors.length, build.days, curve, day),
+                            empty.record, 0, empty.record.length);
+                }
+            }
+            build.output.putInt(0, MAGIC);
+            build.output.force();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+            return open(file);
+        }
+
+        /**
+         * Waits for the curves in flight and deletes the unfinished file, unless {@link #finish} completed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.quietlyJoin();
+            }
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Bootstraps the versions of one curve, then lets another curve in.
+     */
+    private static final class CurveTask extends RecursiveAction {
+
+        private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+        private final Build build;
+        private final int curve;
+        private final List<Curve> curveVersions;
+        private final Semaphore inFlight;
+
+        CurveTask(Build build, int curve, List<Curve> curveVersions, Semaphore inFlight) {
+            this.build = build;
+            this.curve = curve;
+            this.curveVersions = curveVersions;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                Scratch scratch = SCRATCH.get();
+                if (scratch == null || scratch.zeroRates.length != build.tenors.length) {
+                    scratch = new Scratch(build.tenors.length);
+                    SCRATCH.set(scratch);
+                }
+                bootstrap(scratch);
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        private void bootstrap(Scratch scratch) {
+            long[] asOfMillis = new long[curveVersions.size()];
+            for (int i = 0; i < asOfMillis.length; i++) {
+                asOfMillis[i] = curveVersions.get(i).asOfDate().getTime();
+            }
+            scratch.clear();
+            int version = -1;
+            for (int day = 0; day < build.days; day++) {
+                long endOfDay = (build.firstEpochDay + day + 1) * MILLIS_PER_DAY;
+                int inForce = version;
+                while (inForce + 1 < asOfMillis.length && asOfMillis[inForce + 1] < endOfDay) {
+                    inForce++;
+                }
+                if (inForce != version) {
+                    version = inForce;
+                    if (curveVersions.get(version).size() == 0) {
+                        scratch.clear();
+                    } else {
+                        scratch.compute(curveVersions.get(version), build.tenors, build.method);
+                    }
+                }
+                build.output.put(recordOffset(build.dataOffset, build.tenors.length, build.days, curve, day),
+                        scratch.record, 0, scratch.record.length);
+            }
+        }
+    }
+
+    /**
+     * Per-worker buffers: the zero rates at the tenors, and the record they give, as it is written to the file.
+     */
+    private static final class Scratch {
+
+        private final double[] zeroRates;
+        private final byte[] record;
+        private final ByteBuffer recordBuffer;
+
+        Scratch(int tenorCount) {
+            zeroRates = new double[tenorCount];
+            record = new byte[recordBytes(tenorCount)];
+            recordBuffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void clear() {
+            for (int i = 0; i < zeroRates.length * 2; i++) {
+                recordBuffer.putDouble(i * Double.BYTES, Double.NaN);
+            }
+        }
+
+        void compute(Curve curve, double[] tenors, CurveInterpolation method) {
+            curve.interpolate(tenors, method, zeroRates);
+            double previousTenor = 0;
+            double previousDiscountFactor = 1;
+            for (int i = 0; i < tenors.length; i++) {
+                double discountFactor = Math.exp(-zeroRates[i] * PERCENT * tenors[i]);
+                double forwardRate = Math.log(previousDiscountFactor / discountFactor)
+                        / (tenors[i] - previousTenor) / PERCENT;
+                recordBuffer.putDouble(i * Double.BYTES, discountFactor);
+                recordBuffer.putDouble((tenors.length + i) * Double.BYTES, forwardRate);
+                previousTenor = tenors[i];
+                previousDiscountFactor = discountFactor;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of strings to dense int codes, in order of first appearance.
+ * Null is a regular value with its own code. Not thread-safe.
+ */
+public final class Dictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of a value, assigning the next code if the value is new.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of a value, or -1 if the value has never been encoded.
+     */
+    public int codeOf(String value) {
+        return codes.getOrDefault(value, -1);
+    }
+
+    /**
+     * Returns the values in code order.
+     */
+    public String[] values() {
+        return values.toArray(new String[0]);
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,40 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+/**
+ * Execution between a buying and a selling bid, at the price of the bid that was resting in the book.
+ *
+ * @param sequence number of the fill, increasing from 1 in matching order within a shard
+ * @param buyBidId id of the bid whose bid side bought
+ * @param sellBidId id of the bid whose ask side sold
+ */
+public record Fill(
+    long sequence,
+    String security,
+    int buyBidId,
+    String buyAccount,
+    String buyBook,
+    int sellBidId,
+    String sellAccount,
+    String sellBook,
+    double price,
+    double quantity
+) {
+
+    static final String PREFIX = "bid-";
+    static final String BUY_SUFFIX = "-B";
+    static final String SELL_SUFFIX = "-S";
+
+    /**
+     * Source list id of the trade booking the buying side, "bid-&lt;buy id&gt;-&lt;sell id&gt;-&lt;sequence&gt;-B".
+     */
+    public String buySourceListId() {
+        return PREFIX + buyBidId + '-' + sellBidId + '-' + sequence + BUY_SUFFIX;
+    }
+
+    /**
+     * Source list id of the trade booking the selling side, "bid-&lt;buy id&gt;-&lt;sell id&gt;-&lt;sequence&gt;-S".
+     */
+    public String sellSourceListId() {
+        return PREFIX + buyBidId + '-' + sellBidId + '-' + sequence + SELL_SUFFIX;
+    }
+}
@@ -0,0 +1,110 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import com.poseidoncapitalsolutions.trading.dto.display.IdempotencyStatsDTO;
+
+/**
+ * Set of the idempotency keys already used, checked in three steps:
+ * a Bloom filter that clears almost every new key without touching the database,
+ * a bounded cache of the most recently used keys that catches retries,
+ * and a probe of the unique index for the remaining Bloom filter hits.
+ */
+public final class IdempotencyKeys {
+
+    private final String scope;
+    private final BloomFilter bloomFilter;
+    private final Map<String, Boolean> recentKeys;
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final Predicate<String> storeProbe;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong bloomMisses = new AtomicLong();
+    private final AtomicLong recentHits = new AtomicLong();
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    /**
+     * @param scope name of the kind of entity, reported in the stats
+     * @param expectedKeys number of keys the Bloom filter is sized for
+     * @param falsePositiveRate false positive rate of the Bloom filter once it holds expectedKeys keys
+     * @param recentCapacity number of recent keys cached
+     * @param storeProbe tells whether the store holds a key
+     */
+    public IdempotencyKeys(String scope, long expectedKeys, double falsePositiveRate, int recentCapacity,
+                           Predicate<String> storeProbe) {
+        this.scope = scope;
+        this.bloomFilter = new BloomFilter(expectedKeys, falsePositiveRate);
+        this.storeProbe = storeProbe;
+        this.recentKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentCapacity;
+            }
+        };
+    }
+
+    /**
+     * @return true if the key was already used
+     */
+    public boolean contains(String key) {
+        checks.incrementAndGet();
+        if (!bloomFilter.mightContain(key)) {
+            bloomMisses.incrementAndGet();
+            return false;
+        }
+        recentLock.lock();
+        try {
+            if (recentKeys.get(key) != null) {
+                recentHits.incrementAndGet();
+                return true;
+            }
+        } finally {
+            recentLock.unlock();
+        }
+        probes.incrementAndGet();
+        if (storeProbe.test(key)) {
+            remember(key);
+            return true;
+        }
+        falsePositives.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Records a key just used.
+     */
+    public void add(String key) {
+        bloomFilter.put(key);
+        remember(key);
+    }
+
+    /**
+     * Records a key loaded from the store, without caching it as recent.
+     */
+    public void load(String key) {
+        bloomFilter.put(key);
+    }
+
+    public IdempotencyStatsDTO stats() {
+        long probeCount = probes.get();
+        long falsePositiveCount = falsePositives.get();
+        long negatives = bloomMisses.get() + falsePositiveCount;
+        return new IdempotencyStatsDTO(scope, bloomFilter.insertions(), checks.get(), bloomMisses.get(),
+                recentHits.get(), probeCount, falsePositiveCount,
+                negatives == 0 ? 0 : (double) falsePositiveCount / negatives, bloomFilter.expectedFalsePositiveRate());
+    }
+
+    private void remember(String key) {
+        recentLock.lock();
+        try {
+            recentKeys.put(key, Boolean.TRUE);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.Arrays;
+
+/**
+ * Downsamples a series of points, sorted by x, to at most a given number of points with the
+ * Largest-Triangle-Three-Buckets algorithm: the first and last points are kept, the points between them are
+ * split into buckets of equal count, and from each bucket the point kept is the one forming the largest
+ * triangle with the point kept from the previous bucket and the average of the next bucket.
+ *
+ * <p>Points are fed one at a time, so a series can be downsampled while it is streamed: only the bucket being
+ * filled and the one waiting for its successor are held, whatever the length of the series. The expected
+ * number of points sets the bucket size; if more points come, the extra ones go to the last bucket, so the
+ * output never exceeds the threshold.
+ */
+public final class LttbDownsampler {
+
+    private final int threshold;
+    private final double bucketSize;
+    private final double[] outX;
+    private final double[] outY;
+    private int outSize;
+
+    private long placed;
+    private boolean hasLast;
+    private double lastX;
+    private double lastY;
+    private double keptX;
+    private double keptY;
+
+    private int fillingBucket = -1;
+    private Bucket filling = new Bucket();
+    private Bucket pending = new Bucket();
+
+    /**
+     * @param count expected number of points
+     * @param threshold maximum number of points kept, at least 3
+     */
+    public LttbDownsampler(long count, int threshold) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB threshold must be at least 3: " + threshold);
+        }
+        this.threshold = threshold;
+        this.bucketSize = Math.max(1.0, (double) (count - 2) / (threshold - 2));
+        this.outX = new double[threshold];
+        this.outY = new double[threshold];
+    }
+
+    /**
+     * Downsamples a series held in arrays.
+     *
+     * @return the points kept, x values in the first array and y values in the second
+     */
+    public static double[][] downsample(double[] x, double[] y, int count, int threshold) {
+        LttbDownsampler downsampler = new LttbDownsampler(count, threshold);
+        for (int i = 0; i < count; i++) {
+            downsampler.add(x[i], y[i]);
+        }
+        downsampler.finish();
+        return new double[][] {downsampler.x(), downsampler.y()};
+    }
+
+    /**
+     * Adds the next point of the series. The latest point is held back until the next one, as it may be the last.
+     */
+    public void add(double x, double y) {
+        if (hasLast) {
+            place(lastX, lastY);
+        }
+        lastX = x;
+        lastY = y;
+        hasLast = true;
+    }
+
+    /**
+     * Selects the points of the last buckets and keeps the last point. To be called once every point is added.
+     */
+    public void finish() {
+        if (!hasLast) {
+            return;
+        }
+        if (placed > 0) {
+            if (pending.size > 0) {
+                select(pending, filling.size > 0 ? filling.averageX() : lastX,
+                        filling.size > 0 ? filling.averageY() : lastY);
+            }
+            if (filling.size > 0) {
+                select(filling, lastX, lastY);
+            }
+        }
+        keep(lastX, lastY);
+        hasLast = false;
+    }
+
+    /**
+     * x values of the points kept so far.
+     */
+    public double[] x() {
+        return Arrays.copyOf(outX, outSize);
+    }
+
+    /**
+     * y values of the points kept so far.
+     */
+    public double[] y() {
+        return Arrays.copyOf(outY, outSize);
+    }
+
+    private void place(double x, double y) {
+        long index = placed++;
+        if (index == 0) {
+            keep(x, y);
+            return;
+        }
+        int bucket = (int) Math.min((long) ((index - 1) / bucketSize), threshold - 3);
+        if (bucket != fillingBucket) {
+            if (fillingBucket >= 0) {
+                if (pending.size > 0) {
+                    select(pending, filling.averageX(), filling.averageY());
+                }
+                Bucket full = filling;
+                filling = pending;
+                pending = full;
+            }
+            fillingBucket = bucket;
+            filling.clear();
+        }
+        filling.add(x, y);
+    }
+
+    /**
+     * Keeps the point of a bucket forming the largest triangle with the point kept last and a third point.
+     */
+    private void select(Bucket bucket, double nextX, double nextY) {
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.size; i++) {
+            double area = Math.abs((keptX - nextX) * (bucket.y[i] - keptY) - (keptX - bucket.x[i]) * (nextY - keptY));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        keep(bucket.x[best], bucket.y[best]);
+        bucket.clear();
+    }
+
+    private void keep(double x, double y) {
+        outX[outSize] = x;
+        outY[outSize] = y;
+        outSize++;
+        keptX = x;
+        keptY = y;
+    }
+
+    /**
+     * Points of a bucket, in arrays reused from one bucket to the next.
+     */
+    private static final class Bucket {
+
+        private double[] x = new double[16];
+        private double[] y = new double[16];
+        private int size;
+        private double sumX;
+        private double sumY;
+
+        void add(double pointX, double pointY) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            x[size] = pointX;
+            y[size] = pointY;
+            size++;
+            sumX += pointX;
+            sumY += pointY;
+        }
+
+        double averageX() {
+            return sumX / size;
+        }
+
+        double averageY() {
+            return sumY / size;
+        }
+
+        void clear() {
+            size = 0;
+            sumX = 0;
+            sumY = 0;
+        }
+    }
+}
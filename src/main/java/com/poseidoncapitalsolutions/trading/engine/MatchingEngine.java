@@ -0,0 +1,210 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+
+/**
+ * Matching engine of a set of securities, applying price-time priority.
+ *
+ * <p>A bid quotes a buy side, a sell side or both. When a bid is submitted, its buy side first takes the
+ * resting asks priced at or below it, best price first and oldest first within a price, then its sell side
+ * takes the resting bids priced at or above it; each fill is priced at the resting side. What is left rests
+ * in the book. Submitting a bid again replaces it: it loses its time priority, and the quantities it
+ * already filled are deducted from the new ones.
+ *
+ * <p>The engine is deterministic, the same submissions always giving the same fills, and not thread-safe:
+ * it is meant to be driven by a single sequencer thread.
+ */
+public final class MatchingEngine {
+
+    private final Map<String, Book> books = new HashMap<>();
+    private final Map<Integer, Resting[]> resting = new HashMap<>();
+    private final Map<Integer, double[]> filled = new HashMap<>();
+    private long sequence;
+    private int restingSides;
+
+    /**
+     * Records quantities a bid filled before the engine started, and numbers the next fills after the
+     * sequence of that fill.
+     */
+    public void restoreFilled(int bidId, double buyQuantity, double sellQuantity, long fillSequence) {
+        double[] quantities = filled.computeIfAbsent(bidId, id -> new double[2]);
+        quantities[0] += buyQuantity;
+        quantities[1] += sellQuantity;
+        sequence = Math.max(sequence, fillSequence);
+    }
+
+    /**
+     * Matches a bid against the book of its security, replacing its previous version, and rests the rest.
+     *
+     * @param fills list the fills are added to, in matching order
+     */
+    public void submit(BidQuoteDTO quote, List<Fill> fills) {
+        cancel(quote.id(), false);
+        Book book = books.computeIfAbsent(quote.security(), security -> new Book());
+        double[] done = filled.getOrDefault(quote.id(), new double[2]);
+        double buyQuantity = remaining(quote.bid(), quote.bidQuantity(), done[0]);
+        double sellQuantity = remaining(quote.ask(), quote.askQuantity(), done[1]);
+
+        Resting buy = buyQuantity > 0 ? new Resting(quote, true, quote.bid(), buyQuantity) : null;
+        Resting sell = sellQuantity > 0 ? new Resting(quote, false, quote.ask(), sellQuantity) : null;
+        if (buy != null) {
+            match(buy, book.asks, quote.security(), fills);
+        }
+        if (sell != null) {
+            match(sell, book.bids, quote.security(), fills);
+        }
+        Resting[] sides = {rest(buy, book.bids), rest(sell, book.asks)};
+        if (sides[0] != null || sides[1] != null) {
+            resting.put(quote.id(), sides);
+        }
+    }
+
+    /**
+     * Removes a bid from the book, and forgets what it filled.
+     */
+    public void cancel(int bidId) {
+        cancel(bidId, true);
+    }
+
+    /**
+     * Removes a bid from the book, but remembers what it filled so that it resumes with the quantities left
+     * if submitted again.
+     */
+    public void suspend(int bidId) {
+        cancel(bidId, false);
+    }
+
+    /**
+     * Tells whether a bid was submitted and neither cancelled nor suspended since.
+     */
+    public boolean isResting(int bidId) {
+        return resting.containsKey(bidId);
+    }
+
+    /**
+     * @return the sequence of the last fill
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the number of bid and ask sides resting in the books
+     */
+    public int restingSides() {
+        return restingSides;
+    }
+
+    private void cancel(int bidId, boolean forgetFilled) {
+        if (forgetFilled) {
+            filled.remove(bidId);
+        }
+        Resting[] sides = resting.remove(bidId);
+        if (sides == null) {
+            return;
+        }
+        for (Resting side : sides) {
+            if (side != null && side.quantity > 0) {
+                Book book = books.get(side.quote.security());
+                TreeMap<Double, ArrayDeque<Resting>> levels = side.buy ? book.bids : book.asks;
+                ArrayDeque<Resting> level = levels.get(side.price);
+                level.remove(side);
+                if (level.isEmpty()) {
+                    levels.remove(side.price);
+                }
+                restingSides--;
+            }
+        }
+    }
+
+    private void match(Resting taker, TreeMap<Double, ArrayDeque<Resting>> opposite, String security, List<Fill> fills) {
+        Iterator<Map.Entry<Double, ArrayDeque<Resting>>> levels = opposite.entrySet().iterator();
+        while (taker.quantity > 0 && levels.hasNext()) {
+            Map.Entry<Double, ArrayDeque<Resting>> level = levels.next();
+            double price = level.getKey();
+            if (taker.buy ? price > taker.price : price < taker.price) {
+                return;
+            }
+            ArrayDeque<Resting> queue = level.getValue();
+            while (taker.quantity > 0 && !queue.isEmpty()) {
+                Resting maker = queue.peekFirst();
+                double quantity = Math.min(taker.quantity, maker.quantity);
+                Resting buy = taker.buy ? taker : maker;
+                Resting sell = taker.buy ? maker : taker;
+                fills.add(new Fill(++sequence, security, buy.quote.id(), buy.quote.account(), buy.quote.book(),
+                        sell.quote.id(), sell.quote.account(), sell.quote.book(), price, quantity));
+                taker.quantity -= quantity;
+                maker.quantity -= quantity;
+                addFilled(buy.quote.id(), 0, quantity);
+                addFilled(sell.quote.id(), 1, quantity);
+                if (maker.quantity <= 0) {
+                    queue.pollFirst();
+                    restingSides--;
+                    Resting[] makerSides = resting.get(maker.quote.id());
+                    makerSides[maker.buy ? 0 : 1] = null;
+                    if (makerSides[0] == null && makerSides[1] == null) {
+                        resting.remove(maker.quote.id());
+                    }
+                }
+            }
+            if (queue.isEmpty()) {
+                levels.remove();
+            }
+        }
+    }
+
+    private Resting rest(Resting side, TreeMap<Double, ArrayDeque<Resting>> levels) {
+        if (side == null || side.quantity <= 0) {
+            return null;
+        }
+        levels.computeIfAbsent(side.price, price -> new ArrayDeque<>()).addLast(side);
+        restingSides++;
+        return side;
+    }
+
+    private void addFilled(int bidId, int side, double quantity) {
+        filled.computeIfAbsent(bidId, id -> new double[2])[side] += quantity;
+    }
+
+    private static double remaining(Double price, Double quantity, double filled) {
+        if (price == null || price.isNaN() || quantity == null) {
+            return 0;
+        }
+        return quantity - filled;
+    }
+
+    /**
+     * Resting sides of one security, best price first.
+     */
+    private static final class Book {
+
+        private final TreeMap<Double, ArrayDeque<Resting>> bids = new TreeMap<>(Comparator.reverseOrder());
+        private final TreeMap<Double, ArrayDeque<Resting>> asks = new TreeMap<>();
+    }
+
+    /**
+     * One side of a bid, with its quantity left. Sides queue in arrival order within a price level.
+     */
+    private static final class Resting {
+
+        private final BidQuoteDTO quote;
+        private final boolean buy;
+        private final double price;
+        private double quantity;
+
+        private Resting(BidQuoteDTO quote, boolean buy, double price, double quantity) {
+            this.quote = quote;
+            this.buy = buy;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+}
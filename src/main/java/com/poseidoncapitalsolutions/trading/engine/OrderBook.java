@@ -0,0 +1,123 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.poseidoncapitalsolutions.trading.dto.display.OrderBookDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceLevelDTO;
+
+/**
+ * Limit order book of one security, aggregating resting orders into price levels.
+ *
+ * <p>An order quotes a buy side, a sell side or both; a side without a price or a positive quantity is left
+ * out. Adding an order already in the book replaces it, which is how modifications are applied.
+ * Not thread-safe.
+ */
+public final class OrderBook {
+
+    private final String security;
+    private final PriceLevels bids = new PriceLevels(true);
+    private final PriceLevels asks = new PriceLevels(false);
+    private final Map<Integer, Order> orders = new HashMap<>();
+
+    public OrderBook(String security) {
+        this.security = security;
+    }
+
+    /**
+     * Adds an order, or replaces the order with the same id.
+     *
+     * @return false if the order quotes no side and is not in the book
+     */
+    public boolean add(int id, Double bidPrice, Double bidQuantity, Double askPrice, Double askQuantity) {
+        cancel(id);
+        boolean bid = isQuoted(bidPrice, bidQuantity);
+        boolean ask = isQuoted(askPrice, askQuantity);
+        if (!bid && !ask) {
+            return false;
+        }
+        Order order = new Order(bid ? bidPrice : Double.NaN, bid ? bidQuantity : 0,
+                ask ? askPrice : Double.NaN, ask ? askQuantity : 0);
+        if (bid) {
+            bids.add(order.bidPrice, order.bidQuantity);
+        }
+        if (ask) {
+            asks.add(order.askPrice, order.askQuantity);
+        }
+        orders.put(id, order);
+        return true;
+    }
+
+    /**
+     * Removes an order.
+     *
+     * @return false if the order was not in the book
+     */
+    public boolean cancel(int id) {
+        Order order = orders.remove(id);
+        if (order == null) {
+            return false;
+        }
+        if (order.bidQuantity > 0) {
+            bids.remove(order.bidPrice, order.bidQuantity);
+        }
+        if (order.askQuantity > 0) {
+            asks.remove(order.askPrice, order.askQuantity);
+        }
+        return true;
+    }
+
+    public String security() {
+        return security;
+    }
+
+    public int orderCount() {
+        return orders.size();
+    }
+
+    public boolean isEmpty() {
+        return orders.isEmpty();
+    }
+
+    /**
+     * @return the highest buy price, NaN if there is none
+     */
+    public double bestBid() {
+        return bids.bestPrice();
+    }
+
+    public double bestBidQuantity() {
+        return bids.bestQuantity();
+    }
+
+    /**
+     * @return the lowest sell price, NaN if there is none
+     */
+    public double bestAsk() {
+        return asks.bestPrice();
+    }
+
+    public double bestAskQuantity() {
+        return asks.bestQuantity();
+    }
+
+    /**
+     * Returns up to the given number of levels of each side, best first.
+     */
+    public OrderBookDTO depth(int levels) {
+        List<PriceLevelDTO> bidLevels = new ArrayList<>(Math.min(levels, bids.size()));
+        List<PriceLevelDTO> askLevels = new ArrayList<>(Math.min(levels, asks.size()));
+        bids.depth(levels, bidLevels);
+        asks.depth(levels, askLevels);
+        return new OrderBookDTO(security, bidLevels, askLevels, orders.size());
+    }
+
+    private static boolean isQuoted(Double price, Double quantity) {
+        return price != null && quantity != null && quantity > 0 && !price.isNaN();
+    }
+
+    private record Order(double bidPrice, double bidQuantity, double askPrice, double askQuantity) {
+    }
+}
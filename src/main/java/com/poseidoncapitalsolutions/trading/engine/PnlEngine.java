@@ -0,0 +1,245 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+
+/**
+ * Computes realized and unrealized P&amp;L per partition (trader or book) over trades held in primitive columns.
+ *
+ * <p>Rows are grouped by partition with a counting sort, then partitions are split across a ForkJoinPool.
+ * Each task accumulates quantities and notionals per security of one partition in its own scratch arrays
+ * and writes the partition totals to slots no other task writes, so no locks and no merge step are needed.
+ *
+ * <p>Per (partition, security): realized = min(bought, sold) * (average sell - average buy), and the open
+ * quantity is marked to the price of the latest trade on the security.
+ */
+public final class PnlEngine {
+
+    /**
+     * Below this number of rows a task computes its partitions itself instead of splitting them.
+     */
+    private static final int SPLIT_THRESHOLD = 50_000;
+
+    private final int size;
+    private final int[] partitions;
+    private final int partitionCount;
+    private final int[] securities;
+    private final int securityCount;
+    private final double[] buyQuantity;
+    private final double[] buyPrice;
+    private final double[] sellQuantity;
+    private final double[] sellPrice;
+    private final double[] markPrices;
+
+    private final int[] offsets;
+    private final int[] order;
+
+    private final double[] realized;
+    private final double[] unrealized;
+    private final double[] bought;
+    private final double[] sold;
+
+    /**
+     * @param size number of rows
+     * @param partitions partition code of each row, in [0, partitionCount)
+     * @param securities security code of each row, in [0, securityCount)
+     * @param tradeDates trade date of each row, in epoch milliseconds, used to pick mark prices
+     */
+    public PnlEngine(int size, int[] partitions, int partitionCount, int[] securities, int securityCount,
+                     double[] buyQuantity, double[] buyPrice, double[] sellQuantity, double[] sellPrice,
+                     long[] tradeDates) {
+        this.size = size;
+        this.partitions = partitions;
+        this.partitionCount = partitionCount;
+        this.securities = securities;
+        this.securityCount = securityCount;
+        this.buyQuantity = buyQuantity;
+        this.buyPrice = buyPrice;
+        this.sellQuantity = sellQuantity;
+        this.sellPrice = sellPrice;
+        this.markPrices = markPrices(tradeDates);
+        this.offsets = new int[partitionCount + 1];
+        this.order = new int[size];
+        this.realized = new double[partitionCount];
+        this.unrealized = new double[partitionCount];
+        this.bought = new double[partitionCount];
+        this.sold = new double[partitionCount];
+        groupByPartition();
+    }
+
+    /**
+     * Creates an engine over the current trades of a snapshot.
+     *
+     * @param partition the dimension P&amp;L is broken down by
+     */
+    public static PnlEngine of(TradeSnapshot snapshot, TradeDimension partition) {
+        TradeSnapshot live = snapshot.withoutDeleted();
+        return new PnlEngine(live.size(), live.codes(partition), live.dictionarySize(partition),
+                live.codes(TradeDimension.SECURITY), live.dictionarySize(TradeDimension.SECURITY),
+                live.buyQuantity(), live.buyPrice(), live.sellQuantity(), live.sellPrice(), live.tradeDates());
+    }
+
+    /**
+     * Computes every partition on the calling thread.
+     */
+    public PnlEngine computeSequential() {
+        new PartitionTask(0, partitionCount).computePartitions();
+        return this;
+    }
+
+    /**
+     * Computes partitions in parallel on the given pool.
+     */
+    public PnlEngine computeParallel(ForkJoinPool pool) {
+        pool.invoke(new PartitionTask(0, partitionCount));
+        return this;
+    }
+
+    public double realized(int partition) {
+        return realized[partition];
+    }
+
+    public double unrealized(int partition) {
+        return unrealized[partition];
+    }
+
+    public double bought(int partition) {
+        return bought[partition];
+    }
+
+    public double sold(int partition) {
+        return sold[partition];
+    }
+
+    public int tradeCount(int partition) {
+        return offsets[partition + 1] - offsets[partition];
+    }
+
+    public int partitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * Price of the latest trade of each security: the buy price of a trade with a buy quantity, else its sell price.
+     */
+    private double[] markPrices(long[] tradeDates) {
+        double[] marks = new double[securityCount];
+        long[] latest = new long[securityCount];
+        Arrays.fill(latest, Long.MIN_VALUE);
+        for (int row = 0; row < size; row++) {
+            int security = securities[row];
+            if (tradeDates[row] >= latest[security]) {
+                latest[security] = tradeDates[row];
+                marks[security] = buyQuantity[row] > 0 ? buyPrice[row] : sellPrice[row];
+            }
+        }
+        return marks;
+    }
+
+    /**
+     * Counting sort of the row indexes by partition: rows of partition p are order[offsets[p]..offsets[p + 1]).
+     */
+    private void groupByPartition() {
+        for (int row = 0; row < size; row++) {
+            offsets[partitions[row] + 1]++;
+        }
+        for (int p = 0; p < partitionCount; p++) {
+            offsets[p + 1] += offsets[p];
+        }
+        int[] next = Arrays.copyOf(offsets, partitionCount);
+        for (int row = 0; row < size; row++) {
+            order[next[partitions[row]]++] = row;
+        }
+    }
+
+    private final class PartitionTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        PartitionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && offsets[to] - offsets[from] > SPLIT_THRESHOLD) {
+                int middle = splitPoint();
+                invokeAll(new PartitionTask(from, middle), new PartitionTask(middle, to));
+            } else {
+                computePartitions();
+            }
+        }
+
+        /**
+         * Partition index splitting the rows of [from, to) in two halves of similar size.
+         */
+        private int splitPoint() {
+            int half = offsets[from] + (offsets[to] - offsets[from]) / 2;
+            int middle = Arrays.binarySearch(offsets, from, to + 1, half);
+            middle = middle < 0 ? -middle - 1 : middle;
+            return Math.min(Math.max(middle, from + 1), to - 1);
+        }
+
+        void computePartitions() {
+            // Per security: bought quantity, buy notional, sold quantity, sell notional
+            double[] accumulators = new double[securityCount * 4];
+            int[] touched = new int[securityCount];
+            boolean[] seen = new boolean[securityCount];
+
+            for (int p = from; p < to; p++) {
+                int touchedCount = 0;
+                for (int i = offsets[p]; i < offsets[p + 1]; i++) {
+                    int row = order[i];
+                    int security = securities[row];
+                    if (!seen[security]) {
+                        seen[security] = true;
+                        touched[touchedCount++] = security;
+                    }
+                    int slot = security * 4;
+                    accumulators[slot] += buyQuantity[row];
+                    accumulators[slot + 1] += buyQuantity[row] * buyPrice[row];
+                    accumulators[slot + 2] += sellQuantity[row];
+                    accumulators[slot + 3] += sellQuantity[row] * sellPrice[row];
+                }
+
+                double partitionRealized = 0;
+                double partitionUnrealized = 0;
+                double partitionBought = 0;
+                double partitionSold = 0;
+                for (int t = 0; t < touchedCount; t++) {
+                    int security = touched[t];
+                    int slot = security * 4;
+                    double buyQty = accumulators[slot];
+                    double sellQty = accumulators[slot + 2];
+                    double averageBuy = buyQty == 0 ? 0 : accumulators[slot + 1] / buyQty;
+                    double averageSell = sellQty == 0 ? 0 : accumulators[slot + 3] / sellQty;
+                    double net = buyQty - sellQty;
+
+                    partitionRealized += Math.min(buyQty, sellQty) * (averageSell - averageBuy);
+                    if (net > 0) {
+                        partitionUnrealized += net * (markPrices[security] - averageBuy);
+                    } else if (net < 0) {
+                        partitionUnrealized += -net * (averageSell - markPrices[security]);
+                    }
+                    partitionBought += buyQty;
+                    partitionSold += sellQty;
+
+                    accumulators[slot] = 0;
+                    accumulators[slot + 1] = 0;
+                    accumulators[slot + 2] = 0;
+                    accumulators[slot + 3] = 0;
+                    seen[security] = false;
+                }
+                realized[p] = partitionRealized;
+                unrealized[p] = partitionUnrealized;
+                bought[p] = partitionBought;
+                sold[p] = partitionSold;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Immutable running totals of the trades of a position. Notionals are quantity times price;
+ * missing quantities and prices count as zero.
+ */
+public record Position(
+    double buyQuantity,
+    double buyNotional,
+    double sellQuantity,
+    double sellNotional
+) {
+
+    public static final Position EMPTY = new Position(0, 0, 0, 0);
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Contribution of a single trade to its position.
+     */
+    public static Position of(Trade trade) {
+        double buyQuantity = valueOf(trade.getBuyQuantity());
+        double sellQuantity = valueOf(trade.getSellQuantity());
+        return new Position(buyQuantity, buyQuantity * valueOf(trade.getBuyPrice()),
+                sellQuantity, sellQuantity * valueOf(trade.getSellPrice()));
+    }
+
+    public Position plus(Position other) {
+        return new Position(buyQuantity + other.buyQuantity, buyNotional + other.buyNotional,
+                sellQuantity + other.sellQuantity, sellNotional + other.sellNotional);
+    }
+
+    public Position minus(Position other) {
+        return new Position(buyQuantity - other.buyQuantity, buyNotional - other.buyNotional,
+                sellQuantity - other.sellQuantity, sellNotional - other.sellNotional);
+    }
+
+    public double netQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+
+    public double averageBuyPrice() {
+        return Math.abs(buyQuantity) < EPSILON ? 0 : buyNotional / buyQuantity;
+    }
+
+    public double averageSellPrice() {
+        return Math.abs(sellQuantity) < EPSILON ? 0 : sellNotional / sellQuantity;
+    }
+
+    /**
+     * @return true if no trade contributes to the position any more, within rounding errors
+     */
+    public boolean isEmpty() {
+        return equalsWithin(EMPTY, EPSILON);
+    }
+
+    /**
+     * Compares two positions allowing for the rounding errors accumulated by incremental updates.
+     */
+    public boolean equalsWithin(Position other, double tolerance) {
+        return Math.abs(buyQuantity - other.buyQuantity) <= tolerance
+                && Math.abs(buyNotional - other.buyNotional) <= tolerance * Math.max(1, Math.abs(buyNotional))
+                && Math.abs(sellQuantity - other.sellQuantity) <= tolerance
+                && Math.abs(sellNotional - other.sellNotional) <= tolerance * Math.max(1, Math.abs(sellNotional));
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Identifies a position: one security held in one book of one account.
+ */
+public record PositionKey(
+    String account,
+    String book,
+    String security
+) {
+
+    public static PositionKey of(Trade trade) {
+        return new PositionKey(trade.getAccount(), trade.getBook(), trade.getSecurity());
+    }
+}
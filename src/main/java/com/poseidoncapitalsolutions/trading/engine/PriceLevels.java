@@ -0,0 +1,105 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.display.PriceLevelDTO;
+
+/**
+ * Price levels of one side of an order book, in sorted primitive arrays.
+ *
+ * <p>Levels are sorted from the worst price to the best, so the best level is the last one: reading it is
+ * O(1), and adding or removing orders near the touch, where most of them are, shifts few elements. Ask
+ * prices are stored negated so that both sides sort ascending. Not thread-safe.
+ */
+final class PriceLevels {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean bids;
+    private double[] keys = new double[INITIAL_CAPACITY];
+    private double[] quantities = new double[INITIAL_CAPACITY];
+    private int[] orders = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param bids true for the buy side, where higher prices are better
+     */
+    PriceLevels(boolean bids) {
+        this.bids = bids;
+    }
+
+    void add(double price, double quantity) {
+        double key = key(price);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            quantities[index] += quantity;
+            orders[index]++;
+            return;
+        }
+        index = -index - 1;
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(quantities, index, quantities, index + 1, size - index);
+        System.arraycopy(orders, index, orders, index + 1, size - index);
+        keys[index] = key;
+        quantities[index] = quantity;
+        orders[index] = 1;
+        size++;
+    }
+
+    void remove(double price, double quantity) {
+        int index = Arrays.binarySearch(keys, 0, size, key(price));
+        if (index < 0) {
+            return;
+        }
+        if (--orders[index] > 0) {
+            quantities[index] -= quantity;
+            return;
+        }
+        size--;
+        System.arraycopy(keys, index + 1, keys, index, size - index);
+        System.arraycopy(quantities, index + 1, quantities, index, size - index);
+        System.arraycopy(orders, index + 1, orders, index, size - index);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the best price, NaN if the side is empty
+     */
+    double bestPrice() {
+        return size == 0 ? Double.NaN : price(keys[size - 1]);
+    }
+
+    /**
+     * @return the total quantity at the best price, 0 if the side is empty
+     */
+    double bestQuantity() {
+        return size == 0 ? 0 : quantities[size - 1];
+    }
+
+    /**
+     * Adds up to the given number of levels to a list, best first.
+     */
+    void depth(int levels, List<PriceLevelDTO> result) {
+        for (int index = size - 1; index >= 0 && index >= size - levels; index--) {
+            result.add(new PriceLevelDTO(price(keys[index]), quantities[index], orders[index]));
+        }
+    }
+
+    private double key(double price) {
+        return bids ? price : -price;
+    }
+
+    private double price(double key) {
+        return bids ? key : -key;
+    }
+}
@@ -0,0 +1,236 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+
+/**
+ * Append-only primitive columns of the trades, the writable side of {@link TradeSnapshot}.
+ *
+ * <p>Writing a trade appends a row; if the trade already has a row, that row is tombstoned first.
+ * Deleting a trade only tombstones its row. Rows are never moved within the arrays, so a snapshot can share
+ * them: it only reads rows below its own size, which are never written again. Once more than half the rows
+ * are tombstoned, the live rows are copied into new arrays, leaving those of earlier snapshots untouched.
+ * Not thread-safe: a single writer at a time.
+ */
+public final class TradeColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Below this number of rows the columns are never compacted, tombstones costing less than the copy.
+     */
+    private static final int COMPACTION_MIN_ROWS = 1024;
+
+    private static final TradeDimension[] DIMENSIONS = TradeDimension.values();
+
+    private final Dictionary[] dictionaries = new Dictionary[DIMENSIONS.length];
+    private IdIndex index = new IdIndex();
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+    private int size;
+
+    private int[] ids;
+    private final int[][] codes = new int[DIMENSIONS.length][];
+    private double[] buyQuantity;
+    private double[] buyPrice;
+    private double[] sellQuantity;
+    private double[] sellPrice;
+    private long[] tradeDates;
+
+    public TradeColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public TradeColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new Dictionary();
+            codes[d] = new int[capacity];
+        }
+        ids = new int[capacity];
+        buyQuantity = new double[capacity];
+        buyPrice = new double[capacity];
+        sellQuantity = new double[capacity];
+        sellPrice = new double[capacity];
+        tradeDates = new long[capacity];
+    }
+
+    /**
+     * Writes the current state of a trade.
+     *
+     * @param tradeDate trade date in epoch milliseconds, {@link TradeSnapshot#NO_DATE} if none
+     */
+    public void put(int id, String account, String book, String security, String trader, String status,
+                    String side, double buyQuantity, double buyPrice, double sellQuantity, double sellPrice, long tradeDate) {
+        remove(id);
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        codes[TradeDimension.ACCOUNT.ordinal()][size] = dictionaries[TradeDimension.ACCOUNT.ordinal()].encode(account);
+        codes[TradeDimension.BOOK.ordinal()][size] = dictionaries[TradeDimension.BOOK.ordinal()].encode(book);
+        codes[TradeDimension.SECURITY.ordinal()][size] = dictionaries[TradeDimension.SECURITY.ordinal()].encode(security);
+        codes[TradeDimension.TRADER.ordinal()][size] = dictionaries[TradeDimension.TRADER.ordinal()].encode(trader);
+        codes[TradeDimension.STATUS.ordinal()][size] = dictionaries[TradeDimension.STATUS.ordinal()].encode(status);
+        codes[TradeDimension.SIDE.ordinal()][size] = dictionaries[TradeDimension.SIDE.ordinal()].encode(side);
+        this.buyQuantity[size] = buyQuantity;
+        this.buyPrice[size] = buyPrice;
+        this.sellQuantity[size] = sellQuantity;
+        this.sellPrice[size] = sellPrice;
+        tradeDates[size] = tradeDate;
+        index.put(id, size);
+        size++;
+    }
+
+    /**
+     * Tombstones the row of a trade, if any.
+     */
+    public void remove(int id) {
+        int row = index.get(id);
+        if (row >= 0) {
+            deleted.set(row);
+            deletedCount++;
+            index.put(id, -1);
+            if (size >= COMPACTION_MIN_ROWS && deletedCount * 2 > size) {
+                compact();
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an immutable view of the rows written so far.
+     */
+    public TradeSnapshot snapshot() {
+        String[][] values = new String[DIMENSIONS.length][];
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            values[d] = dictionaries[d].values();
+        }
+        return new TradeSnapshot(size, ids, codes.clone(), values, buyQuantity, buyPrice, sellQuantity, sellPrice,
+                tradeDates, (BitSet) deleted.clone(), deletedCount);
+    }
+
+    /**
+     * Copies the live rows into new arrays and drops the tombstones. Dictionary codes are kept as they are.
+     */
+    private void compact() {
+        int capacity = Math.max(16, liveCount() + (liveCount() >> 1));
+        int[] liveIds = new int[capacity];
+        int[][] liveCodes = new int[DIMENSIONS.length][capacity];
+        double[] liveBuyQuantity = new double[capacity];
+        double[] liveBuyPrice = new double[capacity];
+        double[] liveSellQuantity = new double[capacity];
+        double[] liveSellPrice = new double[capacity];
+        long[] liveTradeDates = new long[capacity];
+        IdIndex liveIndex = new IdIndex();
+        int live = 0;
+        for (int row = deleted.nextClearBit(0); row < size; row = deleted.nextClearBit(row + 1)) {
+            liveIds[live] = ids[row];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                liveCodes[d][live] = codes[d][row];
+            }
+            liveBuyQuantity[live] = buyQuantity[row];
+            liveBuyPrice[live] = buyPrice[row];
+            liveSellQuantity[live] = sellQuantity[row];
+            liveSellPrice[live] = sellPrice[row];
+            liveTradeDates[live] = tradeDates[row];
+            liveIndex.put(ids[row], live);
+            live++;
+        }
+        ids = liveIds;
+        System.arraycopy(liveCodes, 0, codes, 0, DIMENSIONS.length);
+        buyQuantity = liveBuyQuantity;
+        buyPrice = liveBuyPrice;
+        sellQuantity = liveSellQuantity;
+        sellPrice = liveSellPrice;
+        tradeDates = liveTradeDates;
+        index = liveIndex;
+        deleted = new BitSet();
+        deletedCount = 0;
+        size = live;
+    }
+
+    private int liveCount() {
+        return size - deletedCount;
+    }
+
+    private void grow() {
+        int capacity = size + (size >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            codes[d] = Arrays.copyOf(codes[d], capacity);
+        }
+        buyQuantity = Arrays.copyOf(buyQuantity, capacity);
+        buyPrice = Arrays.copyOf(buyPrice, capacity);
+        sellQuantity = Arrays.copyOf(sellQuantity, capacity);
+        sellPrice = Arrays.copyOf(sellPrice, capacity);
+        tradeDates = Arrays.copyOf(tradeDates, capacity);
+    }
+
+    /**
+     * Open-addressing map from trade id to row, -1 once the trade is removed.
+     */
+    private static final class IdIndex {
+
+        private static final int EMPTY = Integer.MIN_VALUE;
+
+        private int[] keys = newKeys(1024);
+        private int[] rows = new int[1024];
+        private int count;
+
+        int get(int id) {
+            int mask = keys.length - 1;
+            for (int slot = mix(id) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(int id, int row) {
+            if (count * 2 >= keys.length) {
+                rehash();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(id) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = id;
+                count++;
+            }
+            rows[slot] = row;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = newKeys(oldKeys.length * 2);
+            rows = new int[oldKeys.length * 2];
+            count = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    put(oldKeys[slot], oldRows[slot]);
+                }
+            }
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int mix(int id) {
+            int hash = id * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Append-only journal of trade writes, in memory-mapped segment files of a fixed size.
+ *
+ * <p>Record layout, little-endian:
+ * <pre>
+ *  0  int    record length, header included; 0 marks the end of the written part of a segment
+ *  4  int    CRC32C of bytes [8, length)
+ *  8  long   sequence, starting at 1 and increasing by 1
+ * 16  long   append time, epoch milliseconds
+ * 24  byte   TradeEventType ordinal
+ * 25  int    trade id
+ * 29  double buyQuantity, sellQuantity, buyPrice, sellPrice (NaN when null)
+ * 61  long   tradeDate, creationDate, revisionDate in epoch milliseconds (Long.MIN_VALUE when null)
+ * 85  then account, type, security, status, trader, benchmark, book, creationName, revisionName,
+ *        dealName, dealType, sourceListId, side: each a short UTF-8 length (-1 when null) and the bytes
+ * </pre>
+ * The length is written last, and a record is only read back if its CRC matches, so a record torn by a crash
+ * is never replayed. Opening a journal truncates the last segment after its last valid record.
+ *
+ * <p>Segments are named after the sequence of their first record. Appends are serialized; {@link #force()}
+ * flushes the records appended since the previous call to the storage device.
+ */
+public final class TradeJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "trades-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 25;
+    private static final int FIXED_BYTES = HEADER_BYTES + Integer.BYTES + 4 * Double.BYTES + 3 * Long.BYTES;
+    private static final int STRING_COUNT = 13;
+    private static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final TradeEventType[] TYPES = TradeEventType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32C crc = new CRC32C();
+    /**
+     * A lock rather than a monitor, so that a virtual thread flushing the journal releases its carrier thread.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private MappedByteBuffer segment;
+    private long nextSequence;
+    private int forcedPosition;
+    private final long truncatedBytes;
+
+    private TradeJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            segment = map(segmentPath(nextSequence));
+            truncatedBytes = 0;
+            return;
+        }
+        Path last = segments.getLast();
+        segment = map(last);
+        nextSequence = firstSequence(last);
+        int position = 0;
+        int length;
+        while ((length = validRecordLength(segment, position, crc)) > 0) {
+            nextSequence = segment.getLong(position + 8) + 1;
+            position += length;
+        }
+        truncatedBytes = length < 0 ? clear(segment, position) : 0;
+        segment.position(position);
+        forcedPosition = position;
+    }
+
+    /**
+     * Opens the journal stored in a directory, creating it if needed, and truncates a torn last record.
+     *
+     * @param segmentSize size in bytes of each segment file
+     */
+    public static TradeJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < FIXED_BYTES + STRING_COUNT * Short.BYTES) {
+            throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+        }
+        return new TradeJournal(directory, segmentSize);
+    }
+
+    /**
+     * Appends a trade write.
+     *
+     * @param trade the state of the trade after the write, or before it for a deletion
+     * @return the sequence of the record
+     */
+    public long append(TradeEventType type, Trade trade) {
+        String[] strings = strings(trade);
+        int length = FIXED_BYTES;
+        for (String value : strings) {
+            length += Short.BYTES + (value == null ? 0 : utf8Length(value));
+        }
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Trade " + trade.getId() + " does not fit in a journal segment");
+        }
+        lock.lock();
+        try {
+            if (segment.remaining() < length) {
+                roll();
+            }
+
+            long sequence = nextSequence++;
+            int start = segment.position();
+            segment.position(start + 8);
+            segment.putLong(sequence)
+                    .putLong(System.currentTimeMillis())
+                    .put((byte) type.ordinal())
+                    .putInt(trade.getId())
+                    .putDouble(valueOf(trade.getBuyQuantity()))
+                    .putDouble(valueOf(trade.getSellQuantity()))
+                    .putDouble(valueOf(trade.getBuyPrice()))
+                    .putDouble(valueOf(trade.getSellPrice()))
+                    .putLong(millisOf(trade.getTradeDate()))
+                    .putLong(millisOf(trade.getCreationDate()))
+                    .putLong(millisOf(trade.getRevisionDate()));
+            for (String value : strings) {
+                putString(segment, value);
+            }
+
+            crc.reset();
+            crc.update(segment.slice(start + 8, length - 8));
+            segment.putInt(start + 4, (int) crc.getValue());
+            segment.putInt(start, length);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the records appended since the previous call to the storage device.
+     */
+    public void force() {
+        lock.lock();
+        try {
+            int position = segment.position();
+            if (position > forcedPosition) {
+                segment.force(forcedPosition, position - forcedPosition);
+                forcedPosition = position;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sequence of the last record appended, 0 if the journal is empty.
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of bytes of torn records discarded when the journal was opened.
+     */
+    public long truncatedBytes() {
+        return truncatedBytes;
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    /**
+     * Reads the records of a journal in sequence order, stopping at the first torn or missing record.
+     * Can run while the journal is being appended to; records appended meanwhile may or may not be read.
+     *
+     * @param fromSequence sequence of the first record to deliver
+     * @param consumer receives every record from fromSequence on
+     * @return the number of records delivered
+     */
+    public static long replay(Path directory, long fromSequence, Consumer<TradeJournalRecord> consumer)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Path> segments = segments(directory);
+        CRC32C crc = new CRC32C();
+        long delivered = 0;
+        long expected = -1;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            ByteBuffer buffer = mapReadOnly(segments.get(i));
+            int position = 0;
+            int length;
+            while ((length = validRecordLength(buffer, position, crc)) > 0) {
+                long sequence = buffer.getLong(position + 8);
+                if (expected >= 0 && sequence != expected) {
+                    return delivered;
+                }
+                expected = sequence + 1;
+                if (sequence >= fromSequence) {
+                    consumer.accept(decode(buffer, position));
+                    delivered++;
+                }
+                position += length;
+            }
+            if (length < 0) {
+                return delivered;
+            }
+        }
+        return delivered;
+    }
+
+    private void roll() {
+        force();
+        try {
+            segment = map(segmentPath(nextSequence));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll trade journal segment", e);
+        }
+        forcedPosition = 0;
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static ByteBuffer mapReadOnly(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Length of the record at a position: positive if the record is complete and intact,
+     * 0 at the end of the written part of the segment, -1 if the record is torn or corrupt.
+     */
+    private static int validRecordLength(ByteBuffer buffer, int position, CRC32C crc) {
+        if (buffer.limit() - position < HEADER_BYTES) {
+            return 0;
+        }
+        int length = buffer.getInt(position);
+        if (length == 0) {
+            return buffer.getInt(position + 4) == 0 && buffer.getLong(position + 8) == 0 ? 0 : -1;
+        }
+        if (length < FIXED_BYTES || length > buffer.limit() - position) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(buffer.slice(position + 8, length - 8));
+        return (int) crc.getValue() == buffer.getInt(position + 4) ? length : -1;
+    }
+
+    /**
+     * Zeroes a segment from a position to its end, and returns the number of bytes that were not already zero.
+     */
+    private static long clear(MappedByteBuffer buffer, int from) {
+        long cleared = 0;
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                cleared++;
+            }
+        }
+        buffer.force();
+        return cleared;
+    }
+
+    private static TradeJournalRecord decode(ByteBuffer buffer, int position) {
+        ByteBuffer record = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(position + 8);
+        long sequence = record.getLong();
+        long timestamp = record.getLong();
+        TradeEventType type = TYPES[record.get()];
+
+        Trade trade = new Trade();
+        trade.setId(record.getInt());
+        trade.setBuyQuantity(doubleOf(record.getDouble()));
+        trade.setSellQuantity(doubleOf(record.getDouble()));
+        trade.setBuyPrice(doubleOf(record.getDouble()));
+        trade.setSellPrice(doubleOf(record.getDouble()));
+        trade.setTradeDate(timestampOf(record.getLong()));
+        trade.setCreationDate(timestampOf(record.getLong()));
+        trade.setRevisionDate(timestampOf(record.getLong()));
+        trade.setAccount(getString(record));
+        trade.setType(getString(record));
+        trade.setSecurity(getString(record));
+        trade.setStatus(getString(record));
+        trade.setTrader(getString(record));
+        trade.setBenchmark(getString(record));
+        trade.setBook(getString(record));
+        trade.setCreationName(getString(record));
+        trade.setRevisionName(getString(record));
+        trade.setDealName(getString(record));
+        trade.setDealType(getString(record));
+        trade.setSourceListId(getString(record));
+        trade.setSide(getString(record));
+        return new TradeJournalRecord(sequence, timestamp, type, trade);
+    }
+
+    private static String[] strings(Trade trade) {
+        return new String[] {trade.getAccount(), trade.getType(), trade.getSecurity(), trade.getStatus(),
+                trade.getTrader(), trade.getBenchmark(), trade.getBook(), trade.getCreationName(),
+                trade.getRevisionName(), trade.getDealName(), trade.getDealType(), trade.getSourceListId(),
+                trade.getSide()};
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        if (length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Trade field too long for the journal: " + length + " bytes");
+        }
+        return length;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        int length = utf8Length(value);
+        buffer.putShort((short) length);
+        if (length == value.length()) {
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+        } else {
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Double doubleOf(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static long millisOf(Timestamp timestamp) {
+        return timestamp == null ? NO_DATE : timestamp.getTime();
+    }
+
+    private static Timestamp timestampOf(long millis) {
+        return millis == NO_DATE ? null : new Timestamp(millis);
+    }
+}
@@ -0,0 +1,20 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * A trade write read back from the trade journal.
+ *
+ * @param sequence position of the record in the journal, starting at 1
+ * @param timestamp time the record was appended, epoch milliseconds
+ * @param type the kind of write
+ * @param trade state of the trade after the write, or before it for a deletion
+ */
+public record TradeJournalRecord(
+    long sequence,
+    long timestamp,
+    TradeEventType type,
+    Trade trade
+) {
+}
@@ -0,0 +1,285 @@
+package com.poseidoncapitalsolutions.trading.engine;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeAggregateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeSnapshotStatsDTO;
+
+/**
+ * Immutable columnar view of the trades: quantities and prices as doubles, trade dates as epoch milliseconds,
+ * and account, book, security, trader, status and side as dictionary codes. Rows of deleted or superseded trades
+ * are tombstoned and skipped by every query.
+ *
+ * <p>Queries resolve their criteria to codes once, then scan the columns comparing ints.
+ */
+public final class TradeSnapshot {
+
+    /**
+     * Trade date of a trade without one.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final TradeDimension[] DIMENSIONS = TradeDimension.values();
+
+    /**
+     * Rough heap cost of a dictionary entry besides its characters: the String and its array,
+     * the boxed code, and the map and list slots.
+     */
+    private static final int DICTIONARY_ENTRY_BYTES = 96;
+
+    private final int size;
+    private final int[] ids;
+    private final int[][] codes;
+    private final String[][] values;
+    private final double[] buyQuantity;
+    private final double[] buyPrice;
+    private final double[] sellQuantity;
+    private final double[] sellPrice;
+    private final long[] tradeDates;
+    private final BitSet deleted;
+    private final int deletedCount;
+
+    TradeSnapshot(int size, int[] ids, int[][] codes, String[][] values, double[] buyQuantity, double[] buyPrice,
+                  double[] sellQuantity, double[] sellPrice, long[] tradeDates, BitSet deleted, int deletedCount) {
+        this.size = size;
+        this.ids = ids;
+        this.codes = codes;
+        this.values = values;
+        this.buyQuantity = buyQuantity;
+        this.buyPrice = buyPrice;
+        this.sellQuantity = sellQuantity;
+        this.sellPrice = sellPrice;
+        this.tradeDates = tradeDates;
+        this.deleted = deleted;
+        this.deletedCount = deletedCount;
+    }
+
+    /**
+     * Number of rows, including tombstoned rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of current trades.
+     */
+    public int liveCount() {
+        return size - deletedCount;
+    }
+
+    public boolean isLive(int row) {
+        return !deleted.get(row);
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    public int code(TradeDimension dimension, int row) {
+        return codes[dimension.ordinal()][row];
+    }
+
+    public String decode(TradeDimension dimension, int code) {
+        return values[dimension.ordinal()][code];
+    }
+
+    public int dictionarySize(TradeDimension dimension) {
+        return values[dimension.ordinal()].length;
+    }
+
+    /**
+     * Counts the current trades matching a filter.
+     */
+    public int count(TradeFilter filter) {
+        Matcher matcher = new Matcher(filter);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (matcher.matches(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sums quantities and notionals of the current trades matching a filter, per value of a dimension.
+     *
+     * @return one TradeAggregateDTO per value with at least one matching trade, sorted by value
+     */
+    public List<TradeAggregateDTO> aggregate(TradeFilter filter, TradeDimension groupBy) {
+        Matcher matcher = new Matcher(filter);
+        int[] groups = codes[groupBy.ordinal()];
+        int groupCount = dictionarySize(groupBy);
+        int[] counts = new int[groupCount];
+        // Per group: buy quantity, buy notional, sell quantity, sell notional
+        double[] sums = new double[groupCount * 4];
+
+        for (int row = 0; row < size; row++) {
+            if (matcher.matches(row)) {
+                int group = groups[row];
+                int slot = group * 4;
+                counts[group]++;
+                sums[slot] += buyQuantity[row];
+                sums[slot + 1] += buyQuantity[row] * buyPrice[row];
+                sums[slot + 2] += sellQuantity[row];
+                sums[slot + 3] += sellQuantity[row] * sellPrice[row];
+            }
+        }
+
+        List<TradeAggregateDTO> result = new ArrayList<>();
+        for (int group = 0; group < groupCount; group++) {
+            if (counts[group] > 0) {
+                int slot = group * 4;
+                result.add(new TradeAggregateDTO(decode(groupBy, group), counts[group], sums[slot], sums[slot + 1],
+                        sums[slot + 2], sums[slot + 3]));
+            }
+        }
+        result.sort(Comparator.comparing(TradeAggregateDTO::key, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the current trades only, this snapshot if no row is tombstoned.
+     */
+    public TradeSnapshot withoutDeleted() {
+        if (deletedCount == 0) {
+            return this;
+        }
+        int live = liveCount();
+        int[] liveIds = new int[live];
+        int[][] liveCodes = new int[DIMENSIONS.length][live];
+        double[] liveBuyQuantity = new double[live];
+        double[] liveBuyPrice = new double[live];
+        double[] liveSellQuantity = new double[live];
+        double[] liveSellPrice = new double[live];
+        long[] liveTradeDates = new long[live];
+        int target = 0;
+        for (int row = deleted.nextClearBit(0); row < size; row = deleted.nextClearBit(row + 1)) {
+            liveIds[target] = ids[row];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                liveCodes[d][target] = codes[d][row];
+            }
+            liveBuyQuantity[target] = buyQuantity[row];
+            liveBuyPrice[target] = buyPrice[row];
+            liveSellQuantity[target] = sellQuantity[row];
+            liveSellPrice[target] = sellPrice[row];
+            liveTradeDates[target] = tradeDates[row];
+            target++;
+        }
+        return new TradeSnapshot(live, liveIds, liveCodes, values, liveBuyQuantity, liveBuyPrice, liveSellQuantity,
+                liveSellPrice, liveTradeDates, new BitSet(), 0);
+    }
+
+    /**
+     * Reports the memory held by this snapshot. Column bytes count the allocated capacity, not just the used rows;
+     * dictionary bytes are an estimate.
+     */
+    public TradeSnapshotStatsDTO stats() {
+        long capacity = ids.length;
+        long columnBytes = capacity * Integer.BYTES * (1 + DIMENSIONS.length)
+                + capacity * Double.BYTES * 4
+                + capacity * Long.BYTES
+                + deleted.size() / Byte.SIZE;
+        int entries = 0;
+        long dictionaryBytes = 0;
+        for (String[] dictionary : values) {
+            entries += dictionary.length;
+            for (String value : dictionary) {
+                dictionaryBytes += DICTIONARY_ENTRY_BYTES + (value == null ? 0 : value.length());
+            }
+        }
+        return TradeSnapshotStatsDTO.of(size, liveCount(), columnBytes, entries, dictionaryBytes);
+    }
+
+    int[] codes(TradeDimension dimension) {
+        return codes[dimension.ordinal()];
+    }
+
+    double[] buyQuantity() {
+        return buyQuantity;
+    }
+
+    double[] buyPrice() {
+        return buyPrice;
+    }
+
+    double[] sellQuantity() {
+        return sellQuantity;
+    }
+
+    double[] sellPrice() {
+        return sellPrice;
+    }
+
+    long[] tradeDates() {
+        return tradeDates;
+    }
+
+    /**
+     * A filter resolved against the dictionaries of this snapshot.
+     */
+    private final class Matcher {
+
+        private static final int ANY = -1;
+        private static final int NONE = -2;
+
+        private final int[] required = new int[DIMENSIONS.length];
+        private final long from;
+        private final long to;
+        private final boolean dated;
+        private final boolean matchesNothing;
+
+        Matcher(TradeFilter filter) {
+            boolean nothing = false;
+            for (TradeDimension dimension : DIMENSIONS) {
+                String value = filter.valueOf(dimension);
+                int code = value == null ? ANY : codeOf(dimension, value);
+                required[dimension.ordinal()] = code;
+                nothing |= code == NONE;
+            }
+            ZoneId zone = ZoneId.systemDefault();
+            from = filter.from() == null ? NO_DATE : startOfDay(filter.from(), zone);
+            to = filter.to() == null ? Long.MAX_VALUE : startOfDay(filter.to().plusDays(1), zone);
+            dated = filter.from() != null || filter.to() != null;
+            matchesNothing = nothing;
+        }
+
+        boolean matches(int row) {
+            if (matchesNothing || deleted.get(row)) {
+                return false;
+            }
+            for (int d = 0; d < required.length; d++) {
+                if (required[d] != ANY && codes[d][row] != required[d]) {
+                    return false;
+                }
+            }
+            long tradeDate = tradeDates[row];
+            if (dated && tradeDate == NO_DATE) {
+                return false;
+            }
+            return tradeDate >= from && tradeDate < to;
+        }
+
+        private int codeOf(TradeDimension dimension, String value) {
+            String[] dictionary = values[dimension.ordinal()];
+            for (int code = 0; code < dictionary.length; code++) {
+                if (value.equals(dictionary[code])) {
+                    return code;
+                }
+            }
+            return NONE;
+        }
+
+        private static long startOfDay(LocalDate date, ZoneId zone) {
+            return date.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+import com.poseidoncapitalsolutions.trading.model.Bid;
+
+/**
+ * Published by BidService for every bid written, and delivered to listeners after the transaction commits.
+ *
+ * @param type the kind of write
+ * @param previous state of the bid before the write, null on creation
+ * @param current state of the bid after the write, null on deletion
+ */
+public record BidEvent(
+    TradeEventType type,
+    Bid previous,
+    Bid current
+) {
+
+    public static BidEvent created(Bid bid) {
+        return new BidEvent(TradeEventType.CREATED, null, bid);
+    }
+
+    public static BidEvent updated(Bid previous, Bid current) {
+        return new BidEvent(TradeEventType.UPDATED, previous, current);
+    }
+
+    public static BidEvent deleted(Bid bid) {
+        return new BidEvent(TradeEventType.DELETED, bid, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+
+/**
+ * Published by BidService for every chunk of a bulk status transition, and delivered to listeners after the
+ * transaction commits.
+ *
+ * @param status the status set on the bids
+ * @param closed whether the status takes the bids out of the order books
+ * @param bids quotes of the bids updated
+ */
+public record BidStatusEvent(
+    String status,
+    boolean closed,
+    List<BidQuoteDTO> bids
+) {
+}
@@ -0,0 +1,30 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+import com.poseidoncapitalsolutions.trading.model.CurvePoint;
+
+/**
+ * Published by CurvePointService for every curve point written, and delivered to listeners after the
+ * transaction commits.
+ *
+ * @param type the kind of write
+ * @param previous state of the curve point before the write, null on creation
+ * @param current state of the curve point after the write, null on deletion
+ */
+public record CurvePointEvent(
+    TradeEventType type,
+    CurvePoint previous,
+    CurvePoint current
+) {
+
+    public static CurvePointEvent created(CurvePoint curvePoint) {
+        return new CurvePointEvent(TradeEventType.CREATED, null, curvePoint);
+    }
+
+    public static CurvePointEvent updated(CurvePoint previous, CurvePoint current) {
+        return new CurvePointEvent(TradeEventType.UPDATED, previous, current);
+    }
+
+    public static CurvePointEvent deleted(CurvePoint curvePoint) {
+        return new CurvePointEvent(TradeEventType.DELETED, curvePoint, null);
+    }
+}
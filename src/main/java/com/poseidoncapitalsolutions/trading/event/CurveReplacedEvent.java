@@ -0,0 +1,12 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+/**
+ * Published by CurvePointService when the points of a curve are replaced as a whole, and delivered to
+ * listeners after the transaction commits.
+ *
+ * @param curveId the curve replaced
+ */
+public record CurveReplacedEvent(
+    int curveId
+) {
+}
@@ -0,0 +1,29 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Published by TradeService for every trade written, and delivered to listeners after the transaction commits.
+ *
+ * @param type the kind of write
+ * @param previous state of the trade before the write, null on creation
+ * @param current state of the trade after the write, null on deletion
+ */
+public record TradeEvent(
+    TradeEventType type,
+    Trade previous,
+    Trade current
+) {
+
+    public static TradeEvent created(Trade trade) {
+        return new TradeEvent(TradeEventType.CREATED, null, trade);
+    }
+
+    public static TradeEvent updated(Trade previous, Trade current) {
+        return new TradeEvent(TradeEventType.UPDATED, previous, current);
+    }
+
+    public static TradeEvent deleted(Trade trade) {
+        return new TradeEvent(TradeEventType.DELETED, trade, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.poseidoncapitalsolutions.trading.event;
+
+/**
+ * Kind of write carried by a TradeEvent, a BidEvent or a CurvePointEvent.
+ */
+public enum TradeEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,9 @@
+package com.poseidoncapitalsolutions.trading.exception;
+
+public class DuplicateBidException extends RuntimeException {
+
+    public DuplicateBidException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.poseidoncapitalsolutions.trading.exception;
+
+public class DuplicateTradeException extends RuntimeException {
+
+    public DuplicateTradeException(String message) {
+        super(message);
+    }
+
+}
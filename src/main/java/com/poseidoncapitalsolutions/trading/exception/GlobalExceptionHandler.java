@@ -21,6 +21,20 @@ public class GlobalExceptionHandler {
         return "redirect:/curvePoint/list";
     }
 
+    @ExceptionHandler(DuplicateBidException.class)
+    public String handleDuplicateBidException(DuplicateBidException e, RedirectAttributes redirectAttributes) {
+        log.warn(e.getMessage());
+        redirectAttributes.addFlashAttribute("error", e.getMessage());
+        return "redirect:/bid/list";
+    }
+
+    @ExceptionHandler(DuplicateTradeException.class)
+    public String handleDuplicateTradeException(DuplicateTradeException e, RedirectAttributes redirectAttributes) {
+        log.warn(e.getMessage());
+        redirectAttributes.addFlashAttribute("error", e.getMessage());
+        return "redirect:/trade/list";
+    }
+
     @ExceptionHandler(RatingNotFoundException.class)
     public String handleRatingNotFoundException(RatingNotFoundException e, RedirectAttributes redirectAttributes) {
         redirectAttributes.addFlashAttribute("error", e.getMessage());
@@ -39,6 +53,13 @@ public class GlobalExceptionHandler {
         return "redirect:/trade/list";
     }
 
+    @ExceptionHandler(TradeBufferFullException.class)
+    public String handleTradeBufferFullException(TradeBufferFullException e, RedirectAttributes redirectAttributes) {
+        log.warn(e.getMessage());
+        redirectAttributes.addFlashAttribute("error", e.getMessage());
+        return "redirect:/trade/list";
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public String handleUserNotFoundException(UserNotFoundException e, RedirectAttributes redirectAttributes) {
         redirectAttributes.addFlashAttribute("error", e.getMessage());
@@ -0,0 +1,9 @@
+package com.poseidoncapitalsolutions.trading.exception;
+
+public class TradeBufferFullException extends RuntimeException {
+
+    public TradeBufferFullException(String message) {
+        super(message);
+    }
+
+}
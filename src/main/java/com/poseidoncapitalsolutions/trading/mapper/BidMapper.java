@@ -1,12 +1,9 @@
 package com.poseidoncapitalsolutions.trading.mapper;
 
-import java.util.List;
-
 import org.mapstruct.*;
 
 import com.poseidoncapitalsolutions.trading.dto.BidAddDTO;
 import com.poseidoncapitalsolutions.trading.dto.BidUpdateDTO;
-import com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.Bid;
 
 @Mapper(componentModel = "spring")
@@ -14,9 +11,7 @@ public interface BidMapper {
 
     @Mapping(target = "trader", ignore = true)
     @Mapping(target = "status", ignore = true)
-    @Mapping(target = "sourceListId", ignore = true)
     @Mapping(target = "side", ignore = true)
-    @Mapping(target = "security", ignore = true)
     @Mapping(target = "revisionName", ignore = true)
     @Mapping(target = "revisionDate", ignore = true)
     @Mapping(target = "id", ignore = true)
@@ -27,10 +22,7 @@ public interface BidMapper {
     @Mapping(target = "commentary", ignore = true)
     @Mapping(target = "book", ignore = true)
     @Mapping(target = "bidListDate", ignore = true)
-    @Mapping(target = "bid", ignore = true)
     @Mapping(target = "benchmark", ignore = true)
-    @Mapping(target = "askQuantity", ignore = true)
-    @Mapping(target = "ask", ignore = true)
     Bid toEntity(BidAddDTO dto);
    
     BidUpdateDTO toDTO(Bid entity);
@@ -39,7 +31,6 @@ public interface BidMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "sourceListId", ignore = true)
     @Mapping(target = "side", ignore = true)
-    @Mapping(target = "security", ignore = true)
     @Mapping(target = "revisionName", ignore = true)
     @Mapping(target = "revisionDate", ignore = true)
     @Mapping(target = "dealType", ignore = true)
@@ -49,14 +40,9 @@ public interface BidMapper {
     @Mapping(target = "commentary", ignore = true)
     @Mapping(target = "book", ignore = true)
     @Mapping(target = "bidListDate", ignore = true)
-    @Mapping(target = "bid", ignore = true)
     @Mapping(target = "benchmark", ignore = true)
-    @Mapping(target = "askQuantity", ignore = true)
-    @Mapping(target = "ask", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateBidFromDTO(BidUpdateDTO dto, @MappingTarget Bid entity);
-    
-    BidListItemDTO toListItemDTO(Bid entity);
 
-    List<BidListItemDTO> toListItemDTOList(List<Bid> entities);
+    Bid copy(Bid entity);
 }
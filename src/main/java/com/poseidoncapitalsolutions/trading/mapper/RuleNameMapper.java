@@ -1,13 +1,10 @@
 package com.poseidoncapitalsolutions.trading.mapper;
 
 
-import java.util.List;
-
 import org.mapstruct.*;
 
 import com.poseidoncapitalsolutions.trading.dto.RuleNameAddDTO;
 import com.poseidoncapitalsolutions.trading.dto.RuleNameUpdateDTO;
-import com.poseidoncapitalsolutions.trading.dto.display.RuleNameListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.RuleName;
 
 @Mapper(componentModel = "spring")
@@ -20,8 +17,4 @@ public interface RuleNameMapper {
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(RuleNameUpdateDTO dto, @MappingTarget RuleName entity);
-    
-    RuleNameListItemDTO toListItemDTO(RuleName entity);
-
-    List<RuleNameListItemDTO> toListItemDTOList(List<RuleName> entities);
 }
@@ -1,10 +1,9 @@
 package com.poseidoncapitalsolutions.trading.mapper;
 
-import java.util.List;
-
 import org.mapstruct.*;
 
 import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
 import com.poseidoncapitalsolutions.trading.dto.TradeUpdateDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.Trade;
@@ -15,7 +14,6 @@ public interface TradeMapper {
     @Mapping(target = "trader", ignore = true)
     @Mapping(target = "tradeDate", ignore = true)
     @Mapping(target = "status", ignore = true)
-    @Mapping(target = "sourceListId", ignore = true)
     @Mapping(target = "side", ignore = true)
     @Mapping(target = "sellQuantity", ignore = true)
     @Mapping(target = "sellPrice", ignore = true)
@@ -31,9 +29,18 @@ public interface TradeMapper {
     @Mapping(target = "book", ignore = true)
     @Mapping(target = "benchmark", ignore = true)
     Trade toEntity(TradeAddDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "creationName", ignore = true)
+    @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "revisionName", ignore = true)
+    @Mapping(target = "revisionDate", ignore = true)
+    Trade toEntity(TradeImportDTO dto);
    
     TradeUpdateDTO toDTO(Trade entity);
 
+    TradeListItemDTO toListItem(Trade entity);
+
     @Mapping(target = "trader", ignore = true)
     @Mapping(target = "tradeDate", ignore = true)
     @Mapping(target = "status", ignore = true)
@@ -54,7 +61,5 @@ public interface TradeMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateTradeFromDTO(TradeUpdateDTO dto, @MappingTarget Trade entity);
     
-    TradeListItemDTO toListItemDTO(Trade entity);
-
-    List<TradeListItemDTO> toListItemDTOList(List<Trade> entities);
+    Trade copy(Trade entity);
 }
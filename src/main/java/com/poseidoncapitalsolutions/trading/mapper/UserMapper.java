@@ -1,7 +1,5 @@
 package com.poseidoncapitalsolutions.trading.mapper;
 
-import java.util.List;
-
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -10,7 +8,6 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import com.poseidoncapitalsolutions.trading.dto.UserCreateDTO;
 import com.poseidoncapitalsolutions.trading.dto.UserUpdateDTO;
-import com.poseidoncapitalsolutions.trading.dto.display.UserListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.User;
 
 @Mapper(componentModel = "spring")
@@ -28,8 +25,4 @@ public interface UserMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "password", ignore = true)
     void updateUserFromDTO(UserUpdateDTO dto, @MappingTarget User entity);
-    
-    UserListItemDTO toListItemDTO(User entity);
-
-    List<UserListItemDTO> toListItemDTOList(List<User> entities);
 }
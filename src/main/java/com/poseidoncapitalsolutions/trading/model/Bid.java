@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -13,7 +14,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "bid")
+@Table(name = "bid", indexes = {
+        @Index(name = "idx_bid_account_id", columnList = "account, id"),
+        @Index(name = "idx_bid_book_id", columnList = "book, id"),
+        @Index(name = "idx_bid_trader_id", columnList = "trader, id"),
+        @Index(name = "idx_bid_status_id", columnList = "status, id"),
+        @Index(name = "idx_bid_security_id", columnList = "security, id"),
+        @Index(name = "idx_bid_bid_list_date", columnList = "bidListDate"),
+        @Index(name = "uk_bid_source_list_id", columnList = "sourceListId", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
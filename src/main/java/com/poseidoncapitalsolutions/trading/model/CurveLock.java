@@ -0,0 +1,25 @@
+package com.poseidoncapitalsolutions.trading.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lock row of a curve, created by its first write. Writers of a curve lock it before reading the latest
+ * version they change, so that their versions are written one after the other.
+ */
+@Entity
+@Table(name = "curve_lock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurveLock {
+
+    @Id
+    @Column(name = "curveId")
+    private int curveId;
+}
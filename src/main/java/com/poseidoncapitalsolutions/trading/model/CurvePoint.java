@@ -2,25 +2,38 @@ package com.poseidoncapitalsolutions.trading.model;
 
 import java.sql.Timestamp;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Point of a version of a curve. The points sharing a curveId and an asOfDate form the version of the curve
+ * in effect from that date; versions are appended, never overwritten by later ones.
+ *
+ * <p>A curve deleted from a date has a version there made of a single deleted row, a tombstone whose term and
+ * value mean nothing, so that the versions before it stay readable.
+ */
 @Entity
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", indexes = @Index(name = "idx_curvepoint_curve_id_as_of_date_term",
+        columnList = "curveId, asOfDate, term"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CurvePoint {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curvepoint_seq")
+    @SequenceGenerator(name = "curvepoint_seq", sequenceName = "curvepoint_seq", allocationSize = 50)
     private int id;
 
     @Column(name = "curveId")
@@ -37,4 +50,8 @@ public class CurvePoint {
 
     @Column(name = "creationDate")
     private Timestamp creationDate;
+
+    @Column(name = "deleted", nullable = false)
+    @ColumnDefault("false")
+    private boolean deleted;
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.poseidoncapitalsolutions.trading.model;
+
+import java.sql.Timestamp;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Closed OHLC bar of the trades of one security, rolled up from the trade table.
+ */
+@Entity
+@Table(name = "price_bar", indexes = {
+        @Index(name = "uk_price_bar_security_resolution_start", columnList = "security, resolution, bucketStart", unique = true),
+        @Index(name = "idx_price_bar_resolution_start", columnList = "resolution, bucketStart")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceBar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "security", nullable = false)
+    private String security;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 8)
+    private BarResolution resolution;
+
+    @Column(name = "bucketStart", nullable = false)
+    private Timestamp bucketStart;
+
+    @Column(name = "openPrice")
+    private double openPrice;
+
+    @Column(name = "highPrice")
+    private double highPrice;
+
+    @Column(name = "lowPrice")
+    private double lowPrice;
+
+    @Column(name = "closePrice")
+    private double closePrice;
+
+    @Column(name = "volume")
+    private double volume;
+
+    @Column(name = "notional")
+    private double notional;
+
+    @Column(name = "tradeCount")
+    private int tradeCount;
+}
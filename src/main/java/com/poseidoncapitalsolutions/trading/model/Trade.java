@@ -8,20 +8,34 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+        @Index(name = "idx_trade_trade_date_id", columnList = "tradeDate, id"),
+        @Index(name = "idx_trade_account_trade_date_id", columnList = "account, tradeDate, id"),
+        @Index(name = "idx_trade_book_trade_date_id", columnList = "book, tradeDate, id"),
+        @Index(name = "idx_trade_trader_trade_date_id", columnList = "trader, tradeDate, id"),
+        @Index(name = "idx_trade_security_trade_date_id", columnList = "security, tradeDate, id"),
+        @Index(name = "idx_trade_status_trade_date_id", columnList = "status, tradeDate, id"),
+        @Index(name = "idx_trade_side_trade_date_id", columnList = "side, tradeDate, id"),
+        @Index(name = "idx_trade_book_security_trade_date_id", columnList = "book, security, tradeDate, id"),
+        @Index(name = "idx_trade_trader_security_trade_date_id", columnList = "trader, security, tradeDate, id"),
+        @Index(name = "uk_trade_source_list_id", columnList = "sourceListId", unique = true)
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Trade {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", allocationSize = 50)
     @Column(name = "id")
     private int id;
 
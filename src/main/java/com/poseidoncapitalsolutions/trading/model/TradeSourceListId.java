@@ -0,0 +1,38 @@
+package com.poseidoncapitalsolutions.trading.model;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Source list id of a trade, one row per id ever submitted. The table is never partitioned nor archived, so its
+ * primary key keeps source list ids unique whatever becomes of the trade table. Rows are only ever inserted:
+ * saving one that exists fails on the primary key instead of being merged.
+ */
+@Entity
+@Table(name = "trade_source_list_id")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeSourceListId implements Persistable<String> {
+
+    @Id
+    @Column(name = "sourceListId")
+    private String sourceListId;
+
+    @Override
+    public String getId() {
+        return sourceListId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,14 +1,73 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
-import java.util.Optional;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
 import com.poseidoncapitalsolutions.trading.model.Bid;
 
+import jakarta.persistence.QueryHint;
+
 
 @Repository
-public interface BidRepository extends JpaRepository<Bid, Integer> {
-    Optional<Bid> findByAccount(String account);
+public interface BidRepository extends JpaRepository<Bid, Integer>, BidRepositoryCustom {
+
+    /**
+     * Reads the list page columns of every bid, in id order, without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO(b.id, b.account, b.type, coalesce(b.bidQuantity, 0.0)) "
+            + "from Bid b order by b.id")
+    List<BidListItemDTO> findAllListItems();
+
+    /**
+     * Reads the bids of several accounts in one query, by account then id.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO(b.id, b.account, b.type, b.book, "
+            + "b.trader, b.status, b.security, b.bidQuantity, b.bid, b.askQuantity, b.ask, b.bidListDate) "
+            + "from Bid b where b.account in :accounts order by b.account, b.id")
+    List<BidRowDTO> findRowsByAccountIn(@Param("accounts") Collection<String> accounts);
+
+    /**
+     * Reads the ids of the bids of an account, in id order.
+     */
+    @Query("select b.id from Bid b where b.account = :account order by b.id")
+    List<Integer> findIdsByAccount(@Param("account") String account);
+
+    /**
+     * Reads the quotes of the bids among the given ids that were set a status at a revision date, in id order.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO(b.id, b.account, b.book, b.security, b.bid, b.bidQuantity, b.ask, b.askQuantity) "
+            + "from Bid b where b.id in :ids and b.status = :status and b.revisionDate = :revisionDate order by b.id")
+    List<BidQuoteDTO> findQuotesRevised(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                                        @Param("revisionDate") Timestamp revisionDate);
+
+    boolean existsBySourceListId(String sourceListId);
+
+    /**
+     * Streams the source list ids of the bids that have one. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select b.sourceListId from Bid b where b.sourceListId is not null")
+    Stream<String> streamSourceListIds();
+
+    /**
+     * Streams the quotes of the open bids on a security, in id order. Must be consumed inside a transaction.
+     *
+     * @param closedStatuses the statuses of the bids left out, must not be empty
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO(b.id, b.account, b.book, b.security, b.bid, b.bidQuantity, b.ask, b.askQuantity) "
+            + "from Bid b where b.security is not null and (b.status is null or b.status not in :closedStatuses) order by b.id")
+    Stream<BidQuoteDTO> streamQuotes(@Param("closedStatuses") Collection<String> closedStatuses);
 }
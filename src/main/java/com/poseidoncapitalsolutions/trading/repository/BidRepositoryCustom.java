@@ -0,0 +1,46 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+
+/**
+ * Bid queries built with the Criteria API.
+ */
+public interface BidRepositoryCustom {
+
+    /**
+     * Page of the bids matching a specification, sorted as the pageable requests then by id.
+     *
+     * @param spec the search criteria, null for all bids
+     */
+    Page<BidRowDTO> findRows(Specification<Bid> spec, Pageable pageable);
+
+    /**
+     * Reads the quotes of the first bids matching a specification with an id above a given one, in id order,
+     * without locking them.
+     *
+     * @param spec the search criteria, null for all bids
+     * @param afterId the id to start after, 0 to start from the first bid
+     * @param limit the maximum number of bids read
+     */
+    List<BidQuoteDTO> findQuotesAfter(Specification<Bid> spec, int afterId, int limit);
+
+    /**
+     * Sets the status of the bids with the given ids that match a specification, with one set-based statement.
+     * The specification is checked again by the update, on the rows it locks, so a bid that stopped matching it
+     * since it was read is left unchanged. It must not use the query it is given, which is null.
+     *
+     * @param spec the bids to update, null for all bids
+     * @return the number of bids updated
+     */
+    int updateStatus(Collection<Integer> ids, Specification<Bid> spec, String status, Timestamp revisionDate);
+}
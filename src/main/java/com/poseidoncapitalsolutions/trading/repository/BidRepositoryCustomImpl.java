@@ -0,0 +1,102 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class BidRepositoryCustomImpl implements BidRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<BidRowDTO> findRows(Specification<Bid> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BidRowDTO> query = cb.createQuery(BidRowDTO.class);
+        Root<Bid> bid = query.from(Bid.class);
+        Predicate predicate = spec == null ? null : spec.toPredicate(bid, query, cb);
+
+        List<Order> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : pageable.getSort()) {
+            orders.add(order.isAscending() ? cb.asc(bid.get(order.getProperty())) : cb.desc(bid.get(order.getProperty())));
+            byId |= order.getProperty().equals("id");
+        }
+        if (!byId) {
+            orders.add(cb.asc(bid.get("id")));
+        }
+        query.select(cb.construct(BidRowDTO.class, bid.get("id"), bid.get("account"), bid.get("type"),
+                        bid.get("book"), bid.get("trader"), bid.get("status"), bid.get("security"),
+                        bid.get("bidQuantity"), bid.get("bid"), bid.get("askQuantity"), bid.get("ask"),
+                        bid.get("bidListDate")))
+                .orderBy(orders);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<BidRowDTO> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Bid> counted = countQuery.from(Bid.class);
+        countQuery.select(cb.count(counted));
+        Predicate countPredicate = spec == null ? null : spec.toPredicate(counted, countQuery, cb);
+        if (countPredicate != null) {
+            countQuery.where(countPredicate);
+        }
+        return PageableExecutionUtils.getPage(rows, pageable,
+                () -> entityManager.createQuery(countQuery).getSingleResult());
+    }
+
+    @Override
+    public List<BidQuoteDTO> findQuotesAfter(Specification<Bid> spec, int afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BidQuoteDTO> query = cb.createQuery(BidQuoteDTO.class);
+        Root<Bid> bid = query.from(Bid.class);
+        Predicate after = cb.greaterThan(bid.get("id"), afterId);
+        Predicate predicate = spec == null ? null : spec.toPredicate(bid, query, cb);
+        query.select(cb.construct(BidQuoteDTO.class, bid.get("id"), bid.get("account"), bid.get("book"),
+                        bid.get("security"), bid.get("bid"), bid.get("bidQuantity"), bid.get("ask"),
+                        bid.get("askQuantity")))
+                .where(predicate == null ? after : cb.and(after, predicate))
+                .orderBy(cb.asc(bid.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int updateStatus(Collection<Integer> ids, Specification<Bid> spec, String status,
+                            Timestamp revisionDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Bid> update = cb.createCriteriaUpdate(Bid.class);
+        Root<Bid> bid = update.from(Bid.class);
+        Predicate inIds = bid.get("id").in(ids);
+        Predicate predicate = spec == null ? null : spec.toPredicate(bid, null, cb);
+        update.set(bid.<String>get("status"), status)
+                .set(bid.<Timestamp>get("revisionDate"), revisionDate)
+                .where(predicate == null ? inIds : cb.and(inIds, predicate));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
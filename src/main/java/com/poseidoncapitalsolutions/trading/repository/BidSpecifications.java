@@ -0,0 +1,63 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+
+/**
+ * Composable bid search criteria. Every criterion built from a null value matches all bids.
+ *
+ * <p>Each equality criterion leads a (column, id) index, so a search on any criterion sorted by id is an
+ * index range scan.
+ */
+public final class BidSpecifications {
+
+    private BidSpecifications() {
+    }
+
+    /**
+     * Combines every criterion of a filter.
+     */
+    public static Specification<Bid> matching(BidFilter filter) {
+        return Specification.where(attributeEquals("account", filter.account()))
+                .and(attributeEquals("book", filter.book()))
+                .and(attributeEquals("trader", filter.trader()))
+                .and(attributeEquals("status", filter.status()))
+                .and(attributeEquals("security", filter.security()));
+    }
+
+    /**
+     * Bids with one of the given ids.
+     */
+    public static Specification<Bid> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Bids listed strictly before a date.
+     */
+    public static Specification<Bid> listedBefore(Timestamp date) {
+        return (root, query, cb) -> cb.lessThan(root.get("bidListDate"), date);
+    }
+
+    /**
+     * Bids without a status or with a status outside the given ones.
+     */
+    public static Specification<Bid> statusNotIn(Collection<String> statuses) {
+        if (statuses.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(cb.isNull(root.get("status")), cb.not(root.get("status").in(statuses)));
+    }
+
+    public static Specification<Bid> attributeEquals(String attribute, String value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
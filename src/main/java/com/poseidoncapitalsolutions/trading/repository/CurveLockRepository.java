@@ -0,0 +1,30 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.poseidoncapitalsolutions.trading.model.CurveLock;
+
+import jakarta.persistence.LockModeType;
+
+public interface CurveLockRepository extends JpaRepository<CurveLock, Integer> {
+
+    /**
+     * Locks the row of a curve until the transaction ends (select ... for update), empty if it has none yet.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from CurveLock l where l.curveId = :curveId")
+    Optional<CurveLock> lock(@Param("curveId") int curveId);
+
+    /**
+     * Inserts the row of a curve, unless a concurrent transaction already did.
+     */
+    @Modifying
+    @Query(value = "insert ignore into curve_lock (curve_id) values (:curveId)", nativeQuery = true)
+    void insertIfMissing(@Param("curveId") int curveId);
+}
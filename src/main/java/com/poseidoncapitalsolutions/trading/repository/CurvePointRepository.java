@@ -1,11 +1,111 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurvePointListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.CurvePoint;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer>{
 
+    /**
+     * Reads the list page columns of the points of the latest version of every curve not deleted, in id order,
+     * without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.CurvePointListItemDTO(c.id, c.curveId, c.term, c.value) "
+            + "from CurvePoint c where c.asOfDate = (select max(v.asOfDate) from CurvePoint v where v.curveId = c.curveId) "
+            + "and c.deleted = false order by c.id")
+    List<CurvePointListItemDTO> findAllListItems();
+
+    /**
+     * Returns the date of the latest version of a curve, its tombstone if it is deleted, null if it has none.
+     */
+    @Query("select max(c.asOfDate) from CurvePoint c where c.curveId = :curveId")
+    Timestamp findLatestVersion(@Param("curveId") int curveId);
+
+    /**
+     * Returns the date of the version of a curve in effect at a date, null if the curve has none that early.
+     * A backward seek on the (curveId, asOfDate, term) index.
+     */
+    @Query("select max(c.asOfDate) from CurvePoint c where c.curveId = :curveId and c.asOfDate <= :asOf")
+    Timestamp findVersionAsOf(@Param("curveId") int curveId, @Param("asOf") Timestamp asOf);
+
+    /**
+     * Returns the dates of the versions of a curve, tombstones included, latest first.
+     */
+    @Query("select distinct c.asOfDate from CurvePoint c where c.curveId = :curveId order by c.asOfDate desc")
+    List<Timestamp> findVersions(@Param("curveId") int curveId);
+
+    /**
+     * Reads the points of a version of a curve, by term then id, without loading entities.
+     * A tombstone version has none.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO(c.id, c.curveId, c.asOfDate, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId and c.asOfDate = :asOfDate and c.deleted = false "
+            + "order by c.term, c.id")
+    List<CurvePointRowDTO> findPointsOfVersion(@Param("curveId") int curveId, @Param("asOfDate") Timestamp asOfDate);
+
+    /**
+     * Reads the rows of a version of a curve, tombstone included, by term then id.
+     */
+    List<CurvePoint> findByCurveIdAndAsOfDateOrderByTermAscIdAsc(int curveId, Timestamp asOfDate);
+
+    /**
+     * Streams the points of the latest version of every curve not deleted, by curve, term then id.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO(c.id, c.curveId, c.asOfDate, c.term, c.value) "
+            + "from CurvePoint c where c.asOfDate = (select max(v.asOfDate) from CurvePoint v where v.curveId = c.curveId) "
+            + "and c.deleted = false order by c.curveId, c.term, c.id")
+    Stream<CurvePointRowDTO> streamLatestPoints();
+
+    /**
+     * Returns the ids of the curves with a version dated before a date, in increasing order.
+     */
+    @Query("select distinct c.curveId from CurvePoint c where c.asOfDate < :to order by c.curveId")
+    List<Integer> findCurveIdsBefore(@Param("to") Timestamp to);
+
+    /**
+     * Streams the points of the curve versions in force between two dates: those dated in [from, to), and for
+     * each curve the latest one dated at or before from. Ordered by curve, version, term then id.
+     * Tombstones are read too, flagged deleted. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO(c.id, c.curveId, c.asOfDate, c.term, c.value, "
+            + "c.deleted) "
+            + "from CurvePoint c where c.asOfDate < :to and c.asOfDate >= coalesce((select max(v.asOfDate) "
+            + "from CurvePoint v where v.curveId = c.curveId and v.asOfDate <= :from), :from) "
+            + "order by c.curveId, c.asOfDate, c.term, c.id")
+    Stream<CurvePointRowDTO> streamVersionsInForce(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Counts the versions of a curve dated between two dates, both included, tombstones excluded.
+     */
+    @Query("select count(distinct c.asOfDate) from CurvePoint c "
+            + "where c.curveId = :curveId and c.asOfDate >= :from and c.asOfDate <= :to and c.deleted = false")
+    long countVersions(@Param("curveId") int curveId, @Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Streams the points of the versions of a curve dated between two dates, both included, by version, term
+     * then id, tombstones excluded. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO(c.id, c.curveId, c.asOfDate, c.term, c.value) "
+            + "from CurvePoint c where c.curveId = :curveId and c.asOfDate >= :from and c.asOfDate <= :to "
+            + "and c.deleted = false order by c.asOfDate, c.term, c.id")
+    Stream<CurvePointRowDTO> streamVersions(@Param("curveId") int curveId, @Param("from") Timestamp from,
+                                            @Param("to") Timestamp to);
 }
@@ -0,0 +1,27 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+import com.poseidoncapitalsolutions.trading.model.PriceBar;
+
+public interface PriceBarRepository extends JpaRepository<PriceBar, Long>, PriceBarRepositoryCustom {
+
+    /**
+     * Reads the bars of one security at one resolution starting in [from, to), oldest first.
+     */
+    @Query("select b from PriceBar b where b.security = :security and b.resolution = :resolution "
+            + "and b.bucketStart >= :from and b.bucketStart < :to order by b.bucketStart")
+    List<PriceBar> findBars(@Param("security") String security, @Param("resolution") BarResolution resolution,
+                            @Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    /**
+     * Reads the bars of every security at one resolution starting at or after a time.
+     */
+    List<PriceBar> findByResolutionAndBucketStartGreaterThanEqual(BarResolution resolution, Timestamp from);
+}
@@ -0,0 +1,21 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.util.List;
+
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+
+/**
+ * Price bar writes done with plain JDBC.
+ */
+public interface PriceBarRepositoryCustom {
+
+    /**
+     * Inserts bars, or replaces the stored bar of the same security, resolution and start, in JDBC batches.
+     */
+    void upsertAll(List<PriceBarDTO> bars);
+
+    /**
+     * Deletes the stored bars of the same security, resolution and start as the given ones, in JDBC batches.
+     */
+    void deleteBars(List<PriceBarDTO> bars);
+}
@@ -0,0 +1,50 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+class PriceBarRepositoryCustomImpl implements PriceBarRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT = "insert into price_bar (security, resolution, bucket_start, open_price, "
+            + "high_price, low_price, close_price, volume, notional, trade_count) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on duplicate key update open_price = values(open_price), high_price = values(high_price), "
+            + "low_price = values(low_price), close_price = values(close_price), volume = values(volume), "
+            + "notional = values(notional), trade_count = values(trade_count)";
+
+    private static final String DELETE = "delete from price_bar where security = ? and resolution = ? and bucket_start = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<PriceBarDTO> bars) {
+        jdbcTemplate.batchUpdate(UPSERT, bars, BATCH_SIZE, (ps, bar) -> {
+            ps.setString(1, bar.security());
+            ps.setString(2, bar.resolution().name());
+            ps.setTimestamp(3, bar.start());
+            ps.setDouble(4, bar.open());
+            ps.setDouble(5, bar.high());
+            ps.setDouble(6, bar.low());
+            ps.setDouble(7, bar.close());
+            ps.setDouble(8, bar.volume());
+            ps.setDouble(9, bar.notional());
+            ps.setInt(10, bar.tradeCount());
+        });
+    }
+
+    @Override
+    public void deleteBars(List<PriceBarDTO> bars) {
+        jdbcTemplate.batchUpdate(DELETE, bars, BATCH_SIZE, (ps, bar) -> {
+            ps.setString(1, bar.security());
+            ps.setString(2, bar.resolution().name());
+            ps.setTimestamp(3, bar.start());
+        });
+    }
+}
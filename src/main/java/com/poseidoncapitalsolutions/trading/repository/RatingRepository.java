@@ -1,9 +1,19 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.poseidoncapitalsolutions.trading.dto.display.RatingListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.Rating;
 
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
 
+    /**
+     * Reads the list page columns of every rating, in id order, without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.RatingListItemDTO(r.id, r.moodysRating, r.sandPRating, r.fitchRating, r.orderNumber) "
+            + "from Rating r order by r.id")
+    List<RatingListItemDTO> findAllListItems();
 }
@@ -1,10 +1,20 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.poseidoncapitalsolutions.trading.dto.display.RuleNameListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.RuleName;
 
 
 public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
-    
+
+    /**
+     * Reads the list page columns of every rule name, in id order, without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.RuleNameListItemDTO(r.id, r.name, r.description, r.json, r.template, r.sqlStr, r.sqlPart) "
+            + "from RuleName r order by r.id")
+    List<RuleNameListItemDTO> findAllListItems();
 }
@@ -0,0 +1,102 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Repository of the trade archive: a compressed, unpartitioned copy of the trade table holding the trades
+ * of closed months. The application only writes to it when archiving a partition of the trade table.
+ */
+@Repository
+@AllArgsConstructor
+public class TradeArchiveRepository {
+
+    static final String TABLE = "trade_archive";
+    static final String STAGING_TABLE = "trade_archive_staging";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the archive table with the columns and indexes of the trade table, if it does not exist.
+     */
+    public void createIfMissing() {
+        Integer tables = jdbcTemplate.queryForObject("select count(*) from information_schema.tables "
+                + "where table_schema = database() and table_name = ?", Integer.class, TABLE);
+        if (tables != null && tables > 0) {
+            return;
+        }
+        jdbcTemplate.execute("create table " + TABLE + " like trade");
+        jdbcTemplate.execute("alter table " + TABLE + " remove partitioning");
+        jdbcTemplate.execute("alter table " + TABLE + " row_format = compressed");
+    }
+
+    /**
+     * Creates an empty, unpartitioned copy of the trade table to exchange partitions with, replacing the one
+     * left by a previous run, as the trade table schema may have changed since.
+     */
+    public void createStaging() {
+        jdbcTemplate.execute("drop table if exists " + STAGING_TABLE);
+        jdbcTemplate.execute("create table " + STAGING_TABLE + " like trade");
+        jdbcTemplate.execute("alter table " + STAGING_TABLE + " remove partitioning");
+    }
+
+    public void dropStaging() {
+        jdbcTemplate.execute("drop table if exists " + STAGING_TABLE);
+    }
+
+    /**
+     * Swaps the rows of one partition of the trade table with the empty staging table, then copies them to the
+     * archive, ignoring those already archived. The swap is atomic: every trade of the month is either still in
+     * the partition or already in the staging table.
+     *
+     * @return the number of trades copied
+     */
+    public int exchangePartition(String partition) {
+        jdbcTemplate.execute("alter table trade exchange partition " + partition + " with table " + STAGING_TABLE);
+        int copied = jdbcTemplate.update("insert ignore into " + TABLE + " select * from " + STAGING_TABLE);
+        jdbcTemplate.execute("truncate table " + STAGING_TABLE);
+        return copied;
+    }
+
+    /**
+     * Drops a partition of the trade table emptied by {@link #exchangePartition}. The trades written to it since
+     * are copied to the archive first, with both tables write-locked so that none is written in between.
+     *
+     * @return the number of trades copied
+     */
+    public int dropPartition(String partition) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("lock tables trade write, " + TABLE + " write");
+                try {
+                    int copied = statement.executeUpdate("insert ignore into " + TABLE
+                            + " select * from trade partition (" + partition + ")");
+                    statement.execute("alter table trade drop partition " + partition);
+                    return copied;
+                } finally {
+                    statement.execute("unlock tables");
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the list page columns of the archived trades traded in [from, to), newest first.
+     */
+    public List<TradeListItemDTO> findListItemsTradedBetween(Timestamp from, Timestamp to, int limit) {
+        return jdbcTemplate.query("select id, account, type, buy_quantity, trade_date from " + TABLE
+                        + " where trade_date >= ? and trade_date < ? order by trade_date desc, id desc limit ?",
+                (rs, row) -> new TradeListItemDTO(rs.getInt(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, Double.class), rs.getTimestamp(5)),
+                from, to, limit);
+    }
+}
@@ -1,10 +1,80 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.poseidoncapitalsolutions.trading.dto.MatchedTradeDTO;
+import com.poseidoncapitalsolutions.trading.dto.PositionTotalsDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeColumnsRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradePrintDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.Trade;
 
+import jakarta.persistence.QueryHint;
+
+
+public interface TradeRepository extends JpaRepository<Trade, Integer>, JpaSpecificationExecutor<Trade>,
+        TradeRepositoryCustom {
+
+    /**
+     * Reads the list page columns of every trade, in id order, without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO(t.id, t.account, t.type, t.buyQuantity, t.tradeDate) "
+            + "from Trade t order by t.id")
+    List<TradeListItemDTO> findAllListItems();
+
+    /**
+     * Streams every trade in id order, fetching rows from the driver in chunks.
+     * Must be consumed inside a transaction; on MySQL the fetch size only applies with useCursorFetch=true.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Trade t order by t.id")
+    Stream<Trade> streamAll();
+
+    /**
+     * Streams the trades booked by the matching engine, whose source list ids start with "bid-".
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.MatchedTradeDTO(t.sourceListId, t.security, t.buyQuantity, t.sellQuantity) "
+            + "from Trade t where t.sourceListId like 'bid-%'")
+    Stream<MatchedTradeDTO> streamMatchedTrades();
+
+    /**
+     * Sums the quantities and notionals of all trades per (account, book, security).
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.PositionTotalsDTO(t.account, t.book, t.security, "
+            + "sum(coalesce(t.buyQuantity, 0.0)), sum(coalesce(t.buyQuantity, 0.0) * coalesce(t.buyPrice, 0.0)), "
+            + "sum(coalesce(t.sellQuantity, 0.0)), sum(coalesce(t.sellQuantity, 0.0) * coalesce(t.sellPrice, 0.0))) "
+            + "from Trade t group by t.account, t.book, t.security")
+    List<PositionTotalsDTO> sumPositions();
+
+    /**
+     * Batch of the snapshot columns of the trades following the given id, in id order.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.TradeColumnsRowDTO(t.id, t.account, t.book, "
+            + "t.security, t.trader, t.status, t.side, t.buyQuantity, t.buyPrice, t.sellQuantity, t.sellPrice, t.tradeDate) "
+            + "from Trade t where t.id > :afterId order by t.id")
+    List<TradeColumnsRowDTO> findColumnRowsAfter(@Param("afterId") int afterId, Limit limit);
 
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
-    
+    /**
+     * Reads the prices and quantities of the trades of a security dated in [from, to).
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.TradePrintDTO(t.tradeDate, t.buyPrice, t.buyQuantity, "
+            + "t.sellPrice, t.sellQuantity) from Trade t "
+            + "where t.security = :security and t.tradeDate >= :from and t.tradeDate < :to")
+    List<TradePrintDTO> findPrints(@Param("security") String security, @Param("from") Timestamp from,
+                                   @Param("to") Timestamp to);
 }
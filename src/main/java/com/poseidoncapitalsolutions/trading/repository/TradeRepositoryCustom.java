@@ -0,0 +1,37 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Trade queries built with the Criteria API.
+ */
+public interface TradeRepositoryCustom {
+
+    /**
+     * Blotter page of the trades matching a specification, newest first, following a cursor.
+     * Trades without a trade date come last.
+     *
+     * @param spec the search criteria, null for all trades
+     * @param after the last trade of the previous page, null for the first page
+     */
+    List<TradeListItemDTO> findListItems(Specification<Trade> spec, TradeCursor after, Limit limit);
+
+    /**
+     * Blotter page of the trades matching a specification and dated in [from, to), newest first, following
+     * a cursor. On a trade table partitioned by month, only the partitions of the months in range are read.
+     *
+     * @param after the last trade of the previous page, null for the first page
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive, null for no end
+     */
+    List<TradeListItemDTO> findListItemsTradedBetween(Specification<Trade> spec, TradeCursor after, Timestamp from,
+                                                      Timestamp to, Limit limit);
+}
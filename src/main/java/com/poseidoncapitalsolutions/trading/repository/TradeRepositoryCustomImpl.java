@@ -0,0 +1,157 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.config.PartitionProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class TradeRepositoryCustomImpl implements TradeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PartitionProperties partitionProperties;
+
+    TradeRepositoryCustomImpl(PartitionProperties partitionProperties) {
+        this.partitionProperties = partitionProperties;
+    }
+
+    /**
+     * Reads the dated trades first, then tops the page up with the undated ones, each with its own query.
+     * Keeping the two apart leaves every predicate sargable: the dated query seeks the (column, tradeDate, id)
+     * index below the cursor, the undated one reads the trade_date IS NULL range of the same index by id.
+     * On a partitioned trade table, the dated trades are read over bounded ranges of months.
+     */
+    @Override
+    public List<TradeListItemDTO> findListItems(Specification<Trade> spec, TradeCursor after, Limit limit) {
+        List<TradeListItemDTO> page = new ArrayList<>();
+        if (after == null || after.tradeDate() != null) {
+            page.addAll(partitionProperties.enabled()
+                    ? findDatedByMonthRanges(spec, after, limit.max())
+                    : findDated(spec, after, null, null, limit.max()));
+        }
+        if (page.size() < limit.max()) {
+            Integer afterId = after != null && after.tradeDate() == null ? after.id() : null;
+            page.addAll(findUndated(spec, afterId, limit.max() - page.size()));
+        }
+        return page;
+    }
+
+    @Override
+    public List<TradeListItemDTO> findListItemsTradedBetween(Specification<Trade> spec, TradeCursor after,
+                                                             Timestamp from, Timestamp to, Limit limit) {
+        if (after != null && after.tradeDate() == null) {
+            return List.of();
+        }
+        return findDated(spec, after, from, to, limit.max());
+    }
+
+    /**
+     * Reads the dated trades over ranges of months going back from the month of the cursor, or the current
+     * month, each range twice as long as the previous one, until the page is full or the oldest trade is read.
+     * The first range has no end, so it also covers trades dated in the future. Each query only reads the
+     * partitions of its range, so a page of recent trades reads one or two partitions whatever the history.
+     */
+    private List<TradeListItemDTO> findDatedByMonthRanges(Specification<Trade> spec, TradeCursor after, int limit) {
+        Timestamp oldest = entityManager.createQuery("select min(t.tradeDate) from Trade t", Timestamp.class)
+                .getSingleResult();
+        if (oldest == null) {
+            return List.of();
+        }
+        LocalDate newest = after == null ? LocalDate.now() : after.tradeDate().toLocalDateTime().toLocalDate();
+        LocalDate from = newest.withDayOfMonth(1);
+        Timestamp to = null;
+        List<TradeListItemDTO> page = new ArrayList<>();
+        for (int months = 1; page.size() < limit; months *= 2) {
+            Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+            page.addAll(findDated(spec, after, start, to, limit - page.size()));
+            if (!start.after(oldest)) {
+                break;
+            }
+            to = start;
+            from = from.minusMonths(months * 2L);
+        }
+        return page;
+    }
+
+    private List<TradeListItemDTO> findDated(Specification<Trade> spec, TradeCursor after, Timestamp from,
+                                             Timestamp to, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TradeListItemDTO> query = cb.createQuery(TradeListItemDTO.class);
+        Root<Trade> trade = query.from(Trade.class);
+        Path<Timestamp> tradeDate = trade.get("tradeDate");
+        Path<Integer> id = trade.get("id");
+
+        List<Predicate> predicates = specPredicates(spec, trade, query, cb);
+        if (after == null) {
+            predicates.add(cb.isNotNull(tradeDate));
+        } else {
+            predicates.add(cb.or(
+                    cb.lessThan(tradeDate, after.tradeDate()),
+                    cb.and(cb.equal(tradeDate, after.tradeDate()), cb.lessThan(id, after.id()))));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(tradeDate, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(tradeDate, to));
+        }
+        return select(query, trade, predicates, limit, cb.desc(tradeDate), cb.desc(id));
+    }
+
+    private List<TradeListItemDTO> findUndated(Specification<Trade> spec, Integer afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TradeListItemDTO> query = cb.createQuery(TradeListItemDTO.class);
+        Root<Trade> trade = query.from(Trade.class);
+        Path<Integer> id = trade.get("id");
+
+        List<Predicate> predicates = specPredicates(spec, trade, query, cb);
+        predicates.add(cb.isNull(trade.get("tradeDate")));
+        if (afterId != null) {
+            predicates.add(cb.lessThan(id, afterId));
+        }
+        return select(query, trade, predicates, limit, cb.desc(id));
+    }
+
+    private static List<Predicate> specPredicates(Specification<Trade> spec, Root<Trade> trade,
+                                                  CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(trade, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        return predicates;
+    }
+
+    private List<TradeListItemDTO> select(CriteriaQuery<TradeListItemDTO> query, Root<Trade> trade,
+                                          List<Predicate> predicates, int limit, Order... order) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        query.select(cb.construct(TradeListItemDTO.class, trade.get("id"), trade.get("account"), trade.get("type"),
+                        trade.get("buyQuantity"), trade.get("tradeDate")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.poseidoncapitalsolutions.trading.model.TradeSourceListId;
+
+import jakarta.persistence.QueryHint;
+
+public interface TradeSourceListIdRepository extends JpaRepository<TradeSourceListId, String> {
+
+    /**
+     * Streams the source list ids of every trade submitted, archived ones included.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select s.sourceListId from TradeSourceListId s")
+    Stream<String> streamSourceListIds();
+}
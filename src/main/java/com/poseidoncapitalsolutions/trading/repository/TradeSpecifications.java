@@ -0,0 +1,68 @@
+package com.poseidoncapitalsolutions.trading.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+
+/**
+ * Composable trade search criteria. Every criterion built from a null value matches all trades.
+ *
+ * <p>Each equality criterion leads a (column, tradeDate, id) index, so a search on any criterion,
+ * with or without a trade date range, is an index range scan already in blotter order. Book and trader
+ * searches by security have their own (column, security, tradeDate, id) index; other combinations scan the
+ * range of one of their criteria and filter the rows in it on the others.
+ * When the trade table is partitioned by month, a trade date range also restricts the search
+ * to the partitions of the months it covers.
+ */
+public final class TradeSpecifications {
+
+    private TradeSpecifications() {
+    }
+
+    /**
+     * Combines every criterion of a filter.
+     */
+    public static Specification<Trade> matching(TradeFilter filter) {
+        return Specification.where(attributeEquals("account", filter.account()))
+                .and(attributeEquals("book", filter.book()))
+                .and(attributeEquals("trader", filter.trader()))
+                .and(attributeEquals("security", filter.security()))
+                .and(attributeEquals("status", filter.status()))
+                .and(attributeEquals("side", filter.side()))
+                .and(tradeDateFrom(filter.from()))
+                .and(tradeDateTo(filter.to()));
+    }
+
+    public static Specification<Trade> attributeEquals(String attribute, String value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    /**
+     * Trades dated on or after the start of the given day.
+     */
+    public static Specification<Trade> tradeDateFrom(LocalDate from) {
+        if (from == null) {
+            return null;
+        }
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("tradeDate"), start);
+    }
+
+    /**
+     * Trades dated before the end of the given day.
+     */
+    public static Specification<Trade> tradeDateTo(LocalDate to) {
+        if (to == null) {
+            return null;
+        }
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+        return (root, query, cb) -> cb.lessThan(root.get("tradeDate"), end);
+    }
+}
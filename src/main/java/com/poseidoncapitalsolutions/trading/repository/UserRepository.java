@@ -1,15 +1,26 @@
 package com.poseidoncapitalsolutions.trading.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.poseidoncapitalsolutions.trading.dto.display.UserListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
+
+    /**
+     * Reads the list page columns of every user, in id order, without loading entities.
+     */
+    @Query("select new com.poseidoncapitalsolutions.trading.dto.display.UserListItemDTO(u.id, u.fullname, u.username, u.role) "
+            + "from User u order by u.id")
+    List<UserListItemDTO> findAllListItems();
+
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
 }
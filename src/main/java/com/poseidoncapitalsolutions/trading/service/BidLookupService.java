@@ -0,0 +1,135 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.dto.BidSort;
+import com.poseidoncapitalsolutions.trading.dto.display.BidPageDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.BidSpecifications;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service searching bids by account, book, trader, status and security.
+ *
+ * <p>The bid ids of the most recently used accounts are cached; every committed write to a bid evicts the
+ * accounts it touches. A read racing with a write does not cache its result, so the cache never keeps ids
+ * older than the last commit.
+ */
+@Service
+@Slf4j
+public class BidLookupService {
+
+    /** Maximum number of accounts per query, to keep the IN list of a statement reasonable. */
+    static final int ACCOUNTS_PER_QUERY = 1000;
+
+    private final BidRepository bidRepository;
+    private final BidProperties properties;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<String, List<Integer>> accountBidIds;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BidLookupService(BidRepository bidRepository, BidProperties properties) {
+        this.bidRepository = bidRepository;
+        this.properties = properties;
+        this.accountBidIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Integer>> eldest) {
+                return size() > properties.accountCacheSize();
+            }
+        };
+    }
+
+    /**
+     * Returns one page of the bids matching a filter.
+     *
+     * @param page number of the page, from 0
+     * @param size requested page size, null for the default
+     */
+    @Transactional(readOnly = true)
+    public BidPageDTO findBids(BidFilter filter, int page, Integer size, BidSort sort, Sort.Direction direction) {
+        int pageSize = properties.resolvePageSize(size);
+        Page<BidRowDTO> rows = bidRepository.findRows(BidSpecifications.matching(filter),
+                PageRequest.of(Math.max(0, page), pageSize, Sort.by(direction, sort.attribute())));
+        return new BidPageDTO(rows.getContent(), rows.getNumber(), pageSize, rows.getTotalElements(),
+                rows.getTotalPages());
+    }
+
+    /**
+     * Returns the bids of several accounts, by account then id, in as few queries as possible.
+     */
+    @Transactional(readOnly = true)
+    public List<BidRowDTO> findBidsOfAccounts(Collection<String> accounts) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(accounts));
+        distinct.sort(null);
+        List<BidRowDTO> rows = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += ACCOUNTS_PER_QUERY) {
+            rows.addAll(bidRepository.findRowsByAccountIn(
+                    distinct.subList(from, Math.min(from + ACCOUNTS_PER_QUERY, distinct.size()))));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the ids of the bids of an account in id order, from the cache when possible.
+     */
+    public List<Integer> getBidIdsOfAccount(String account) {
+        cacheLock.lock();
+        try {
+            List<Integer> cached = accountBidIds.get(account);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        long invalidationsBefore = invalidations.get();
+        List<Integer> ids = List.copyOf(bidRepository.findIdsByAccount(account));
+        cacheLock.lock();
+        try {
+            if (invalidations.get() == invalidationsBefore) {
+                accountBidIds.put(account, ids);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        return ids;
+    }
+
+    @TransactionalEventListener
+    public void onBidEvent(BidEvent event) {
+        cacheLock.lock();
+        try {
+            invalidations.incrementAndGet();
+            evict(event.previous());
+            evict(event.current());
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void evict(Bid bid) {
+        if (bid != null && bid.getAccount() != null) {
+            accountBidIds.remove(bid.getAccount());
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.poseidoncapitalsolutions.trading.service;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Locale;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.poseidoncapitalsolutions.trading.dto.BidAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidTransitionChunk;
 import com.poseidoncapitalsolutions.trading.dto.BidUpdateDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
 import com.poseidoncapitalsolutions.trading.exception.BidNotFoundException;
+import com.poseidoncapitalsolutions.trading.exception.DuplicateBidException;
 import com.poseidoncapitalsolutions.trading.mapper.BidMapper;
 import com.poseidoncapitalsolutions.trading.model.Bid;
 import com.poseidoncapitalsolutions.trading.repository.BidRepository;
@@ -18,7 +28,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for managing bids.
+ * Service for managing bids. Every write publishes a BidEvent, delivered to listeners after commit.
  */
 @Service
 @AllArgsConstructor
@@ -26,16 +36,21 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BidService {
 
+    private static final String SOURCE_LIST_ID_KEY = "uk_bid_source_list_id";
+
     private final BidRepository bidRepository;
     private final BidMapper bidMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Retrieves all bids as a list of DTOs.
      *
      * @return list of BidListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<BidListItemDTO> getAllBids() {
-        return bidMapper.toListItemDTOList(bidRepository.findAll());
+        return bidRepository.findAllListItems();
     }
 
     /**
@@ -43,12 +58,27 @@ public class BidService {
      *
      * @param bidAddDTO the DTO containing bid data
      * @return the created Bid entity
+     * @throws DuplicateBidException if a bid was already created with the same source list id
      */
     public Bid createBid(BidAddDTO bidAddDTO) {
         log.debug("Creating bid from DTO: {}", bidAddDTO);
+        String sourceListId = bidAddDTO.sourceListId();
+        if (idempotencyService.isDuplicateBid(sourceListId)) {
+            throw duplicateBid(sourceListId);
+        }
         Bid newBid = bidMapper.toEntity(bidAddDTO);
         newBid.setCreationDate(new Timestamp(System.currentTimeMillis()));
-        return bidRepository.save(newBid);
+        Bid savedBid;
+        try {
+            savedBid = bidRepository.save(newBid);
+        } catch (DataIntegrityViolationException e) {
+            if (sourceListId == null || !violatesSourceListIdKey(e)) {
+                throw e;
+            }
+            throw duplicateBid(sourceListId);
+        }
+        eventPublisher.publishEvent(BidEvent.created(savedBid));
+        return savedBid;
     }
 
     /**
@@ -62,9 +92,12 @@ public class BidService {
         log.debug("Updating bid from DTO: {}", bidUpdateDTO);
         Bid updatedBid = bidRepository.findById(bidUpdateDTO.id())
                 .orElseThrow(() -> new BidNotFoundException("Bid not found with ID: " + bidUpdateDTO.id()));
+        Bid previousBid = bidMapper.copy(updatedBid);
         bidMapper.updateBidFromDTO(bidUpdateDTO, updatedBid);
         updatedBid.setRevisionDate(new Timestamp(System.currentTimeMillis()));
-        return bidRepository.save(updatedBid);
+        Bid savedBid = bidRepository.save(updatedBid);
+        eventPublisher.publishEvent(BidEvent.updated(previousBid, savedBid));
+        return savedBid;
     }
 
     /**
@@ -78,9 +111,41 @@ public class BidService {
         Bid bid = bidRepository.findById(id)
                 .orElseThrow(() -> new BidNotFoundException("Bid not found with ID: " + id));
         bidRepository.delete(bid);
+        eventPublisher.publishEvent(BidEvent.deleted(bid));
         log.info("Bid successfully deleted with id: {}", id);
     }
 
+    /**
+     * Sets the status of the first bids matching a specification after a given id. Their ids are selected
+     * without locks, then one set-based update by id checks the specification again, so it only locks the rows
+     * of this chunk and leaves out those that stopped matching since the select. The quotes of the bids it
+     * updated are read back and published.
+     *
+     * @param spec the bids to update, null for all bids
+     * @param afterId the id to start after, 0 to start from the first bid
+     * @param limit the maximum number of bids updated
+     * @param status the status to set
+     * @param closed whether the status takes the bids out of the order books
+     * @return the number of bids selected, the last of their ids, and the quotes of the bids updated
+     */
+    public BidTransitionChunk transitionStatus(Specification<Bid> spec, int afterId, int limit, String status,
+                                               boolean closed) {
+        List<Integer> ids = bidRepository.findQuotesAfter(spec, afterId, limit).stream()
+                .map(BidQuoteDTO::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return new BidTransitionChunk(0, 0, List.of());
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<BidQuoteDTO> bids = bidRepository.updateStatus(ids, spec, status, now) == 0
+                ? List.of()
+                : bidRepository.findQuotesRevised(ids, status, now);
+        if (!bids.isEmpty()) {
+            eventPublisher.publishEvent(new BidStatusEvent(status, closed, bids));
+        }
+        return new BidTransitionChunk(ids.size(), ids.getLast(), bids);
+    }
+
     /**
      * Retrieves a BidUpdateDTO by bid ID.
      *
@@ -91,6 +156,24 @@ public class BidService {
     public BidUpdateDTO getBidUpdateDTO(int id) {
         Bid bid = bidRepository.findById(id)
                 .orElseThrow(() -> new BidNotFoundException("Bid not found with ID: " + id));
-        return new BidUpdateDTO(bid.getId(), bid.getAccount(), bid.getType(), bid.getBidQuantity());
+        return new BidUpdateDTO(bid.getId(), bid.getAccount(), bid.getType(), bid.getBidQuantity(), bid.getSecurity(),
+                bid.getBid(), bid.getAskQuantity(), bid.getAsk());
+    }
+
+    /**
+     * Tells whether a write failed on the source list id unique key, whose name databases report in their own
+     * case and MySQL prefixes with the table name.
+     */
+    private static boolean violatesSourceListIdKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(SOURCE_LIST_ID_KEY);
+            }
+        }
+        return false;
+    }
+
+    private static DuplicateBidException duplicateBid(String sourceListId) {
+        return new DuplicateBidException("A bid was already submitted with source list id " + sourceListId);
     }
 }
@@ -0,0 +1,91 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.dto.BidTransitionChunk;
+import com.poseidoncapitalsolutions.trading.dto.display.BidTransitionDTO;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidSpecifications;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service setting the status of many bids at once, and expiring the bids listed too long ago.
+ *
+ * <p>Bids are updated in chunks of "trading.bid.transition-chunk-size", each chunk in its own transaction,
+ * walking the bids in id order. A failing chunk does not roll back the chunks already committed, and no
+ * transaction locks more rows than a chunk.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class BidStatusService {
+
+    private final BidService bidService;
+    private final BidProperties properties;
+
+    /**
+     * Sets a status on every bid matching a filter.
+     */
+    public BidTransitionDTO transition(BidFilter filter, String status) {
+        return transition(BidSpecifications.matching(filter), status);
+    }
+
+    /**
+     * Sets a status on the bids with the given ids. Unknown ids are ignored.
+     */
+    public BidTransitionDTO transition(Collection<Integer> ids, String status) {
+        List<Integer> sorted = List.copyOf(new TreeSet<>(ids));
+        int chunkSize = properties.transitionChunkSize();
+        boolean closed = properties.isClosed(status);
+        int updated = 0;
+        int chunks = 0;
+        for (int from = 0; from < sorted.size(); from += chunkSize) {
+            List<Integer> chunk = sorted.subList(from, Math.min(from + chunkSize, sorted.size()));
+            updated += bidService.transitionStatus(BidSpecifications.idIn(chunk), 0, chunk.size(), status, closed)
+                    .updated().size();
+            chunks++;
+        }
+        log.info("Set status {} on {} of {} bids in {} chunks", status, updated, sorted.size(), chunks);
+        return new BidTransitionDTO(status, updated, chunks);
+    }
+
+    /**
+     * Expires the open bids whose bid list date is older than "trading.bid.expiry-age-ms".
+     */
+    @Scheduled(cron = "${trading.bid.expiry-cron:-}")
+    public BidTransitionDTO expire() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - properties.expiryAgeMs());
+        return transition(Specification.where(BidSpecifications.listedBefore(cutoff))
+                .and(BidSpecifications.statusNotIn(properties.closedStatuses())), properties.expiredStatus());
+    }
+
+    private BidTransitionDTO transition(Specification<Bid> spec, String status) {
+        int chunkSize = properties.transitionChunkSize();
+        boolean closed = properties.isClosed(status);
+        int afterId = 0;
+        int updated = 0;
+        int chunks = 0;
+        BidTransitionChunk chunk;
+        do {
+            chunk = bidService.transitionStatus(spec, afterId, chunkSize, status, closed);
+            if (chunk.selected() > 0) {
+                afterId = chunk.lastSelectedId();
+                updated += chunk.updated().size();
+                chunks++;
+            }
+        } while (chunk.selected() == chunkSize);
+        log.info("Set status {} on {} bids in {} chunks", status, updated, chunks);
+        return new BidTransitionDTO(status, updated, chunks);
+    }
+}
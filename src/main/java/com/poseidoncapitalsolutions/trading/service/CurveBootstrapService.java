@@ -0,0 +1,219 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.CurveBootstrapProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+import com.poseidoncapitalsolutions.trading.engine.CurveBootstrap;
+import com.poseidoncapitalsolutions.trading.event.CurvePointEvent;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
+import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service deriving discount factors and forward rates from every curve on every day of the backfill window,
+ * into a {@link CurveBootstrap} file. Enabled by the "trading.curve.bootstrap.enabled" property.
+ *
+ * <p>At startup the file left by the previous run is mapped again if it covers the current window with the
+ * current settings; otherwise every curve is bootstrapped again. A committed curve write deletes the file, so
+ * that a restart never trusts it, and the next refresh rebuilds it; reads may lag writes until then.
+ */
+@Service
+@ConditionalOnProperty(prefix = "trading.curve.bootstrap", name = "enabled", havingValue = "true")
+@Slf4j
+public class CurveBootstrapService {
+
+    private final CurvePointRepository curvePointRepository;
+    private final CurveBootstrapProperties properties;
+    private final double[] tenors;
+    private final ForkJoinPool pool;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    private volatile CurveBootstrap bootstrap;
+
+    public CurveBootstrapService(CurvePointRepository curvePointRepository, CurveBootstrapProperties properties) {
+        this.curvePointRepository = curvePointRepository;
+        this.properties = properties;
+        this.tenors = properties.tenorArray();
+        this.pool = new ForkJoinPool(properties.resolveParallelism());
+    }
+
+    /**
+     * Maps the bootstrap file of the previous run if it is still valid, or bootstraps every curve.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        Path file = properties.file();
+        if (Files.exists(file)) {
+            try {
+                CurveBootstrap cached = CurveBootstrap.open(file);
+                if (cached.matches(firstDay(), properties.backfillDays(), tenors, properties.method())) {
+                    bootstrap = cached;
+                    log.info("Mapped curve bootstrap of {} curves over {} days from {}", cached.curveIds().length,
+                            cached.days(), file);
+                    return;
+                }
+                log.info("Curve bootstrap in {} is for another window or settings, rebuilding it", file);
+            } catch (IOException e) {
+                log.warn("Cannot read curve bootstrap {}, rebuilding it: {}", file, e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Bootstraps every curve over the backfill window ending today.
+     */
+    @Transactional(readOnly = true)
+    public CurveBootstrapStatsDTO rebuild() {
+        buildLock.lock();
+        try {
+            stale.set(false);
+            long start = System.nanoTime();
+            LocalDate firstDay = firstDay();
+            int days = properties.backfillDays();
+            Timestamp from = Timestamp.from(firstDay.atStartOfDay(ZoneOffset.UTC).toInstant());
+            Timestamp to = Timestamp.from(firstDay.plusDays(days).atStartOfDay(ZoneOffset.UTC).toInstant());
+            int[] curveIds = curvePointRepository.findCurveIdsBefore(to).stream().mapToInt(Integer::intValue)
+                    .toArray();
+            CurveBootstrap built;
+            long versions;
+            try (CurveBootstrap.Writer writer = CurveBootstrap.writer(properties.file(), firstDay, days, tenors,
+                    properties.method(), curveIds, pool)) {
+                writeVersions(writer, from, to);
+                built = writer.finish();
+                versions = writer.versions();
+            }
+            bootstrap = built;
+            CurveBootstrapStatsDTO stats = new CurveBootstrapStatsDTO(firstDay, days, curveIds.length,
+                    tenors.length, versions, built.bytes(), (System.nanoTime() - start) / 1_000_000);
+            log.info("Bootstrapped curves: {}", stats);
+            return stats;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write curve bootstrap " + properties.file(), e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the bootstrap if a curve was written since the last build, or the window moved to a new day.
+     */
+    @Scheduled(fixedDelayString = "${trading.curve.bootstrap.refresh-interval-ms:60000}",
+            initialDelayString = "${trading.curve.bootstrap.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        CurveBootstrap current = bootstrap;
+        if (stale.get() || current == null || !current.firstDay().equals(firstDay())) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCurvePointEvent(CurvePointEvent event) {
+        markStale();
+    }
+
+    @TransactionalEventListener
+    public void onCurveReplacedEvent(CurveReplacedEvent event) {
+        markStale();
+    }
+
+    /**
+     * Returns the discount factors and forward rates of a curve on a day, null if the day is outside the
+     * window or the curve had no point then.
+     */
+    public CurveBootstrapDTO getRates(int curveId, LocalDate date) {
+        CurveBootstrap current = bootstrap;
+        if (current == null) {
+            return null;
+        }
+        double[] discountFactors = new double[tenors.length];
+        double[] forwardRates = new double[tenors.length];
+        if (!current.read(curveId, date, discountFactors, forwardRates)) {
+            return null;
+        }
+        return new CurveBootstrapDTO(curveId, date, current.tenors(), discountFactors, forwardRates);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private void markStale() {
+        if (stale.compareAndSet(false, true)) {
+            try {
+                Files.deleteIfExists(properties.file());
+            } catch (IOException e) {
+                log.warn("Cannot delete stale curve bootstrap {}: {}", properties.file(), e.getMessage());
+            }
+        }
+    }
+
+    private LocalDate firstDay() {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(properties.backfillDays() - 1L);
+    }
+
+    /**
+     * Streams the versions of every curve in force during the window, and hands each curve to the writer as
+     * soon as its last version is read, so that only the curves being bootstrapped are held in memory.
+     * A tombstone gives a version without points.
+     */
+    private void writeVersions(CurveBootstrap.Writer writer, Timestamp from, Timestamp to) throws IOException {
+        try (Stream<CurvePointRowDTO> stream = curvePointRepository.streamVersionsInForce(from, to)) {
+            Iterator<CurvePointRowDTO> iterator = stream.iterator();
+            List<Curve> versions = new ArrayList<>();
+            Curve.Builder builder = null;
+            while (iterator.hasNext()) {
+                CurvePointRowDTO point = iterator.next();
+                if (builder == null || builder.curveId() != point.curveId()
+                        || !builder.asOfDate().equals(point.asOfDate())) {
+                    if (builder != null) {
+                        versions.add(builder.build());
+                        if (builder.curveId() != point.curveId()) {
+                            writer.add(builder.curveId(), versions);
+                            versions = new ArrayList<>();
+                        }
+                    }
+                    builder = new Curve.Builder(point.curveId(), point.asOfDate());
+                }
+                if (!point.deleted()) {
+                    builder.add(point.term(), point.value());
+                }
+            }
+            if (builder != null) {
+                versions.add(builder.build());
+                writer.add(builder.curveId(), versions);
+            }
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.poseidoncapitalsolutions.trading.service;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.poseidoncapitalsolutions.trading.dto.CurvePointAddDTO;
 import com.poseidoncapitalsolutions.trading.dto.CurvePointUpdateDTO;
+import com.poseidoncapitalsolutions.trading.dto.CurveReplaceResult;
+import com.poseidoncapitalsolutions.trading.dto.CurveSnapshotDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.CurvePointListItemDTO;
+import com.poseidoncapitalsolutions.trading.event.CurvePointEvent;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
 import com.poseidoncapitalsolutions.trading.exception.CurvePointNotFoundException;
 import com.poseidoncapitalsolutions.trading.mapper.CurvePointMapper;
 import com.poseidoncapitalsolutions.trading.model.CurvePoint;
+import com.poseidoncapitalsolutions.trading.repository.CurveLockRepository;
 import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
 
 import lombok.AllArgsConstructor;
@@ -19,7 +28,12 @@ import lombok.extern.slf4j.Slf4j;
 
 
 /**
- * Service for managing curve points.
+ * Service for managing curve points. Every write publishes a CurvePointEvent, delivered to listeners after commit.
+ *
+ * <p>The points of a curve are versioned by asOfDate: adding, changing or removing a point appends a version
+ * of the whole curve as of now, so the earlier versions stay readable as they were. A version without points
+ * is stored as a tombstone, marking the curve deleted from its date. Every write locks the curve first, so
+ * concurrent writes of a curve each start from the version the previous one wrote.
  */
 @Service
 @AllArgsConstructor
@@ -28,19 +42,22 @@ import lombok.extern.slf4j.Slf4j;
 public class CurvePointService {
 
     private final CurvePointRepository curvePointRepository;
+    private final CurveLockRepository curveLockRepository;
     private final CurvePointMapper curvePointMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves all curve points as DTOs.
      *
      * @return a list of CurvePointListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<CurvePointListItemDTO> getAll() {
-        return curvePointMapper.toListItemDtoList(curvePointRepository.findAll());
+        return curvePointRepository.findAllListItems();
     }
 
     /**
-     * Creates a new curve point from a DTO.
+     * Adds a point to a curve, as a new version of the curve from now on.
      *
      * @param curvePointAddDTO the DTO with curve point data
      * @return the created CurvePoint entity
@@ -48,28 +65,83 @@ public class CurvePointService {
     public CurvePoint createCurvePoint(CurvePointAddDTO curvePointAddDTO) {
         log.debug("Creating curve point from DTO: {}", curvePointAddDTO);
         CurvePoint newCurvePoint = curvePointMapper.toEntity(curvePointAddDTO);
-        newCurvePoint.setCreationDate(new Timestamp(System.currentTimeMillis()));
-        return curvePointRepository.save(newCurvePoint);
+        lockCurve(newCurvePoint.getCurveId());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Map<Double, Double> values = getLatestValues(newCurvePoint.getCurveId());
+        values.put(newCurvePoint.getTerm(), newCurvePoint.getValue());
+        CurvePoint savedCurvePoint = writeVersion(newCurvePoint.getCurveId(), now, values, now)
+                .pointAt(newCurvePoint.getTerm());
+        eventPublisher.publishEvent(CurvePointEvent.created(savedCurvePoint));
+        return savedCurvePoint;
     }
 
     /**
-     * Updates a curve point.
+     * Writes the version of a curve as of a date from a complete term structure, in one transaction; without
+     * points, the curve is deleted from that date.
+     * A version already stored at that date is corrected: its points are diffed against the new ones by term,
+     * new terms are inserted, changed ones updated and missing ones deleted, with JDBC batches for the inserts
+     * and updates and one statement for the deletes. Otherwise the version is appended.
+     *
+     * @param curveId the curve to replace
+     * @param snapshot the new points of the curve
+     * @return the number of points inserted, updated, deleted and left unchanged
+     */
+    public CurveReplaceResult replaceCurve(int curveId, CurveSnapshotDTO snapshot) {
+        log.debug("Replacing curve {} with {} points", curveId, snapshot.points().size());
+        long start = System.nanoTime();
+        lockCurve(curveId);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Map<Double, Double> values = new HashMap<>();
+        snapshot.points().forEach(point -> values.put(point.term(), point.value()));
+
+        VersionWrite write = writeVersion(curveId, snapshot.asOfDate() != null ? snapshot.asOfDate() : now,
+                values, now);
+        eventPublisher.publishEvent(new CurveReplacedEvent(curveId));
+
+        CurveReplaceResult result = new CurveReplaceResult(curveId, write.inserted(), write.updated(),
+                write.deleted(), write.unchanged(), (System.nanoTime() - start) / 1_000_000);
+        log.info("Replaced curve {}: {}", curveId, result);
+        return result;
+    }
+
+    /**
+     * Changes a point of a curve, as a new version of the curve from now on. The version the point was read
+     * from is kept unchanged.
      *
      * @param curvePointUpdateDTO the DTO with updated data
-     * @return the updated CurvePoint entity
+     * @return the point of the new version
      * @throws CurvePointNotFoundException if not found
      */
     public CurvePoint updateCurvePoint(CurvePointUpdateDTO curvePointUpdateDTO) {
         log.debug("Updating curve point from DTO: {}", curvePointUpdateDTO);
-        CurvePoint updatedCurvePoint = curvePointRepository.findById(curvePointUpdateDTO.id())
+        CurvePoint previousCurvePoint = curvePointRepository.findById(curvePointUpdateDTO.id())
+                .filter(point -> !point.isDeleted())
                 .orElseThrow(() -> new CurvePointNotFoundException("Curve point not found with ID: " + curvePointUpdateDTO.id()));
+        CurvePoint updatedCurvePoint = curvePointMapper.copy(previousCurvePoint);
         curvePointMapper.updateEntityFromDto(curvePointUpdateDTO, updatedCurvePoint);
-        updatedCurvePoint.setAsOfDate(new Timestamp(System.currentTimeMillis()));
-        return curvePointRepository.save(updatedCurvePoint);
+        int curveId = updatedCurvePoint.getCurveId();
+        // Both curves locked in curve id order, so that moves of points between two curves cannot deadlock
+        lockCurve(Math.min(curveId, previousCurvePoint.getCurveId()));
+        if (curveId != previousCurvePoint.getCurveId()) {
+            lockCurve(Math.max(curveId, previousCurvePoint.getCurveId()));
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (curveId != previousCurvePoint.getCurveId()) {
+            removePoint(previousCurvePoint, now);
+        }
+        Map<Double, Double> values = getLatestValues(curveId);
+        if (curveId == previousCurvePoint.getCurveId()) {
+            values.remove(previousCurvePoint.getTerm());
+        }
+        values.put(updatedCurvePoint.getTerm(), updatedCurvePoint.getValue());
+        CurvePoint savedCurvePoint = writeVersion(curveId, now, values, now).pointAt(updatedCurvePoint.getTerm());
+        eventPublisher.publishEvent(CurvePointEvent.updated(previousCurvePoint, savedCurvePoint));
+        return savedCurvePoint;
     }
 
     /**
-     * Deletes a curve point by ID.
+     * Removes a point from a curve, as a new version of the curve from now on. Removing the last point of
+     * a curve deletes it from now on, its earlier versions staying readable.
      *
      * @param id the curve point ID
      * @throws CurvePointNotFoundException if not found
@@ -77,8 +149,11 @@ public class CurvePointService {
     public void deleteById(int id) {
         log.debug("Deleting curve point with id: {}", id);
         CurvePoint curvePoint = curvePointRepository.findById(id)
+                .filter(point -> !point.isDeleted())
                 .orElseThrow(() -> new CurvePointNotFoundException("Curve point not found with ID: " + id));
-        curvePointRepository.delete(curvePoint);
+        lockCurve(curvePoint.getCurveId());
+        removePoint(curvePoint, new Timestamp(System.currentTimeMillis()));
+        eventPublisher.publishEvent(CurvePointEvent.deleted(curvePoint));
         log.info("Curve point successfully deleted with id: {}", id);
     }
 
@@ -91,7 +166,99 @@ public class CurvePointService {
      */
     public CurvePointUpdateDTO getCurvePointUpdateDTO(int id) {
         CurvePoint curvePoint = curvePointRepository.findById(id)
+                .filter(point -> !point.isDeleted())
                 .orElseThrow(() -> new CurvePointNotFoundException("Curve point not found with ID: " + id));
         return curvePointMapper.toDTO(curvePoint);
     }
-}
\ No newline at end of file
+
+    private void removePoint(CurvePoint curvePoint, Timestamp now) {
+        Map<Double, Double> values = getLatestValues(curvePoint.getCurveId());
+        values.remove(curvePoint.getTerm());
+        writeVersion(curvePoint.getCurveId(), now, values, now);
+        if (values.isEmpty()) {
+            log.info("Deleted curve {} from {}", curvePoint.getCurveId(), now);
+        }
+    }
+
+    /**
+     * Locks a curve until the transaction ends, creating its lock row on its first write.
+     * Callers take the time of their version once the lock is held, so it follows the version they read.
+     */
+    private void lockCurve(int curveId) {
+        if (curveLockRepository.lock(curveId).isEmpty()) {
+            curveLockRepository.insertIfMissing(curveId);
+            curveLockRepository.lock(curveId);
+        }
+    }
+
+    /**
+     * Returns the values of the latest version of a curve by term, empty if the curve has no point or is deleted.
+     */
+    private Map<Double, Double> getLatestValues(int curveId) {
+        Map<Double, Double> values = new HashMap<>();
+        Timestamp latest = curvePointRepository.findLatestVersion(curveId);
+        if (latest != null) {
+            curvePointRepository.findPointsOfVersion(curveId, latest)
+                    .forEach(point -> values.put(point.term(), point.value()));
+        }
+        return values;
+    }
+
+    /**
+     * Makes the points stored for a version of a curve match the given values by term, or be a tombstone
+     * if there are none.
+     */
+    private VersionWrite writeVersion(int curveId, Timestamp asOfDate, Map<Double, Double> values, Timestamp now) {
+        Map<Double, Double> remaining = new HashMap<>(values);
+        List<CurvePoint> points = new ArrayList<>(values.size());
+        List<Integer> deletedIds = new ArrayList<>();
+        int updated = 0;
+        int unchanged = 0;
+        CurvePoint tombstone = null;
+        for (CurvePoint stored : curvePointRepository.findByCurveIdAndAsOfDateOrderByTermAscIdAsc(curveId, asOfDate)) {
+            if (stored.isDeleted()) {
+                tombstone = stored;
+                continue;
+            }
+            Double value = remaining.remove(stored.getTerm());
+            if (value == null) {
+                deletedIds.add(stored.getId());
+                continue;
+            }
+            if (value == stored.getValue()) {
+                unchanged++;
+            } else {
+                stored.setValue(value);
+                updated++;
+            }
+            points.add(stored);
+        }
+        List<CurvePoint> inserted = new ArrayList<>(remaining.size());
+        remaining.forEach((term, value) -> inserted.add(new CurvePoint(0, curveId, asOfDate, term, value, now, false)));
+        int deleted = deletedIds.size();
+        if (values.isEmpty() && tombstone == null) {
+            curvePointRepository.saveAll(List.of(new CurvePoint(0, curveId, asOfDate, 0, 0, now, true)));
+        } else {
+            curvePointRepository.saveAll(inserted);
+        }
+        if (!values.isEmpty() && tombstone != null) {
+            deletedIds.add(tombstone.getId());
+        }
+        curvePointRepository.flush();
+        if (!deletedIds.isEmpty()) {
+            curvePointRepository.deleteAllByIdInBatch(deletedIds);
+        }
+        points.addAll(inserted);
+        return new VersionWrite(points, inserted.size(), updated, deleted, unchanged);
+    }
+
+    /**
+     * Points of a version of a curve once written, and the changes it took.
+     */
+    private record VersionWrite(List<CurvePoint> points, int inserted, int updated, int deleted, int unchanged) {
+
+        CurvePoint pointAt(double term) {
+            return points.stream().filter(point -> point.getTerm() == term).findFirst().orElseThrow();
+        }
+    }
+}
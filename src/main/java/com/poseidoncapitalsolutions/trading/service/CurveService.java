@@ -0,0 +1,315 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.CurveProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveChartDTO;
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+import com.poseidoncapitalsolutions.trading.engine.LttbDownsampler;
+import com.poseidoncapitalsolutions.trading.event.CurvePointEvent;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
+import com.poseidoncapitalsolutions.trading.model.CurvePoint;
+import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping every curve in memory for interpolation.
+ *
+ * <p>Each curve is an immutable {@link Curve} snapshot, read without locking. The curves are loaded at startup;
+ * when a committed write touches a curve, the curve is read again from the database and its snapshot replaced
+ * in one step, so a reader sees either the old curve or the new one, never a mix. Reloads are serialized,
+ * so the last one to run reads the last committed state, and the startup load never overwrites a curve
+ * reloaded while it streams the database.
+ *
+ * <p>The in-memory curves are the latest versions. Past versions are read "as of" a date: the version is found
+ * by a seek on the (curveId, asOfDate, term) index, and its points are read once and kept in a bounded cache
+ * of the most recently read versions, evicted when their curve is written.
+ */
+@Service
+@Slf4j
+public class CurveService {
+
+    private final CurvePointRepository curvePointRepository;
+    private final Map<Integer, Curve> curves = new ConcurrentHashMap<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ReentrantLock historyLock = new ReentrantLock();
+    private final Map<CurveVersion, Curve> history;
+    private final AtomicLong historyInvalidations = new AtomicLong();
+    /**
+     * Curves reloaded while the startup load streams the database, guarded by the reload lock. The load skips
+     * them, as the curve it read may be older than the reloaded one.
+     */
+    private Set<Integer> reloadedDuringLoad;
+
+    public CurveService(CurvePointRepository curvePointRepository, CurveProperties properties) {
+        this.curvePointRepository = curvePointRepository;
+        this.history = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CurveVersion, Curve> eldest) {
+                return size() > properties.historyCacheSize();
+            }
+        };
+    }
+
+    /**
+     * Loads the latest version of every curve in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        long points = 0;
+        reloadLock.lock();
+        try {
+            reloadedDuringLoad = new HashSet<>();
+        } finally {
+            reloadLock.unlock();
+        }
+        try (Stream<CurvePointRowDTO> stream = curvePointRepository.streamLatestPoints()) {
+            Iterator<CurvePointRowDTO> iterator = stream.iterator();
+            Curve.Builder loader = null;
+            while (iterator.hasNext()) {
+                CurvePointRowDTO point = iterator.next();
+                if (loader == null || loader.curveId() != point.curveId()) {
+                    publishLoaded(loader);
+                    loader = new Curve.Builder(point.curveId(), point.asOfDate());
+                }
+                loader.add(point.term(), point.value());
+                points++;
+            }
+            publishLoaded(loader);
+        } finally {
+            reloadLock.lock();
+            try {
+                reloadedDuringLoad = null;
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        log.info("Loaded {} curves of {} points in {} ms", curves.size(), points,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onCurvePointEvent(CurvePointEvent event) {
+        CurvePoint previous = event.previous();
+        CurvePoint current = event.current();
+        if (previous != null) {
+            reload(previous.getCurveId());
+        }
+        if (current != null && (previous == null || previous.getCurveId() != current.getCurveId())) {
+            reload(current.getCurveId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCurveReplacedEvent(CurveReplacedEvent event) {
+        reload(event.curveId());
+    }
+
+    /**
+     * Returns the current snapshot of a curve, null if it has no point.
+     */
+    public Curve getCurve(int curveId) {
+        return curves.get(curveId);
+    }
+
+    /**
+     * Returns the version of a curve in force at a date, that is the latest one dated at or before it,
+     * null if the curve had no point or was deleted then.
+     */
+    @Transactional(readOnly = true)
+    public Curve getCurveAsOf(int curveId, Timestamp asOf) {
+        // Read before the version is, so that a write committed in between keeps it out of the cache
+        long invalidationsBefore = historyInvalidations.get();
+        Timestamp version = curvePointRepository.findVersionAsOf(curveId, asOf);
+        if (version == null) {
+            return null;
+        }
+        Curve latest = curves.get(curveId);
+        if (latest != null && version.equals(latest.asOfDate())) {
+            return latest;
+        }
+        CurveVersion key = new CurveVersion(curveId, version.getTime());
+        historyLock.lock();
+        try {
+            Curve cached = history.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            historyLock.unlock();
+        }
+        Curve.Builder loader = new Curve.Builder(curveId, version);
+        curvePointRepository.findPointsOfVersion(curveId, version)
+                .forEach(point -> loader.add(point.term(), point.value()));
+        if (loader.size() == 0) {
+            return null;
+        }
+        Curve curve = loader.build();
+        historyLock.lock();
+        try {
+            if (historyInvalidations.get() == invalidationsBefore) {
+                history.put(key, curve);
+            }
+        } finally {
+            historyLock.unlock();
+        }
+        return curve;
+    }
+
+    /**
+     * Returns the dates of the versions of a curve, latest first.
+     */
+    @Transactional(readOnly = true)
+    public List<Timestamp> getVersions(int curveId) {
+        return curvePointRepository.findVersions(curveId);
+    }
+
+    /**
+     * Returns the ids of the curves, in increasing order.
+     */
+    public List<Integer> getCurveIds() {
+        return curves.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Returns the points of a curve, latest or as of a date, downsampled to at most a number of points,
+     * null if the curve has no point.
+     */
+    public CurveChartDTO getCurveChart(int curveId, Timestamp asOf, int width) {
+        Curve curve = asOf == null ? getCurve(curveId) : getCurveAsOf(curveId, asOf);
+        if (curve == null) {
+            return null;
+        }
+        LttbDownsampler downsampler = new LttbDownsampler(curve.size(), width);
+        for (int i = 0; i < curve.size(); i++) {
+            downsampler.add(curve.term(i), curve.value(i));
+        }
+        downsampler.finish();
+        return new CurveChartDTO(curveId, curve.size(), downsampler.x(), downsampler.y());
+    }
+
+    /**
+     * Returns the value at a term of each version of a curve dated between two dates, both included,
+     * downsampled to at most a number of points, null if there is no such version. The versions are streamed
+     * one at a time, so the memory used does not grow with the history.
+     */
+    @Transactional(readOnly = true)
+    public CurveChartDTO getTermHistory(int curveId, double term, CurveInterpolation method, Timestamp from,
+                                        Timestamp to, int width) {
+        long versions = curvePointRepository.countVersions(curveId, from, to);
+        if (versions == 0) {
+            return null;
+        }
+        LttbDownsampler downsampler = new LttbDownsampler(versions, width);
+        long read = 0;
+        try (Stream<CurvePointRowDTO> stream = curvePointRepository.streamVersions(curveId, from, to)) {
+            Iterator<CurvePointRowDTO> iterator = stream.iterator();
+            Curve.Builder version = null;
+            while (iterator.hasNext()) {
+                CurvePointRowDTO point = iterator.next();
+                if (version == null || !version.asOfDate().equals(point.asOfDate())) {
+                    read += addTermValue(downsampler, version, term, method);
+                    version = new Curve.Builder(curveId, point.asOfDate());
+                }
+                version.add(point.term(), point.value());
+            }
+            read += addTermValue(downsampler, version, term, method);
+        }
+        downsampler.finish();
+        return new CurveChartDTO(curveId, read, downsampler.x(), downsampler.y());
+    }
+
+    private static int addTermValue(LttbDownsampler downsampler, Curve.Builder version, double term,
+                                    CurveInterpolation method) {
+        if (version == null) {
+            return 0;
+        }
+        downsampler.add(version.asOfDate().getTime(), version.build().interpolate(term, method));
+        return 1;
+    }
+
+    private void reload(int curveId) {
+        evictHistory(curveId);
+        reloadLock.lock();
+        try {
+            if (reloadedDuringLoad != null) {
+                reloadedDuringLoad.add(curveId);
+            }
+            Timestamp latest = curvePointRepository.findLatestVersion(curveId);
+            if (latest == null) {
+                curves.remove(curveId);
+                return;
+            }
+            Curve.Builder loader = new Curve.Builder(curveId, latest);
+            curvePointRepository.findPointsOfVersion(curveId, latest)
+                    .forEach(point -> loader.add(point.term(), point.value()));
+            if (loader.size() == 0) {
+                curves.remove(curveId);
+            } else {
+                publish(loader);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void evictHistory(int curveId) {
+        historyLock.lock();
+        try {
+            historyInvalidations.incrementAndGet();
+            history.keySet().removeIf(version -> version.curveId() == curveId);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a curve read by the startup load, unless it was reloaded since the load started.
+     */
+    private void publishLoaded(Curve.Builder loader) {
+        if (loader == null) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            if (!reloadedDuringLoad.contains(loader.curveId())) {
+                publish(loader);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void publish(Curve.Builder loader) {
+        if (loader != null) {
+            curves.put(loader.curveId(), loader.build());
+        }
+    }
+
+    /**
+     * Key of a past version of a curve in the history cache.
+     */
+    private record CurveVersion(int curveId, long asOfMillis) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.IdempotencyProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.IdempotencyStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.IdempotencyKeys;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSourceListIdRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service telling whether a trade or bid source list id was already submitted.
+ * The source list ids in the database are loaded at startup, then every committed creation adds its id.
+ * Trade source list ids are read from the trade_source_list_id table, which keeps those of archived trades.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final TradeSourceListIdRepository tradeSourceListIdRepository;
+    private final BidRepository bidRepository;
+    private final IdempotencyKeys tradeKeys;
+    private final IdempotencyKeys bidKeys;
+
+    public IdempotencyService(TradeSourceListIdRepository tradeSourceListIdRepository, BidRepository bidRepository,
+                              IdempotencyProperties properties) {
+        this.tradeSourceListIdRepository = tradeSourceListIdRepository;
+        this.bidRepository = bidRepository;
+        this.tradeKeys = new IdempotencyKeys("trade", properties.expectedKeys(), properties.falsePositiveRate(),
+                properties.recentKeys(), tradeSourceListIdRepository::existsById);
+        this.bidKeys = new IdempotencyKeys("bid", properties.expectedKeys(), properties.falsePositiveRate(),
+                properties.recentKeys(), bidRepository::existsBySourceListId);
+    }
+
+    /**
+     * Loads the source list ids of the trades, archived ones included, and of the bids in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<String> tradeIds = tradeSourceListIdRepository.streamSourceListIds();
+             Stream<String> bidIds = bidRepository.streamSourceListIds()) {
+            tradeIds.forEach(tradeKeys::load);
+            bidIds.forEach(bidKeys::load);
+        }
+        log.info("Loaded {} trade and {} bid source list ids in {} ms", tradeKeys.stats().keys(),
+                bidKeys.stats().keys(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return true if a trade was already created with this source list id, false for a null id
+     */
+    public boolean isDuplicateTrade(String sourceListId) {
+        return sourceListId != null && tradeKeys.contains(sourceListId);
+    }
+
+    /**
+     * @return true if a bid was already created with this source list id, false for a null id
+     */
+    public boolean isDuplicateBid(String sourceListId) {
+        return sourceListId != null && bidKeys.contains(sourceListId);
+    }
+
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        if (event.type() == TradeEventType.CREATED && event.current().getSourceListId() != null) {
+            tradeKeys.add(event.current().getSourceListId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBidEvent(BidEvent event) {
+        if (event.type() == TradeEventType.CREATED && event.current().getSourceListId() != null) {
+            bidKeys.add(event.current().getSourceListId());
+        }
+    }
+
+    public List<IdempotencyStatsDTO> getStats() {
+        return List.of(tradeKeys.stats(), bidKeys.stats());
+    }
+}
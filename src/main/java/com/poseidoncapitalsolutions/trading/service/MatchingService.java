@@ -0,0 +1,336 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.config.MatchingProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.MatchedTradeDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.MatchingStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.Fill;
+import com.poseidoncapitalsolutions.trading.engine.LatencyHistogram;
+import com.poseidoncapitalsolutions.trading.engine.MatchingEngine;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service matching crossing bids and booking their fills as trades.
+ *
+ * <p>Securities are spread over shards by hash. Each shard owns a {@link MatchingEngine} driven by a single
+ * sequencer thread, which takes the committed bid writes from a lock-free queue in commit order, so the
+ * books need no locking and the shards run in parallel. The fills of the commands taken together are booked
+ * in one transaction, a buy trade and a sell trade per fill, with source list ids linking back to the bids.
+ * If booking fails, the engine has already consumed the quantities, so the fills are kept and booked again
+ * with a growing backoff, together with the fills matched meanwhile; trades already created by an attempt
+ * that failed late are skipped by their source list ids.
+ *
+ * <p>At startup the quantities filled by the matched trades in the database are restored, then every open bid
+ * on a security is submitted in id order; fills whose trades could not be booked are matched again then.
+ * Enabled by the "trading.matching.enabled" property.
+ */
+@Service
+@ConditionalOnProperty(prefix = "trading.matching", name = "enabled", havingValue = "true")
+@Slf4j
+public class MatchingService {
+
+    static final String TRADE_TYPE = "MATCH";
+    /**
+     * "bid-&lt;buy bid id&gt;-&lt;sell bid id&gt;-&lt;fill sequence&gt;-B|S", as written by {@link Fill}.
+     */
+    private static final Pattern MATCHED_SOURCE_LIST_ID =
+            Pattern.compile("bid-(\\d{1,9})-(\\d{1,9})-(\\d{1,18})-([BS])");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TradeService tradeService;
+    private final TradeRepository tradeRepository;
+    private final BidRepository bidRepository;
+    private final MatchingProperties properties;
+    private final BidProperties bidProperties;
+    private final boolean virtualThreads;
+    private final Shard[] shards;
+
+    private final AtomicLong fills = new AtomicLong();
+    private final AtomicLong tradesBooked = new AtomicLong();
+    private final AtomicLong failedFills = new AtomicLong();
+    private volatile boolean running;
+
+    /**
+     * @param virtualThreads whether the sequencers run on virtual threads, as requests do in virtual thread mode
+     */
+    public MatchingService(TradeService tradeService, TradeRepository tradeRepository, BidRepository bidRepository,
+                           MatchingProperties properties, BidProperties bidProperties,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.tradeService = tradeService;
+        this.tradeRepository = tradeRepository;
+        this.bidRepository = bidRepository;
+        this.properties = properties;
+        this.bidProperties = bidProperties;
+        this.virtualThreads = virtualThreads;
+        this.shards = new Shard[properties.resolveShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            shard.thread = builder.name("matching-" + i).start(() -> run(shard));
+        }
+    }
+
+    /**
+     * Stops the sequencers once they have processed the commands already queued and booked their fills.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+            shard.thread.join();
+        }
+    }
+
+    /**
+     * Restores the quantities filled by the matched trades, then submits every bid on a security.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long restored = 0;
+        long submitted = 0;
+        try (Stream<MatchedTradeDTO> trades = tradeRepository.streamMatchedTrades()) {
+            Iterator<MatchedTradeDTO> iterator = trades.iterator();
+            while (iterator.hasNext()) {
+                MatchedTradeDTO trade = iterator.next();
+                Matcher matcher = MATCHED_SOURCE_LIST_ID.matcher(trade.sourceListId());
+                if (!matcher.matches() || trade.security() == null) {
+                    log.warn("Skipping trade with source list id {} on security {}, not booked by the matching "
+                            + "engine", trade.sourceListId(), trade.security());
+                    continue;
+                }
+                boolean buy = "B".equals(matcher.group(4));
+                int bidId = Integer.parseInt(matcher.group(buy ? 1 : 2));
+                double quantity = buy ? valueOf(trade.buyQuantity()) : valueOf(trade.sellQuantity());
+                long sequence = Long.parseLong(matcher.group(3));
+                enqueue(trade.security(), new Command(CommandType.RESTORE, null, bidId, buy ? quantity : 0,
+                        buy ? 0 : quantity, sequence));
+                restored++;
+            }
+        }
+        try (Stream<BidQuoteDTO> quotes = bidRepository.streamQuotes(bidProperties.closedStatuses())) {
+            Iterator<BidQuoteDTO> iterator = quotes.iterator();
+            while (iterator.hasNext()) {
+                submit(iterator.next());
+                submitted++;
+            }
+        }
+        log.info("Matching engine restored {} matched trades and submitted {} bids over {} shards", restored,
+                submitted, shards.length);
+    }
+
+    @TransactionalEventListener
+    public void onBidEvent(BidEvent event) {
+        Bid previous = event.previous();
+        Bid current = event.current();
+        boolean open = current != null && current.getSecurity() != null
+                && !bidProperties.isClosed(current.getStatus());
+        if (previous != null && previous.getSecurity() != null
+                && (!open || !previous.getSecurity().equals(current.getSecurity()))) {
+            enqueue(previous.getSecurity(), new Command(CommandType.CANCEL, null, previous.getId(), 0, 0, 0));
+        }
+        if (open) {
+            submit(new BidQuoteDTO(current.getId(), current.getAccount(), current.getBook(), current.getSecurity(),
+                    current.getBid(), current.getBidQuantity(), current.getAsk(), current.getAskQuantity()));
+        }
+    }
+
+    /**
+     * Suspends the bids given a closed status, keeping what they filled, and resumes the bids given an open
+     * status that were suspended.
+     */
+    @TransactionalEventListener
+    public void onBidStatusEvent(BidStatusEvent event) {
+        CommandType type = event.closed() ? CommandType.SUSPEND : CommandType.RESUME;
+        for (BidQuoteDTO quote : event.bids()) {
+            if (quote.security() != null) {
+                enqueue(quote.security(), new Command(type, quote, quote.id(), 0, 0, 0));
+            }
+        }
+    }
+
+    public MatchingStatsDTO getStats() {
+        LatencyHistogram latency = new LatencyHistogram();
+        long commands = 0;
+        int restingSides = 0;
+        for (Shard shard : shards) {
+            latency.add(shard.latency);
+            commands += shard.commands;
+            restingSides += shard.restingSides;
+        }
+        return new MatchingStatsDTO(shards.length, commands, fills.get(), tradesBooked.get(), failedFills.get(),
+                restingSides, latency.percentile(0.5), latency.percentile(0.99), latency.percentile(0.999),
+                latency.max());
+    }
+
+    private void submit(BidQuoteDTO quote) {
+        enqueue(quote.security(), new Command(CommandType.SUBMIT, quote, quote.id(), 0, 0, 0));
+    }
+
+    private void enqueue(String security, Command command) {
+        Shard shard = shards[Math.floorMod(security.hashCode(), shards.length)];
+        shard.queue.offer(command);
+        LockSupport.unpark(shard.thread);
+    }
+
+    /**
+     * Sequencer loop of a shard: applies the commands in queue order, and books the fills once the queue is
+     * empty or a batch is full, unless a failed booking is waiting for its backoff to elapse. Once stopped,
+     * the fills are booked a last time; those still failing are matched again at restart.
+     */
+    private void run(Shard shard) {
+        List<Fill> pending = new ArrayList<>();
+        while (true) {
+            Command command = shard.queue.poll();
+            if (command == null) {
+                if (!running) {
+                    if (!pending.isEmpty()) {
+                        book(shard, pending);
+                    }
+                    return;
+                }
+                if (!pending.isEmpty() && shard.mayBook()) {
+                    pending = book(shard, pending);
+                } else {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                continue;
+            }
+            int before = pending.size();
+            try {
+                apply(shard.engine, command, pending);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply {} of bid {}", command.type(), command.bidId(), e);
+            }
+            fills.addAndGet(pending.size() - before);
+            shard.latency.record(System.nanoTime() - command.enqueuedNanos());
+            shard.commands++;
+            shard.restingSides = shard.engine.restingSides();
+            if (pending.size() >= properties.batchSize() && shard.mayBook()) {
+                pending = book(shard, pending);
+            }
+        }
+    }
+
+    private static void apply(MatchingEngine engine, Command command, List<Fill> pending) {
+        switch (command.type()) {
+            case SUBMIT -> engine.submit(command.quote(), pending);
+            case CANCEL -> engine.cancel(command.bidId());
+            case SUSPEND -> engine.suspend(command.bidId());
+            case RESUME -> {
+                if (!engine.isResting(command.bidId())) {
+                    engine.submit(command.quote(), pending);
+                }
+            }
+            case RESTORE -> engine.restoreFilled(command.bidId(), command.buyQuantity(), command.sellQuantity(),
+                    command.sequence());
+        }
+    }
+
+    /**
+     * Books the fills as trades.
+     *
+     * @return an empty list to collect the next fills, or the fills given if booking failed
+     */
+    private List<Fill> book(Shard shard, List<Fill> pending) {
+        List<TradeImportDTO> trades = new ArrayList<>(pending.size() * 2);
+        for (Fill fill : pending) {
+            trades.add(new TradeImportDTO(fill.buyAccount(), TRADE_TYPE, fill.quantity(), null, fill.price(), null,
+                    null, fill.security(), null, null, null, fill.buyBook(), null, null, fill.buySourceListId(), "BUY"));
+            trades.add(new TradeImportDTO(fill.sellAccount(), TRADE_TYPE, null, fill.quantity(), null, fill.price(),
+                    null, fill.security(), null, null, null, fill.sellBook(), null, null, fill.sellSourceListId(), "SELL"));
+        }
+        try {
+            tradesBooked.addAndGet(tradeService.createTrades(trades));
+            shard.failures = 0;
+            return new ArrayList<>();
+        } catch (RuntimeException e) {
+            failedFills.addAndGet(pending.size());
+            long backoff = Math.min(properties.maxRetryBackoffMs(),
+                    properties.retryBackoffMs() << Math.min(shard.failures, 20));
+            shard.failures++;
+            shard.retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            log.error("Failed to book {} fills, retrying in {} ms", pending.size(), backoff, e);
+            return pending;
+        }
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    private enum CommandType { SUBMIT, CANCEL, SUSPEND, RESUME, RESTORE }
+
+    /**
+     * Bid write waiting for a sequencer, stamped with the time it was queued.
+     */
+    private record Command(CommandType type, BidQuoteDTO quote, int bidId, double buyQuantity, double sellQuantity,
+                           long sequence, long enqueuedNanos) {
+
+        private Command(CommandType type, BidQuoteDTO quote, int bidId, double buyQuantity, double sellQuantity,
+                        long sequence) {
+            this(type, quote, bidId, buyQuantity, sellQuantity, sequence, System.nanoTime());
+        }
+    }
+
+    /**
+     * Engine of a set of securities, with its queue and the thread that owns it.
+     */
+    private static final class Shard {
+
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final MatchingEngine engine = new MatchingEngine();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private volatile long commands;
+        private volatile int restingSides;
+        private Thread thread;
+        /**
+         * Consecutive failed bookings, and when the next one may be attempted; only used by the sequencer.
+         */
+        private int failures;
+        private long retryAtNanos;
+
+        boolean mayBook() {
+            return failures == 0 || System.nanoTime() - retryAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BboChangesDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BboDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.OrderBookDTO;
+import com.poseidoncapitalsolutions.trading.engine.OrderBook;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping an order book per security from the bids.
+ * The open bids in the database are loaded at startup, then every committed bid write is applied to the books.
+ *
+ * <p>The best bid and offer of each book is also published as an immutable snapshot in an atomic reference
+ * whenever it changes, so reading it never locks. Each publication takes the next value of a global version;
+ * publications are serialized so that once a version is visible, every earlier one is too, which lets clients
+ * poll for the changes since the last version they saw. The version starts from the current time in
+ * microseconds, so that after a restart it resumes above the versions clients kept from the previous run,
+ * unless that run published faster than once a microsecond on average; a client ahead of the current version
+ * is sent every book again.
+ */
+@Service
+@Slf4j
+public class OrderBookService {
+
+    private final BidRepository bidRepository;
+    private final BidProperties bidProperties;
+    private final Map<String, LockedBook> books = new ConcurrentHashMap<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private long nextVersion;
+    private volatile long publishedVersion;
+
+    public OrderBookService(BidRepository bidRepository, BidProperties bidProperties) {
+        this.bidRepository = bidRepository;
+        this.bidProperties = bidProperties;
+        this.nextVersion = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.publishedVersion = nextVersion;
+    }
+
+    /**
+     * Loads the open bids in the database into the books.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<BidQuoteDTO> quotes = bidRepository.streamQuotes(bidProperties.closedStatuses())) {
+            quotes.forEach(quote -> add(quote.security(), quote.id(), quote.bid(), quote.bidQuantity(), quote.ask(),
+                    quote.askQuantity()));
+        }
+        log.info("Loaded the order books of {} securities in {} ms", books.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onBidEvent(BidEvent event) {
+        if (event.previous() != null && event.previous().getSecurity() != null) {
+            cancel(event.previous().getSecurity(), event.previous().getId());
+        }
+        Bid bid = event.current();
+        if (bid != null && bid.getSecurity() != null && !bidProperties.isClosed(bid.getStatus())) {
+            add(bid.getSecurity(), bid.getId(), bid.getBid(), bid.getBidQuantity(), bid.getAsk(), bid.getAskQuantity());
+        }
+    }
+
+    /**
+     * Takes the bids given a closed status out of the books, and puts the bids given an open status back.
+     */
+    @TransactionalEventListener
+    public void onBidStatusEvent(BidStatusEvent event) {
+        for (BidQuoteDTO quote : event.bids()) {
+            if (quote.security() == null) {
+                continue;
+            }
+            if (event.closed()) {
+                cancel(quote.security(), quote.id());
+            } else {
+                add(quote.security(), quote.id(), quote.bid(), quote.bidQuantity(), quote.ask(), quote.askQuantity());
+            }
+        }
+    }
+
+    /**
+     * Returns up to the given number of price levels of each side of the book of a security, best first.
+     * The book of a security without bids is empty.
+     */
+    public OrderBookDTO getDepth(String security, int levels) {
+        LockedBook book = books.get(security);
+        if (book == null) {
+            return new OrderBookDTO(security, List.of(), List.of(), 0);
+        }
+        book.lock.lock();
+        try {
+            return book.book.depth(levels);
+        } finally {
+            book.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the best bid and offer of a security, null if no bid ever quoted it.
+     */
+    public BboDTO getBbo(String security) {
+        LockedBook book = books.get(security);
+        return book == null ? null : book.bbo.get();
+    }
+
+    /**
+     * Returns the best bids and offers published after a version, with the version to ask from next.
+     * A change may be returned again by the next call, but none is ever skipped. A version above the current
+     * one, kept from before a restart, gets every book.
+     */
+    public BboChangesDTO getBboChangedSince(long version) {
+        long upTo = publishedVersion;
+        long since = version > upTo ? 0 : version;
+        List<BboDTO> changes = new ArrayList<>();
+        for (LockedBook book : books.values()) {
+            BboDTO bbo = book.bbo.get();
+            if (bbo != null && bbo.version() > since) {
+                changes.add(bbo);
+            }
+        }
+        changes.sort(Comparator.comparing(BboDTO::security));
+        return new BboChangesDTO(upTo, changes);
+    }
+
+    /**
+     * Returns the securities that have a book, in alphabetical order.
+     */
+    public List<String> getSecurities() {
+        return books.keySet().stream().sorted().toList();
+    }
+
+    private void add(String security, int id, Double bidPrice, Double bidQuantity, Double askPrice, Double askQuantity) {
+        LockedBook book = books.computeIfAbsent(security, LockedBook::new);
+        book.lock.lock();
+        try {
+            book.book.add(id, bidPrice, bidQuantity, askPrice, askQuantity);
+            publishIfChanged(book);
+        } finally {
+            book.lock.unlock();
+        }
+    }
+
+    private void cancel(String security, int id) {
+        LockedBook book = books.get(security);
+        if (book == null) {
+            return;
+        }
+        book.lock.lock();
+        try {
+            book.book.cancel(id);
+            publishIfChanged(book);
+        } finally {
+            book.lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the best bid and offer of a book if it changed. Called holding the lock of the book.
+     */
+    private void publishIfChanged(LockedBook book) {
+        OrderBook orderBook = book.book;
+        Double bid = priceOrNull(orderBook.bestBid());
+        Double ask = priceOrNull(orderBook.bestAsk());
+        BboDTO current = book.bbo.get();
+        if (current != null && Objects.equals(current.bid(), bid) && current.bidQuantity() == orderBook.bestBidQuantity()
+                && Objects.equals(current.ask(), ask) && current.askQuantity() == orderBook.bestAskQuantity()) {
+            return;
+        }
+        publishLock.lock();
+        try {
+            long version = ++nextVersion;
+            book.bbo.set(new BboDTO(orderBook.security(), bid, orderBook.bestBidQuantity(), ask,
+                    orderBook.bestAskQuantity(), version));
+            publishedVersion = version;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private static Double priceOrNull(double price) {
+        return Double.isNaN(price) ? null : price;
+    }
+
+    /**
+     * Order book of one security, guarded by its lock, with its last published best bid and offer.
+     */
+    private static final class LockedBook {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicReference<BboDTO> bbo = new AtomicReference<>();
+        private final OrderBook book;
+
+        private LockedBook(String security) {
+            this.book = new OrderBook(security);
+        }
+    }
+}
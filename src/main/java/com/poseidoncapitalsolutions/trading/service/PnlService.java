@@ -0,0 +1,55 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.stereotype.Service;
+
+import com.poseidoncapitalsolutions.trading.dto.PnlGrouping;
+import com.poseidoncapitalsolutions.trading.dto.display.PnlDTO;
+import com.poseidoncapitalsolutions.trading.engine.PnlEngine;
+import com.poseidoncapitalsolutions.trading.engine.TradeSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service computing realized and unrealized P&amp;L per trader or book.
+ * P&amp;L is reduced in parallel over the primitive columns of the in-memory trade snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PnlService {
+
+    private final TradeSnapshotService tradeSnapshotService;
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Computes P&amp;L over all trades.
+     *
+     * @param grouping the dimension to break P&amp;L down by
+     * @return one PnlDTO per trader or book, sorted by name
+     */
+    public List<PnlDTO> getPnl(PnlGrouping grouping) {
+        long start = System.nanoTime();
+        TradeSnapshot snapshot = tradeSnapshotService.getSnapshot();
+        PnlEngine engine = PnlEngine.of(snapshot, grouping.dimension()).computeParallel(pool);
+
+        List<PnlDTO> result = new ArrayList<>(engine.partitionCount());
+        for (int p = 0; p < engine.partitionCount(); p++) {
+            if (engine.tradeCount(p) > 0) {
+                result.add(new PnlDTO(snapshot.decode(grouping.dimension(), p), engine.bought(p), engine.sold(p),
+                        engine.realized(p), engine.unrealized(p)));
+            }
+        }
+        result.sort(Comparator.comparing(PnlDTO::partition, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        log.info("Computed P&L by {} over {} trades in {} ms", grouping, snapshot.liveCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+}
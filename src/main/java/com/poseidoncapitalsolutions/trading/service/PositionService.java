@@ -0,0 +1,217 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.dto.PositionReconciliationDTO;
+import com.poseidoncapitalsolutions.trading.dto.PositionTotalsDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PositionDTO;
+import com.poseidoncapitalsolutions.trading.engine.Position;
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping net positions per (account, book, security) in memory.
+ * Positions are loaded at startup, then updated with the delta of every committed trade write, and reloaded
+ * by every reconciliation. Reads are lock-free map lookups of immutable positions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PositionService {
+
+    private static final double RECONCILIATION_TOLERANCE = 1e-6;
+
+    private final TradeRepository tradeRepository;
+
+    /**
+     * Locks rather than monitors, so virtual threads waiting on them, or loading the database under them,
+     * release their carrier thread.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Replaced as a whole by a reload, so readers never see it partly loaded; written under the lock.
+     */
+    private volatile Map<PositionKey, Position> positions = new ConcurrentHashMap<>();
+    /**
+     * Trade writes committed while a reload reads the database, replayed on the reloaded positions.
+     */
+    private List<TradeEvent> pendingEvents;
+
+    /**
+     * Loads all positions from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void loadPositions() {
+        Map<PositionKey, Position> loaded = reload().loaded();
+        log.info("Loaded {} positions", loaded.size());
+    }
+
+    /**
+     * Applies a committed trade write: removes the contribution of the previous state of the trade
+     * and adds the contribution of its current state.
+     */
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        lock.lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(positions, event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves a position.
+     *
+     * @param key the position key
+     * @return the position, empty if no trade contributes to it
+     */
+    public Position getPosition(PositionKey key) {
+        return positions.getOrDefault(key, Position.EMPTY);
+    }
+
+    /**
+     * Retrieves all positions, optionally restricted to one account.
+     *
+     * @param account the account, null for all accounts
+     * @return list of PositionDTO
+     */
+    public List<PositionDTO> getPositions(String account) {
+        List<PositionDTO> result = new ArrayList<>();
+        positions.forEach((key, position) -> {
+            if (account == null || account.equals(key.account())) {
+                result.add(PositionDTO.of(key, position));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reloads the positions from the database, logging every in-memory position that differed from the
+     * reloaded one. The reloaded positions replace them, so mismatches are repaired.
+     *
+     * @return the reconciliation report
+     */
+    @Scheduled(cron = "${trading.position.reconciliation-cron:0 0 * * * *}")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PositionReconciliationDTO reconcile() {
+        Reload reload = reload();
+        List<PositionKey> mismatches = new ArrayList<>();
+
+        reload.loaded().forEach((key, expected) -> {
+            Position actual = reload.previous().getOrDefault(key, Position.EMPTY);
+            if (!actual.equalsWithin(expected, RECONCILIATION_TOLERANCE)) {
+                log.warn("Position mismatch for {}: expected {}, in memory {}", key, expected, actual);
+                mismatches.add(key);
+            }
+        });
+        reload.previous().forEach((key, actual) -> {
+            if (!reload.loaded().containsKey(key)) {
+                log.warn("Position mismatch for {}: no trade in database, in memory {}", key, actual);
+                mismatches.add(key);
+            }
+        });
+
+        log.info("Reconciled {} positions, repaired {} mismatches", reload.loaded().size(), mismatches.size());
+        return new PositionReconciliationDTO(reload.loaded().size(), mismatches);
+    }
+
+    /**
+     * Sums the positions in the database, then replaces the in-memory ones with them.
+     * The sum reads the trades as of the snapshot of the repeatable read transaction, and the trades written
+     * since have their events pending: their contribution as of the snapshot, read in the same transaction,
+     * is replaced by that of their latest state, so they are counted once whether the sum saw them or not.
+     */
+    private Reload reload() {
+        reloadLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            Map<PositionKey, Position> loaded = new ConcurrentHashMap<>(sumPositionsFromDatabase());
+            lock.lock();
+            try {
+                Map<Integer, Trade> latest = new LinkedHashMap<>();
+                pendingEvents.forEach(event -> latest.put(
+                        event.current() != null ? event.current().getId() : event.previous().getId(), event.current()));
+                for (Trade trade : tradeRepository.findAllById(latest.keySet())) {
+                    apply(loaded, TradeEvent.deleted(trade));
+                }
+                latest.values().forEach(trade -> {
+                    if (trade != null) {
+                        apply(loaded, TradeEvent.created(trade));
+                    }
+                });
+                pendingEvents = null;
+                Map<PositionKey, Position> previous = positions;
+                positions = loaded;
+                return new Reload(previous, loaded);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static void apply(Map<PositionKey, Position> target, TradeEvent event) {
+        if (event.previous() != null) {
+            apply(target, PositionKey.of(event.previous()), Position.EMPTY.minus(Position.of(event.previous())));
+        }
+        if (event.current() != null) {
+            apply(target, PositionKey.of(event.current()), Position.of(event.current()));
+        }
+    }
+
+    private static void apply(Map<PositionKey, Position> target, PositionKey key, Position delta) {
+        target.compute(key, (k, current) -> {
+            Position updated = (current == null ? Position.EMPTY : current).plus(delta);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private Map<PositionKey, Position> sumPositionsFromDatabase() {
+        Map<PositionKey, Position> totals = new HashMap<>();
+        for (PositionTotalsDTO row : tradeRepository.sumPositions()) {
+            Position position = row.position();
+            if (!position.isEmpty()) {
+                totals.put(row.key(), position);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Positions replaced by a reload, and the reloaded ones.
+     */
+    private record Reload(Map<PositionKey, Position> previous, Map<PositionKey, Position> loaded) {
+    }
+}
@@ -0,0 +1,300 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.BarProperties;
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+import com.poseidoncapitalsolutions.trading.dto.TradePrintDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+import com.poseidoncapitalsolutions.trading.engine.BarSeries;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.model.PriceBar;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.PriceBarRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining the one-minute, five-minute and one-hour OHLC bars of every security.
+ *
+ * <p>Every committed trade creation adds its buy and sell prints, at the trade date, to in-memory bar series
+ * bounded by the configured history. Trades dated further in the future than the configured tolerance are
+ * ignored, as they would move the series past every current trade. A committed update or deletion cannot be
+ * undone on high and low prices, so the bars of the old and new trade dates are rebuilt from the trade table.
+ * Closed bars are written to the price_bar table in batches, and read back at startup. Ranges older than the
+ * history in memory are read from the table.
+ */
+@Service
+@Slf4j
+public class PriceBarService {
+
+    private final PriceBarRepository priceBarRepository;
+    private final TradeRepository tradeRepository;
+    private final BarProperties properties;
+    private final Map<String, SecurityBars> bars = new ConcurrentHashMap<>();
+
+    public PriceBarService(PriceBarRepository priceBarRepository, TradeRepository tradeRepository,
+                           BarProperties properties) {
+        this.priceBarRepository = priceBarRepository;
+        this.tradeRepository = tradeRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the stored bars that fall within the history kept in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (BarResolution resolution : BarResolution.values()) {
+            long from = now - properties.history(resolution) * resolution.millis();
+            for (PriceBar bar : priceBarRepository.findByResolutionAndBucketStartGreaterThanEqual(resolution,
+                    new Timestamp(from))) {
+                SecurityBars securityBars = bars(bar.getSecurity());
+                securityBars.lock.lock();
+                try {
+                    securityBars.series.get(resolution).load(toDTO(bar));
+                } finally {
+                    securityBars.lock.unlock();
+                }
+                loaded++;
+            }
+        }
+        log.info("Loaded {} price bars of {} securities", loaded, bars.size());
+    }
+
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        if (event.type() == TradeEventType.CREATED) {
+            Trade trade = event.current();
+            if (trade.getSecurity() == null) {
+                return;
+            }
+            long time = trade.getTradeDate() != null ? trade.getTradeDate().getTime() : System.currentTimeMillis();
+            record(trade.getSecurity(), time, trade.getBuyPrice(), trade.getBuyQuantity());
+            record(trade.getSecurity(), time, trade.getSellPrice(), trade.getSellQuantity());
+            return;
+        }
+        Trade previous = event.previous();
+        Trade current = event.current();
+        if (isPrinted(previous)) {
+            rebuild(previous.getSecurity(), previous.getTradeDate().getTime());
+        }
+        if (isPrinted(current) && !(isPrinted(previous) && sameMinute(previous, current))) {
+            rebuild(current.getSecurity(), current.getTradeDate().getTime());
+        }
+    }
+
+    /**
+     * Adds a print to the bars of a security. Prints without a price or a positive quantity, or dated further
+     * in the future than the tolerance, are ignored.
+     */
+    public void record(String security, long time, Double price, Double quantity) {
+        if (price == null || quantity == null || quantity <= 0) {
+            return;
+        }
+        if (isTooFarAhead(time)) {
+            log.warn("Ignoring print of {} dated {}, in the future", security, new Timestamp(time));
+            return;
+        }
+        SecurityBars securityBars = bars(security);
+        securityBars.lock.lock();
+        try {
+            for (BarSeries series : securityBars.series.values()) {
+                series.add(time, price, quantity);
+            }
+        } finally {
+            securityBars.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the bars of a security starting in [from, to), oldest first.
+     * Bars older than the history in memory are read from the price_bar table.
+     */
+    public List<PriceBarDTO> getBars(String security, BarResolution resolution, long from, long to) {
+        List<PriceBarDTO> result = new ArrayList<>();
+        SecurityBars securityBars = bars.get(security);
+        long oldestInMemory = Long.MAX_VALUE;
+        if (securityBars != null) {
+            securityBars.lock.lock();
+            try {
+                BarSeries series = securityBars.series.get(resolution);
+                oldestInMemory = series.oldestStart();
+                series.range(Math.max(from, oldestInMemory), to, result);
+            } finally {
+                securityBars.lock.unlock();
+            }
+        }
+        if (from < oldestInMemory) {
+            List<PriceBarDTO> stored = priceBarRepository.findBars(security, resolution, new Timestamp(from),
+                    new Timestamp(Math.min(to, oldestInMemory))).stream().map(PriceBarService::toDTO).toList();
+            result.addAll(0, stored);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the bars closed and changed since the last flush to the price_bar table.
+     * Bars that could not be written are written again on the next flush.
+     *
+     * @return the number of bars written
+     */
+    @Scheduled(fixedDelayString = "${trading.bars.flush-interval-ms:10000}")
+    public int flush() {
+        long now = System.currentTimeMillis();
+        List<PriceBarDTO> closed = new ArrayList<>();
+        for (SecurityBars securityBars : bars.values()) {
+            securityBars.lock.lock();
+            try {
+                for (BarSeries series : securityBars.series.values()) {
+                    series.drainClosed(now, closed);
+                }
+            } finally {
+                securityBars.lock.unlock();
+            }
+        }
+        if (closed.isEmpty()) {
+            return 0;
+        }
+        try {
+            write(closed);
+            log.debug("Flushed {} price bars", closed.size());
+            return closed.size();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} price bars, retrying on next flush", closed.size(), e);
+            for (PriceBarDTO bar : closed) {
+                SecurityBars securityBars = bars.get(bar.security());
+                securityBars.lock.lock();
+                try {
+                    securityBars.series.get(bar.resolution()).markDirty(bar.start().getTime());
+                } finally {
+                    securityBars.lock.unlock();
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Rebuilds from the trade table the bars of a security, at every resolution, of the buckets containing
+     * a time. Bars still in memory are replaced there and flushed as usual; older ones are written directly.
+     */
+    private void rebuild(String security, long time) {
+        if (isTooFarAhead(time)) {
+            return;
+        }
+        long hour = Math.floorDiv(time, BarResolution.H1.millis()) * BarResolution.H1.millis();
+        List<TradePrintDTO> prints = tradeRepository.findPrints(security, new Timestamp(hour),
+                new Timestamp(hour + BarResolution.H1.millis()));
+        List<PriceBarDTO> stored = new ArrayList<>();
+        SecurityBars securityBars = bars(security);
+        securityBars.lock.lock();
+        try {
+            for (BarResolution resolution : BarResolution.values()) {
+                long start = Math.floorDiv(time, resolution.millis()) * resolution.millis();
+                BarSeries series = securityBars.series.get(resolution);
+                if (!series.clear(start)) {
+                    series = new BarSeries(security, resolution, 1);
+                    series.clear(start);
+                    addPrints(series, prints, start, start + resolution.millis());
+                    series.drainClosed(Long.MAX_VALUE, stored);
+                } else {
+                    addPrints(series, prints, start, start + resolution.millis());
+                }
+            }
+        } finally {
+            securityBars.lock.unlock();
+        }
+        if (!stored.isEmpty()) {
+            write(stored);
+        }
+        log.debug("Rebuilt the bars of {} at {} from {} trades", security, new Timestamp(time), prints.size());
+    }
+
+    private static void addPrints(BarSeries series, List<TradePrintDTO> prints, long from, long to) {
+        for (TradePrintDTO print : prints) {
+            long time = print.tradeDate().getTime();
+            if (time < from || time >= to) {
+                continue;
+            }
+            if (print.buyPrice() != null && print.buyQuantity() != null && print.buyQuantity() > 0) {
+                series.add(time, print.buyPrice(), print.buyQuantity());
+            }
+            if (print.sellPrice() != null && print.sellQuantity() != null && print.sellQuantity() > 0) {
+                series.add(time, print.sellPrice(), print.sellQuantity());
+            }
+        }
+    }
+
+    /**
+     * Upserts bars with trades and deletes those left without.
+     */
+    private void write(List<PriceBarDTO> bars) {
+        List<PriceBarDTO> empty = bars.stream().filter(bar -> bar.tradeCount() == 0).toList();
+        if (!empty.isEmpty()) {
+            priceBarRepository.deleteBars(empty);
+        }
+        if (empty.size() < bars.size()) {
+            priceBarRepository.upsertAll(bars.stream().filter(bar -> bar.tradeCount() > 0).toList());
+        }
+    }
+
+    private boolean isTooFarAhead(long time) {
+        return time > System.currentTimeMillis() + properties.futureToleranceMs();
+    }
+
+    private static boolean isPrinted(Trade trade) {
+        return trade != null && trade.getSecurity() != null && trade.getTradeDate() != null;
+    }
+
+    /**
+     * Whether two trades fall in the same bucket at every resolution.
+     */
+    private static boolean sameMinute(Trade previous, Trade current) {
+        long width = BarResolution.M1.millis();
+        return previous.getSecurity().equals(current.getSecurity())
+                && Math.floorDiv(previous.getTradeDate().getTime(), width)
+                        == Math.floorDiv(current.getTradeDate().getTime(), width);
+    }
+
+    private SecurityBars bars(String security) {
+        return bars.computeIfAbsent(security, key -> new SecurityBars(key, properties));
+    }
+
+    private static PriceBarDTO toDTO(PriceBar bar) {
+        return PriceBarDTO.of(bar.getSecurity(), bar.getResolution(), bar.getBucketStart().getTime(),
+                bar.getOpenPrice(), bar.getHighPrice(), bar.getLowPrice(), bar.getClosePrice(), bar.getVolume(),
+                bar.getNotional(), bar.getTradeCount());
+    }
+
+    /**
+     * Bar series of one security at every resolution, guarded by one lock.
+     */
+    private static final class SecurityBars {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BarResolution, BarSeries> series = new EnumMap<>(BarResolution.class);
+
+        private SecurityBars(String security, BarProperties properties) {
+            for (BarResolution resolution : BarResolution.values()) {
+                series.put(resolution, new BarSeries(security, resolution, properties.history(resolution)));
+            }
+        }
+    }
+}
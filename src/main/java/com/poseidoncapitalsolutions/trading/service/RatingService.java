@@ -34,8 +34,9 @@ public class RatingService {
      *
      * @return list of RatingListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<RatingListItemDTO> getAll() {
-        return ratingMapper.toListItemDTOList(ratingRepository.findAll());
+        return ratingRepository.findAllListItems();
     }
 
     /**
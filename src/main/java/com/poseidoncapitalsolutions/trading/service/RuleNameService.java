@@ -35,8 +35,9 @@ public class RuleNameService {
      *
      * @return list of RuleNameListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<RuleNameListItemDTO> getAll() {
-        return ruleNameMapper.toListItemDTOList(ruleNameRepository.findAll());
+        return ruleNameRepository.findAllListItems();
     }
 
     /**
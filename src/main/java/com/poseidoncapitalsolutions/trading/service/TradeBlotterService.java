@@ -0,0 +1,180 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.poseidoncapitalsolutions.trading.config.BlotterProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.BlotterStatsDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListDeltaDTO;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.mapper.TradeMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service pushing the changes of the trade list to the live blotters as Server-Sent Events.
+ *
+ * <p>Every committed trade write becomes one delta, offered to the bounded buffer of each client without
+ * blocking. A sender thread then drains the buffer of the client and sends the waiting deltas as one event,
+ * so a slow client only delays itself. A client whose buffer is full is disconnected, and reloads the list
+ * when it reconnects.
+ */
+@Service
+@Slf4j
+public class TradeBlotterService {
+
+    static final String EVENT_NAME = "trades";
+    private static final int MAX_DELTAS_PER_EVENT = 256;
+
+    private final TradeMapper tradeMapper;
+    private final BlotterProperties properties;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param virtualThreads whether each send runs on its own virtual thread rather than on a fixed pool
+     */
+    public TradeBlotterService(TradeMapper tradeMapper, BlotterProperties properties,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.tradeMapper = tradeMapper;
+        this.properties = properties;
+        this.senders = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("trade-blotter-", 0).factory())
+                : Executors.newFixedThreadPool(properties.senderThreads(),
+                        Thread.ofPlatform().daemon().name("trade-blotter-", 0).factory());
+    }
+
+    /**
+     * Opens a stream of the trade list changes.
+     */
+    public SseEmitter subscribe() {
+        return register(new SseEmitter(properties.timeoutMs()));
+    }
+
+    /**
+     * Sends the trade list changes to an emitter until it completes, fails or falls too far behind.
+     */
+    public SseEmitter register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(properties.bufferSize()));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Blotter subscribed, {} subscribers", subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        TradeListDeltaDTO delta = new TradeListDeltaDTO(sequence.incrementAndGet(), event.type(),
+                tradeMapper.toListItem(event.type() == TradeEventType.DELETED ? event.previous() : event.current()));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(delta)) {
+                schedule(subscriber);
+            } else {
+                drop(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every client, which fails and disconnects the clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${trading.blotter.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(() -> send(subscriber, SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    public BlotterStatsDTO getStats() {
+        return new BlotterStatsDTO(subscribers.size(), sequence.get(), sent.get(), dropped.get());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            List<TradeListDeltaDTO> deltas = new ArrayList<>();
+            while (subscriber.queue.drainTo(deltas, MAX_DELTAS_PER_EVENT) > 0) {
+                boolean delivered = send(subscriber, SseEmitter.event()
+                        .id(String.valueOf(deltas.getLast().sequence()))
+                        .name(EVENT_NAME)
+                        .data(deltas, MediaType.APPLICATION_JSON));
+                if (!delivered) {
+                    return;
+                }
+                sent.addAndGet(deltas.size());
+                deltas = new ArrayList<>();
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Blotter disconnected: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.incrementAndGet();
+            log.warn("Blotter client fell {} updates behind, disconnecting it", properties.bufferSize());
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Connected client, with the deltas waiting to be sent to it and whether a sender is draining them.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<TradeListDeltaDTO> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<TradeListDeltaDTO> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
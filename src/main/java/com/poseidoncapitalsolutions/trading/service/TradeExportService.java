@@ -0,0 +1,142 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeExportResult;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service streaming the whole trade table to an output stream with constant memory.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class TradeExportService {
+
+    private static final String CSV_HEADER = "id,account,type,buyQuantity,sellQuantity,buyPrice,sellPrice,tradeDate,"
+            + "security,status,trader,benchmark,book,creationName,creationDate,revisionName,revisionDate,"
+            + "dealName,dealType,sourceListId,side";
+
+    private final TradeRepository tradeRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every trade to the output stream, one row at a time. Each trade is detached once written
+     * so the persistence context never holds more than the current row.
+     *
+     * @param format the output format
+     * @param out the stream to write to, left open
+     * @return the number of rows written and the time it took
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public TradeExportResult export(TradeFileFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting trades as {}", format);
+        long start = System.nanoTime();
+        long rows;
+        try (Stream<Trade> trades = tradeRepository.streamAll()) {
+            rows = switch (format) {
+                case CSV -> writeCsv(trades.iterator(), out);
+                case NDJSON -> writeNdjson(trades.iterator(), out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        TradeExportResult result = new TradeExportResult(rows, (System.nanoTime() - start) / 1_000_000);
+        log.info("Exported {} trades as {} in {} ms ({} rows/s)", result.rows(), format, result.elapsedMillis(),
+                result.rowsPerSecond());
+        return result;
+    }
+
+    private long writeCsv(Iterator<Trade> trades, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (trades.hasNext()) {
+            Trade trade = trades.next();
+            writer.write(Integer.toString(trade.getId()));
+            writeCsvField(writer, trade.getAccount());
+            writeCsvField(writer, trade.getType());
+            writeCsvField(writer, trade.getBuyQuantity());
+            writeCsvField(writer, trade.getSellQuantity());
+            writeCsvField(writer, trade.getBuyPrice());
+            writeCsvField(writer, trade.getSellPrice());
+            writeCsvField(writer, trade.getTradeDate());
+            writeCsvField(writer, trade.getSecurity());
+            writeCsvField(writer, trade.getStatus());
+            writeCsvField(writer, trade.getTrader());
+            writeCsvField(writer, trade.getBenchmark());
+            writeCsvField(writer, trade.getBook());
+            writeCsvField(writer, trade.getCreationName());
+            writeCsvField(writer, trade.getCreationDate());
+            writeCsvField(writer, trade.getRevisionName());
+            writeCsvField(writer, trade.getRevisionDate());
+            writeCsvField(writer, trade.getDealName());
+            writeCsvField(writer, trade.getDealType());
+            writeCsvField(writer, trade.getSourceListId());
+            writeCsvField(writer, trade.getSide());
+            writer.write('\n');
+            entityManager.detach(trade);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<Trade> trades, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (trades.hasNext()) {
+                Trade trade = trades.next();
+                writer.writeValue(generator, trade);
+                generator.writeRaw('\n');
+                entityManager.detach(trade);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Timestamp timestamp ? timestamp.toInstant().toString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,254 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportResult;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service importing trades in bulk from CSV or NDJSON files.
+ * The file is parsed as a stream and persisted in chunks, each chunk in its own transaction,
+ * so a failing chunk does not roll back the chunks already imported.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class TradeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final TradeService tradeService;
+    private final TradeProperties tradeProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Imports every trade of the input stream. Rows that cannot be parsed, or that have no account or type,
+     * are rejected and reported without stopping the import.
+     *
+     * @param format the input format; CSV files must start with a header row naming the columns
+     * @param in the stream to read, left open
+     * @return the number of imported and rejected rows, the first errors and the time it took
+     * @throws IOException if reading the stream fails
+     */
+    public TradeImportResult importTrades(TradeFileFormat format, InputStream in) throws IOException {
+        log.debug("Importing trades from {}", format);
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(tradeProperties.importBatchSize());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        switch (format) {
+            case CSV -> readCsv(reader, run);
+            case NDJSON -> readNdjson(reader, run);
+        }
+        run.flush();
+
+        TradeImportResult result = new TradeImportResult(run.imported, run.rejected, run.errors,
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Imported {} trades from {} in {} ms ({} rows/s), {} rejected", result.imported(), format,
+                result.elapsedMillis(), result.rowsPerSecond(), result.rejected());
+        return result;
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        ObjectReader tradeReader = objectMapper.readerFor(TradeImportDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(lineNumber, tradeReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+
+        long rowNumber = 1;
+        List<String> values;
+        while ((values = readCsvRecord(reader)) != null) {
+            rowNumber++;
+            if (values.size() == 1 && values.getFirst().isBlank()) {
+                continue;
+            }
+            try {
+                CsvRow row = new CsvRow(columns, values);
+                run.add(rowNumber, new TradeImportDTO(
+                        row.text("account"),
+                        row.text("type"),
+                        row.number("buyQuantity"),
+                        row.number("sellQuantity"),
+                        row.number("buyPrice"),
+                        row.number("sellPrice"),
+                        row.timestamp("tradeDate"),
+                        row.text("security"),
+                        row.text("status"),
+                        row.text("trader"),
+                        row.text("benchmark"),
+                        row.text("book"),
+                        row.text("dealName"),
+                        row.text("dealType"),
+                        row.text("sourceListId"),
+                        row.text("side")));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                run.reject(rowNumber, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads one CSV record, which spans several lines when a quoted field contains line breaks.
+     *
+     * @return the fields of the record, or null at the end of the stream
+     */
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (countQuotes(record) % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int countQuotes(CharSequence text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Typed access by column name to the fields of a CSV row. Missing columns and empty fields read as null.
+     */
+    private record CsvRow(Map<String, Integer> columns, List<String> values) {
+
+        String text(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+                return null;
+            }
+            return values.get(index);
+        }
+
+        Double number(String column) {
+            String value = text(column);
+            return value == null ? null : Double.valueOf(value);
+        }
+
+        Timestamp timestamp(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            return value.indexOf('T') > 0 ? Timestamp.from(Instant.parse(value)) : Timestamp.valueOf(value);
+        }
+    }
+
+    /**
+     * Accumulates parsed trades and flushes them to the database one chunk at a time.
+     */
+    private final class ImportRun {
+
+        private final int batchSize;
+        private final List<TradeImportDTO> chunk;
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        ImportRun(int batchSize) {
+            this.batchSize = batchSize;
+            this.chunk = new ArrayList<>(batchSize);
+        }
+
+        void add(long rowNumber, TradeImportDTO trade) {
+            if (trade.account() == null || trade.account().isBlank() || trade.type() == null || trade.type().isBlank()) {
+                reject(rowNumber, "account and type are mandatory");
+                return;
+            }
+            chunk.add(trade);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + rowNumber + ": " + reason);
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            imported += tradeService.createTrades(chunk);
+            chunk.clear();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.JournalProperties;
+import com.poseidoncapitalsolutions.trading.engine.TradeJournal;
+import com.poseidoncapitalsolutions.trading.engine.TradeJournalRecord;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service appending every committed trade write to the trade journal, flushed to disk periodically.
+ * Enabled by the "trading.journal.enabled" property.
+ */
+@Service
+@ConditionalOnProperty(prefix = "trading.journal", name = "enabled", havingValue = "true")
+@Slf4j
+public class TradeJournalService {
+
+    private final JournalProperties journalProperties;
+    private final TradeJournal journal;
+
+    public TradeJournalService(JournalProperties journalProperties) throws IOException {
+        this.journalProperties = journalProperties;
+        this.journal = TradeJournal.open(journalProperties.directory(),
+                Math.toIntExact(journalProperties.segmentSize().toBytes()));
+        if (journal.truncatedBytes() > 0) {
+            log.warn("Truncated {} bytes of torn records from the trade journal", journal.truncatedBytes());
+        }
+        log.info("Opened trade journal in {} at sequence {}", journalProperties.directory(), journal.lastSequence());
+    }
+
+    /**
+     * Appends a committed trade write to the journal.
+     */
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        journal.append(event.type(), event.type() == TradeEventType.DELETED ? event.previous() : event.current());
+    }
+
+    /**
+     * Flushes the records appended since the previous flush to disk.
+     */
+    @Scheduled(fixedDelayString = "${trading.journal.fsync-interval-ms:100}")
+    public void force() {
+        journal.force();
+    }
+
+    /**
+     * Sequence of the last record appended, 0 if the journal is empty.
+     */
+    public long getLastSequence() {
+        return journal.lastSequence();
+    }
+
+    /**
+     * Reads the journal in sequence order.
+     *
+     * @param fromSequence sequence of the first record to deliver
+     * @param consumer receives every record from fromSequence on
+     * @return the number of records delivered
+     */
+    public long replay(long fromSequence, Consumer<TradeJournalRecord> consumer) {
+        journal.force();
+        try {
+            return TradeJournal.replay(journalProperties.directory(), fromSequence, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the trade journal", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+}
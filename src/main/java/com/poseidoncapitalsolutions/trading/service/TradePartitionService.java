@@ -0,0 +1,186 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.poseidoncapitalsolutions.trading.config.PartitionProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradePartitionReportDTO;
+import com.poseidoncapitalsolutions.trading.repository.TradeArchiveRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping the trade table partitioned by month of trade date on MySQL.
+ *
+ * <p>The first run converts the table to RANGE COLUMNS partitioning, with one partition per month from the
+ * oldest trade on and a catch-all "pmax" partition. Every run then splits "pmax" so that the coming months
+ * have their partition, and moves the months older than the archive age to the archive table: the partition
+ * is exchanged with an empty staging table, so its trades leave the trade table in one atomic step, then
+ * dropped. Queries bounded on trade date only read the partitions of the months they cover, and blotter pages
+ * are read month range by month range, so queries on recent trades stay as fast as the history grows.
+ *
+ * <p>Archiving a month removes its trades from the trade table; the in-memory positions and analytics
+ * snapshot only stop counting them when they are next reloaded. Their source list ids stay in the
+ * trade_source_list_id table, so they still count as submitted.
+ * Enabled by the "trading.partition.enabled" property.
+ */
+@Service
+@ConditionalOnProperty(prefix = "trading.partition", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+@Slf4j
+public class TradePartitionService {
+
+    static final String MAX_PARTITION = "pmax";
+    private static final String SOURCE_LIST_ID_KEY = "uk_trade_source_list_id";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TradeArchiveRepository tradeArchiveRepository;
+    private final PartitionProperties partitionProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${trading.partition.maintenance-cron:0 30 1 * * *}")
+    public void maintain() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            log.warn("Trade partitioning needs MySQL, skipped on {}", database);
+            return;
+        }
+        TradePartitionReportDTO report = maintain(LocalDate.now());
+        log.info("Trade partitions maintained: created {}, archived {} with {} trades", report.createdPartitions(),
+                report.archivedPartitions(), report.archivedTrades());
+    }
+
+    /**
+     * Creates the partitions up to the configured number of months after the given day,
+     * and archives the partitions older than the configured age.
+     */
+    public TradePartitionReportDTO maintain(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        YearMonth last = current.plusMonths(partitionProperties.monthsAhead());
+        List<String> created = new ArrayList<>();
+
+        List<String> partitions = findPartitions();
+        if (partitions.isEmpty()) {
+            YearMonth first = findOldestTradeMonth().orElse(current);
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                created.add(partitionName(month));
+            }
+            partitionTable(first, last);
+        } else {
+            YearMonth next = partitions.stream()
+                    .filter(name -> !MAX_PARTITION.equals(name))
+                    .map(TradePartitionService::monthOf)
+                    .max(YearMonth::compareTo)
+                    .map(month -> month.plusMonths(1))
+                    .orElse(current);
+            if (!next.isAfter(last)) {
+                StringJoiner split = new StringJoiner(", ", "alter table trade reorganize partition " + MAX_PARTITION
+                        + " into (", ", partition " + MAX_PARTITION + " values less than (maxvalue))");
+                for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+                    split.add(partitionDefinition(month));
+                    created.add(partitionName(month));
+                }
+                jdbcTemplate.execute(split.toString());
+            }
+        }
+
+        List<String> archived = new ArrayList<>();
+        long archivedTrades = 0;
+        if (partitionProperties.archiveAfterMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(partitionProperties.archiveAfterMonths());
+            List<String> expired = findPartitions().stream()
+                    .filter(name -> !MAX_PARTITION.equals(name) && monthOf(name).isBefore(oldestKept))
+                    .toList();
+            if (!expired.isEmpty()) {
+                tradeArchiveRepository.createIfMissing();
+                tradeArchiveRepository.createStaging();
+                for (String partition : expired) {
+                    archivedTrades += tradeArchiveRepository.exchangePartition(partition);
+                    archivedTrades += tradeArchiveRepository.dropPartition(partition);
+                    archived.add(partition);
+                }
+                tradeArchiveRepository.dropStaging();
+            }
+        }
+        return new TradePartitionReportDTO(created, archived, archivedTrades);
+    }
+
+    /**
+     * Reads the archived trades traded in [from, to), newest first.
+     */
+    public List<TradeListItemDTO> findArchivedTrades(LocalDate from, LocalDate to, int limit) {
+        return tradeArchiveRepository.findListItemsTradedBetween(Timestamp.valueOf(from.atStartOfDay()),
+                Timestamp.valueOf(to.atStartOfDay()), limit);
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList("select partition_name from information_schema.partitions "
+                + "where table_schema = database() and table_name = 'trade' and partition_name is not null "
+                + "order by partition_ordinal_position", String.class);
+    }
+
+    private Optional<YearMonth> findOldestTradeMonth() {
+        Timestamp oldest = jdbcTemplate.queryForObject("select min(trade_date) from trade", Timestamp.class);
+        return Optional.ofNullable(oldest).map(timestamp -> YearMonth.from(timestamp.toLocalDateTime()));
+    }
+
+    /**
+     * Converts the trade table to monthly partitions. MySQL requires the partitioning column in every unique key,
+     * so the primary key becomes (id, trade_date); ids stay unique as they come from a sequence.
+     * The source list id unique key becomes (source_list_id, trade_date), which no longer keeps source list ids
+     * unique: the unpartitioned trade_source_list_id table does, so it is filled with those of the existing trades
+     * first.
+     */
+    private void partitionTable(YearMonth first, YearMonth last) {
+        jdbcTemplate.update("insert ignore into trade_source_list_id (source_list_id) "
+                + "select source_list_id from trade where source_list_id is not null");
+        jdbcTemplate.update("update trade set trade_date = coalesce(creation_date, current_timestamp(6)) "
+                + "where trade_date is null");
+        jdbcTemplate.execute("alter table trade modify trade_date datetime(6) not null");
+        jdbcTemplate.execute("alter table trade drop primary key, add primary key (id, trade_date)");
+        Integer sourceListIdKeys = jdbcTemplate.queryForObject("select count(*) from information_schema.statistics "
+                + "where table_schema = database() and table_name = 'trade' and index_name = ?", Integer.class,
+                SOURCE_LIST_ID_KEY);
+        if (sourceListIdKeys != null && sourceListIdKeys > 0) {
+            jdbcTemplate.execute("alter table trade drop index " + SOURCE_LIST_ID_KEY + ", add unique index "
+                    + SOURCE_LIST_ID_KEY + " (source_list_id, trade_date)");
+        }
+
+        StringJoiner partitions = new StringJoiner(", ", "alter table trade partition by range columns (trade_date) (",
+                ", partition " + MAX_PARTITION + " values less than (maxvalue))");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+        jdbcTemplate.execute(partitions.toString());
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        return YearMonth.parse(partitionName.substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        return "partition " + partitionName(month) + " values less than ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -1,25 +1,40 @@
 package com.poseidoncapitalsolutions.trading.service;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import com.poseidoncapitalsolutions.trading.model.Bid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
 import com.poseidoncapitalsolutions.trading.dto.TradeUpdateDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradePageDTO;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.exception.DuplicateTradeException;
 import com.poseidoncapitalsolutions.trading.exception.TradeNotFoundException;
 import com.poseidoncapitalsolutions.trading.mapper.TradeMapper;
 import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.model.TradeSourceListId;
 import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSourceListIdRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSpecifications;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for managing trades.
+ * Service for managing trades. Every write publishes a TradeEvent, delivered to listeners after commit.
  */
 @Service
 @AllArgsConstructor
@@ -28,15 +43,41 @@ import lombok.extern.slf4j.Slf4j;
 public class TradeService {
 
     private final TradeRepository tradeRepository;
+    private final TradeSourceListIdRepository tradeSourceListIdRepository;
     private final TradeMapper tradeMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Retrieves all trades.
      *
      * @return list of TradeListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<TradeListItemDTO> getAllTrades() {
-        return tradeMapper.toListItemDTOList(tradeRepository.findAll());
+        return tradeRepository.findAllListItems();
+    }
+
+    /**
+     * Retrieves one blotter page of the trades matching a filter, newest trades first,
+     * by seeking past the given cursor.
+     *
+     * @param filter the search criteria
+     * @param after cursor of the last trade of the previous page, null for the first page
+     * @param size maximum number of trades in the page
+     * @return the page, with the cursor of the next page if there is one
+     */
+    @Transactional(readOnly = true)
+    public TradePageDTO getTradePage(TradeFilter filter, TradeCursor after, int size) {
+        List<TradeListItemDTO> trades = tradeRepository.findListItems(TradeSpecifications.matching(filter), after,
+                Limit.of(size + 1));
+
+        if (trades.size() <= size) {
+            return new TradePageDTO(trades, null);
+        }
+        List<TradeListItemDTO> page = trades.subList(0, size);
+        return new TradePageDTO(page, TradeCursor.of(page.getLast()));
     }
 
     /**
@@ -44,12 +85,72 @@ public class TradeService {
      *
      * @param tradeAddDTO trade data
      * @return created Trade entity
+     * @throws DuplicateTradeException if a trade was already created with the same source list id
      */
     public Trade createTrade(TradeAddDTO tradeAddDTO) {
         log.debug("Creating trade from DTO: {}", tradeAddDTO);
+        String sourceListId = tradeAddDTO.sourceListId();
+        if (idempotencyService.isDuplicateTrade(sourceListId)) {
+            throw duplicateTrade(sourceListId);
+        }
         Trade newTrade = tradeMapper.toEntity(tradeAddDTO);
-        newTrade.setCreationDate(new Timestamp(System.currentTimeMillis()));
-        return tradeRepository.save(newTrade);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        newTrade.setCreationDate(now);
+        if (newTrade.getTradeDate() == null) {
+            newTrade.setTradeDate(now);
+        }
+        if (sourceListId != null) {
+            // Flushed so that a concurrent submission of the same id fails here, on the primary key of
+            // trade_source_list_id, once the first one commits
+            try {
+                tradeSourceListIdRepository.saveAndFlush(new TradeSourceListId(sourceListId));
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateTrade(sourceListId);
+            }
+        }
+        Trade savedTrade = tradeRepository.save(newTrade);
+        eventPublisher.publishEvent(TradeEvent.created(savedTrade));
+        return savedTrade;
+    }
+
+    /**
+     * Creates trades in one transaction, using JDBC batched inserts.
+     * Trades whose source list id was already submitted, before or earlier in the list, are skipped;
+     * one submitted concurrently makes the whole batch fail on the primary key of trade_source_list_id.
+     * The persistence context is cleared afterwards so successive batches do not accumulate entities.
+     *
+     * @param tradeImportDTOs trade data
+     * @return number of trades created
+     */
+    public int createTrades(List<TradeImportDTO> tradeImportDTOs) {
+        log.debug("Creating {} trades", tradeImportDTOs.size());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Trade> newTrades = new ArrayList<>(tradeImportDTOs.size());
+        List<TradeSourceListId> newSourceListIds = new ArrayList<>();
+        Set<String> sourceListIds = new HashSet<>();
+        for (TradeImportDTO tradeImportDTO : tradeImportDTOs) {
+            String sourceListId = tradeImportDTO.sourceListId();
+            if (sourceListId != null
+                    && (!sourceListIds.add(sourceListId) || idempotencyService.isDuplicateTrade(sourceListId))) {
+                log.info("Skipping trade already submitted with source list id {}", sourceListId);
+                continue;
+            }
+            if (sourceListId != null) {
+                newSourceListIds.add(new TradeSourceListId(sourceListId));
+            }
+            Trade newTrade = tradeMapper.toEntity(tradeImportDTO);
+            newTrade.setCreationDate(now);
+            if (newTrade.getTradeDate() == null) {
+                newTrade.setTradeDate(now);
+            }
+            newTrades.add(newTrade);
+        }
+        tradeSourceListIdRepository.saveAll(newSourceListIds);
+        tradeRepository.saveAll(newTrades);
+        tradeRepository.flush();
+        entityManager.clear();
+        newTrades.forEach(newTrade -> eventPublisher.publishEvent(TradeEvent.created(newTrade)));
+        return newTrades.size();
     }
 
     /**
@@ -63,9 +164,12 @@ public class TradeService {
         log.debug("Updating trade from DTO: {}", tradeUpdateDTO);
         Trade updatedTrade = tradeRepository.findById(tradeUpdateDTO.id())
                 .orElseThrow(() -> new TradeNotFoundException("Trade not found with ID: " + tradeUpdateDTO.id()));
+        Trade previousTrade = tradeMapper.copy(updatedTrade);
         tradeMapper.updateTradeFromDTO(tradeUpdateDTO, updatedTrade);
         updatedTrade.setRevisionDate(new Timestamp(System.currentTimeMillis()));
-        return tradeRepository.save(updatedTrade);
+        Trade savedTrade = tradeRepository.save(updatedTrade);
+        eventPublisher.publishEvent(TradeEvent.updated(previousTrade, savedTrade));
+        return savedTrade;
     }
 
     /**
@@ -79,6 +183,7 @@ public class TradeService {
         Trade trade = tradeRepository.findById(id)
                 .orElseThrow(() -> new TradeNotFoundException("Trade not found with ID: " + id));
         tradeRepository.delete(trade);
+        eventPublisher.publishEvent(TradeEvent.deleted(trade));
         log.info("Trade successfully deleted with id: {}", id);
     }
 
@@ -94,4 +199,8 @@ public class TradeService {
                 .orElseThrow(() -> new TradeNotFoundException("Trade not found with ID: " + id));
         return tradeMapper.toDTO(trade);
     }
+
+    private static DuplicateTradeException duplicateTrade(String sourceListId) {
+        return new DuplicateTradeException("A trade was already submitted with source list id " + sourceListId);
+    }
 }
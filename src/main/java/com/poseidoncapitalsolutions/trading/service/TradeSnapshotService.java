@@ -0,0 +1,193 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeColumnsRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeAggregateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeSnapshotStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.TradeColumns;
+import com.poseidoncapitalsolutions.trading.engine.TradeSnapshot;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service keeping a columnar snapshot of the trade table in memory for analytics queries.
+ * The columns are loaded at startup, then every committed trade write is appended to them.
+ * Readers get an immutable snapshot, taken lazily after writes and shared until the next write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TradeSnapshotService {
+
+    private final TradeRepository tradeRepository;
+    private final TradeProperties tradeProperties;
+
+    /**
+     * Locks rather than monitors, so virtual threads waiting on them, or loading the database under them,
+     * release their carrier thread.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private TradeColumns columns = new TradeColumns();
+    private volatile TradeSnapshot snapshot;
+    /**
+     * Trade writes committed while a rebuild loads the database, replayed on the rebuilt columns.
+     */
+    private List<TradeEvent> pendingEvents;
+
+    /**
+     * Loads the columns at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the columns from the database.
+     *
+     * @return the memory footprint of the rebuilt snapshot
+     */
+    public TradeSnapshotStatsDTO rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            lock.lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            TradeColumns loaded = loadColumns();
+            lock.lock();
+            try {
+                pendingEvents.forEach(event -> apply(loaded, event));
+                pendingEvents = null;
+                columns = loaded;
+                snapshot = null;
+            } finally {
+                lock.unlock();
+            }
+            TradeSnapshotStatsDTO stats = getSnapshot().stats();
+            log.info("Loaded trade snapshot of {} trades in {} ms, {} bytes per trade", stats.liveRows(),
+                    (System.nanoTime() - start) / 1_000_000, Math.round(stats.bytesPerTrade()));
+            return stats;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a committed trade write to the columns.
+     */
+    @TransactionalEventListener
+    public void onTradeEvent(TradeEvent event) {
+        lock.lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(columns, event);
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the current snapshot.
+     */
+    public TradeSnapshot getSnapshot() {
+        TradeSnapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = columns.snapshot();
+                    snapshot = current;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Counts the trades matching a filter.
+     */
+    public int count(TradeFilter filter) {
+        return getSnapshot().count(filter);
+    }
+
+    /**
+     * Sums quantities and notionals of the trades matching a filter.
+     *
+     * @param groupBy the dimension to break the totals down by
+     * @return list of TradeAggregateDTO sorted by value of the dimension
+     */
+    public List<TradeAggregateDTO> aggregate(TradeFilter filter, TradeDimension groupBy) {
+        return getSnapshot().aggregate(filter, groupBy);
+    }
+
+    /**
+     * Reports the memory footprint of the current snapshot.
+     */
+    public TradeSnapshotStatsDTO getStats() {
+        return getSnapshot().stats();
+    }
+
+    private TradeColumns loadColumns() {
+        TradeColumns loaded = new TradeColumns(tradeProperties.columnBatchSize());
+        Limit limit = Limit.of(tradeProperties.columnBatchSize());
+        int afterId = Integer.MIN_VALUE;
+        List<TradeColumnsRowDTO> batch;
+        do {
+            batch = tradeRepository.findColumnRowsAfter(afterId, limit);
+            for (TradeColumnsRowDTO row : batch) {
+                loaded.put(row.id(), row.account(), row.book(), row.security(), row.trader(), row.status(),
+                        row.side(), valueOf(row.buyQuantity()), valueOf(row.buyPrice()),
+                        valueOf(row.sellQuantity()), valueOf(row.sellPrice()),
+                        row.tradeDate() == null ? TradeSnapshot.NO_DATE : row.tradeDate().getTime());
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.getLast().id();
+            }
+        } while (batch.size() == tradeProperties.columnBatchSize());
+        return loaded;
+    }
+
+    private static void apply(TradeColumns target, TradeEvent event) {
+        Trade trade = event.current();
+        if (trade == null) {
+            target.remove(event.previous().getId());
+            return;
+        }
+        target.put(trade.getId(), trade.getAccount(), trade.getBook(), trade.getSecurity(), trade.getTrader(),
+                trade.getStatus(), trade.getSide(), valueOf(trade.getBuyQuantity()), valueOf(trade.getBuyPrice()),
+                valueOf(trade.getSellQuantity()), valueOf(trade.getSellPrice()),
+                trade.getTradeDate() == null ? TradeSnapshot.NO_DATE : trade.getTradeDate().getTime());
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,187 @@
+package com.poseidoncapitalsolutions.trading.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.poseidoncapitalsolutions.trading.config.WriteBehindProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.WriteBehindStatsDTO;
+import com.poseidoncapitalsolutions.trading.exception.DuplicateTradeException;
+import com.poseidoncapitalsolutions.trading.exception.TradeBufferFullException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service buffering new trades in a bounded queue, drained by a single writer thread that commits them
+ * in batches, each in one transaction with batched inserts. A batch is committed when it is full or when
+ * its oldest trade has waited the configured maximum latency. Submissions wait a short time for room in
+ * a full buffer, then are rejected. Trades whose source list id was already submitted are rejected
+ * up front; duplicates still in the buffer are skipped when their batch is committed. Enabled by the "trading.write-behind.enabled" property.
+ */
+@Service
+@ConditionalOnProperty(prefix = "trading.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class TradeWriteBehindService {
+
+    private final TradeService tradeService;
+    private final IdempotencyService idempotencyService;
+    private final WriteBehindProperties properties;
+    private final BlockingQueue<TradeImportDTO> queue;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+
+    private final boolean virtualThreads;
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * @param virtualThreads whether the writer runs on a virtual thread, as requests do in virtual thread mode
+     */
+    public TradeWriteBehindService(TradeService tradeService, IdempotencyService idempotencyService,
+                                   WriteBehindProperties properties,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.tradeService = tradeService;
+        this.idempotencyService = idempotencyService;
+        this.properties = properties;
+        this.virtualThreads = virtualThreads;
+        this.queue = new ArrayBlockingQueue<>(properties.capacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        writer = builder.name("trade-write-behind").start(this::drain);
+    }
+
+    /**
+     * Stops accepting trades and waits for the writer to commit the trades still buffered.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    /**
+     * Buffers a new trade, to be committed by the writer.
+     *
+     * @param tradeAddDTO trade data
+     * @return the acceptance number of the trade, increasing from 1 in submission order
+     * @throws DuplicateTradeException if a trade was already created with the same source list id
+     * @throws TradeBufferFullException if the buffer is still full after the offer timeout
+     */
+    public long submit(TradeAddDTO tradeAddDTO) {
+        if (idempotencyService.isDuplicateTrade(tradeAddDTO.sourceListId())) {
+            throw new DuplicateTradeException("A trade was already submitted with source list id "
+                    + tradeAddDTO.sourceListId());
+        }
+        TradeImportDTO trade = new TradeImportDTO(tradeAddDTO.account(), tradeAddDTO.type(),
+                tradeAddDTO.buyQuantity(), null, null, null, null, null, null, null, null, null, null, null,
+                tradeAddDTO.sourceListId(), null);
+        boolean offered;
+        try {
+            offered = running && queue.offer(trade, properties.offerTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        }
+        if (!offered) {
+            rejected.incrementAndGet();
+            throw new TradeBufferFullException("Too many trades are being booked, please retry");
+        }
+        return accepted.incrementAndGet();
+    }
+
+    public WriteBehindStatsDTO getStats() {
+        long batchCount = batches.get();
+        long committedCount = committed.get();
+        return new WriteBehindStatsDTO(queue.size(), properties.capacity(), accepted.get(), rejected.get(),
+                committedCount, failed.get(), batchCount, lastBatchSize, maxBatchSize,
+                batchCount == 0 ? 0 : (double) committedCount / batchCount);
+    }
+
+    private void drain() {
+        List<TradeImportDTO> batch = new ArrayList<>(properties.batchSize());
+        long maxLatency = TimeUnit.MILLISECONDS.toNanos(properties.maxLatencyMs());
+        while (running || !queue.isEmpty()) {
+            try {
+                TradeImportDTO first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLatency;
+                while (batch.size() < properties.batchSize()) {
+                    queue.drainTo(batch, properties.batchSize() - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= properties.batchSize() || wait <= 0) {
+                        break;
+                    }
+                    TradeImportDTO next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.error("Trade write-behind stopped with {} trades not committed", queue.size());
+        }
+    }
+
+    /**
+     * Commits a batch in one transaction. If it fails, commits its trades one by one
+     * so a single bad trade does not discard the others.
+     */
+    private void commit(List<TradeImportDTO> batch) {
+        try {
+            tradeService.createTrades(batch);
+            recordBatch(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Committing {} buffered trades failed, retrying them one by one", batch.size(), e);
+            for (TradeImportDTO trade : batch) {
+                try {
+                    tradeService.createTrades(List.of(trade));
+                    recordBatch(1);
+                } catch (RuntimeException tradeException) {
+                    failed.incrementAndGet();
+                    log.error("Buffered trade {} could not be committed", trade, tradeException);
+                }
+            }
+        }
+    }
+
+    private void recordBatch(int size) {
+        committed.addAndGet(size);
+        batches.incrementAndGet();
+        lastBatchSize = size;
+        if (size > maxBatchSize) {
+            maxBatchSize = size;
+        }
+    }
+}
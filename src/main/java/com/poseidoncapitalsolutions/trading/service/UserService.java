@@ -36,8 +36,9 @@ public class UserService {
      *
      * @return list of UserListItemDTO
      */
+    @Transactional(readOnly = true)
     public List<UserListItemDTO> getAllUsers() {
-        return userMapper.toListItemDTOList(userRepository.findAll());
+        return userRepository.findAllListItems();
     }
 
     /**
@@ -1,5 +1,6 @@
 package poseidoncapitalsolutions.trading.controller;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,6 +21,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import com.poseidoncapitalsolutions.trading.TradingApplication;
+import com.poseidoncapitalsolutions.trading.dto.display.CurvePointListItemDTO;
 import com.poseidoncapitalsolutions.trading.model.CurvePoint;
 import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
 
@@ -129,10 +131,22 @@ public class CurvePointControllerIT {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/curvePoint/list"));
 
-        CurvePoint updatedCurvePoint = curvePointRepository.findById(existingCurvePoint.getId()).orElseThrow();
-        assertThat(updatedCurvePoint.getCurveId()).isEqualTo(10);
+        // The point moved to a new version of curve 10; curve 1 lost its only point, so it is deleted from now
+        // on by a tombstone version, its earlier version left as it was
+        assertThat(curvePointRepository.findById(existingCurvePoint.getId())).contains(existingCurvePoint);
+        Timestamp tombstone = curvePointRepository.findLatestVersion(existingCurvePoint.getCurveId());
+        assertThat(tombstone).isAfterOrEqualTo(existingCurvePoint.getAsOfDate());
+        assertThat(curvePointRepository.findPointsOfVersion(existingCurvePoint.getCurveId(), tombstone)).isEmpty();
+        assertThat(curvePointRepository.findAllListItems())
+                .extracting(CurvePointListItemDTO::curveId)
+                .doesNotContain(existingCurvePoint.getCurveId());
+        CurvePoint updatedCurvePoint = curvePointRepository.findAll().stream()
+                .filter(curvePoint -> curvePoint.getCurveId() == 10)
+                .findFirst()
+                .orElseThrow();
         assertThat(updatedCurvePoint.getTerm()).isEqualTo(10.0);
         assertThat(updatedCurvePoint.getValue()).isEqualTo(100.0);
+        assertThat(updatedCurvePoint.getAsOfDate()).isNotNull();
     }
 
     @Test
@@ -159,13 +173,20 @@ public class CurvePointControllerIT {
     void testDeleteCurvePointOk() throws Exception {
         int initialCount = curvePointRepository.findAll().size();
         CurvePoint curvePointToDelete = curvePointRepository.findAll().getFirst();
+        int curveId = curvePointToDelete.getCurveId();
 
         mockMvc.perform(get("/curvePoint/delete/" + curvePointToDelete.getId()))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/curvePoint/list"));
 
-        assertThat(curvePointRepository.findAll()).hasSize(initialCount - 1);
-        assertThat(curvePointRepository.findById(curvePointToDelete.getId())).isEmpty();
+        // The curve lost its only point: a tombstone is appended and the version it was read from is kept
+        assertThat(curvePointRepository.findAll()).hasSize(initialCount + 1);
+        assertThat(curvePointRepository.findById(curvePointToDelete.getId())).isPresent();
+        assertThat(curvePointRepository.findPointsOfVersion(curveId, curvePointRepository.findLatestVersion(curveId)))
+                .isEmpty();
+        assertThat(curvePointRepository.findVersionAsOf(curveId, curvePointToDelete.getAsOfDate()))
+                .isEqualTo(curvePointToDelete.getAsOfDate());
+        assertThat(curvePointRepository.findAllListItems()).hasSize(1);
     }
 
     @Test
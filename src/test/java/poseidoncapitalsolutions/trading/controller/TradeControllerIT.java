@@ -14,6 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,6 +49,28 @@ public class TradeControllerIT {
                 .containsExactly("Account1", "Account2");
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testSearchTrades() throws Exception {
+        mockMvc.perform(get("/trade/list")
+                        .param("account", "Account2")
+                        .param("status", "Pending"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("trade/list"))
+                .andExpect(model().attribute("trades", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void testSearchTradesApi() throws Exception {
+        mockMvc.perform(get("/trade/api/trades")
+                        .param("side", "Buy")
+                        .param("from", LocalDate.now().minusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trades", hasSize(1)))
+                .andExpect(jsonPath("$.trades[0].account").value("Account1"));
+    }
+
     @Test
     @WithMockUser(username = "user", roles = "USER")
     void testShowAddForm() throws Exception {
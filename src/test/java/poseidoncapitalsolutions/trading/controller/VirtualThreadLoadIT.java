@@ -0,0 +1,148 @@
+package poseidoncapitalsolutions.trading.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.poseidoncapitalsolutions.trading.TradingApplication;
+import com.poseidoncapitalsolutions.trading.model.User;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load test of the trade list page and the bid form submission at 2,000 concurrent clients, run once on
+ * Tomcat's platform thread pool and once with virtual threads. Logs throughput and latency percentiles of
+ * both modes; the figures depend on the machine and the database, so nothing is asserted about them.
+ */
+@Slf4j
+public class VirtualThreadLoadIT {
+
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final String PASSWORD = "LoadTest1!";
+
+    private record Result(String mode, String endpoint, int requests, int errors, long elapsedMillis,
+                          long p50Micros, long p99Micros) {
+
+        long requestsPerSecond() {
+            return elapsedMillis == 0 ? requests * 1000L : requests * 1000L / elapsedMillis;
+        }
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.addAll(run(false));
+        results.addAll(run(true));
+
+        for (Result result : results) {
+            log.info("{} threads, {}: {} requests in {} ms, {} req/s, p50 {} us, p99 {} us, {} errors",
+                    result.mode(), result.endpoint(), result.requests(), result.elapsedMillis(),
+                    result.requestsPerSecond(), result.p50Micros(), result.p99Micros(), result.errors());
+            assertThat(result.errors()).isZero();
+        }
+    }
+
+    private List<Result> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TradingApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false", "logging.level.org.springframework=INFO",
+                        "logging.level.org.hibernate=INFO", "logging.level.org.springframework.jdbc=INFO")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String username = "load-" + mode;
+            User user = new User();
+            user.setUsername(username);
+            user.setFullname("Load Test");
+            user.setRole("USER");
+            user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+            context.getBean(UserRepository.class).save(user);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpResponse<Void> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString("username=" + username + "&password=" + PASSWORD))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            assertThat(login.headers().firstValue("Location")).hasValueSatisfying(
+                    location -> assertThat(location).doesNotContain("error"));
+
+            List<Result> results = new ArrayList<>();
+            results.add(load(mode, "GET /trade/list", client,
+                    i -> HttpRequest.newBuilder(URI.create(baseUrl + "/trade/list")).GET().build()));
+            results.add(load(mode, "POST /bid/validate", client,
+                    i -> HttpRequest.newBuilder(URI.create(baseUrl + "/bid/validate"))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString("account=Load" + i + "&type=Type1&bidQuantity=10"))
+                            .build()));
+            context.getBean(BidRepository.class).deleteAllInBatch();
+            return results;
+        }
+    }
+
+    /**
+     * Sends the requests from CLIENTS concurrent clients, each waiting for its response before sending the next.
+     */
+    private static Result load(String mode, String endpoint, HttpClient client, IntFunction<HttpRequest> request)
+            throws Exception {
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int index = clientIndex * REQUESTS_PER_CLIENT + r;
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request.apply(index),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Arrays.sort(latencies);
+        return new Result(mode, endpoint, latencies.length, errors.get(), elapsedMillis,
+                latencies[latencies.length / 2] / 1_000, latencies[latencies.length * 99 / 100] / 1_000);
+    }
+}
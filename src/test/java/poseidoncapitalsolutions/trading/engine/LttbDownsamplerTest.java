@@ -0,0 +1,117 @@
+package poseidoncapitalsolutions.trading.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.poseidoncapitalsolutions.trading.engine.LttbDownsampler;
+
+class LttbDownsamplerTest {
+
+    private static double[][] series(int count) {
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 10.0);
+        }
+        return new double[][] {x, y};
+    }
+
+    private static void assertIncreasing(double[] x) {
+        for (int i = 1; i < x.length; i++) {
+            assertTrue(x[i] > x[i - 1], "x values are kept in order");
+        }
+    }
+
+    @Test
+    void downsample_noMorePointsThanThreshold_allPointsKept() {
+        double[][] series = series(5);
+
+        double[][] result = LttbDownsampler.downsample(series[0], series[1], 5, 10);
+
+        assertArrayEquals(series[0], result[0]);
+        assertArrayEquals(series[1], result[1]);
+        assertArrayEquals(series[0], LttbDownsampler.downsample(series[0], series[1], 5, 5)[0]);
+    }
+
+    @Test
+    void downsample_moreThanThreshold_firstLastAndPeaksKept() {
+        double[] x = new double[1000];
+        double[] y = new double[1000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+        }
+        y[250] = 10;
+        y[700] = -5;
+
+        double[][] result = LttbDownsampler.downsample(x, y, x.length, 20);
+
+        assertEquals(20, result[0].length);
+        assertEquals(0, result[0][0]);
+        assertEquals(999, result[0][19]);
+        assertIncreasing(result[0]);
+        assertTrue(Arrays.stream(result[0]).anyMatch(value -> value == 250));
+        assertTrue(Arrays.stream(result[0]).anyMatch(value -> value == 700));
+    }
+
+    @Test
+    void add_morePointsThanExpected_extraPointsInLastBucket() {
+        double[][] series = series(100);
+        LttbDownsampler downsampler = new LttbDownsampler(20, 10);
+
+        for (int i = 0; i < 100; i++) {
+            downsampler.add(series[0][i], series[1][i]);
+        }
+        downsampler.finish();
+
+        double[] x = downsampler.x();
+        assertEquals(10, x.length);
+        assertEquals(0, x[0]);
+        assertEquals(99, x[9]);
+        assertIncreasing(x);
+        // The buckets are sized for 20 points: the first 7 hold about 2 points each, the last every point from 17
+        assertTrue(x[8] > 16, "the last bucket takes the extra points");
+    }
+
+    @Test
+    void add_fewerPointsThanExpected_allPointsKept() {
+        LttbDownsampler downsampler = new LttbDownsampler(100, 10);
+        downsampler.add(1, 1);
+        downsampler.add(2, 4);
+        downsampler.add(3, 9);
+        downsampler.finish();
+
+        assertArrayEquals(new double[] {1, 2, 3}, downsampler.x());
+        assertArrayEquals(new double[] {1, 4, 9}, downsampler.y());
+    }
+
+    @Test
+    void add_singlePoint_kept() {
+        LttbDownsampler downsampler = new LttbDownsampler(1, 3);
+        downsampler.add(5, 7);
+        downsampler.finish();
+
+        assertArrayEquals(new double[] {5}, downsampler.x());
+        assertArrayEquals(new double[] {7}, downsampler.y());
+    }
+
+    @Test
+    void finish_noPoint_empty() {
+        LttbDownsampler downsampler = new LttbDownsampler(0, 3);
+        downsampler.finish();
+
+        assertEquals(0, downsampler.x().length);
+        assertEquals(0, downsampler.y().length);
+    }
+
+    @Test
+    void constructor_thresholdBelowThree_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LttbDownsampler(10, 2));
+    }
+}
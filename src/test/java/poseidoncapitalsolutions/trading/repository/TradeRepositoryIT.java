@@ -0,0 +1,207 @@
+package poseidoncapitalsolutions.trading.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.poseidoncapitalsolutions.trading.TradingApplication;
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSpecifications;
+
+/**
+ * Checks on MySQL that the trade search runs as index range scans in blotter order, without a filesort.
+ * The statements explained are the ones Hibernate emits for TradeRepository.findListItems, recorded by a
+ * statement inspector: one for the dated trades and, while the page is not full, one for the undated ones.
+ */
+@SpringBootTest(classes = TradingApplication.class, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "poseidoncapitalsolutions.trading.repository.TradeRepositoryIT$SelectRecorder")
+@ActiveProfiles("test")
+public class TradeRepositoryIT {
+
+    private static final int TRADE_COUNT = 5000;
+    private static final int FIRST_ID = 100_000;
+    private static final int PAGE = 51;
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 7);
+    private static final Pattern IS_NULL = Pattern.compile("\\bis null\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    /**
+     * Records the select statements Hibernate prepares.
+     */
+    public static class SelectRecorder implements StatementInspector {
+
+        private static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                SELECTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void insertTrades() {
+        List<Object[]> rows = new ArrayList<>(TRADE_COUNT);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < TRADE_COUNT; i++) {
+            // One trade in ten has no trade date
+            rows.add(new Object[] {FIRST_ID + i, "Account" + (i % 200), "Book" + (i % 50), "Trader" + (i % 100),
+                    "Security" + (i % 500), "Status" + (i % 10), i % 2 == 0 ? "Buy" : "Sell", "Type",
+                    (double) i, i % 10 == 9 ? null : Timestamp.valueOf(start.plusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("insert into trade (id, account, book, trader, security, status, side, type, "
+                + "buy_quantity, trade_date) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze table trade");
+    }
+
+    @AfterEach
+    void deleteTrades() {
+        jdbcTemplate.update("delete from trade where id >= ?", FIRST_ID);
+    }
+
+    private static TradeFilter filter(String account, String book, String trader, String security, String status,
+                                      String side) {
+        return new TradeFilter(account, book, trader, security, status, side, null, null);
+    }
+
+    /**
+     * Runs findListItems and explains every statement it ran, binding the criteria values, then the cursor
+     * values of the statement, then the page size.
+     */
+    private List<Map<String, Object>> explainFindListItems(TradeFilter filter, TradeCursor after,
+                                                           Object... criteria) {
+        SelectRecorder.SELECTS.clear();
+        tradeRepository.findListItems(TradeSpecifications.matching(filter), after, Limit.of(PAGE));
+        List<String> statements = List.copyOf(SelectRecorder.SELECTS);
+        assertThat(statements).isNotEmpty();
+
+        List<Map<String, Object>> plans = new ArrayList<>();
+        for (String sql : statements) {
+            boolean undated = IS_NULL.matcher(sql).find();
+            List<Object> args = new ArrayList<>(List.of(criteria));
+            if (after != null && undated) {
+                args.add(after.id());
+            } else if (after != null) {
+                args.addAll(List.of(after.tradeDate(), after.tradeDate(), after.id()));
+            }
+            args.add(PAGE);
+            assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.size());
+            plans.add(jdbcTemplate.queryForMap("explain " + sql, args.toArray()));
+        }
+        return plans;
+    }
+
+    private void assertIndexRangeScans(List<Map<String, Object>> plans, String index) {
+        for (Map<String, Object> plan : plans) {
+            assertThat(plan.get("key")).isEqualTo(index);
+            assertThat((String) plan.get("type")).isIn("ref", "range");
+            assertThat((String) plan.get("Extra")).doesNotContain("Using filesort");
+        }
+    }
+
+    @Test
+    void explainSingleCriterionUsesItsIndex() {
+        assertIndexRangeScans(explainFindListItems(filter("Account7", null, null, null, null, null), null,
+                "Account7"), "idx_trade_account_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, "Book7", null, null, null, null), null,
+                "Book7"), "idx_trade_book_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, null, "Trader7", null, null, null), null,
+                "Trader7"), "idx_trade_trader_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, null, null, "Security7", null, null), null,
+                "Security7"), "idx_trade_security_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, null, null, null, "Status7", null), null,
+                "Status7"), "idx_trade_status_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, null, null, null, null, "Buy"), null,
+                "Buy"), "idx_trade_side_trade_date_id");
+    }
+
+    @Test
+    void explainCriterionWithTradeDateRangeUsesItsIndex() {
+        Timestamp from = Timestamp.valueOf(FROM.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(TO.plusDays(1).atStartOfDay());
+        List<Map<String, Object>> plans = explainFindListItems(
+                new TradeFilter("Account7", null, null, null, null, null, FROM, TO), null, "Account7", from, to);
+
+        // The undated statement of a date range matches nothing, which MySQL proves without reading a row
+        assertIndexRangeScans(plans.subList(0, 1), "idx_trade_account_trade_date_id");
+        plans.subList(1, plans.size()).forEach(plan ->
+                assertThat((String) plan.get("Extra")).startsWith("Impossible WHERE"));
+
+        plans = explainFindListItems(new TradeFilter(null, null, null, null, null, null, FROM, TO), null, from, to);
+        assertIndexRangeScans(plans.subList(0, 1), "idx_trade_trade_date_id");
+    }
+
+    @Test
+    void explainNextPageSeeksIndex() {
+        TradeCursor dated = new TradeCursor(Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 0, 0)), FIRST_ID + 1407);
+        assertIndexRangeScans(explainFindListItems(filter("Account7", null, null, null, null, null), dated,
+                "Account7"), "idx_trade_account_trade_date_id");
+
+        TradeCursor undated = new TradeCursor(null, FIRST_ID + 4009);
+        assertIndexRangeScans(explainFindListItems(filter("Account9", null, null, null, null, null), undated,
+                "Account9"), "idx_trade_account_trade_date_id");
+    }
+
+    @Test
+    void explainBookOrTraderBySecurityUsesTheirIndex() {
+        assertIndexRangeScans(explainFindListItems(filter(null, "Book7", null, "Security7", null, null), null,
+                "Book7", "Security7"), "idx_trade_book_security_trade_date_id");
+        assertIndexRangeScans(explainFindListItems(filter(null, null, "Trader7", "Security7", null, null), null,
+                "Trader7", "Security7"), "idx_trade_trader_security_trade_date_id");
+    }
+
+    @Test
+    void explainOtherCombinedCriteriaScanOneOfTheirIndexes() {
+        for (Map<String, Object> plan : explainFindListItems(filter("Account7", "Book7", null, null, null, null),
+                null, "Account7", "Book7")) {
+            assertThat((String) plan.get("key"))
+                    .isIn("idx_trade_account_trade_date_id", "idx_trade_book_trade_date_id");
+            assertThat((String) plan.get("type")).isIn("ref", "range");
+            assertThat((String) plan.get("Extra")).doesNotContain("Using filesort");
+        }
+    }
+
+    @Test
+    void findListItemsPagesThroughMatchingTrades() {
+        TradeFilter filter = new TradeFilter("Account7", null, null, null, null, null, null, null);
+
+        List<TradeListItemDTO> first = tradeRepository.findListItems(TradeSpecifications.matching(filter), null,
+                Limit.of(10));
+        List<TradeListItemDTO> second = tradeRepository.findListItems(TradeSpecifications.matching(filter),
+                TradeCursor.of(first.getLast()), Limit.of(10));
+
+        assertThat(first).hasSize(10).allMatch(trade -> trade.account().equals("Account7"));
+        assertThat(second).hasSize(10).allMatch(trade -> trade.account().equals("Account7"));
+        assertThat(second.getFirst().tradeDate()).isBefore(first.getLast().tradeDate());
+    }
+}
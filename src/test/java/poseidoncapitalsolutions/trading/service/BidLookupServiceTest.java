@@ -0,0 +1,111 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.dto.BidSort;
+import com.poseidoncapitalsolutions.trading.dto.display.BidPageDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BidRowDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.service.BidLookupService;
+
+@ExtendWith(MockitoExtension.class)
+class BidLookupServiceTest {
+
+    @Mock
+    private BidRepository bidRepository;
+
+    private BidLookupService bidLookupService;
+
+    @BeforeEach
+    void setUp() {
+        bidLookupService = new BidLookupService(bidRepository, new BidProperties(50, 500, 2, 1000, List.of("CANCELLED", "EXPIRED"), "EXPIRED", 86_400_000));
+    }
+
+    private static Bid bid(String account) {
+        Bid bid = new Bid();
+        bid.setAccount(account);
+        return bid;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findBids_requestedSizeClampedAndSortApplied() {
+        BidRowDTO row = new BidRowDTO(1, "A", "T", "B", null, null, null, null, null, null, null, null);
+        when(bidRepository.findRows(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(row), invocation.getArgument(1), 1));
+
+        BidPageDTO page = bidLookupService.findBids(BidFilter.ALL, 0, 10_000, BidSort.ACCOUNT, Sort.Direction.DESC);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(bidRepository).findRows(any(Specification.class), pageable.capture());
+        assertEquals(500, pageable.getValue().getPageSize());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("account").getDirection());
+        assertEquals(List.of(row), page.bids());
+        assertEquals(1, page.totalElements());
+    }
+
+    @Test
+    void findBidsOfAccounts_duplicatesRemovedAndQueriedInChunks() {
+        List<String> accounts = new ArrayList<>();
+        IntStream.range(0, 1500).forEach(i -> accounts.add("A" + i));
+        accounts.addAll(accounts);
+        when(bidRepository.findRowsByAccountIn(anyList())).thenReturn(List.of());
+
+        bidLookupService.findBidsOfAccounts(accounts);
+
+        verify(bidRepository, times(2)).findRowsByAccountIn(anyList());
+    }
+
+    @Test
+    void getBidIdsOfAccount_cachedUntilBidOfAccountChanges() {
+        when(bidRepository.findIdsByAccount("A")).thenReturn(List.of(1, 2), List.of(1, 2, 3));
+
+        assertEquals(List.of(1, 2), bidLookupService.getBidIdsOfAccount("A"));
+        assertEquals(List.of(1, 2), bidLookupService.getBidIdsOfAccount("A"));
+        verify(bidRepository, times(1)).findIdsByAccount("A");
+
+        bidLookupService.onBidEvent(BidEvent.created(bid("A")));
+
+        assertEquals(List.of(1, 2, 3), bidLookupService.getBidIdsOfAccount("A"));
+        verify(bidRepository, times(2)).findIdsByAccount("A");
+    }
+
+    @Test
+    void getBidIdsOfAccount_leastRecentlyUsedAccountEvicted() {
+        when(bidRepository.findIdsByAccount(any())).thenReturn(List.of());
+
+        bidLookupService.getBidIdsOfAccount("A");
+        bidLookupService.getBidIdsOfAccount("B");
+        bidLookupService.getBidIdsOfAccount("A");
+        bidLookupService.getBidIdsOfAccount("C");
+        bidLookupService.getBidIdsOfAccount("A");
+        bidLookupService.getBidIdsOfAccount("B");
+
+        verify(bidRepository, times(1)).findIdsByAccount("A");
+        verify(bidRepository, times(2)).findIdsByAccount("B");
+    }
+}
@@ -3,33 +3,47 @@ package poseidoncapitalsolutions.trading.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.poseidoncapitalsolutions.trading.dto.BidAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidTransitionChunk;
 import com.poseidoncapitalsolutions.trading.dto.BidUpdateDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
 import com.poseidoncapitalsolutions.trading.exception.BidNotFoundException;
+import com.poseidoncapitalsolutions.trading.exception.DuplicateBidException;
 import com.poseidoncapitalsolutions.trading.mapper.BidMapper;
 import com.poseidoncapitalsolutions.trading.model.Bid;
 import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.BidSpecifications;
 import com.poseidoncapitalsolutions.trading.service.BidService;
+import com.poseidoncapitalsolutions.trading.service.IdempotencyService;
 
 @ExtendWith(MockitoExtension.class)
 class BidServiceTest {
@@ -40,6 +54,12 @@ class BidServiceTest {
     @Mock
     private BidMapper bidMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private BidService bidService;
 
@@ -61,14 +81,13 @@ class BidServiceTest {
     void getAllBidsOk() {
         BidListItemDTO expectedBidListItemDTO = new BidListItemDTO(1, "Account1", "Type1", 10.00);
 
-        when(bidRepository.findAll()).thenReturn(Arrays.asList(bid));
-        when(bidMapper.toListItemDTOList(anyList())).thenReturn(Arrays.asList(expectedBidListItemDTO));
+        when(bidRepository.findAllListItems()).thenReturn(Arrays.asList(expectedBidListItemDTO));
         
         List<BidListItemDTO> result = bidService.getAllBids();
         
         assertEquals(1, result.size());
         assertEquals(expectedBidListItemDTO, result.get(0));
-        verify(bidRepository).findAll();
+        verify(bidRepository).findAllListItems();
     }
 
     @Test
@@ -76,7 +95,7 @@ class BidServiceTest {
         String expectedAccount = "Account1";
         String expectedType = "Type1";
         Double expectedBidQuantity = 10.00;
-        bidAddDTO = new BidAddDTO(expectedAccount, expectedType, expectedBidQuantity);
+        bidAddDTO = new BidAddDTO(expectedAccount, expectedType, expectedBidQuantity, null, null, null, null, null);
         
         when(bidMapper.toEntity(any())).thenReturn(bid);
         when(bidRepository.save(any())).thenReturn(bid);
@@ -88,11 +107,51 @@ class BidServiceTest {
         assertEquals(expectedType, result.getType());
         assertEquals(expectedBidQuantity, result.getBidQuantity());
         verify(bidRepository).save(bid);
+        verify(eventPublisher).publishEvent(BidEvent.created(bid));
+    }
+
+    @Test
+    void createBidDuplicateSourceListId() {
+        bidAddDTO = new BidAddDTO("Account1", "Type1", 10.00, "Source-1", null, null, null, null);
+
+        when(idempotencyService.isDuplicateBid("Source-1")).thenReturn(true);
+
+        assertThrows(DuplicateBidException.class, () -> bidService.createBid(bidAddDTO));
+        verify(bidRepository, never()).save(any());
+    }
+
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("constraint [" + constraintName + "]",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), constraintName));
+    }
+
+    @Test
+    void createBidConcurrentDuplicateSourceListId() {
+        bidAddDTO = new BidAddDTO("Account1", "Type1", 10.00, "Source-1", null, null, null, null);
+
+        when(bidMapper.toEntity(bidAddDTO)).thenReturn(bid);
+        when(bidRepository.save(bid)).thenThrow(violationOf("bid.uk_bid_source_list_id"));
+
+        assertThrows(DuplicateBidException.class, () -> bidService.createBid(bidAddDTO));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createBidWithSourceListIdOtherConstraintViolated_rethrown() {
+        bidAddDTO = new BidAddDTO("Account1", "Type1", 10.00, "Source-1", null, null, null, null);
+        DataIntegrityViolationException violation = violationOf("bid.fk_bid_account");
+
+        when(bidMapper.toEntity(bidAddDTO)).thenReturn(bid);
+        when(bidRepository.save(bid)).thenThrow(violation);
+
+        assertEquals(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> bidService.createBid(bidAddDTO)));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateBidOk() {
-        bidUpdateDTO = new BidUpdateDTO(1, "updatedAccount", "updatedType", 15.00);
+        bidUpdateDTO = new BidUpdateDTO(1, "updatedAccount", "updatedType", 15.00, null, null, null, null);
 
         when(bidRepository.findById(1)).thenReturn(Optional.of(bid));
         when(bidRepository.save(bid)).thenReturn(bid);
@@ -107,7 +166,7 @@ class BidServiceTest {
     @Test
     void updateBidNotFound() {
         int nonExistentId = 999;
-        BidUpdateDTO updateDTO = new BidUpdateDTO(nonExistentId, "newAccount", "newType", 200.0);
+        BidUpdateDTO updateDTO = new BidUpdateDTO(nonExistentId, "newAccount", "newType", 200.0, null, null, null, null);
         
         when(bidRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
@@ -136,6 +195,56 @@ class BidServiceTest {
         verify(bidRepository, never()).delete(any());
     }
 
+    @Test
+    void transitionStatusOk() {
+        List<BidQuoteDTO> bids = List.of(new BidQuoteDTO(1, "Account1", null, "SEC", 99.0, 10.0, null, null),
+                new BidQuoteDTO(3, "Account1", null, null, null, 5.0, null, null));
+        when(bidRepository.findQuotesAfter(null, 0, 2)).thenReturn(bids);
+        when(bidRepository.updateStatus(eq(List.of(1, 3)), isNull(), eq("CANCELLED"), any())).thenReturn(2);
+        when(bidRepository.findQuotesRevised(eq(List.of(1, 3)), eq("CANCELLED"), any())).thenReturn(bids);
+
+        BidTransitionChunk result = bidService.transitionStatus(null, 0, 2, "CANCELLED", true);
+
+        assertEquals(new BidTransitionChunk(2, 3, bids), result);
+        verify(eventPublisher).publishEvent(new BidStatusEvent("CANCELLED", true, bids));
+    }
+
+    @Test
+    void transitionStatus_bidNoLongerMatching_onlyUpdatedBidsPublished() {
+        Specification<Bid> spec = BidSpecifications.statusNotIn(List.of("CANCELLED"));
+        BidQuoteDTO updated = new BidQuoteDTO(3, "Account1", null, null, null, 5.0, null, null);
+        when(bidRepository.findQuotesAfter(spec, 0, 2)).thenReturn(List.of(
+                new BidQuoteDTO(1, "Account1", null, "SEC", 99.0, 10.0, null, null), updated));
+        when(bidRepository.updateStatus(eq(List.of(1, 3)), eq(spec), eq("CANCELLED"), any())).thenReturn(1);
+        when(bidRepository.findQuotesRevised(eq(List.of(1, 3)), eq("CANCELLED"), any())).thenReturn(List.of(updated));
+
+        BidTransitionChunk result = bidService.transitionStatus(spec, 0, 2, "CANCELLED", true);
+
+        assertEquals(new BidTransitionChunk(2, 3, List.of(updated)), result);
+        verify(eventPublisher).publishEvent(new BidStatusEvent("CANCELLED", true, List.of(updated)));
+    }
+
+    @Test
+    void transitionStatus_noBidStillMatching_nothingPublished() {
+        when(bidRepository.findQuotesAfter(null, 0, 2)).thenReturn(List.of(
+                new BidQuoteDTO(1, "Account1", null, "SEC", 99.0, 10.0, null, null)));
+
+        BidTransitionChunk result = bidService.transitionStatus(null, 0, 2, "CANCELLED", true);
+
+        assertEquals(new BidTransitionChunk(1, 1, List.of()), result);
+        verify(bidRepository, never()).findQuotesRevised(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void transitionStatusNoBidLeft() {
+        when(bidRepository.findQuotesAfter(null, 3, 2)).thenReturn(List.of());
+
+        assertEquals(0, bidService.transitionStatus(null, 3, 2, "CANCELLED", true).selected());
+        verify(bidRepository, never()).updateStatus(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void getBidUpdateDTOOk() { 
         when(bidRepository.findById(anyInt())).thenReturn(Optional.of(bid));
@@ -143,7 +252,7 @@ class BidServiceTest {
         BidUpdateDTO result = bidService.getBidUpdateDTO(1);
         
         assertNotNull(result);
-        assertEquals(new BidUpdateDTO(1, "Account1", "Type1", 10.00), result);
+        assertEquals(new BidUpdateDTO(1, "Account1", "Type1", 10.00, null, null, null, null), result);
         verify(bidRepository).findById(anyInt());
     }
 
@@ -0,0 +1,91 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidFilter;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.BidTransitionChunk;
+import com.poseidoncapitalsolutions.trading.dto.display.BidTransitionDTO;
+import com.poseidoncapitalsolutions.trading.service.BidService;
+import com.poseidoncapitalsolutions.trading.service.BidStatusService;
+
+@ExtendWith(MockitoExtension.class)
+class BidStatusServiceTest {
+
+    @Mock
+    private BidService bidService;
+
+    private BidStatusService bidStatusService;
+
+    @BeforeEach
+    void setUp() {
+        bidStatusService = new BidStatusService(bidService,
+                new BidProperties(50, 500, 10000, 2, List.of("CANCELLED", "EXPIRED"), "EXPIRED", 86_400_000));
+    }
+
+    private static BidTransitionChunk chunk(int... ids) {
+        return new BidTransitionChunk(ids.length, ids.length == 0 ? 0 : ids[ids.length - 1],
+                IntStream.of(ids).mapToObj(id -> new BidQuoteDTO(id, "A", null, null, null, null, null, null)).toList());
+    }
+
+    @Test
+    void transition_filter_walksChunksAfterLastId() {
+        when(bidService.transitionStatus(any(), eq(0), eq(2), eq("CANCELLED"), eq(true))).thenReturn(chunk(1, 4));
+        when(bidService.transitionStatus(any(), eq(4), eq(2), eq("CANCELLED"), eq(true))).thenReturn(chunk(7, 9));
+        when(bidService.transitionStatus(any(), eq(9), eq(2), eq("CANCELLED"), eq(true))).thenReturn(chunk(12));
+
+        BidTransitionDTO result = bidStatusService.transition(new BidFilter("A", null, null, null, null), "CANCELLED");
+
+        assertEquals(new BidTransitionDTO("CANCELLED", 5, 3), result);
+    }
+
+    @Test
+    void expire_chunkWithBidsNoLongerMatching_nextChunkStartsAfterLastSelected() {
+        when(bidService.transitionStatus(any(), eq(0), eq(2), eq("EXPIRED"), eq(true)))
+                .thenReturn(new BidTransitionChunk(2, 5, List.of()));
+        when(bidService.transitionStatus(any(), eq(5), eq(2), eq("EXPIRED"), eq(true))).thenReturn(chunk(8));
+
+        BidTransitionDTO result = bidStatusService.expire();
+
+        assertEquals(new BidTransitionDTO("EXPIRED", 1, 2), result);
+    }
+
+    @Test
+    void transition_ids_distinctIdsInChunks() {
+        when(bidService.transitionStatus(any(), eq(0), anyInt(), eq("ACTIVE"), eq(false)))
+                .thenReturn(chunk(1, 2), chunk(3));
+
+        BidTransitionDTO result = bidStatusService.transition(List.of(3, 1, 2, 3), "ACTIVE");
+
+        assertEquals(new BidTransitionDTO("ACTIVE", 3, 2), result);
+        verify(bidService).transitionStatus(any(), eq(0), eq(2), eq("ACTIVE"), eq(false));
+        verify(bidService).transitionStatus(any(), eq(0), eq(1), eq("ACTIVE"), eq(false));
+    }
+
+    @Test
+    void expire_setsExpiredStatusUntilNoBidLeft() {
+        when(bidService.transitionStatus(any(), anyInt(), eq(2), eq("EXPIRED"), eq(true)))
+                .thenReturn(chunk(1, 2), chunk());
+
+        BidTransitionDTO result = bidStatusService.expire();
+
+        assertEquals(new BidTransitionDTO("EXPIRED", 2, 1), result);
+        verify(bidService, times(2)).transitionStatus(any(), anyInt(), eq(2), eq("EXPIRED"), eq(true));
+    }
+}
@@ -0,0 +1,56 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the interpolation throughput of a 50-point curve with each method, at random terms within and
+ * slightly beyond the curve.
+ */
+@Slf4j
+public class CurveBenchmarkIT {
+
+    private static final int POINTS = 50;
+    private static final int LOOKUPS = 10_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void measureThroughput() {
+        double[] terms = new double[POINTS];
+        double[] values = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            terms[i] = 0.25 * (i + 1) * (i + 1) / 10;
+            values[i] = Math.exp(-0.03 * terms[i]);
+        }
+        Curve curve = Curve.of(1, terms, values, POINTS);
+        SplittableRandom random = new SplittableRandom(42);
+        double[] lookups = new double[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextDouble(-1, terms[POINTS - 1] + 1);
+        }
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            for (CurveInterpolation method : CurveInterpolation.values()) {
+                double sum = 0;
+                long start = System.nanoTime();
+                for (double term : lookups) {
+                    sum += curve.interpolate(term, method);
+                }
+                long nanos = System.nanoTime() - start;
+                assertThat(sum).isPositive();
+                if (round == WARMUP_ROUNDS) {
+                    log.info("{} interpolation on {} points: {} ops/s", method, POINTS,
+                            LOOKUPS * 1_000_000_000L / Math.max(1, nanos));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.poseidoncapitalsolutions.trading.config.CurveBootstrapProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.CurveBootstrap;
+import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
+import com.poseidoncapitalsolutions.trading.service.CurveBootstrapService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the bootstrap of a 5-year daily backfill over 200 curves with a new 16-point version every weekday,
+ * from the rows streamed by the repository to the file, and the mapping of the file it leaves. The rows are
+ * generated as they are streamed rather than read from the database, so the time to fetch them is not counted.
+ */
+@Slf4j
+public class CurveBootstrapBenchmarkIT {
+
+    private static final int CURVES = 200;
+    private static final int DAYS = 1826;
+    private static final int POINTS = 16;
+    private static final List<Double> TENORS = List.of(0.25, 0.5, 1.0, 2.0, 3.0, 5.0, 7.0, 10.0, 15.0, 20.0, 30.0);
+    private static final int WARMUP_ROUNDS = 2;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void measureBackfill() throws Exception {
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(DAYS - 1);
+        CurvePointRepository curvePointRepository = mock(CurvePointRepository.class);
+        when(curvePointRepository.findCurveIdsBefore(any()))
+                .thenAnswer(invocation -> IntStream.rangeClosed(1, CURVES).boxed().toList());
+        when(curvePointRepository.streamVersionsInForce(any(), any()))
+                .thenAnswer(invocation -> rows(firstDay));
+        CurveBootstrapProperties properties = new CurveBootstrapProperties(true, directory.resolve("bootstrap.bin"),
+                DAYS, TENORS, CurveInterpolation.CUBIC_SPLINE, 0, 60000);
+        CurveBootstrapService service = new CurveBootstrapService(curvePointRepository, properties);
+        try {
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                Runtime.getRuntime().gc();
+                long start = System.nanoTime();
+                CurveBootstrapStatsDTO stats = service.rebuild();
+                long buildNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                CurveBootstrap mapped = CurveBootstrap.open(properties.file());
+                long openNanos = System.nanoTime() - start;
+
+                double[] discountFactors = new double[TENORS.size()];
+                double[] forwardRates = new double[TENORS.size()];
+                assertThat(mapped.read(CURVES, firstDay.plusDays(DAYS - 1), discountFactors, forwardRates)).isTrue();
+                assertThat(discountFactors[TENORS.size() - 1]).isBetween(0.0, 1.0);
+                if (round == WARMUP_ROUNDS) {
+                    log.info("Bootstrapped {} curves, {} versions, over {} days at {} tenors in {} ms ({} MB), "
+                            + "mapped again in {} ms on {} threads", stats.curves(), stats.versions(), DAYS,
+                            TENORS.size(), buildNanos / 1_000_000, stats.bytes() >> 20, openNanos / 1_000_000,
+                            properties.resolveParallelism());
+                }
+            }
+        } finally {
+            service.close();
+        }
+    }
+
+    /**
+     * Rows of every curve by curve, version then term, generated one curve at a time.
+     */
+    private static Stream<CurvePointRowDTO> rows(LocalDate firstDay) {
+        double[] terms = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            terms[i] = 0.25 * (i + 1) * (i + 1) / 8;
+        }
+        return IntStream.rangeClosed(1, CURVES).boxed().flatMap(curveId -> {
+            SplittableRandom random = new SplittableRandom(curveId);
+            return IntStream.range(0, DAYS)
+                    .mapToObj(firstDay::plusDays)
+                    .filter(date -> date.getDayOfWeek().getValue() <= 5)
+                    .flatMap(date -> {
+                        double level = random.nextDouble(1, 5);
+                        Timestamp asOfDate = Timestamp.from(date.atTime(17, 0).toInstant(ZoneOffset.UTC));
+                        return IntStream.range(0, POINTS).mapToObj(i -> new CurvePointRowDTO(0, curveId, asOfDate,
+                                terms[i], level + 0.1 * Math.log1p(terms[i])));
+                    });
+        });
+    }
+}
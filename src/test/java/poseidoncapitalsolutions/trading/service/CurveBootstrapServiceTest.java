@@ -0,0 +1,188 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.CurveBootstrapProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveBootstrapStatsDTO;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
+import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
+import com.poseidoncapitalsolutions.trading.service.CurveBootstrapService;
+
+@ExtendWith(MockitoExtension.class)
+class CurveBootstrapServiceTest {
+
+    private static final double EPSILON = 1e-12;
+    private static final int DAYS = 10;
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+    private static final LocalDate FIRST_DAY = TODAY.minusDays(DAYS - 1);
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    private CurveBootstrapProperties properties;
+    private CurveBootstrapService curveBootstrapService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CurveBootstrapProperties(true, directory.resolve("bootstrap.bin"), DAYS,
+                List.of(1.0, 2.0), CurveInterpolation.LINEAR, 2, 60000);
+        curveBootstrapService = new CurveBootstrapService(curvePointRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        curveBootstrapService.close();
+    }
+
+    private static Timestamp at(LocalDate day, int hour) {
+        return Timestamp.from(day.atStartOfDay(ZoneOffset.UTC).plusHours(hour).toInstant());
+    }
+
+    private void versions() {
+        Timestamp before = at(FIRST_DAY.minusDays(30), 0);
+        Timestamp changed = at(FIRST_DAY.plusDays(4), 18);
+        Timestamp second = at(FIRST_DAY.plusDays(6), 9);
+        when(curvePointRepository.findCurveIdsBefore(at(TODAY.plusDays(1), 0))).thenReturn(List.of(1, 2, 3));
+        when(curvePointRepository.streamVersionsInForce(at(FIRST_DAY, 0), at(TODAY.plusDays(1), 0)))
+                .thenAnswer(invocation -> Stream.of(
+                        new CurvePointRowDTO(1, 1, before, 1.0, 2.0),
+                        new CurvePointRowDTO(2, 1, before, 2.0, 2.0),
+                        new CurvePointRowDTO(3, 1, changed, 1.0, 4.0),
+                        new CurvePointRowDTO(4, 1, changed, 3.0, 6.0),
+                        new CurvePointRowDTO(5, 2, second, 0.5, 1.0)));
+    }
+
+    @Test
+    void rebuild_discountFactorsAndForwardsOfVersionInForceEachDay() {
+        versions();
+
+        CurveBootstrapStatsDTO stats = curveBootstrapService.rebuild();
+
+        assertEquals(new CurveBootstrapStatsDTO(FIRST_DAY, DAYS, 3, 2, 3, stats.bytes(), stats.elapsedMillis()),
+                stats);
+        CurveBootstrapDTO flat = curveBootstrapService.getRates(1, FIRST_DAY.plusDays(3));
+        assertArrayEquals(new double[] {1.0, 2.0}, flat.tenors());
+        assertEquals(Math.exp(-0.02), flat.discountFactors()[0], EPSILON);
+        assertEquals(Math.exp(-0.04), flat.discountFactors()[1], EPSILON);
+        assertEquals(2.0, flat.forwardRates()[0], EPSILON);
+        assertEquals(2.0, flat.forwardRates()[1], EPSILON);
+
+        // The version dated late on day 4 is in force from day 4 on: 4% at 1y, 5% at 2y
+        CurveBootstrapDTO steep = curveBootstrapService.getRates(1, FIRST_DAY.plusDays(4));
+        assertEquals(Math.exp(-0.04), steep.discountFactors()[0], EPSILON);
+        assertEquals(Math.exp(-0.10), steep.discountFactors()[1], EPSILON);
+        assertEquals(6.0, steep.forwardRates()[1], EPSILON);
+
+        assertNull(curveBootstrapService.getRates(2, FIRST_DAY.plusDays(5)));
+        assertEquals(1.0, curveBootstrapService.getRates(2, TODAY).forwardRates()[1], EPSILON);
+        assertNull(curveBootstrapService.getRates(1, TODAY.plusDays(1)));
+        // Curve 3 has no version read
+        assertNull(curveBootstrapService.getRates(3, TODAY));
+        assertNull(curveBootstrapService.getRates(4, TODAY));
+    }
+
+    @Test
+    void rebuild_deletedCurve_noRatesFromItsTombstone() {
+        Timestamp before = at(FIRST_DAY.minusDays(30), 0);
+        Timestamp deleted = at(FIRST_DAY.plusDays(2), 12);
+        when(curvePointRepository.findCurveIdsBefore(at(TODAY.plusDays(1), 0))).thenReturn(List.of(1, 2));
+        when(curvePointRepository.streamVersionsInForce(at(FIRST_DAY, 0), at(TODAY.plusDays(1), 0)))
+                .thenAnswer(invocation -> Stream.of(
+                        new CurvePointRowDTO(1, 1, before, 1.0, 2.0),
+                        new CurvePointRowDTO(2, 1, deleted, 0, 0, true),
+                        new CurvePointRowDTO(3, 2, before, 0, 0, true)));
+
+        CurveBootstrapStatsDTO stats = curveBootstrapService.rebuild();
+
+        assertEquals(2, stats.curves());
+        assertEquals(Math.exp(-0.02), curveBootstrapService.getRates(1, FIRST_DAY.plusDays(1)).discountFactors()[0],
+                EPSILON);
+        assertNull(curveBootstrapService.getRates(1, FIRST_DAY.plusDays(2)));
+        assertNull(curveBootstrapService.getRates(1, TODAY));
+        // Curve 2 was deleted before the window
+        assertNull(curveBootstrapService.getRates(2, FIRST_DAY));
+        assertNull(curveBootstrapService.getRates(2, TODAY));
+    }
+
+    @Test
+    void load_validFileOfPreviousRun_mappedWithoutReadingCurves() {
+        versions();
+        curveBootstrapService.rebuild();
+        CurveBootstrapDTO expected = curveBootstrapService.getRates(1, TODAY);
+
+        CurveBootstrapService restarted = new CurveBootstrapService(curvePointRepository, properties);
+        try {
+            restarted.load();
+
+            CurveBootstrapDTO rates = restarted.getRates(1, TODAY);
+            assertArrayEquals(expected.discountFactors(), rates.discountFactors());
+            assertArrayEquals(expected.forwardRates(), rates.forwardRates());
+            verify(curvePointRepository, times(1)).streamVersionsInForce(any(), any());
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    void load_corruptFile_rebuilt() throws Exception {
+        Files.write(properties.file(), new byte[] {1, 2, 3});
+        versions();
+
+        curveBootstrapService.load();
+
+        assertNotNull(curveBootstrapService.getRates(1, TODAY));
+    }
+
+    @Test
+    void onCurveReplacedEvent_fileDeletedThenRebuiltOnRefresh() {
+        versions();
+        curveBootstrapService.rebuild();
+        curveBootstrapService.refresh();
+        verify(curvePointRepository, times(1)).streamVersionsInForce(any(), any());
+
+        curveBootstrapService.onCurveReplacedEvent(new CurveReplacedEvent(1));
+
+        assertFalse(Files.exists(properties.file()));
+        curveBootstrapService.refresh();
+        assertTrue(Files.exists(properties.file()));
+        verify(curvePointRepository, times(2)).streamVersionsInForce(any(), any());
+    }
+
+    @Test
+    void getRates_beforeAnyBuild_null() {
+        assertNull(curveBootstrapService.getRates(1, TODAY));
+        verify(curvePointRepository, never()).streamVersionsInForce(any(), any());
+    }
+}
@@ -1,16 +1,22 @@
 package poseidoncapitalsolutions.trading.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,16 +24,26 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.poseidoncapitalsolutions.trading.dto.CurvePointAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
 import com.poseidoncapitalsolutions.trading.dto.CurvePointUpdateDTO;
+import com.poseidoncapitalsolutions.trading.dto.CurveReplaceResult;
+import com.poseidoncapitalsolutions.trading.dto.CurveSnapshotDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.CurvePointListItemDTO;
+import com.poseidoncapitalsolutions.trading.event.CurvePointEvent;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
 import com.poseidoncapitalsolutions.trading.exception.CurvePointNotFoundException;
 import com.poseidoncapitalsolutions.trading.mapper.CurvePointMapper;
+import com.poseidoncapitalsolutions.trading.model.CurveLock;
 import com.poseidoncapitalsolutions.trading.model.CurvePoint;
+import com.poseidoncapitalsolutions.trading.repository.CurveLockRepository;
 import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
 import com.poseidoncapitalsolutions.trading.service.CurvePointService;
 
@@ -37,9 +53,15 @@ class CurvePointServiceTest {
     @Mock
     private CurvePointRepository curvePointRepository;
 
+    @Mock
+    private CurveLockRepository curveLockRepository;
+
     @Mock
     private CurvePointMapper curvePointMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CurvePointService curvePointService;
 
@@ -58,14 +80,26 @@ class CurvePointServiceTest {
     void getAllCurvePointsOk() {
         CurvePointListItemDTO expectedListItemDTO = new CurvePointListItemDTO(1, 10, 2.5, 3.8);
 
-        when(curvePointRepository.findAll()).thenReturn(Arrays.asList(curvePoint));
-        when(curvePointMapper.toListItemDtoList(anyList())).thenReturn(Arrays.asList(expectedListItemDTO));
+        when(curvePointRepository.findAllListItems()).thenReturn(Arrays.asList(expectedListItemDTO));
         
         List<CurvePointListItemDTO> result = curvePointService.getAll();
         
         assertEquals(1, result.size());
         assertEquals(expectedListItemDTO, result.get(0));
-        verify(curvePointRepository).findAll();
+        verify(curvePointRepository).findAllListItems();
+    }
+
+    private void latestVersion(CurvePointRowDTO... points) {
+        Timestamp latest = Timestamp.valueOf("2026-10-15 00:00:00");
+        when(curvePointRepository.findLatestVersion(10)).thenReturn(latest);
+        when(curvePointRepository.findPointsOfVersion(10, latest)).thenReturn(List.of(points));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CurvePoint> savedVersion() {
+        ArgumentCaptor<List<CurvePoint>> saved = ArgumentCaptor.forClass(List.class);
+        verify(curvePointRepository).saveAll(saved.capture());
+        return saved.getValue();
     }
 
     @Test
@@ -76,7 +110,7 @@ class CurvePointServiceTest {
         CurvePointAddDTO addDTO = new CurvePointAddDTO(expectedCurveId, expectedTerm, expectedValue);
         
         when(curvePointMapper.toEntity(any())).thenReturn(curvePoint);
-        when(curvePointRepository.save(any())).thenReturn(curvePoint);
+        latestVersion(new CurvePointRowDTO(5, 10, null, 1.0, 1.5));
         
         CurvePoint result = curvePointService.createCurvePoint(addDTO);
         
@@ -84,22 +118,123 @@ class CurvePointServiceTest {
         assertEquals(expectedCurveId, result.getCurveId());
         assertEquals(expectedTerm, result.getTerm());
         assertEquals(expectedValue, result.getValue());
+        assertNotNull(result.getAsOfDate());
         assertNotNull(result.getCreationDate());
-        verify(curvePointRepository).save(curvePoint);
+        List<CurvePoint> version = savedVersion();
+        assertEquals(2, version.size());
+        assertTrue(version.stream().allMatch(point -> point.getAsOfDate().equals(result.getAsOfDate())));
+        verify(eventPublisher).publishEvent(CurvePointEvent.created(result));
+    }
+
+    @Test
+    void createCurvePoint_curveLockedBeforeLatestVersionRead() {
+        when(curvePointMapper.toEntity(any())).thenReturn(curvePoint);
+        when(curveLockRepository.lock(10)).thenReturn(Optional.of(new CurveLock(10)));
+        latestVersion(new CurvePointRowDTO(5, 10, null, 1.0, 1.5));
+
+        curvePointService.createCurvePoint(new CurvePointAddDTO(10, 2.5, 3.8));
+
+        InOrder order = inOrder(curveLockRepository, curvePointRepository);
+        order.verify(curveLockRepository).lock(10);
+        order.verify(curvePointRepository).findLatestVersion(10);
+        order.verify(curvePointRepository).saveAll(any());
+        verify(curveLockRepository, never()).insertIfMissing(anyInt());
+    }
+
+    @Test
+    void createCurvePoint_firstWriteOfCurve_lockRowInsertedThenLocked() {
+        when(curvePointMapper.toEntity(any())).thenReturn(curvePoint);
+
+        curvePointService.createCurvePoint(new CurvePointAddDTO(10, 2.5, 3.8));
+
+        InOrder order = inOrder(curveLockRepository, curvePointRepository);
+        order.verify(curveLockRepository).lock(10);
+        order.verify(curveLockRepository).insertIfMissing(10);
+        order.verify(curveLockRepository).lock(10);
+        order.verify(curvePointRepository).findLatestVersion(10);
+    }
+
+    @Test
+    void updateCurvePoint_movedToOtherCurve_bothCurvesLockedInIdOrder() {
+        CurvePointUpdateDTO updateDTO = new CurvePointUpdateDTO(1, 5, 2.5, 3.8);
+        when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint));
+        when(curvePointMapper.copy(curvePoint)).thenAnswer(invocation -> new CurvePoint(1, 10, null, 2.5, 3.8, null, false));
+        doAnswer(invocation -> {
+            invocation.<CurvePoint>getArgument(1).setCurveId(5);
+            return null;
+        }).when(curvePointMapper).updateEntityFromDto(eq(updateDTO), any());
+        when(curveLockRepository.lock(anyInt())).thenAnswer(invocation -> Optional.of(new CurveLock(invocation.getArgument(0))));
+
+        curvePointService.updateCurvePoint(updateDTO);
+
+        InOrder order = inOrder(curveLockRepository, curvePointRepository);
+        order.verify(curveLockRepository).lock(5);
+        order.verify(curveLockRepository).lock(10);
+        order.verify(curvePointRepository).findLatestVersion(10);
+        order.verify(curvePointRepository).findLatestVersion(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaceCurveOk() {
+        Timestamp asOfDate = Timestamp.valueOf("2026-10-16 00:00:00");
+        CurvePoint unchanged = new CurvePoint(1, 10, asOfDate, 1.0, 1.5, null, false);
+        CurvePoint changed = new CurvePoint(2, 10, asOfDate, 2.0, 2.5, null, false);
+        CurvePoint removed = new CurvePoint(3, 10, asOfDate, 3.0, 3.5, null, false);
+        CurvePoint duplicate = new CurvePoint(4, 10, asOfDate, 2.0, 2.5, null, false);
+        when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTermAscIdAsc(10, asOfDate))
+                .thenReturn(List.of(unchanged, changed, duplicate, removed));
+        CurveSnapshotDTO snapshot = new CurveSnapshotDTO(asOfDate, List.of(new CurveSnapshotDTO.Point(1.0, 1.5),
+                new CurveSnapshotDTO.Point(2.0, 2.6), new CurveSnapshotDTO.Point(5.0, 5.5)));
+
+        CurveReplaceResult result = curvePointService.replaceCurve(10, snapshot);
+
+        assertEquals(new CurveReplaceResult(10, 1, 1, 2, 1, result.elapsedMillis()), result);
+        assertEquals(2.6, changed.getValue());
+        ArgumentCaptor<List<CurvePoint>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(curvePointRepository).saveAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(5.0, inserted.getValue().getFirst().getTerm());
+        assertEquals(asOfDate, inserted.getValue().getFirst().getAsOfDate());
+        verify(curvePointRepository).deleteAllByIdInBatch(List.of(4, 3));
+        verify(eventPublisher).publishEvent(new CurveReplacedEvent(10));
+    }
+
+    @Test
+    void curveSnapshotFromCsv() throws IOException {
+        CurveSnapshotDTO snapshot = CurveSnapshotDTO.fromCsv(null,
+                new StringReader("value, term\r\n0.5,1\r\n\r\n0.75,2\r\n"));
+
+        assertEquals(List.of(new CurveSnapshotDTO.Point(1.0, 0.5), new CurveSnapshotDTO.Point(2.0, 0.75)),
+                snapshot.points());
+        assertThrows(IllegalArgumentException.class,
+                () -> CurveSnapshotDTO.fromCsv(null, new StringReader("term,value\n1,0.5\n1,0.6\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CurveSnapshotDTO.fromCsv(null, new StringReader("term,value\n1,abc\n")));
     }
 
     @Test
     void updateCurvePointOk() {
-        CurvePointUpdateDTO updateDTO = new CurvePointUpdateDTO(1, 20, 3.0, 4.2);
+        CurvePointUpdateDTO updateDTO = new CurvePointUpdateDTO(1, 10, 3.0, 4.2);
 
         when(curvePointRepository.findById(1)).thenReturn(Optional.of(curvePoint));
-        when(curvePointRepository.save(curvePoint)).thenReturn(curvePoint);
+        when(curvePointMapper.copy(curvePoint)).thenAnswer(invocation -> new CurvePoint(1, 10, null, 2.5, 3.8, null, false));
+        doAnswer(invocation -> {
+            CurvePoint target = invocation.getArgument(1);
+            target.setTerm(3.0);
+            target.setValue(4.2);
+            return null;
+        }).when(curvePointMapper).updateEntityFromDto(eq(updateDTO), any());
+        latestVersion(new CurvePointRowDTO(1, 10, null, 2.5, 3.8), new CurvePointRowDTO(5, 10, null, 1.0, 1.5));
 
         CurvePoint result = curvePointService.updateCurvePoint(updateDTO);
 
-        assertEquals(1, result.getId());
-        verify(curvePointMapper).updateEntityFromDto(updateDTO, curvePoint);
-        verify(curvePointRepository).save(curvePoint);
+        assertEquals(3.0, result.getTerm());
+        assertEquals(4.2, result.getValue());
+        assertEquals(2.5, curvePoint.getTerm());
+        assertEquals(List.of(1.0, 3.0), savedVersion().stream().map(CurvePoint::getTerm).sorted().toList());
+        verify(eventPublisher).publishEvent(CurvePointEvent.updated(new CurvePoint(1, 10, null, 2.5, 3.8, null, false),
+                result));
     }
 
     @Test
@@ -110,17 +245,52 @@ class CurvePointServiceTest {
         when(curvePointRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         assertThrows(CurvePointNotFoundException.class, () -> curvePointService.updateCurvePoint(updateDTO));
-        verify(curvePointRepository, never()).save(any());
+        verify(curvePointRepository, never()).saveAll(any());
     }
 
     @Test
     void deleteByIdOk() {
         when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
-        doNothing().when(curvePointRepository).delete(any());
+        latestVersion(new CurvePointRowDTO(1, 10, null, 2.5, 3.8), new CurvePointRowDTO(5, 10, null, 1.0, 1.5));
         
         curvePointService.deleteById(1);
         
-        verify(curvePointRepository).delete(any());
+        List<CurvePoint> version = savedVersion();
+        assertEquals(1, version.size());
+        assertEquals(1.0, version.getFirst().getTerm());
+        verify(curvePointRepository, never()).delete(any());
+        verify(eventPublisher).publishEvent(CurvePointEvent.deleted(curvePoint));
+    }
+
+    @Test
+    void deleteByIdLastPoint_tombstoneVersionAppended() {
+        when(curvePointRepository.findById(anyInt())).thenReturn(Optional.of(curvePoint));
+        latestVersion(new CurvePointRowDTO(1, 10, null, 2.5, 3.8));
+
+        curvePointService.deleteById(1);
+
+        List<CurvePoint> version = savedVersion();
+        assertEquals(1, version.size());
+        assertTrue(version.getFirst().isDeleted());
+        assertEquals(10, version.getFirst().getCurveId());
+        assertNotNull(version.getFirst().getAsOfDate());
+        verify(curvePointRepository, never()).deleteAllByIdInBatch(any());
+        verify(eventPublisher).publishEvent(CurvePointEvent.deleted(curvePoint));
+    }
+
+    @Test
+    void replaceCurveOverTombstone_tombstoneReplacedByPoints() {
+        Timestamp asOfDate = Timestamp.valueOf("2026-10-15 00:00:00");
+        when(curvePointRepository.findByCurveIdAndAsOfDateOrderByTermAscIdAsc(10, asOfDate))
+                .thenReturn(List.of(new CurvePoint(7, 10, asOfDate, 0, 0, null, true)));
+
+        CurveReplaceResult result = curvePointService.replaceCurve(10,
+                new CurveSnapshotDTO(asOfDate, List.of(new CurveSnapshotDTO.Point(1.0, 1.5))));
+
+        assertEquals(1, result.inserted());
+        assertEquals(0, result.deleted());
+        assertFalse(savedVersion().getFirst().isDeleted());
+        verify(curvePointRepository).deleteAllByIdInBatch(List.of(7));
     }
 
     @Test
@@ -130,7 +300,7 @@ class CurvePointServiceTest {
        
         assertThrows(CurvePointNotFoundException.class, () -> curvePointService.deleteById(nonExistentId));
 
-        verify(curvePointRepository, never()).delete(any());
+        verify(curvePointRepository, never()).saveAll(any());
     }
 
     @Test
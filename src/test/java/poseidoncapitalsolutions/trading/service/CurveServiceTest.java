@@ -0,0 +1,226 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.CurveProperties;
+import com.poseidoncapitalsolutions.trading.dto.CurveInterpolation;
+import com.poseidoncapitalsolutions.trading.dto.CurvePointRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.CurveChartDTO;
+import com.poseidoncapitalsolutions.trading.engine.Curve;
+import com.poseidoncapitalsolutions.trading.event.CurvePointEvent;
+import com.poseidoncapitalsolutions.trading.event.CurveReplacedEvent;
+import com.poseidoncapitalsolutions.trading.model.CurvePoint;
+import com.poseidoncapitalsolutions.trading.repository.CurvePointRepository;
+import com.poseidoncapitalsolutions.trading.service.CurveService;
+
+@ExtendWith(MockitoExtension.class)
+class CurveServiceTest {
+
+    private static final double EPSILON = 1e-12;
+    private static final Timestamp PAST = Timestamp.valueOf("2026-10-01 00:00:00");
+    private static final Timestamp LATEST = Timestamp.valueOf("2026-10-15 00:00:00");
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    private CurveService curveService;
+
+    @BeforeEach
+    void setUp() {
+        when(curvePointRepository.streamLatestPoints()).thenReturn(Stream.of(
+                new CurvePointRowDTO(1, 1, LATEST, 1.0, 2.0),
+                new CurvePointRowDTO(2, 1, LATEST, 2.0, 8.0),
+                new CurvePointRowDTO(7, 1, LATEST, 2.0, 4.0),
+                new CurvePointRowDTO(3, 1, LATEST, 4.0, 1.0),
+                new CurvePointRowDTO(4, 2, LATEST, 0.0, 1.0),
+                new CurvePointRowDTO(5, 2, LATEST, 1.0, 3.0),
+                new CurvePointRowDTO(6, 2, LATEST, 2.0, 5.0)));
+        curveService = new CurveService(curvePointRepository, new CurveProperties(2, 800, 4000));
+        curveService.load();
+    }
+
+    private static CurvePoint point(int curveId) {
+        CurvePoint point = new CurvePoint();
+        point.setCurveId(curveId);
+        return point;
+    }
+
+    @Test
+    void load_duplicateTerm_lastPointKept() {
+        Curve curve = curveService.getCurve(1);
+
+        assertEquals(3, curve.size());
+        assertEquals(4.0, curve.value(1));
+        assertEquals(List.of(1, 2), curveService.getCurveIds());
+    }
+
+    @Test
+    void interpolate_linearAndLogLinear_betweenAndOutsidePoints() {
+        Curve curve = curveService.getCurve(1);
+
+        assertEquals(3.0, curve.interpolate(1.5, CurveInterpolation.LINEAR), EPSILON);
+        assertEquals(Math.sqrt(8.0), curve.interpolate(1.5, CurveInterpolation.LOG_LINEAR), EPSILON);
+        assertEquals(4.0, curve.interpolate(2.0, CurveInterpolation.LOG_LINEAR), EPSILON);
+        assertEquals(2.0, curve.interpolate(0.0, CurveInterpolation.LINEAR));
+        assertEquals(1.0, curve.interpolate(9.0, CurveInterpolation.CUBIC_SPLINE));
+        Curve withZero = Curve.of(9, new double[] {1.0, 2.0}, new double[] {0.0, 1.0}, 2);
+        assertTrue(Double.isNaN(withZero.interpolate(1.5, CurveInterpolation.LOG_LINEAR)));
+    }
+
+    @Test
+    void interpolate_cubicSpline_throughPointsAndExactOnLines() {
+        Curve line = curveService.getCurve(2);
+        assertEquals(2.0, line.interpolate(0.5, CurveInterpolation.CUBIC_SPLINE), EPSILON);
+        assertEquals(4.6, line.interpolate(1.8, CurveInterpolation.CUBIC_SPLINE), EPSILON);
+
+        Curve curve = curveService.getCurve(1);
+        assertEquals(4.0, curve.interpolate(2.0, CurveInterpolation.CUBIC_SPLINE), EPSILON);
+        // Natural spline through (1, 2), (2, 4), (4, 1): second derivative -3.5 at term 2
+        assertEquals(3.21875, curve.interpolate(1.5, CurveInterpolation.CUBIC_SPLINE), EPSILON);
+    }
+
+    @Test
+    void load_curvesReloadedWhileStreaming_notOverwrittenByStreamedVersion() {
+        Timestamp now = Timestamp.valueOf("2026-10-16 00:00:00");
+        CurveService service = new CurveService(curvePointRepository, new CurveProperties(2, 800, 4000));
+        when(curvePointRepository.findLatestVersion(2)).thenReturn(now);
+        when(curvePointRepository.findPointsOfVersion(2, now)).thenReturn(List.of(new CurvePointRowDTO(8, 2, now, 0.0, 7.0)));
+        when(curvePointRepository.findLatestVersion(3)).thenReturn(null);
+        when(curvePointRepository.streamLatestPoints()).thenReturn(Stream.of(
+                new CurvePointRowDTO(1, 1, LATEST, 1.0, 2.0),
+                new CurvePointRowDTO(4, 2, LATEST, 0.0, 1.0),
+                new CurvePointRowDTO(5, 3, LATEST, 0.0, 1.0))
+                .peek(point -> {
+                    if (point.id() == 1) {
+                        service.onCurveReplacedEvent(new CurveReplacedEvent(2));
+                        service.onCurveReplacedEvent(new CurveReplacedEvent(3));
+                    }
+                }));
+
+        service.load();
+
+        assertEquals(List.of(1, 2), service.getCurveIds());
+        assertEquals(7.0, service.getCurve(2).value(0));
+        assertEquals(now, service.getCurve(2).asOfDate());
+    }
+
+    @Test
+    void onCurvePointEvent_curveReloadedAndSwapped() {
+        Curve before = curveService.getCurve(2);
+        Timestamp now = Timestamp.valueOf("2026-10-16 00:00:00");
+        when(curvePointRepository.findLatestVersion(1)).thenReturn(null);
+        when(curvePointRepository.findLatestVersion(2)).thenReturn(now);
+        when(curvePointRepository.findPointsOfVersion(2, now)).thenReturn(List.of(new CurvePointRowDTO(8, 2, now, 0.0, 1.0)));
+
+        curveService.onCurvePointEvent(CurvePointEvent.updated(point(1), point(2)));
+
+        assertNull(curveService.getCurve(1));
+        Curve after = curveService.getCurve(2);
+        assertEquals(1, after.size());
+        assertEquals(3, before.size());
+        assertSame(after, curveService.getCurve(2));
+        assertEquals(1.0, after.interpolate(5.0, CurveInterpolation.CUBIC_SPLINE));
+        assertEquals(now, after.asOfDate());
+    }
+
+    @Test
+    void getCurveAsOf_pastVersionReadOnceThenCached() {
+        Timestamp asOf = Timestamp.valueOf("2026-10-10 00:00:00");
+        when(curvePointRepository.findVersionAsOf(1, asOf)).thenReturn(PAST);
+        when(curvePointRepository.findPointsOfVersion(1, PAST)).thenReturn(List.of(
+                new CurvePointRowDTO(10, 1, PAST, 1.0, 1.0), new CurvePointRowDTO(11, 1, PAST, 3.0, 2.0)));
+
+        Curve past = curveService.getCurveAsOf(1, asOf);
+
+        assertEquals(PAST, past.asOfDate());
+        assertEquals(1.5, past.interpolate(2.0, CurveInterpolation.LINEAR), EPSILON);
+        assertSame(past, curveService.getCurveAsOf(1, asOf));
+        verify(curvePointRepository, times(1)).findPointsOfVersion(1, PAST);
+    }
+
+    @Test
+    void getCurveAsOf_latestVersionOrNone() {
+        Timestamp now = Timestamp.valueOf("2026-10-16 00:00:00");
+        when(curvePointRepository.findVersionAsOf(1, now)).thenReturn(LATEST);
+        when(curvePointRepository.findVersionAsOf(1, PAST)).thenReturn(null);
+
+        assertSame(curveService.getCurve(1), curveService.getCurveAsOf(1, now));
+        assertNull(curveService.getCurveAsOf(1, PAST));
+        verify(curvePointRepository, never()).findPointsOfVersion(anyInt(), any());
+    }
+
+    @Test
+    void onCurveReplacedEvent_pastVersionsEvicted() {
+        when(curvePointRepository.findVersionAsOf(1, PAST)).thenReturn(PAST);
+        when(curvePointRepository.findPointsOfVersion(1, PAST))
+                .thenReturn(List.of(new CurvePointRowDTO(10, 1, PAST, 1.0, 1.0)))
+                .thenReturn(List.of(new CurvePointRowDTO(10, 1, PAST, 1.0, 7.0)));
+        assertEquals(1.0, curveService.getCurveAsOf(1, PAST).value(0));
+        when(curvePointRepository.findLatestVersion(1)).thenReturn(LATEST);
+        when(curvePointRepository.findPointsOfVersion(1, LATEST)).thenReturn(List.of(new CurvePointRowDTO(1, 1, LATEST, 1.0, 2.0)));
+
+        curveService.onCurveReplacedEvent(new CurveReplacedEvent(1));
+
+        assertEquals(7.0, curveService.getCurveAsOf(1, PAST).value(0));
+    }
+
+    @Test
+    void getCurveChart_fewerPointsThanWidth_allPointsKept() {
+        CurveChartDTO chart = curveService.getCurveChart(1, null, 800);
+
+        assertEquals(3, chart.sourcePoints());
+        assertArrayEquals(new double[] {1.0, 2.0, 4.0}, chart.x());
+        assertArrayEquals(new double[] {2.0, 4.0, 1.0}, chart.y());
+        assertNull(curveService.getCurveChart(5, null, 800));
+    }
+
+    @Test
+    void getTermHistory_versionsStreamedAndDownsampledKeepingPeaks() {
+        Timestamp from = new Timestamp(0);
+        Timestamp to = Timestamp.valueOf("2026-10-16 00:00:00");
+        int versions = 1000;
+        when(curvePointRepository.countVersions(1, from, to)).thenReturn((long) versions);
+        when(curvePointRepository.streamVersions(1, from, to)).thenReturn(IntStream.range(0, versions)
+                .boxed()
+                .flatMap(i -> {
+                    Timestamp asOfDate = new Timestamp(i * 86_400_000L);
+                    double level = i == 500 ? 50.0 : i % 10;
+                    return Stream.of(new CurvePointRowDTO(2 * i, 1, asOfDate, 1.0, level),
+                            new CurvePointRowDTO(2 * i + 1, 1, asOfDate, 3.0, level + 2));
+                }));
+
+        CurveChartDTO chart = curveService.getTermHistory(1, 2.0, CurveInterpolation.LINEAR, from, to, 50);
+
+        assertEquals(versions, chart.sourcePoints());
+        assertEquals(50, chart.x().length);
+        assertEquals(0.0, chart.x()[0]);
+        assertEquals((versions - 1) * 86_400_000.0, chart.x()[49]);
+        assertEquals(1.0, chart.y()[0], EPSILON);
+        assertTrue(Arrays.stream(chart.y()).anyMatch(value -> value == 51.0));
+        for (int i = 1; i < chart.x().length; i++) {
+            assertTrue(chart.x()[i] > chart.x()[i - 1]);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.IdempotencyProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.IdempotencyStatsDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSourceListIdRepository;
+import com.poseidoncapitalsolutions.trading.service.IdempotencyService;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private TradeSourceListIdRepository tradeSourceListIdRepository;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    private IdempotencyService service(long expectedKeys, double falsePositiveRate) {
+        return new IdempotencyService(tradeSourceListIdRepository, bidRepository,
+                new IdempotencyProperties(expectedKeys, falsePositiveRate, 100));
+    }
+
+    @Test
+    void isDuplicateTrade_newKey_answeredByBloomFilterWithoutProbe() {
+        when(tradeSourceListIdRepository.streamSourceListIds()).thenReturn(Stream.of("Source-1", "Source-2"));
+        when(bidRepository.streamSourceListIds()).thenReturn(Stream.of());
+        IdempotencyService service = service(1000, 0.01);
+        service.load();
+
+        assertFalse(service.isDuplicateTrade("Source-3"));
+        assertFalse(service.isDuplicateTrade(null));
+
+        verify(tradeSourceListIdRepository, never()).existsById(anyString());
+        IdempotencyStatsDTO stats = service.getStats().getFirst();
+        assertEquals(2, stats.keys());
+        assertEquals(1, stats.checks());
+        assertEquals(1, stats.bloomMisses());
+    }
+
+    @Test
+    void isDuplicateTrade_loadedKey_probedOnceThenCached() {
+        when(tradeSourceListIdRepository.streamSourceListIds()).thenReturn(Stream.of("Source-1"));
+        when(bidRepository.streamSourceListIds()).thenReturn(Stream.of());
+        when(tradeSourceListIdRepository.existsById("Source-1")).thenReturn(true);
+        IdempotencyService service = service(1000, 0.01);
+        service.load();
+
+        assertTrue(service.isDuplicateTrade("Source-1"));
+        assertTrue(service.isDuplicateTrade("Source-1"));
+
+        verify(tradeSourceListIdRepository, times(1)).existsById("Source-1");
+        IdempotencyStatsDTO stats = service.getStats().getFirst();
+        assertEquals(1, stats.probes());
+        assertEquals(1, stats.recentHits());
+        assertEquals(0, stats.falsePositives());
+    }
+
+    @Test
+    void isDuplicateTrade_saturatedBloomFilter_countsFalsePositive() {
+        when(tradeSourceListIdRepository.streamSourceListIds())
+                .thenReturn(IntStream.range(0, 1000).mapToObj(i -> "Source-" + i));
+        when(bidRepository.streamSourceListIds()).thenReturn(Stream.of());
+        IdempotencyService service = service(1, 0.5);
+        service.load();
+
+        assertFalse(service.isDuplicateTrade("Unknown"));
+
+        verify(tradeSourceListIdRepository).existsById("Unknown");
+        IdempotencyStatsDTO stats = service.getStats().getFirst();
+        assertEquals(1, stats.falsePositives());
+        assertEquals(1.0, stats.falsePositiveRate());
+        assertTrue(stats.expectedFalsePositiveRate() > 0.99);
+    }
+
+    @Test
+    void onEvents_createdKeys_areDuplicatesWithoutProbe() {
+        IdempotencyService service = service(1000, 0.01);
+        Trade trade = new Trade();
+        trade.setSourceListId("Source-1");
+        Bid bid = new Bid();
+        bid.setSourceListId("Bid-1");
+
+        service.onTradeEvent(TradeEvent.created(trade));
+        service.onBidEvent(BidEvent.created(bid));
+
+        assertTrue(service.isDuplicateTrade("Source-1"));
+        assertTrue(service.isDuplicateBid("Bid-1"));
+        assertFalse(service.isDuplicateBid("Source-1"));
+        verify(tradeSourceListIdRepository, never()).existsById(anyString());
+        assertEquals("bid", service.getStats().get(1).scope());
+        assertEquals(1, service.getStats().get(1).recentHits());
+    }
+}
@@ -0,0 +1,134 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.poseidoncapitalsolutions.trading.TradingApplication;
+import com.poseidoncapitalsolutions.trading.dto.display.BidListItemDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.BidService;
+import com.poseidoncapitalsolutions.trading.service.TradeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the latency and allocation of a list page read through managed entities copied into DTOs
+ * with the constructor-expression projection the list services use.
+ */
+@SpringBootTest(classes = TradingApplication.class)
+@ActiveProfiles("test")
+@Slf4j
+public class ListPageBenchmarkIT {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        bidRepository.deleteAllInBatch();
+        tradeRepository.deleteAllInBatch();
+    }
+
+    private record Measurement(double millis, long bytes) {
+    }
+
+    private static Measurement measure(Supplier<List<?>> listPage) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(listPage.get()).hasSize(ROWS);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            listPage.get();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+        long bytes = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+        return new Measurement(millis, bytes);
+    }
+
+    private static void report(String page, Measurement entities, Measurement projection) {
+        log.info("{} list page of {} rows: entities {} ms / {} KB, projection {} ms / {} KB", page, ROWS,
+                String.format("%.2f", entities.millis()), entities.bytes() / 1024,
+                String.format("%.2f", projection.millis()), projection.bytes() / 1024);
+    }
+
+    @Test
+    void compareBidListPage() {
+        List<Bid> bids = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Bid bid = new Bid();
+            bid.setAccount("Account" + i);
+            bid.setType("TypeA");
+            bid.setBidQuantity(10.0 + i);
+            bid.setCommentary("Commentary " + i);
+            bids.add(bid);
+        }
+        bidRepository.saveAll(bids);
+
+        Measurement entities = measure(() -> transactionTemplate.execute(status -> bidRepository.findAll().stream()
+                .map(bid -> new BidListItemDTO(bid.getId(), bid.getAccount(), bid.getType(), bid.getBidQuantity()))
+                .toList()));
+        Measurement projection = measure(bidService::getAllBids);
+
+        report("Bid", entities, projection);
+        assertThat(projection.bytes()).isLessThan(entities.bytes());
+    }
+
+    @Test
+    void compareTradeListPage() {
+        List<Trade> trades = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < ROWS; i++) {
+            Trade trade = new Trade();
+            trade.setAccount("Account" + i);
+            trade.setType("TypeA");
+            trade.setBuyQuantity(10.0 + i);
+            trade.setSecurity("Security" + i % 50);
+            trade.setTradeDate(now);
+            trades.add(trade);
+        }
+        tradeRepository.saveAll(trades);
+
+        Measurement entities = measure(() -> transactionTemplate.execute(status -> tradeRepository.findAll().stream()
+                .map(trade -> new TradeListItemDTO(trade.getId(), trade.getAccount(), trade.getType(),
+                        trade.getBuyQuantity(), trade.getTradeDate()))
+                .toList()));
+        Measurement projection = measure(tradeService::getAllTrades);
+
+        report("Trade", entities, projection);
+        assertThat(projection.bytes()).isLessThan(entities.bytes());
+    }
+}
@@ -0,0 +1,311 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.config.MatchingProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.MatchedTradeDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.MatchingStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.Fill;
+import com.poseidoncapitalsolutions.trading.engine.MatchingEngine;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.MatchingService;
+import com.poseidoncapitalsolutions.trading.service.TradeService;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingServiceTest {
+
+    private static final BidProperties BID_PROPERTIES =
+            new BidProperties(50, 500, 10000, 1000, List.of("CANCELLED", "EXPIRED"), "EXPIRED", 86_400_000);
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private BidRepository bidRepository;
+
+    private final List<TradeImportDTO> booked = Collections.synchronizedList(new ArrayList<>());
+    private final List<MatchingService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            List<TradeImportDTO> trades = invocation.getArgument(0);
+            booked.addAll(trades);
+            return trades.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MatchingService service : services) {
+            service.stop();
+        }
+    }
+
+    private MatchingService service(int shards) {
+        MatchingService service = new MatchingService(tradeService, tradeRepository, bidRepository,
+                new MatchingProperties(true, shards, 100, 10, 1000), BID_PROPERTIES, false);
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private static Bid bid(int id, String account, String security, Double bidPrice, Double bidQuantity,
+                           Double askPrice, Double askQuantity) {
+        Bid bid = new Bid();
+        bid.setId(id);
+        bid.setAccount(account);
+        bid.setSecurity(security);
+        bid.setBid(bidPrice);
+        bid.setBidQuantity(bidQuantity);
+        bid.setAsk(askPrice);
+        bid.setAskQuantity(askQuantity);
+        return bid;
+    }
+
+    private static MatchingStatsDTO awaitCommands(MatchingService service, long commands) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        MatchingStatsDTO stats = service.getStats();
+        while ((stats.commands() < commands || stats.tradesBooked() < 2 * stats.fills())
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            stats = service.getStats();
+        }
+        assertEquals(commands, stats.commands());
+        return stats;
+    }
+
+    @Test
+    void onBidEvent_crossingBid_filledByPriceThenTime() throws InterruptedException {
+        MatchingService service = service(1);
+        service.onBidEvent(BidEvent.created(bid(1, "S1", "SEC", null, null, 101.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(2, "S2", "SEC", null, null, 100.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(3, "S3", "SEC", null, null, 100.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(4, "B1", "SEC", 101.0, 12.0, null, null)));
+
+        MatchingStatsDTO stats = awaitCommands(service, 4);
+
+        assertEquals(3, stats.fills());
+        assertEquals(List.of("bid-4-2-1-B", "bid-4-2-1-S", "bid-4-3-2-B", "bid-4-3-2-S", "bid-4-1-3-B", "bid-4-1-3-S"),
+                booked.stream().map(TradeImportDTO::sourceListId).toList());
+        TradeImportDTO lastBuy = booked.get(4);
+        assertEquals("B1", lastBuy.account());
+        assertEquals(101.0, lastBuy.buyPrice());
+        assertEquals(2.0, lastBuy.buyQuantity());
+        assertEquals("S1", booked.get(5).account());
+        assertEquals(2.0, booked.get(5).sellQuantity());
+        assertEquals(1, stats.restingSides());
+        assertTrue(stats.p50Nanos() <= stats.p99Nanos() && stats.p99Nanos() <= stats.p999Nanos()
+                && stats.p999Nanos() <= stats.maxNanos());
+    }
+
+    @Test
+    void onBidStatusEvent_suspendedBid_resumesWithQuantityLeft() throws InterruptedException {
+        MatchingService service = service(1);
+        service.onBidEvent(BidEvent.created(bid(1, "S1", "SEC", null, null, 100.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(2, "B1", "SEC", 100.0, 2.0, null, null)));
+        List<BidQuoteDTO> asks = List.of(new BidQuoteDTO(1, "S1", null, "SEC", null, null, 100.0, 5.0));
+        service.onBidStatusEvent(new BidStatusEvent("EXPIRED", true, asks));
+        service.onBidEvent(BidEvent.created(bid(3, "B2", "SEC", 100.0, 10.0, null, null)));
+        service.onBidStatusEvent(new BidStatusEvent("ACTIVE", false, asks));
+        service.onBidStatusEvent(new BidStatusEvent("ACTIVE", false, asks));
+
+        MatchingStatsDTO stats = awaitCommands(service, 6);
+
+        assertEquals(2, stats.fills());
+        assertEquals(List.of("bid-2-1-1-B", "bid-2-1-1-S", "bid-3-1-2-B", "bid-3-1-2-S"),
+                booked.stream().map(TradeImportDTO::sourceListId).toList());
+        assertEquals(3.0, booked.get(3).sellQuantity());
+        assertEquals(1, stats.restingSides());
+    }
+
+    @Test
+    void onBidEvent_deletedOrRepricedBid_notMatched() throws InterruptedException {
+        MatchingService service = service(1);
+        Bid ask = bid(1, "S1", "SEC", null, null, 100.0, 5.0);
+        service.onBidEvent(BidEvent.created(ask));
+        service.onBidEvent(BidEvent.deleted(ask));
+        Bid otherAsk = bid(2, "S2", "SEC", null, null, 100.0, 5.0);
+        service.onBidEvent(BidEvent.created(otherAsk));
+        service.onBidEvent(BidEvent.updated(otherAsk, bid(2, "S2", "SEC", null, null, 102.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(3, "B1", "SEC", 101.0, 5.0, null, null)));
+
+        MatchingStatsDTO stats = awaitCommands(service, 5);
+
+        assertEquals(0, stats.fills());
+        assertEquals(2, stats.restingSides());
+    }
+
+    @Test
+    void onBidEvent_bookingFails_fillsBookedAgainAfterBackoff() throws InterruptedException {
+        when(tradeService.createTrades(anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> {
+                    List<TradeImportDTO> trades = invocation.getArgument(0);
+                    booked.addAll(trades);
+                    return trades.size();
+                });
+        MatchingService service = service(1);
+        service.onBidEvent(BidEvent.created(bid(1, "S1", "SEC", null, null, 100.0, 5.0)));
+        service.onBidEvent(BidEvent.created(bid(2, "B1", "SEC", 100.0, 5.0, null, null)));
+
+        MatchingStatsDTO stats = awaitCommands(service, 2);
+
+        assertEquals(1, stats.fills());
+        assertEquals(2, stats.tradesBooked());
+        assertEquals(2, stats.failedFills());
+        assertEquals(List.of("bid-2-1-1-B", "bid-2-1-1-S"), booked.stream().map(TradeImportDTO::sourceListId).toList());
+    }
+
+    @Test
+    void load_malformedSourceListIds_skipped() throws InterruptedException {
+        when(tradeRepository.streamMatchedTrades()).thenReturn(Stream.of(
+                new MatchedTradeDTO("bid-x-2-7-B", "SEC", 5.0, null),
+                new MatchedTradeDTO("bid-99999999999-2-7-B", "SEC", 5.0, null),
+                new MatchedTradeDTO("bid-4-2-B", "SEC", 5.0, null),
+                new MatchedTradeDTO("bid-4-2-7-S-", "SEC", null, 5.0),
+                new MatchedTradeDTO("bid-4-2-7-S", "SEC", null, 2.0)));
+        when(bidRepository.streamQuotes(BID_PROPERTIES.closedStatuses())).thenReturn(Stream.of(
+                new BidQuoteDTO(2, "S1", null, "SEC", null, null, 100.0, 5.0),
+                new BidQuoteDTO(4, "B1", null, "SEC", 100.0, 8.0, null, null)));
+        MatchingService service = service(1);
+
+        service.load();
+        MatchingStatsDTO stats = awaitCommands(service, 3);
+
+        assertEquals(1, stats.fills());
+        assertEquals(List.of("bid-4-2-8-B", "bid-4-2-8-S"), booked.stream().map(TradeImportDTO::sourceListId).toList());
+        assertEquals(3.0, booked.getFirst().buyQuantity());
+    }
+
+    @Test
+    void load_restoresFilledQuantitiesAndSequence() throws InterruptedException {
+        when(tradeRepository.streamMatchedTrades()).thenReturn(Stream.of(
+                new MatchedTradeDTO("bid-4-2-7-B", "SEC", 5.0, null),
+                new MatchedTradeDTO("bid-4-2-7-S", "SEC", null, 5.0)));
+        when(bidRepository.streamQuotes(BID_PROPERTIES.closedStatuses())).thenReturn(Stream.of(
+                new BidQuoteDTO(2, "S1", null, "SEC", null, null, 100.0, 5.0),
+                new BidQuoteDTO(4, "B1", null, "SEC", 100.0, 8.0, null, null),
+                new BidQuoteDTO(5, "S2", null, "SEC", null, null, 99.0, 10.0)));
+        MatchingService service = service(2);
+
+        service.load();
+        MatchingStatsDTO stats = awaitCommands(service, 5);
+
+        assertEquals(1, stats.fills());
+        assertEquals(List.of("bid-4-5-8-B", "bid-4-5-8-S"), booked.stream().map(TradeImportDTO::sourceListId).toList());
+        assertEquals(3.0, booked.getFirst().buyQuantity());
+        assertEquals(100.0, booked.getFirst().buyPrice());
+    }
+
+    @Test
+    void replay_sameCommands_sameFillsWhateverTheSharding() throws InterruptedException {
+        List<BidEvent> events = randomEvents(5_000, 6);
+
+        Map<String, List<String>> expected = new LinkedHashMap<>();
+        MatchingEngine engine = new MatchingEngine();
+        List<Fill> fills = new ArrayList<>();
+        for (BidEvent event : events) {
+            if (event.current() == null) {
+                engine.cancel(event.previous().getId());
+            } else {
+                Bid bid = event.current();
+                engine.submit(new BidQuoteDTO(bid.getId(), bid.getAccount(), null, bid.getSecurity(), bid.getBid(),
+                        bid.getBidQuantity(), bid.getAsk(), bid.getAskQuantity()), fills);
+            }
+        }
+        assertTrue(fills.size() > 100);
+
+        for (int shards : new int[] {1, 4}) {
+            booked.clear();
+            MatchingService service = service(shards);
+            events.forEach(service::onBidEvent);
+            awaitCommands(service, events.size());
+            Map<String, List<String>> actual = bySecurity(booked.stream()
+                    .filter(trade -> trade.buyQuantity() != null)
+                    .map(trade -> trade.security() + " " + trade.account() + " " + trade.buyPrice() + " "
+                            + trade.buyQuantity())
+                    .toList());
+            if (expected.isEmpty()) {
+                expected = bySecurity(fills.stream()
+                        .map(fill -> fill.security() + " " + fill.buyAccount() + " " + fill.price() + " "
+                                + fill.quantity())
+                        .toList());
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static Map<String, List<String>> bySecurity(List<String> lines) {
+        Map<String, List<String>> result = new TreeMap<>();
+        for (String line : lines) {
+            result.computeIfAbsent(line.substring(0, line.indexOf(' ')), key -> new ArrayList<>()).add(line);
+        }
+        return result;
+    }
+
+    /**
+     * Random creations, repricings and deletions of bids quoting around 100 on a few securities.
+     */
+    private static List<BidEvent> randomEvents(int count, int securities) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Bid> live = new ArrayList<>();
+        List<BidEvent> events = new ArrayList<>(count);
+        for (int id = 1; events.size() < count; id++) {
+            int action = random.nextInt(10);
+            if (action < 7 || live.isEmpty()) {
+                String security = "SEC" + random.nextInt(securities);
+                double price = 100 + random.nextInt(-10, 11) * 0.5;
+                double quantity = 1 + random.nextInt(20);
+                Bid bid = random.nextBoolean()
+                        ? bid(id, "A" + random.nextInt(50), security, price, quantity, null, null)
+                        : bid(id, "A" + random.nextInt(50), security, null, null, price, quantity);
+                live.add(bid);
+                events.add(BidEvent.created(bid));
+            } else if (action < 9) {
+                Bid previous = live.get(random.nextInt(live.size()));
+                Bid current = bid(previous.getId(), previous.getAccount(), previous.getSecurity(),
+                        previous.getBid() == null ? null : previous.getBid() + 0.5, previous.getBidQuantity(),
+                        previous.getAsk() == null ? null : previous.getAsk() - 0.5, previous.getAskQuantity());
+                live.set(live.indexOf(previous), current);
+                events.add(BidEvent.updated(previous, current));
+            } else {
+                Bid previous = live.remove(random.nextInt(live.size()));
+                events.add(BidEvent.deleted(previous));
+            }
+        }
+        return events;
+    }
+}
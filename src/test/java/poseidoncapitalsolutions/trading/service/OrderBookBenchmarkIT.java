@@ -0,0 +1,81 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.poseidoncapitalsolutions.trading.engine.OrderBook;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the add, modify and cancel throughput of an order book holding a million orders.
+ * Prices are drawn around the touch, where real books concentrate their orders.
+ */
+@Slf4j
+public class OrderBookBenchmarkIT {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void measureThroughput() {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(false);
+        }
+        run(true);
+    }
+
+    private static void run(boolean report) {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] prices = new double[ORDERS];
+        boolean[] buys = new boolean[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            buys[i] = random.nextBoolean();
+            int ticks = (int) Math.abs(random.nextGaussian() * 100);
+            prices[i] = buys[i] ? 99.99 - ticks * 0.01 : 100.01 + ticks * 0.01;
+        }
+        OrderBook book = new OrderBook("SEC");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            add(book, i, buys[i], prices[i], 100.0);
+        }
+        long addNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            add(book, i, buys[i], buys[i] ? prices[i] - 0.01 : prices[i] + 0.01, 50.0);
+        }
+        long modifyNanos = System.nanoTime() - start;
+        assertThat(book.orderCount()).isEqualTo(ORDERS);
+        assertThat(book.bestBid()).isLessThan(book.bestAsk());
+
+        start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            book.cancel(i);
+        }
+        long cancelNanos = System.nanoTime() - start;
+        assertThat(book.isEmpty()).isTrue();
+        assertThat(book.bestBid()).isNaN();
+
+        if (report) {
+            log.info("Order book with {} orders: add {} ops/s, modify {} ops/s, cancel {} ops/s", ORDERS,
+                    opsPerSecond(addNanos), opsPerSecond(modifyNanos), opsPerSecond(cancelNanos));
+        }
+    }
+
+    private static void add(OrderBook book, int id, boolean buy, double price, double quantity) {
+        if (buy) {
+            book.add(id, price, quantity, null, null);
+        } else {
+            book.add(id, null, null, price, quantity);
+        }
+    }
+
+    private static long opsPerSecond(long nanos) {
+        return ORDERS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -0,0 +1,185 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.BidProperties;
+import com.poseidoncapitalsolutions.trading.dto.BidQuoteDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BboChangesDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.BboDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.OrderBookDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceLevelDTO;
+import com.poseidoncapitalsolutions.trading.event.BidEvent;
+import com.poseidoncapitalsolutions.trading.event.BidStatusEvent;
+import com.poseidoncapitalsolutions.trading.model.Bid;
+import com.poseidoncapitalsolutions.trading.repository.BidRepository;
+import com.poseidoncapitalsolutions.trading.service.OrderBookService;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBookServiceTest {
+
+    private static final BidProperties BID_PROPERTIES =
+            new BidProperties(50, 500, 10000, 1000, List.of("CANCELLED", "EXPIRED"), "EXPIRED", 86_400_000);
+
+    @Mock
+    private BidRepository bidRepository;
+
+    private OrderBookService orderBookService;
+
+    @BeforeEach
+    void setUp() {
+        when(bidRepository.streamQuotes(BID_PROPERTIES.closedStatuses())).thenReturn(Stream.of(
+                new BidQuoteDTO(1, "A", null, "SEC", 99.0, 10.0, 101.0, 5.0),
+                new BidQuoteDTO(2, "A", null, "SEC", 100.0, 20.0, null, null),
+                new BidQuoteDTO(3, "A", null, "SEC", 99.0, 30.0, 101.0, 15.0),
+                new BidQuoteDTO(4, "A", null, "SEC", null, null, 102.0, 7.0),
+                new BidQuoteDTO(5, "A", null, "OTHER", 50.0, 1.0, null, null)));
+        orderBookService = new OrderBookService(bidRepository, BID_PROPERTIES);
+        orderBookService.load();
+    }
+
+    private static Bid bid(int id, String security, Double bidPrice, Double bidQuantity, Double askPrice,
+                           Double askQuantity) {
+        Bid bid = new Bid();
+        bid.setId(id);
+        bid.setSecurity(security);
+        bid.setBid(bidPrice);
+        bid.setBidQuantity(bidQuantity);
+        bid.setAsk(askPrice);
+        bid.setAskQuantity(askQuantity);
+        return bid;
+    }
+
+    @Test
+    void getDepth_loadedBids_aggregatedByPriceBestFirst() {
+        OrderBookDTO book = orderBookService.getDepth("SEC", 10);
+
+        assertEquals(List.of(new PriceLevelDTO(100.0, 20.0, 1), new PriceLevelDTO(99.0, 40.0, 2)), book.bids());
+        assertEquals(List.of(new PriceLevelDTO(101.0, 20.0, 2), new PriceLevelDTO(102.0, 7.0, 1)), book.asks());
+        assertEquals(4, book.orders());
+        assertEquals(List.of("OTHER", "SEC"), orderBookService.getSecurities());
+    }
+
+    @Test
+    void getDepth_levelsLimit_keepsBestLevels() {
+        OrderBookDTO book = orderBookService.getDepth("SEC", 1);
+
+        assertEquals(List.of(new PriceLevelDTO(100.0, 20.0, 1)), book.bids());
+        assertEquals(List.of(new PriceLevelDTO(101.0, 20.0, 2)), book.asks());
+    }
+
+    @Test
+    void onBidEvent_createUpdateDelete_appliedToBook() {
+        orderBookService.onBidEvent(BidEvent.created(bid(6, "SEC", 100.5, 3.0, null, null)));
+        assertEquals(new PriceLevelDTO(100.5, 3.0, 1), orderBookService.getDepth("SEC", 1).bids().getFirst());
+
+        Bid previous = bid(2, "SEC", 100.0, 20.0, null, null);
+        orderBookService.onBidEvent(BidEvent.updated(previous, bid(2, "SEC", 98.0, 20.0, 100.8, 4.0)));
+        OrderBookDTO book = orderBookService.getDepth("SEC", 10);
+        assertEquals(List.of(new PriceLevelDTO(100.5, 3.0, 1), new PriceLevelDTO(99.0, 40.0, 2),
+                new PriceLevelDTO(98.0, 20.0, 1)), book.bids());
+        assertEquals(new PriceLevelDTO(100.8, 4.0, 1), book.asks().getFirst());
+
+        orderBookService.onBidEvent(BidEvent.deleted(bid(4, "SEC", null, null, 102.0, 7.0)));
+        assertEquals(2, orderBookService.getDepth("SEC", 10).asks().size());
+    }
+
+    @Test
+    void onBidEvent_securityChanged_movesBid() {
+        orderBookService.onBidEvent(BidEvent.updated(bid(5, "OTHER", 50.0, 1.0, null, null),
+                bid(5, "SEC", 100.0, 1.0, null, null)));
+
+        assertEquals(0, orderBookService.getDepth("OTHER", 10).orders());
+        assertEquals(new PriceLevelDTO(100.0, 21.0, 2), orderBookService.getDepth("SEC", 1).bids().getFirst());
+        assertTrue(orderBookService.getDepth("UNKNOWN", 10).bids().isEmpty());
+    }
+
+    @Test
+    void onBidStatusEvent_closedThenReopened_removedThenRestored() {
+        List<BidQuoteDTO> bids = List.of(new BidQuoteDTO(2, "A", null, "SEC", 100.0, 20.0, null, null),
+                new BidQuoteDTO(8, "A", null, null, null, null, null, null));
+
+        orderBookService.onBidStatusEvent(new BidStatusEvent("CANCELLED", true, bids));
+        assertEquals(new PriceLevelDTO(99.0, 40.0, 2), orderBookService.getDepth("SEC", 1).bids().getFirst());
+
+        orderBookService.onBidStatusEvent(new BidStatusEvent("OPEN", false, bids));
+        assertEquals(new PriceLevelDTO(100.0, 20.0, 1), orderBookService.getDepth("SEC", 1).bids().getFirst());
+    }
+
+    @Test
+    void onBidEvent_closedBidUpdated_notAddedBack() {
+        Bid closed = bid(2, "SEC", 100.0, 20.0, null, null);
+        closed.setStatus("EXPIRED");
+
+        orderBookService.onBidEvent(BidEvent.updated(bid(2, "SEC", 100.0, 20.0, null, null), closed));
+
+        assertEquals(new PriceLevelDTO(99.0, 40.0, 2), orderBookService.getDepth("SEC", 1).bids().getFirst());
+    }
+
+    @Test
+    void getBbo_loadedBook_bestLevels() {
+        BboDTO bbo = orderBookService.getBbo("SEC");
+
+        assertEquals(100.0, bbo.bid());
+        assertEquals(20.0, bbo.bidQuantity());
+        assertEquals(101.0, bbo.ask());
+        assertEquals(20.0, bbo.askQuantity());
+        assertNull(orderBookService.getBbo("OTHER").ask());
+        assertNull(orderBookService.getBbo("UNKNOWN"));
+    }
+
+    @Test
+    void getBboChangedSince_onlyBooksWhoseTopChanged() {
+        BboChangesDTO all = orderBookService.getBboChangedSince(0);
+        assertEquals(2, all.changes().size());
+        long version = all.version();
+
+        orderBookService.onBidEvent(BidEvent.created(bid(6, "SEC", 98.0, 3.0, 103.0, 1.0)));
+        assertTrue(orderBookService.getBboChangedSince(version).changes().isEmpty());
+
+        orderBookService.onBidEvent(BidEvent.created(bid(7, "SEC", 100.0, 5.0, null, null)));
+        BboChangesDTO changes = orderBookService.getBboChangedSince(version);
+        assertEquals(1, changes.changes().size());
+        BboDTO bbo = changes.changes().getFirst();
+        assertEquals(25.0, bbo.bidQuantity());
+        assertTrue(bbo.version() > version);
+        assertEquals(bbo.version(), changes.version());
+        assertTrue(orderBookService.getBboChangedSince(changes.version()).changes().isEmpty());
+    }
+
+    @Test
+    void getBboChangedSince_versionsResumeAboveThoseOfThePreviousRun() throws InterruptedException {
+        long previousRunVersion = orderBookService.getBboChangedSince(0).version();
+        // The previous run published 2 versions, far less than one a microsecond
+        Thread.sleep(1);
+        when(bidRepository.streamQuotes(BID_PROPERTIES.closedStatuses())).thenReturn(Stream.of(
+                new BidQuoteDTO(1, "A", null, "SEC", 99.0, 10.0, 101.0, 5.0)));
+        OrderBookService restarted = new OrderBookService(bidRepository, BID_PROPERTIES);
+        restarted.load();
+
+        BboChangesDTO changes = restarted.getBboChangedSince(previousRunVersion);
+
+        assertEquals(1, changes.changes().size());
+        assertTrue(changes.version() > previousRunVersion);
+    }
+
+    @Test
+    void getBboChangedSince_versionAheadOfCurrent_everyBook() {
+        BboChangesDTO all = orderBookService.getBboChangedSince(0);
+
+        BboChangesDTO changes = orderBookService.getBboChangedSince(all.version() + 1_000_000);
+
+        assertEquals(all, changes);
+    }
+}
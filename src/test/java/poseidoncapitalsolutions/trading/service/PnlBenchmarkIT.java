@@ -0,0 +1,84 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.poseidoncapitalsolutions.trading.engine.PnlEngine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the P&amp;L reduction over 1M and 10M trades, sequential and on a pool of every core, and checks
+ * both give the same totals. The 10M round holds about 1 GB of columns, so run it with -Xmx2g or more.
+ */
+@Slf4j
+public class PnlBenchmarkIT {
+
+    private static final int PARTITIONS = 200;
+    private static final int SECURITIES = 5_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void measureOneMillionTrades() {
+        measure(1_000_000);
+    }
+
+    @Test
+    void measureTenMillionTrades() {
+        measure(10_000_000);
+    }
+
+    private static void measure(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] partitions = new int[size];
+        int[] securities = new int[size];
+        double[] buyQuantity = new double[size];
+        double[] buyPrice = new double[size];
+        double[] sellQuantity = new double[size];
+        double[] sellPrice = new double[size];
+        long[] tradeDates = new long[size];
+        for (int i = 0; i < size; i++) {
+            partitions[i] = random.nextInt(PARTITIONS);
+            securities[i] = random.nextInt(SECURITIES);
+            if (random.nextBoolean()) {
+                buyQuantity[i] = random.nextInt(1, 1000);
+                buyPrice[i] = random.nextDouble(50, 100);
+            } else {
+                sellQuantity[i] = random.nextInt(1, 1000);
+                sellPrice[i] = random.nextDouble(50, 100);
+            }
+            tradeDates[i] = random.nextLong(1_000_000_000L);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                long start = System.nanoTime();
+                PnlEngine sequential = new PnlEngine(size, partitions, PARTITIONS, securities, SECURITIES,
+                        buyQuantity, buyPrice, sellQuantity, sellPrice, tradeDates).computeSequential();
+                long sequentialNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                PnlEngine parallel = new PnlEngine(size, partitions, PARTITIONS, securities, SECURITIES,
+                        buyQuantity, buyPrice, sellQuantity, sellPrice, tradeDates).computeParallel(pool);
+                long parallelNanos = System.nanoTime() - start;
+
+                for (int p = 0; p < PARTITIONS; p++) {
+                    assertThat(parallel.realized(p)).isEqualTo(sequential.realized(p));
+                    assertThat(parallel.unrealized(p)).isEqualTo(sequential.unrealized(p));
+                }
+                if (round == WARMUP_ROUNDS) {
+                    log.info("P&L of {} trades over {} partitions: sequential {} ms, parallel {} ms on {} threads",
+                            size, PARTITIONS, sequentialNanos / 1_000_000, parallelNanos / 1_000_000,
+                            pool.getParallelism());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.dto.PnlGrouping;
+import com.poseidoncapitalsolutions.trading.dto.display.PnlDTO;
+import com.poseidoncapitalsolutions.trading.engine.PnlEngine;
+import com.poseidoncapitalsolutions.trading.engine.TradeColumns;
+import com.poseidoncapitalsolutions.trading.service.PnlService;
+import com.poseidoncapitalsolutions.trading.service.TradeSnapshotService;
+
+@ExtendWith(MockitoExtension.class)
+class PnlServiceTest {
+
+    @Mock
+    private TradeSnapshotService tradeSnapshotService;
+
+    @InjectMocks
+    private PnlService pnlService;
+
+    private static void buy(TradeColumns columns, int id, String trader, String book, String security,
+                            double quantity, double price, long tradeDate) {
+        columns.put(id, "Account", book, security, trader, "Open", "Buy", quantity, price, 0, 0, tradeDate);
+    }
+
+    private static void sell(TradeColumns columns, int id, String trader, String book, String security,
+                             double quantity, double price, long tradeDate) {
+        columns.put(id, "Account", book, security, trader, "Open", "Sell", 0, 0, quantity, price, tradeDate);
+    }
+
+    @Test
+    void getPnlByTraderOk() {
+        // Trader1 buys 100 @ 10 and sells 60 @ 12 of Security1; last Security1 trade is at 12
+        // realized = 60 * (12 - 10) = 120, unrealized = 40 * (12 - 10) = 80
+        // Trader2 sells 10 @ 20 of Security2, last Security2 trade is at 15: unrealized = 10 * (20 - 15) = 50
+        TradeColumns columns = new TradeColumns();
+        buy(columns, 1, "Trader1", "Book1", "Security1", 100, 10, 1000);
+        sell(columns, 2, "Trader1", "Book1", "Security1", 60, 12, 2000);
+        sell(columns, 3, "Trader2", "Book1", "Security2", 10, 20, 1000);
+        buy(columns, 4, "Trader3", "Book2", "Security2", 5, 15, 3000);
+        when(tradeSnapshotService.getSnapshot()).thenReturn(columns.snapshot());
+
+        List<PnlDTO> result = pnlService.getPnl(PnlGrouping.TRADER);
+
+        assertEquals(3, result.size());
+        assertEquals(new PnlDTO("Trader1", 100.0, 60.0, 120.0, 80.0), result.get(0));
+        assertEquals(new PnlDTO("Trader2", 0.0, 10.0, 0.0, 50.0), result.get(1));
+        assertEquals(new PnlDTO("Trader3", 5.0, 0.0, 0.0, 0.0), result.get(2));
+    }
+
+    @Test
+    void getPnlByBookOk() {
+        TradeColumns columns = new TradeColumns();
+        buy(columns, 1, "Trader1", "Book1", "Security1", 100, 10, 1000);
+        sell(columns, 2, "Trader2", "Book1", "Security1", 60, 12, 2000);
+        when(tradeSnapshotService.getSnapshot()).thenReturn(columns.snapshot());
+
+        List<PnlDTO> result = pnlService.getPnl(PnlGrouping.BOOK);
+
+        assertEquals(List.of(new PnlDTO("Book1", 100.0, 60.0, 120.0, 80.0)), result);
+    }
+
+    @Test
+    void getPnlSkipsDeletedAndSupersededTrades() {
+        TradeColumns columns = new TradeColumns();
+        buy(columns, 1, "Trader1", "Book1", "Security1", 100, 10, 1000);
+        sell(columns, 2, "Trader2", "Book1", "Security1", 60, 12, 2000);
+        buy(columns, 1, "Trader1", "Book1", "Security1", 50, 10, 1000);
+        columns.remove(2);
+        when(tradeSnapshotService.getSnapshot()).thenReturn(columns.snapshot());
+
+        List<PnlDTO> result = pnlService.getPnl(PnlGrouping.TRADER);
+
+        assertEquals(List.of(new PnlDTO("Trader1", 50.0, 0.0, 0.0, 0.0)), result);
+    }
+
+    @Test
+    void parallelReductionMatchesSequential() {
+        int size = 300_000;
+        int partitionCount = 40;
+        int securityCount = 500;
+        Random random = new Random(42);
+        int[] partitions = new int[size];
+        int[] securities = new int[size];
+        double[] buyQuantity = new double[size];
+        double[] buyPrice = new double[size];
+        double[] sellQuantity = new double[size];
+        double[] sellPrice = new double[size];
+        long[] tradeDates = new long[size];
+        for (int i = 0; i < size; i++) {
+            partitions[i] = random.nextInt(partitionCount);
+            securities[i] = random.nextInt(securityCount);
+            if (random.nextBoolean()) {
+                buyQuantity[i] = random.nextInt(1000);
+                buyPrice[i] = 50 + random.nextDouble() * 50;
+            } else {
+                sellQuantity[i] = random.nextInt(1000);
+                sellPrice[i] = 50 + random.nextDouble() * 50;
+            }
+            tradeDates[i] = random.nextInt(1_000_000);
+        }
+
+        PnlEngine sequential = new PnlEngine(size, partitions, partitionCount, securities, securityCount,
+                buyQuantity, buyPrice, sellQuantity, sellPrice, tradeDates).computeSequential();
+        PnlEngine parallel = new PnlEngine(size, partitions, partitionCount, securities, securityCount,
+                buyQuantity, buyPrice, sellQuantity, sellPrice, tradeDates).computeParallel(new ForkJoinPool(4));
+
+        for (int p = 0; p < partitionCount; p++) {
+            assertEquals(sequential.realized(p), parallel.realized(p));
+            assertEquals(sequential.unrealized(p), parallel.unrealized(p));
+            assertEquals(sequential.bought(p), parallel.bought(p));
+        }
+    }
+}
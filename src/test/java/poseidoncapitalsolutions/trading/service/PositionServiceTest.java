@@ -0,0 +1,180 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.dto.PositionReconciliationDTO;
+import com.poseidoncapitalsolutions.trading.dto.PositionTotalsDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PositionDTO;
+import com.poseidoncapitalsolutions.trading.engine.Position;
+import com.poseidoncapitalsolutions.trading.engine.PositionKey;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.PositionService;
+
+@ExtendWith(MockitoExtension.class)
+class PositionServiceTest {
+
+    private static final PositionKey KEY = new PositionKey("Account1", "Book1", "Security1");
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @InjectMocks
+    private PositionService positionService;
+
+    private Trade buy;
+    private Trade sell;
+
+    @BeforeEach
+    void setUp() {
+        buy = trade(1, 100.0, 10.0, null, null);
+        sell = trade(2, null, null, 40.0, 12.0);
+    }
+
+    private static Trade trade(int id, Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(KEY.account());
+        trade.setBook(KEY.book());
+        trade.setSecurity(KEY.security());
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellQuantity(sellQuantity);
+        trade.setSellPrice(sellPrice);
+        return trade;
+    }
+
+    @Test
+    void loadPositionsOk() {
+        when(tradeRepository.sumPositions()).thenReturn(List.of(
+                new PositionTotalsDTO("Account1", "Book1", "Security1", 100.0, 1000.0, 40.0, 480.0)));
+
+        positionService.loadPositions();
+
+        Position position = positionService.getPosition(KEY);
+        assertEquals(60.0, position.netQuantity());
+        assertEquals(10.0, position.averageBuyPrice());
+        assertEquals(12.0, position.averageSellPrice());
+    }
+
+    @Test
+    void loadPositions_tradeWrittenDuringLoadAndSeenBySum_countedOnce() {
+        when(tradeRepository.sumPositions()).thenAnswer(invocation -> {
+            positionService.onTradeEvent(TradeEvent.created(buy));
+            return List.of(new PositionTotalsDTO("Account1", "Book1", "Security1", 100.0, 1000.0, 0.0, 0.0));
+        });
+        when(tradeRepository.findAllById(any())).thenReturn(List.of(buy));
+
+        positionService.loadPositions();
+
+        assertEquals(100.0, positionService.getPosition(KEY).netQuantity());
+    }
+
+    @Test
+    void loadPositions_tradesWrittenAfterSum_replayed() {
+        when(tradeRepository.sumPositions()).thenAnswer(invocation -> {
+            positionService.onTradeEvent(TradeEvent.created(buy));
+            positionService.onTradeEvent(TradeEvent.created(sell));
+            positionService.onTradeEvent(TradeEvent.deleted(sell));
+            return List.of();
+        });
+        when(tradeRepository.findAllById(any())).thenAnswer(invocation -> {
+            assertEquals(Set.of(1, 2), Set.copyOf((Collection<?>) invocation.getArgument(0)));
+            return List.of();
+        });
+
+        positionService.loadPositions();
+
+        assertEquals(100.0, positionService.getPosition(KEY).netQuantity());
+        assertEquals(1, positionService.getPositions(null).size());
+    }
+
+    @Test
+    void onTradeEventAppliesDeltas() {
+        positionService.onTradeEvent(TradeEvent.created(buy));
+        positionService.onTradeEvent(TradeEvent.created(sell));
+
+        assertEquals(60.0, positionService.getPosition(KEY).netQuantity());
+
+        Trade updatedBuy = trade(1, 150.0, 10.0, null, null);
+        positionService.onTradeEvent(TradeEvent.updated(buy, updatedBuy));
+
+        assertEquals(110.0, positionService.getPosition(KEY).netQuantity());
+        assertEquals(1500.0, positionService.getPosition(KEY).buyNotional());
+
+        positionService.onTradeEvent(TradeEvent.deleted(sell));
+        positionService.onTradeEvent(TradeEvent.deleted(updatedBuy));
+
+        assertEquals(Position.EMPTY, positionService.getPosition(KEY));
+        assertTrue(positionService.getPositions(null).isEmpty());
+    }
+
+    @Test
+    void onTradeEventMovesTradeBetweenPositions() {
+        positionService.onTradeEvent(TradeEvent.created(buy));
+        Trade movedBuy = trade(1, 100.0, 10.0, null, null);
+        movedBuy.setAccount("Account2");
+
+        positionService.onTradeEvent(TradeEvent.updated(buy, movedBuy));
+
+        List<PositionDTO> positions = positionService.getPositions(null);
+        assertEquals(1, positions.size());
+        assertEquals("Account2", positions.getFirst().account());
+        assertEquals(100.0, positions.getFirst().netQuantity());
+    }
+
+    @Test
+    void reconcileOk() {
+        positionService.onTradeEvent(TradeEvent.created(buy));
+        when(tradeRepository.sumPositions()).thenReturn(List.of(
+                new PositionTotalsDTO("Account1", "Book1", "Security1", 100.0, 1000.0, 0.0, 0.0)));
+
+        PositionReconciliationDTO result = positionService.reconcile();
+
+        assertEquals(1, result.checked());
+        assertTrue(result.isConsistent());
+    }
+
+    @Test
+    void reconcileReportsMismatches() {
+        positionService.onTradeEvent(TradeEvent.created(buy));
+        when(tradeRepository.sumPositions()).thenReturn(List.of(
+                new PositionTotalsDTO("Account1", "Book1", "Security1", 90.0, 900.0, 0.0, 0.0),
+                new PositionTotalsDTO("Account2", "Book1", "Security1", 5.0, 50.0, 0.0, 0.0)));
+
+        PositionReconciliationDTO result = positionService.reconcile();
+
+        assertFalse(result.isConsistent());
+        assertEquals(Set.of(KEY, new PositionKey("Account2", "Book1", "Security1")), Set.copyOf(result.mismatches()));
+    }
+
+    @Test
+    void reconcile_mismatches_repaired() {
+        positionService.onTradeEvent(TradeEvent.created(buy));
+        positionService.onTradeEvent(TradeEvent.created(sell));
+        when(tradeRepository.sumPositions()).thenReturn(List.of(
+                new PositionTotalsDTO("Account2", "Book1", "Security1", 5.0, 50.0, 0.0, 0.0)));
+
+        positionService.reconcile();
+
+        assertEquals(Position.EMPTY, positionService.getPosition(KEY));
+        assertEquals(5.0, positionService.getPosition(new PositionKey("Account2", "Book1", "Security1")).netQuantity());
+        assertTrue(positionService.reconcile().isConsistent());
+    }
+}
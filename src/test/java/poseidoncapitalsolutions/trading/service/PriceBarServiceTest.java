@@ -0,0 +1,192 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.poseidoncapitalsolutions.trading.config.BarProperties;
+import com.poseidoncapitalsolutions.trading.dto.BarResolution;
+import com.poseidoncapitalsolutions.trading.dto.TradePrintDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.PriceBarDTO;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.PriceBar;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.PriceBarRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.PriceBarService;
+
+@ExtendWith(MockitoExtension.class)
+class PriceBarServiceTest {
+
+    private static final long MINUTE = BarResolution.M1.millis();
+
+    @Mock
+    private PriceBarRepository priceBarRepository;
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private PriceBarService priceBarService;
+
+    /** Start of an hour already closed. */
+    private long base;
+
+    @BeforeEach
+    void setUp() {
+        priceBarService = new PriceBarService(priceBarRepository, tradeRepository,
+                new BarProperties(5, 5, 5, 10000, 60000));
+        base = Math.floorDiv(System.currentTimeMillis(), BarResolution.H1.millis()) * BarResolution.H1.millis()
+                - 2 * BarResolution.H1.millis();
+        priceBarService.onTradeEvent(TradeEvent.created(trade(base + 10_000, 10.0, 100.0)));
+        priceBarService.onTradeEvent(TradeEvent.created(trade(base + 30_000, 12.0, 50.0)));
+        priceBarService.onTradeEvent(TradeEvent.created(trade(base + 20_000, 9.0, 10.0)));
+        priceBarService.onTradeEvent(TradeEvent.created(trade(base + 70_000, 11.0, 40.0)));
+    }
+
+    private static Trade trade(long time, Double buyPrice, Double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setSecurity("FR0000120271");
+        trade.setTradeDate(new Timestamp(time));
+        trade.setBuyPrice(buyPrice);
+        trade.setBuyQuantity(buyQuantity);
+        return trade;
+    }
+
+    @Test
+    void getBars_minutes_openHighLowCloseByTradeTime() {
+        List<PriceBarDTO> bars = priceBarService.getBars("FR0000120271", BarResolution.M1, base, base + 2 * MINUTE);
+
+        assertEquals(2, bars.size());
+        PriceBarDTO first = bars.getFirst();
+        assertEquals(new Timestamp(base), first.start());
+        assertEquals(10.0, first.open());
+        assertEquals(12.0, first.high());
+        assertEquals(9.0, first.low());
+        assertEquals(12.0, first.close());
+        assertEquals(160.0, first.volume());
+        assertEquals(1690.0 / 160.0, first.vwap(), 1e-9);
+        assertEquals(3, first.tradeCount());
+        assertEquals(11.0, bars.get(1).open());
+    }
+
+    @Test
+    void getBars_fiveMinutes_aggregatesBothMinutes() {
+        List<PriceBarDTO> bars = priceBarService.getBars("FR0000120271", BarResolution.M5, base, base + 5 * MINUTE);
+
+        assertEquals(1, bars.size());
+        assertEquals(10.0, bars.getFirst().open());
+        assertEquals(11.0, bars.getFirst().close());
+        assertEquals(200.0, bars.getFirst().volume());
+        assertEquals(4, bars.getFirst().tradeCount());
+        verify(priceBarRepository, never()).findBars(eq("FR0000120271"), eq(BarResolution.M5), any(), any());
+    }
+
+    @Test
+    void getBars_olderThanHistory_readsStoredBars() {
+        PriceBar stored = new PriceBar(1L, "FR0000120271", BarResolution.M1, new Timestamp(base - 5 * MINUTE),
+                8.0, 8.5, 7.5, 8.0, 20.0, 160.0, 2);
+        when(priceBarRepository.findBars("FR0000120271", BarResolution.M1, new Timestamp(base - 10 * MINUTE),
+                new Timestamp(base - 3 * MINUTE))).thenReturn(List.of(stored));
+
+        List<PriceBarDTO> bars = priceBarService.getBars("FR0000120271", BarResolution.M1, base - 10 * MINUTE,
+                base + 2 * MINUTE);
+
+        assertEquals(3, bars.size());
+        assertEquals(8.0, bars.getFirst().vwap());
+        assertEquals(new Timestamp(base), bars.get(1).start());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesClosedBarsOnce() {
+        assertEquals(4, priceBarService.flush());
+        assertEquals(0, priceBarService.flush());
+
+        ArgumentCaptor<List<PriceBarDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(priceBarRepository).upsertAll(captor.capture());
+        assertEquals(2, captor.getValue().stream().filter(bar -> bar.resolution() == BarResolution.M1).count());
+    }
+
+    @Test
+    void flush_failure_retriedOnNextFlush() {
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(priceBarRepository).upsertAll(anyList());
+
+        assertEquals(0, priceBarService.flush());
+        assertEquals(4, priceBarService.flush());
+
+        verify(priceBarRepository, times(2)).upsertAll(anyList());
+    }
+
+    @Test
+    void onTradeEvent_futureTrade_ignored() {
+        priceBarService.onTradeEvent(TradeEvent.created(trade(System.currentTimeMillis() + 24 * BarResolution.H1.millis(),
+                50.0, 10.0)));
+        priceBarService.onTradeEvent(TradeEvent.created(trade(base + 80_000, 13.0, 10.0)));
+
+        List<PriceBarDTO> bars = priceBarService.getBars("FR0000120271", BarResolution.M1, base, base + 2 * MINUTE);
+
+        assertEquals(2, bars.size());
+        assertEquals(13.0, bars.get(1).close());
+        assertEquals(2, bars.get(1).tradeCount());
+    }
+
+    @Test
+    void onTradeEvent_update_rebuildsBarsFromTrades() {
+        Trade previous = trade(base + 30_000, 12.0, 50.0);
+        Trade current = trade(base + 30_000, 9.5, 50.0);
+        when(tradeRepository.findPrints("FR0000120271", new Timestamp(base), new Timestamp(base + BarResolution.H1.millis())))
+                .thenReturn(List.of(print(base + 10_000, 10.0, 100.0), print(base + 30_000, 9.5, 50.0),
+                        print(base + 20_000, 9.0, 10.0), print(base + 70_000, 11.0, 40.0)));
+
+        priceBarService.onTradeEvent(TradeEvent.updated(previous, current));
+
+        PriceBarDTO minute = priceBarService.getBars("FR0000120271", BarResolution.M1, base, base + MINUTE).getFirst();
+        assertEquals(10.0, minute.open());
+        assertEquals(10.0, minute.high());
+        assertEquals(9.0, minute.low());
+        assertEquals(9.5, minute.close());
+        assertEquals(3, minute.tradeCount());
+        PriceBarDTO fiveMinutes = priceBarService.getBars("FR0000120271", BarResolution.M5, base, base + 5 * MINUTE)
+                .getFirst();
+        assertEquals(11.0, fiveMinutes.high());
+        assertEquals(4, fiveMinutes.tradeCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onTradeEvent_deleteOfOnlyTrade_deletesStoredBar() {
+        when(tradeRepository.findPrints("FR0000120271", new Timestamp(base), new Timestamp(base + BarResolution.H1.millis())))
+                .thenReturn(List.of(print(base + 10_000, 10.0, 100.0), print(base + 30_000, 12.0, 50.0),
+                        print(base + 20_000, 9.0, 10.0)));
+
+        priceBarService.onTradeEvent(TradeEvent.deleted(trade(base + 70_000, 11.0, 40.0)));
+
+        assertEquals(1, priceBarService.getBars("FR0000120271", BarResolution.M1, base, base + 2 * MINUTE).size());
+        assertEquals(4, priceBarService.flush());
+        ArgumentCaptor<List<PriceBarDTO>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(priceBarRepository).deleteBars(deleted.capture());
+        assertEquals(List.of(new Timestamp(base + MINUTE)), deleted.getValue().stream().map(PriceBarDTO::start).toList());
+        assertEquals(BarResolution.M1, deleted.getValue().getFirst().resolution());
+    }
+
+    private static TradePrintDTO print(long time, Double buyPrice, Double buyQuantity) {
+        return new TradePrintDTO(new Timestamp(time), buyPrice, buyQuantity, null, null);
+    }
+}
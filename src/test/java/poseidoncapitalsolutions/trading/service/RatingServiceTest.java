@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -59,14 +58,13 @@ class RatingServiceTest {
     void getAllRatingsOk() {
         RatingListItemDTO expectedListItemDTO = new RatingListItemDTO(1, "A", "AA", "AAA", 10);
 
-        when(ratingRepository.findAll()).thenReturn(Arrays.asList(rating));
-        when(ratingMapper.toListItemDTOList(anyList())).thenReturn(Arrays.asList(expectedListItemDTO));
+        when(ratingRepository.findAllListItems()).thenReturn(Arrays.asList(expectedListItemDTO));
         
         List<RatingListItemDTO> result = ratingService.getAll();
         
         assertEquals(1, result.size());
         assertEquals(expectedListItemDTO, result.get(0));
-        verify(ratingRepository).findAll();
+        verify(ratingRepository).findAllListItems();
     }
 
     @Test
@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,14 +60,13 @@ class RuleNameServiceTest {
     void getAllRuleNamesOk() {
         RuleNameListItemDTO expectedListItemDTO = new RuleNameListItemDTO(1, "Rule1", "Test rule", "{}", "Template1", "SELECT * FROM rules", "WHERE id = 1");
 
-        when(ruleNameRepository.findAll()).thenReturn(Arrays.asList(ruleName));
-        when(ruleNameMapper.toListItemDTOList(anyList())).thenReturn(Arrays.asList(expectedListItemDTO));
+        when(ruleNameRepository.findAllListItems()).thenReturn(Arrays.asList(expectedListItemDTO));
         
         List<RuleNameListItemDTO> result = ruleNameService.getAll();
         
         assertEquals(1, result.size());
         assertEquals(expectedListItemDTO, result.get(0));
-        verify(ruleNameRepository).findAll();
+        verify(ruleNameRepository).findAllListItems();
     }
 
     @Test
@@ -0,0 +1,147 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.poseidoncapitalsolutions.trading.config.BlotterProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.BlotterStatsDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListDeltaDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.mapper.TradeMapper;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.service.TradeBlotterService;
+
+@ExtendWith(MockitoExtension.class)
+class TradeBlotterServiceTest {
+
+    @Mock
+    private TradeMapper tradeMapper;
+
+    private TradeBlotterService tradeBlotterService;
+
+    @BeforeEach
+    void setUp() {
+        when(tradeMapper.toListItem(any())).thenAnswer(invocation -> {
+            Trade trade = invocation.getArgument(0);
+            return new TradeListItemDTO(trade.getId(), trade.getAccount(), trade.getType(), trade.getBuyQuantity(),
+                    trade.getTradeDate());
+        });
+        tradeBlotterService = new TradeBlotterService(tradeMapper, new BlotterProperties(2, 2, 15000, 60000), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tradeBlotterService.stop();
+    }
+
+    private static Trade trade(int id, String account) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        return trade;
+    }
+
+    @Test
+    void onTradeEvent_sendsDeltasInCommitOrder() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        tradeBlotterService.register(first);
+        tradeBlotterService.register(second);
+
+        tradeBlotterService.onTradeEvent(TradeEvent.created(trade(1, "A")));
+        first.awaitDeltas(1);
+        second.awaitDeltas(1);
+        tradeBlotterService.onTradeEvent(TradeEvent.updated(trade(1, "A"), trade(1, "B")));
+        first.awaitDeltas(2);
+        tradeBlotterService.onTradeEvent(TradeEvent.deleted(trade(1, "B")));
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            emitter.awaitDeltas(3);
+            assertEquals(List.of(1L, 2L, 3L), emitter.deltas.stream().map(TradeListDeltaDTO::sequence).toList());
+            assertEquals(List.of(TradeEventType.CREATED, TradeEventType.UPDATED, TradeEventType.DELETED),
+                    emitter.deltas.stream().map(TradeListDeltaDTO::type).toList());
+            assertEquals("B", emitter.deltas.get(2).trade().account());
+        }
+        assertEquals(new BlotterStatsDTO(2, 3, 6, 0), tradeBlotterService.getStats());
+    }
+
+    @Test
+    void onTradeEvent_slowClient_droppedWithoutDelayingOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        tradeBlotterService.register(slow);
+        tradeBlotterService.register(fast);
+
+        tradeBlotterService.onTradeEvent(TradeEvent.created(trade(1, "A")));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        fast.awaitDeltas(1);
+        for (int id = 2; id <= 5; id++) {
+            tradeBlotterService.onTradeEvent(TradeEvent.created(trade(id, "A")));
+            fast.awaitDeltas(id);
+        }
+        release.countDown();
+
+        assertEquals(5, fast.deltas.size());
+        BlotterStatsDTO stats = tradeBlotterService.getStats();
+        assertEquals(1, stats.subscribers());
+        assertEquals(1, stats.droppedSubscribers());
+    }
+
+    /**
+     * Emitter recording the deltas sent to it, optionally blocking every send until released.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<TradeListDeltaDTO> deltas = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof List)
+                    .forEach(part -> deltas.addAll((List<TradeListDeltaDTO>) part.getData()));
+        }
+
+        void awaitDeltas(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (deltas.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, deltas.size());
+        }
+    }
+}
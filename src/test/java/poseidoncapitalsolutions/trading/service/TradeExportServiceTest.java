@@ -0,0 +1,91 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeExportResult;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.TradeExportService;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class TradeExportServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TradeExportService tradeExportService;
+
+    private Trade first;
+    private Trade second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Trade();
+        first.setId(1);
+        first.setAccount("Account1");
+        first.setType("Type1");
+        first.setBuyQuantity(100.0);
+
+        second = new Trade();
+        second.setId(2);
+        second.setAccount("Account, \"Two\"");
+        second.setType("Type2");
+    }
+
+    @Test
+    void exportCsvOk() throws Exception {
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TradeExportResult result = tradeExportService.export(TradeFileFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, result.rows());
+        assertEquals(3, lines.length);
+        assertEquals("1,Account1,Type1,100.0,,,,,,,,,,,,,,,,,", lines[1]);
+        assertEquals("2,\"Account, \"\"Two\"\"\",Type2,,,,,,,,,,,,,,,,,,", lines[2]);
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    void exportNdjsonOk() throws Exception {
+        when(tradeRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TradeExportResult result = tradeExportService.export(TradeFileFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, result.rows());
+        assertEquals(2, lines.length);
+        assertEquals("Account1", objectMapper.readTree(lines[0]).get("account").asText());
+        assertEquals(2, objectMapper.readTree(lines[1]).get("id").asInt());
+        verify(entityManager, times(2)).detach(any());
+    }
+}
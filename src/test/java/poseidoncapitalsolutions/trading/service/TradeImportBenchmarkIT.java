@@ -0,0 +1,68 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.poseidoncapitalsolutions.trading.TradingApplication;
+import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportResult;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.TradeImportService;
+import com.poseidoncapitalsolutions.trading.service.TradeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the throughput of the per-row trade creation path with the batched bulk import.
+ */
+@SpringBootTest(classes = TradingApplication.class)
+@ActiveProfiles("test")
+@Slf4j
+public class TradeImportBenchmarkIT {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradeImportService tradeImportService;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @AfterEach
+    void tearDown() {
+        tradeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareImportThroughput() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            tradeService.createTrade(new TradeAddDTO("Account" + i, "TypeA", 100.0, null));
+        }
+        long perRowMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        StringBuilder csv = new StringBuilder("account,type,buyQuantity,buyPrice,security\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Account").append(i).append(",TypeA,100.0,101.5,Security").append(i % 50).append('\n');
+        }
+        TradeImportResult result = tradeImportService.importTrades(TradeFileFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        log.info("Per-row createTrade: {} rows/s, batched import: {} rows/s",
+                ROWS * 1000L / perRowMillis, result.rowsPerSecond());
+        assertThat(result.imported()).isEqualTo(ROWS);
+        assertThat(tradeRepository.count()).isEqualTo(2L * ROWS);
+    }
+}
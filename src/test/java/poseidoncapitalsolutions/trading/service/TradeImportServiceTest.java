@@ -0,0 +1,111 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeFileFormat;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportResult;
+import com.poseidoncapitalsolutions.trading.service.TradeImportService;
+import com.poseidoncapitalsolutions.trading.service.TradeService;
+
+@ExtendWith(MockitoExtension.class)
+class TradeImportServiceTest {
+
+    @Mock
+    private TradeService tradeService;
+
+    private TradeImportService tradeImportService;
+
+    private final List<TradeImportDTO> imported = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tradeImportService = new TradeImportService(tradeService, new TradeProperties(50, 500, 2, 10000), new ObjectMapper());
+    }
+
+    private void captureImportedTrades() {
+        when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            List<TradeImportDTO> chunk = invocation.getArgument(0);
+            imported.addAll(chunk);
+            return chunk.size();
+        });
+    }
+
+    @Test
+    void importCsvOk() throws Exception {
+        captureImportedTrades();
+        String csv = """
+                id,account,type,buyQuantity,tradeDate,security,book
+                1,Account1,Type1,100.0,2025-03-10T10:00:00Z,Security1,Book1
+                2,"Account, \"\"Two\"\"",Type2,,,"Multi
+                line",
+                3,Account3,Type3,300.0,2025-03-10 11:00:00,,
+                """;
+
+        TradeImportResult result = tradeImportService.importTrades(TradeFileFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.imported());
+        assertEquals(0, result.rejected());
+        assertEquals(Timestamp.from(Instant.parse("2025-03-10T10:00:00Z")), imported.get(0).tradeDate());
+        assertEquals("Account, \"Two\"", imported.get(1).account());
+        assertEquals("Multi\nline", imported.get(1).security());
+        assertEquals(300.0, imported.get(2).buyQuantity());
+        verify(tradeService, times(2)).createTrades(anyList());
+    }
+
+    @Test
+    void importCsvRejectsInvalidRows() throws Exception {
+        captureImportedTrades();
+        String csv = """
+                account,type,buyQuantity
+                Account1,Type1,abc
+                ,Type2,10
+                Account3,Type3,30
+                """;
+
+        TradeImportResult result = tradeImportService.importTrades(TradeFileFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(2, result.errors().size());
+        assertEquals("Account3", imported.getFirst().account());
+    }
+
+    @Test
+    void importNdjsonOk() throws Exception {
+        captureImportedTrades();
+        String ndjson = """
+                {"account":"Account1","type":"Type1","buyQuantity":100.0,"id":7}
+                not json
+                {"account":"Account2","type":"Type2","sellQuantity":50.0}
+                """;
+
+        TradeImportResult result = tradeImportService.importTrades(TradeFileFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(50.0, imported.get(1).sellQuantity());
+    }
+}
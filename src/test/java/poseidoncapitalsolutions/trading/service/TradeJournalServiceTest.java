@@ -0,0 +1,156 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.poseidoncapitalsolutions.trading.config.JournalProperties;
+import com.poseidoncapitalsolutions.trading.engine.TradeJournal;
+import com.poseidoncapitalsolutions.trading.engine.TradeJournalRecord;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.event.TradeEventType;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.service.TradeJournalService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class TradeJournalServiceTest {
+
+    private static final Timestamp TRADE_DATE = Timestamp.valueOf(LocalDateTime.of(2025, 1, 15, 10, 0));
+
+    @TempDir
+    private Path directory;
+
+    private static Trade trade(int id, String account) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        trade.setType("Type1");
+        trade.setBook("Book1");
+        trade.setBuyQuantity(10.0);
+        trade.setBuyPrice(101.5);
+        trade.setTradeDate(TRADE_DATE);
+        trade.setSourceListId("Source-" + id);
+        return trade;
+    }
+
+    private TradeJournalService service(String segmentSize) throws IOException {
+        return new TradeJournalService(new JournalProperties(true, directory, DataSize.parse(segmentSize), 100));
+    }
+
+    private List<TradeJournalRecord> replay(TradeJournalService service, long fromSequence) {
+        List<TradeJournalRecord> records = new ArrayList<>();
+        service.replay(fromSequence, records::add);
+        return records;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void onTradeEvent_appendsTradeStates_replayedInOrder() throws IOException {
+        TradeJournalService service = service("1MB");
+        Trade created = trade(1, "Compte Épargne");
+        Trade updated = trade(1, "Account2");
+        updated.setBuyQuantity(null);
+
+        service.onTradeEvent(TradeEvent.created(created));
+        service.onTradeEvent(TradeEvent.updated(created, updated));
+        service.onTradeEvent(TradeEvent.deleted(updated));
+
+        List<TradeJournalRecord> records = replay(service, 1);
+        assertEquals(3, records.size());
+        assertEquals(List.of(TradeEventType.CREATED, TradeEventType.UPDATED, TradeEventType.DELETED),
+                records.stream().map(TradeJournalRecord::type).toList());
+        assertEquals(created, records.get(0).trade());
+        assertEquals(updated, records.get(1).trade());
+        assertNull(records.get(2).trade().getBuyQuantity());
+        assertEquals(List.of(2L, 3L), replay(service, 2).stream().map(TradeJournalRecord::sequence).toList());
+        service.close();
+    }
+
+    @Test
+    void onTradeEvent_rollsSegments_andReopenContinuesSequence() throws IOException {
+        TradeJournalService service = service("4KB");
+        for (int id = 1; id <= 200; id++) {
+            service.onTradeEvent(TradeEvent.created(trade(id, "Account" + id)));
+        }
+        service.close();
+
+        assertTrue(segments().size() > 1);
+        TradeJournalService reopened = service("4KB");
+        assertEquals(200, reopened.getLastSequence());
+        reopened.onTradeEvent(TradeEvent.created(trade(201, "Account201")));
+
+        List<TradeJournalRecord> records = replay(reopened, 150);
+        assertEquals(52, records.size());
+        assertEquals(201, records.getLast().trade().getId());
+        assertEquals(201L, records.getLast().sequence());
+        reopened.close();
+    }
+
+    @Test
+    void open_truncatesTornLastRecord() throws IOException {
+        TradeJournalService service = service("1MB");
+        service.onTradeEvent(TradeEvent.created(trade(1, "Account1")));
+        service.onTradeEvent(TradeEvent.created(trade(2, "Account2")));
+        service.close();
+
+        // Simulate a crash in the middle of the second record: keep its length, damage its payload
+        Path segment = segments().getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(length, 0);
+            int secondRecord = length.getInt(0);
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f, 0x7f}), secondRecord + 40);
+        }
+
+        TradeJournalService reopened = service("1MB");
+        assertEquals(1, reopened.getLastSequence());
+        reopened.onTradeEvent(TradeEvent.created(trade(3, "Account3")));
+
+        List<TradeJournalRecord> records = replay(reopened, 1);
+        assertEquals(List.of(1, 3), records.stream().map(record -> record.trade().getId()).toList());
+        assertEquals(List.of(1L, 2L), records.stream().map(TradeJournalRecord::sequence).toList());
+        reopened.close();
+    }
+
+    @Test
+    void append_million_throughput() throws IOException {
+        int count = 1_000_000;
+        Trade trade = trade(1, "Account1");
+        try (TradeJournal journal = TradeJournal.open(directory, 256 * 1024 * 1024)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                journal.append(TradeEventType.CREATED, trade);
+            }
+            journal.force();
+            long elapsed = System.nanoTime() - start;
+            log.info("Appended {} journal records in {} ms, {} records/s", count, elapsed / 1_000_000,
+                    count * 1_000_000_000L / elapsed);
+            assertEquals(count, journal.lastSequence());
+        }
+        assertEquals(count, TradeJournal.replay(directory, 1, record -> { }));
+    }
+}
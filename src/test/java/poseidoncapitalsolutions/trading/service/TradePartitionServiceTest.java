@@ -0,0 +1,111 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.poseidoncapitalsolutions.trading.config.PartitionProperties;
+import com.poseidoncapitalsolutions.trading.dto.display.TradePartitionReportDTO;
+import com.poseidoncapitalsolutions.trading.repository.TradeArchiveRepository;
+import com.poseidoncapitalsolutions.trading.service.TradePartitionService;
+
+@ExtendWith(MockitoExtension.class)
+class TradePartitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TradeArchiveRepository tradeArchiveRepository;
+
+    private TradePartitionService service(int monthsAhead, int archiveAfterMonths) {
+        return new TradePartitionService(jdbcTemplate, tradeArchiveRepository,
+                new PartitionProperties(true, monthsAhead, archiveAfterMonths, "-"));
+    }
+
+    @Test
+    void maintain_unpartitionedTable_partitionsFromOldestTradeAndArchivesExpiredMonths() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of("p202409", "p202410", "p202411", "pmax"));
+        when(jdbcTemplate.queryForObject("select min(trade_date) from trade", Timestamp.class))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 9, 10, 8, 0)));
+        when(tradeArchiveRepository.exchangePartition("p202409")).thenReturn(42);
+        when(tradeArchiveRepository.dropPartition("p202409")).thenReturn(1);
+
+        TradePartitionReportDTO report = service(2, 24).maintain(TODAY);
+
+        assertEquals(28, report.createdPartitions().size());
+        assertEquals("p202409", report.createdPartitions().getFirst());
+        assertEquals("p202612", report.createdPartitions().getLast());
+        assertEquals(List.of("p202409"), report.archivedPartitions());
+        assertEquals(43, report.archivedTrades());
+
+        InOrder order = inOrder(jdbcTemplate, tradeArchiveRepository);
+        order.verify(jdbcTemplate).update("insert ignore into trade_source_list_id (source_list_id) "
+                + "select source_list_id from trade where source_list_id is not null");
+        order.verify(jdbcTemplate).execute("alter table trade drop primary key, add primary key (id, trade_date)");
+        order.verify(jdbcTemplate).execute("alter table trade partition by range columns (trade_date) ("
+                + "partition p202409 values less than ('2024-10-01'), "
+                + report.createdPartitions().subList(1, 27).stream()
+                        .map(name -> "partition " + name + " values less than ('" + nextMonth(name) + "'), ")
+                        .reduce("", String::concat)
+                + "partition p202612 values less than ('2027-01-01'), partition pmax values less than (maxvalue))");
+        order.verify(tradeArchiveRepository).createIfMissing();
+        order.verify(tradeArchiveRepository).createStaging();
+        order.verify(tradeArchiveRepository).exchangePartition("p202409");
+        order.verify(tradeArchiveRepository).dropPartition("p202409");
+        order.verify(tradeArchiveRepository).dropStaging();
+    }
+
+    @Test
+    void maintain_partitionedTable_splitsMaxPartitionForComingMonths() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("p202610", "p202611", "pmax"));
+
+        TradePartitionReportDTO report = service(3, 0).maintain(TODAY);
+
+        assertEquals(List.of("p202612", "p202701"), report.createdPartitions());
+        assertEquals(List.of(), report.archivedPartitions());
+        verify(jdbcTemplate).execute("alter table trade reorganize partition pmax into ("
+                + "partition p202612 values less than ('2027-01-01'), "
+                + "partition p202701 values less than ('2027-02-01'), "
+                + "partition pmax values less than (maxvalue))");
+        verify(tradeArchiveRepository, never()).createIfMissing();
+    }
+
+    @Test
+    void maintain_upToDatePartitions_changesNothing() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("p202610", "p202611", "p202612", "p202701", "pmax"));
+
+        TradePartitionReportDTO report = service(3, 24).maintain(TODAY);
+
+        assertEquals(List.of(), report.createdPartitions());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private static String nextMonth(String partition) {
+        return YearMonth.parse(partition.substring(1), DateTimeFormatter.ofPattern("yyyyMM")).plusMonths(1).atDay(1).toString();
+    }
+}
@@ -1,16 +1,21 @@
 package poseidoncapitalsolutions.trading.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,28 +23,55 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeCursor;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
 import com.poseidoncapitalsolutions.trading.dto.TradeUpdateDTO;
 import com.poseidoncapitalsolutions.trading.dto.display.TradeListItemDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradePageDTO;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.exception.DuplicateTradeException;
 import com.poseidoncapitalsolutions.trading.exception.TradeNotFoundException;
 import com.poseidoncapitalsolutions.trading.mapper.TradeMapper;
 import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.model.TradeSourceListId;
 import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.repository.TradeSourceListIdRepository;
+import com.poseidoncapitalsolutions.trading.service.IdempotencyService;
 import com.poseidoncapitalsolutions.trading.service.TradeService;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 class TradeServiceTest {
 
     @Mock
     private TradeRepository tradeRepository;
 
+    @Mock
+    private TradeSourceListIdRepository tradeSourceListIdRepository;
+
     @Mock
     private TradeMapper tradeMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private TradeService tradeService;
 
@@ -56,16 +88,55 @@ class TradeServiceTest {
 
     @Test
     void getAllTradesOk() {
-        TradeListItemDTO expectedListItemDTO = new TradeListItemDTO(1, "Account1", "Type1", 100.00);
+        TradeListItemDTO expectedListItemDTO = new TradeListItemDTO(1, "Account1", "Type1", 100.00, null);
 
-        when(tradeRepository.findAll()).thenReturn(Arrays.asList(trade));
-        when(tradeMapper.toListItemDTOList(anyList())).thenReturn(Arrays.asList(expectedListItemDTO));
+        when(tradeRepository.findAllListItems()).thenReturn(Arrays.asList(expectedListItemDTO));
         
         List<TradeListItemDTO> result = tradeService.getAllTrades();
         
         assertEquals(1, result.size());
         assertEquals(expectedListItemDTO, result.get(0));
-        verify(tradeRepository).findAll();
+        verify(tradeRepository).findAllListItems();
+    }
+
+    @Test
+    void getTradePageFirstPageOk() {
+        Timestamp tradeDate = Timestamp.valueOf("2025-03-10 10:00:00");
+        TradeListItemDTO first = new TradeListItemDTO(3, "Account3", "Type3", 300.0, tradeDate);
+        TradeListItemDTO second = new TradeListItemDTO(2, "Account2", "Type2", 200.0, tradeDate);
+        TradeListItemDTO third = new TradeListItemDTO(1, "Account1", "Type1", 100.0, tradeDate);
+
+        when(tradeRepository.findListItems(any(), isNull(), eq(Limit.of(3)))).thenReturn(Arrays.asList(first, second, third));
+
+        TradePageDTO result = tradeService.getTradePage(TradeFilter.ALL, null, 2);
+
+        assertEquals(List.of(first, second), result.trades());
+        assertEquals(new TradeCursor(tradeDate, 2), result.next());
+    }
+
+    @Test
+    void getTradePageLastPageOk() {
+        Timestamp tradeDate = Timestamp.valueOf("2025-03-10 10:00:00");
+        TradeListItemDTO last = new TradeListItemDTO(1, "Account1", "Type1", 100.0, tradeDate);
+
+        TradeCursor cursor = new TradeCursor(tradeDate, 2);
+        when(tradeRepository.findListItems(any(), eq(cursor), eq(Limit.of(3)))).thenReturn(List.of(last));
+
+        TradePageDTO result = tradeService.getTradePage(TradeFilter.ALL, cursor, 2);
+
+        assertEquals(List.of(last), result.trades());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void getTradePageWithFilterOk() {
+        TradeFilter filter = new TradeFilter("Account1", null, null, null, null, null, null, null);
+        when(tradeRepository.findListItems(any(), isNull(), eq(Limit.of(3)))).thenReturn(List.of());
+
+        TradePageDTO result = tradeService.getTradePage(filter, null, 2);
+
+        assertEquals(0, result.trades().size());
+        verify(tradeRepository).findListItems(notNull(), isNull(), eq(Limit.of(3)));
     }
 
     @Test
@@ -73,9 +144,9 @@ class TradeServiceTest {
         String expectedAccount = "Account1";
         String expectedType = "Type1";
         Double expectedBuyQuantity = 100.00;
-        TradeAddDTO addDTO = new TradeAddDTO(expectedAccount, expectedType, expectedBuyQuantity);
+        TradeAddDTO addDTO = new TradeAddDTO(expectedAccount, expectedType, expectedBuyQuantity, null);
         
-        when(tradeMapper.toEntity(any())).thenReturn(trade);
+        when(tradeMapper.toEntity(any(TradeAddDTO.class))).thenReturn(trade);
         when(tradeRepository.save(any())).thenReturn(trade);
         
         Trade result = tradeService.createTrade(addDTO);
@@ -85,13 +156,95 @@ class TradeServiceTest {
         assertEquals(expectedType, result.getType());
         assertEquals(expectedBuyQuantity, result.getBuyQuantity());
         verify(tradeRepository).save(trade);
+        verify(eventPublisher).publishEvent(TradeEvent.created(trade));
+    }
+
+    @Test
+    void createTradeWithSourceListIdOk() {
+        TradeAddDTO addDTO = new TradeAddDTO("Account1", "Type1", 100.0, " Source-1 ");
+
+        when(idempotencyService.isDuplicateTrade("Source-1")).thenReturn(false);
+        when(tradeMapper.toEntity(addDTO)).thenReturn(trade);
+        when(tradeRepository.save(trade)).thenReturn(trade);
+
+        Trade result = tradeService.createTrade(addDTO);
+
+        assertEquals(trade, result);
+        InOrder order = inOrder(tradeSourceListIdRepository, tradeRepository);
+        order.verify(tradeSourceListIdRepository).saveAndFlush(new TradeSourceListId("Source-1"));
+        order.verify(tradeRepository).save(trade);
+        verify(eventPublisher).publishEvent(TradeEvent.created(trade));
+    }
+
+    @Test
+    void createTradeDuplicateSourceListId() {
+        TradeAddDTO addDTO = new TradeAddDTO("Account1", "Type1", 100.0, "Source-1");
+
+        when(idempotencyService.isDuplicateTrade("Source-1")).thenReturn(true);
+
+        assertThrows(DuplicateTradeException.class, () -> tradeService.createTrade(addDTO));
+        verify(tradeSourceListIdRepository, never()).saveAndFlush(any());
+        verify(tradeRepository, never()).save(any());
+    }
+
+    @Test
+    void createTradeConcurrentDuplicateSourceListId() {
+        TradeAddDTO addDTO = new TradeAddDTO("Account1", "Type1", 100.0, "Source-1");
+
+        when(tradeMapper.toEntity(addDTO)).thenReturn(trade);
+        when(tradeSourceListIdRepository.saveAndFlush(new TradeSourceListId("Source-1")))
+                .thenThrow(new DataIntegrityViolationException("trade_source_list_id.PRIMARY"));
+
+        assertThrows(DuplicateTradeException.class, () -> tradeService.createTrade(addDTO));
+        verify(tradeRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createTradesSkipsDuplicateSourceListIds() {
+        TradeImportDTO first = new TradeImportDTO("Account1", "Type1", 100.0, null, null, null, null, null, null,
+                null, null, null, null, null, "Source-1", null);
+        TradeImportDTO retried = new TradeImportDTO("Account2", "Type1", 100.0, null, null, null, null, null, null,
+                null, null, null, null, null, "Source-2", null);
+
+        when(idempotencyService.isDuplicateTrade("Source-1")).thenReturn(false);
+        when(idempotencyService.isDuplicateTrade("Source-2")).thenReturn(true);
+        when(tradeMapper.toEntity(first)).thenReturn(trade);
+
+        int result = tradeService.createTrades(List.of(first, retried, first));
+
+        assertEquals(1, result);
+        verify(tradeSourceListIdRepository).saveAll(List.of(new TradeSourceListId("Source-1")));
+        verify(tradeRepository).saveAll(List.of(trade));
+    }
+
+    @Test
+    void createTradesOk() {
+        TradeImportDTO importDTO = new TradeImportDTO("Account1", "Type1", 100.0, null, 10.0, null, null,
+                "Security1", null, "Trader1", null, "Book1", null, null, null, "Buy");
+        Trade other = new Trade();
+
+        when(tradeMapper.toEntity(importDTO)).thenReturn(trade, other);
+
+        int result = tradeService.createTrades(List.of(importDTO, importDTO));
+
+        assertEquals(2, result);
+        assertNotNull(trade.getCreationDate());
+        assertNotNull(other.getTradeDate());
+        verify(tradeRepository).saveAll(List.of(trade, other));
+        verify(tradeRepository).flush();
+        verify(entityManager).clear();
+        verify(eventPublisher).publishEvent(TradeEvent.created(trade));
+        verify(eventPublisher).publishEvent(TradeEvent.created(other));
     }
 
     @Test
     void updateTradeOk() {
         TradeUpdateDTO updateDTO = new TradeUpdateDTO(1, "updatedAccount", "updatedType", 200.0);
+        Trade previous = new Trade();
 
         when(tradeRepository.findById(1)).thenReturn(Optional.of(trade));
+        when(tradeMapper.copy(trade)).thenReturn(previous);
         when(tradeRepository.save(trade)).thenReturn(trade);
 
         Trade result = tradeService.updateTrade(updateDTO);
@@ -99,6 +252,7 @@ class TradeServiceTest {
         assertEquals(1, result.getId());
         verify(tradeMapper).updateTradeFromDTO(updateDTO, trade);
         verify(tradeRepository).save(trade);
+        verify(eventPublisher).publishEvent(TradeEvent.updated(previous, trade));
     }
 
     @Test
@@ -115,11 +269,12 @@ class TradeServiceTest {
     @Test
     void deleteByIdOk() {
         when(tradeRepository.findById(anyInt())).thenReturn(Optional.of(trade));
-        doNothing().when(tradeRepository).delete(any());
+        doNothing().when(tradeRepository).delete(any(Trade.class));
         
         tradeService.deleteById(1);
         
-        verify(tradeRepository).delete(any());
+        verify(tradeRepository).delete(any(Trade.class));
+        verify(eventPublisher).publishEvent(TradeEvent.deleted(trade));
     }
 
     @Test
@@ -129,7 +284,7 @@ class TradeServiceTest {
        
         assertThrows(TradeNotFoundException.class, () -> tradeService.deleteById(nonExistentId));
 
-        verify(tradeRepository, never()).delete(any());
+        verify(tradeRepository, never()).delete(any(Trade.class));
     }
 
     @Test
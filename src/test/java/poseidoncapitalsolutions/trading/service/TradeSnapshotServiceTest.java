@@ -0,0 +1,182 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.TradeProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeColumnsRowDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeDimension;
+import com.poseidoncapitalsolutions.trading.dto.TradeFilter;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeAggregateDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.TradeSnapshotStatsDTO;
+import com.poseidoncapitalsolutions.trading.engine.TradeSnapshot;
+import com.poseidoncapitalsolutions.trading.event.TradeEvent;
+import com.poseidoncapitalsolutions.trading.model.Trade;
+import com.poseidoncapitalsolutions.trading.repository.TradeRepository;
+import com.poseidoncapitalsolutions.trading.service.TradeSnapshotService;
+
+@ExtendWith(MockitoExtension.class)
+class TradeSnapshotServiceTest {
+
+    private static final Timestamp JANUARY = Timestamp.valueOf(LocalDateTime.of(2025, 1, 15, 10, 0));
+    private static final Timestamp FEBRUARY = Timestamp.valueOf(LocalDateTime.of(2025, 2, 15, 10, 0));
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private TradeSnapshotService tradeSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        tradeSnapshotService = new TradeSnapshotService(tradeRepository, new TradeProperties(50, 500, 500, 2));
+    }
+
+    private static TradeColumnsRowDTO row(int id, String account, String book, Double buyQuantity, Double buyPrice,
+                                          Double sellQuantity, Double sellPrice, Timestamp tradeDate) {
+        return new TradeColumnsRowDTO(id, account, book, "Security1", "Trader1", "Open", null, buyQuantity, buyPrice,
+                sellQuantity, sellPrice, tradeDate);
+    }
+
+    private static Trade trade(int id, String account, Double buyQuantity, Double buyPrice) {
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setAccount(account);
+        trade.setBook("Book1");
+        trade.setSecurity("Security1");
+        trade.setTrader("Trader1");
+        trade.setStatus("Open");
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setTradeDate(JANUARY);
+        return trade;
+    }
+
+    private void loadThreeTrades() {
+        when(tradeRepository.findColumnRowsAfter(anyInt(), any()))
+                .thenReturn(List.of(
+                        row(1, "Account1", "Book1", 100.0, 10.0, null, null, JANUARY),
+                        row(2, "Account1", "Book2", null, null, 40.0, 12.0, FEBRUARY)))
+                .thenReturn(List.of(row(3, "Account2", "Book1", 5.0, 20.0, null, null, null)));
+        tradeSnapshotService.rebuild();
+    }
+
+    @Test
+    void aggregateOk() {
+        loadThreeTrades();
+
+        List<TradeAggregateDTO> result = tradeSnapshotService.aggregate(TradeFilter.ALL, TradeDimension.ACCOUNT);
+
+        assertEquals(List.of(
+                new TradeAggregateDTO("Account1", 2, 100.0, 1000.0, 40.0, 480.0),
+                new TradeAggregateDTO("Account2", 1, 5.0, 100.0, 0.0, 0.0)), result);
+    }
+
+    @Test
+    void aggregateWithFilterOk() {
+        loadThreeTrades();
+        TradeFilter filter = new TradeFilter(null, "Book1", null, null, null, null, null, null);
+
+        List<TradeAggregateDTO> result = tradeSnapshotService.aggregate(filter, TradeDimension.SECURITY);
+
+        assertEquals(List.of(new TradeAggregateDTO("Security1", 2, 105.0, 1100.0, 0.0, 0.0)), result);
+    }
+
+    @Test
+    void countOk() {
+        loadThreeTrades();
+
+        assertEquals(3, tradeSnapshotService.count(TradeFilter.ALL));
+        assertEquals(2, tradeSnapshotService.count(new TradeFilter("Account1", null, null, null, null, null, null, null)));
+        assertEquals(0, tradeSnapshotService.count(new TradeFilter("Unknown", null, null, null, null, null, null, null)));
+        // Trades without a date never match a date range
+        assertEquals(1, tradeSnapshotService.count(new TradeFilter(null, null, null, null, null, null,
+                null, LocalDate.of(2025, 1, 31))));
+        assertEquals(1, tradeSnapshotService.count(new TradeFilter(null, null, null, null, null, null,
+                LocalDate.of(2025, 2, 15), LocalDate.of(2025, 2, 15))));
+    }
+
+    @Test
+    void onTradeEventAppendsWrites() {
+        loadThreeTrades();
+        Trade created = trade(4, "Account2", 10.0, 10.0);
+        Trade updated = trade(4, "Account3", 20.0, 10.0);
+
+        tradeSnapshotService.onTradeEvent(TradeEvent.created(created));
+        tradeSnapshotService.onTradeEvent(TradeEvent.updated(created, updated));
+        tradeSnapshotService.onTradeEvent(TradeEvent.deleted(trade(1, "Account1", 100.0, 10.0)));
+
+        List<TradeAggregateDTO> result = tradeSnapshotService.aggregate(TradeFilter.ALL, TradeDimension.ACCOUNT);
+        assertEquals(List.of(
+                new TradeAggregateDTO("Account1", 1, 0.0, 0.0, 40.0, 480.0),
+                new TradeAggregateDTO("Account2", 1, 5.0, 100.0, 0.0, 0.0),
+                new TradeAggregateDTO("Account3", 1, 20.0, 200.0, 0.0, 0.0)), result);
+        assertEquals(3, tradeSnapshotService.getSnapshot().liveCount());
+        assertEquals(5, tradeSnapshotService.getSnapshot().size());
+    }
+
+    @Test
+    void onTradeEventCompactsSupersededRows() {
+        loadThreeTrades();
+        TradeSnapshot before = tradeSnapshotService.getSnapshot();
+
+        for (int i = 1; i <= 5000; i++) {
+            tradeSnapshotService.onTradeEvent(TradeEvent.created(trade(4, "Account2", (double) i, 10.0)));
+        }
+
+        TradeSnapshot after = tradeSnapshotService.getSnapshot();
+        assertEquals(4, after.liveCount());
+        assertTrue(after.size() < 2 * 1024, "superseded rows are dropped");
+        assertEquals(List.of(
+                new TradeAggregateDTO("Account1", 2, 100.0, 1000.0, 40.0, 480.0),
+                new TradeAggregateDTO("Account2", 2, 5005.0, 50100.0, 0.0, 0.0)),
+                tradeSnapshotService.aggregate(TradeFilter.ALL, TradeDimension.ACCOUNT));
+        // Snapshots taken before the compaction keep reading their own rows
+        assertEquals(3, before.liveCount());
+        assertEquals(3, before.count(TradeFilter.ALL));
+    }
+
+    @Test
+    void getSnapshotIsSharedUntilNextWrite() {
+        loadThreeTrades();
+        TradeSnapshot before = tradeSnapshotService.getSnapshot();
+
+        assertSame(before, tradeSnapshotService.getSnapshot());
+
+        tradeSnapshotService.onTradeEvent(TradeEvent.created(trade(4, "Account2", 10.0, 10.0)));
+        TradeSnapshot after = tradeSnapshotService.getSnapshot();
+
+        assertNotSame(before, after);
+        assertEquals(3, before.liveCount());
+        assertEquals(4, after.liveCount());
+    }
+
+    @Test
+    void getStatsOk() {
+        loadThreeTrades();
+
+        TradeSnapshotStatsDTO stats = tradeSnapshotService.getStats();
+
+        assertEquals(3, stats.rows());
+        assertEquals(3, stats.liveRows());
+        assertTrue(stats.columnBytes() > 0);
+        // Account1, Account2, Book1, Book2, Security1, Trader1, Open, no side
+        assertEquals(8, stats.dictionaryEntries());
+        assertEquals((double) (stats.columnBytes() + stats.dictionaryBytes()) / 3, stats.bytesPerTrade());
+    }
+}
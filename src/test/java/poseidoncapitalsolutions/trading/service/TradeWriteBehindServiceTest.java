@@ -0,0 +1,132 @@
+package poseidoncapitalsolutions.trading.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.poseidoncapitalsolutions.trading.config.WriteBehindProperties;
+import com.poseidoncapitalsolutions.trading.dto.TradeAddDTO;
+import com.poseidoncapitalsolutions.trading.dto.TradeImportDTO;
+import com.poseidoncapitalsolutions.trading.dto.display.WriteBehindStatsDTO;
+import com.poseidoncapitalsolutions.trading.exception.TradeBufferFullException;
+import com.poseidoncapitalsolutions.trading.service.IdempotencyService;
+import com.poseidoncapitalsolutions.trading.service.TradeService;
+import com.poseidoncapitalsolutions.trading.service.TradeWriteBehindService;
+
+@ExtendWith(MockitoExtension.class)
+class TradeWriteBehindServiceTest {
+
+    @Mock
+    private TradeService tradeService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private TradeWriteBehindService start(int capacity, int batchSize, long maxLatencyMs) {
+        TradeWriteBehindService service = new TradeWriteBehindService(tradeService, idempotencyService,
+                new WriteBehindProperties(true, capacity, batchSize, maxLatencyMs, 10), true);
+        service.start();
+        return service;
+    }
+
+    @Test
+    void submit_commitsBufferedTradesInBatches() throws InterruptedException {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        List<String> accounts = Collections.synchronizedList(new ArrayList<>());
+        when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            List<TradeImportDTO> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            batch.forEach(trade -> accounts.add(trade.account()));
+            return batch.size();
+        });
+        TradeWriteBehindService service = start(100, 4, 1_000);
+
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, service.submit(new TradeAddDTO("Account" + i, "Type1", 10.0, null)));
+        }
+        service.stop();
+
+        assertEquals(10, accounts.size());
+        assertEquals("Account1", accounts.getFirst());
+        assertEquals("Account10", accounts.getLast());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        WriteBehindStatsDTO stats = service.getStats();
+        assertEquals(0, stats.queueDepth());
+        assertEquals(10, stats.accepted());
+        assertEquals(10, stats.committed());
+        assertEquals(batchSizes.size(), stats.batches());
+        assertEquals(4, stats.maxBatchSize());
+    }
+
+    @Test
+    void submit_commitsPartialBatchAfterMaxLatency() throws InterruptedException {
+        CountDownLatch committed = new CountDownLatch(1);
+        when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            committed.countDown();
+            return 1;
+        });
+        TradeWriteBehindService service = start(100, 500, 10);
+
+        service.submit(new TradeAddDTO("Account1", "Type1", 10.0, null));
+
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+        service.stop();
+        assertEquals(1, service.getStats().lastBatchSize());
+    }
+
+    @Test
+    void submit_whenBufferFull_rejectsTrade() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.<List<?>>getArgument(0).size();
+        });
+        TradeWriteBehindService service = start(2, 1, 0);
+
+        assertThrows(TradeBufferFullException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                service.submit(new TradeAddDTO("Account1", "Type1", 10.0, null));
+            }
+        });
+        release.countDown();
+        service.stop();
+
+        WriteBehindStatsDTO stats = service.getStats();
+        assertEquals(1, stats.rejected());
+        assertEquals(stats.accepted(), stats.committed());
+    }
+
+    @Test
+    void commit_whenBatchFails_retriesTradesOneByOne() throws InterruptedException {
+        when(tradeService.createTrades(anyList())).thenAnswer(invocation -> {
+            List<TradeImportDTO> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(trade -> "Bad".equals(trade.account()))) {
+                throw new IllegalStateException("Constraint violation");
+            }
+            return batch.size();
+        });
+        TradeWriteBehindService service = start(100, 10, 1_000);
+
+        service.submit(new TradeAddDTO("Account1", "Type1", 10.0, null));
+        service.submit(new TradeAddDTO("Bad", "Type1", 10.0, null));
+        service.submit(new TradeAddDTO("Account3", "Type1", 10.0, null));
+        service.stop();
+
+        WriteBehindStatsDTO stats = service.getStats();
+        assertEquals(2, stats.committed());
+        assertEquals(1, stats.failed());
+    }
+}
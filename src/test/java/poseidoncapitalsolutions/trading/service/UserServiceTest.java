@@ -11,7 +11,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
@@ -62,14 +61,13 @@ class UserServiceTest {
     void getAllUsersOk() {
         UserListItemDTO expectedListItemDTO = new UserListItemDTO(1, "testuser", "Test User", "USER");
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user));
-        when(userMapper.toListItemDTOList(anyList())).thenReturn(Arrays.asList(expectedListItemDTO));
+        when(userRepository.findAllListItems()).thenReturn(Arrays.asList(expectedListItemDTO));
         
         List<UserListItemDTO> result = userService.getAllUsers();
         
         assertEquals(1, result.size());
         assertEquals(expectedListItemDTO, result.get(0));
-        verify(userRepository).findAll();
+        verify(userRepository).findAllListItems();
     }
 
     @Test